@@ -75,6 +75,12 @@ public class ActividadDTO {
      */
     private String nombreOrganizador;
 
+    /**
+     * Versión de la actividad con la que se leyó, para detectar al guardar si otro
+     * usuario lo modificó mientras tanto. Es obligatoria para actualizar.
+     */
+    private Long version;
+
     /**
      * Constructor por defecto.
      */
@@ -173,6 +179,41 @@ public class ActividadDTO {
         this.nombreOrganizador = nombreOrganizador;
     }
 
+    /**
+     * Constructor usado por las consultas de proyección (SELECT NEW) de los
+     * listados. Calcula el porcentaje de ocupación a partir del número de
+     * inscritos y la capacidad.
+     *
+     * @param idActividad Identificador único
+     * @param nombre Nombre de la actividad
+     * @param tipo Tipo de actividad
+     * @param fechaHoraInicio Fecha y hora de inicio
+     * @param capacidad Capacidad máxima de participantes
+     * @param duracion Duración estimada en minutos
+     * @param finalizado Indica si la actividad está finalizada
+     * @param nombreEvento Nombre del evento al que pertenece
+     * @param nombreLugar Nombre del lugar donde se realizará
+     * @param numeroInscritos Número de participantes inscritos
+     * @param version Versión de la actividad
+     */
+    public ActividadDTO(Long idActividad, String nombre, String tipo, LocalDateTime fechaHoraInicio,
+            Integer capacidad, Integer duracion, Boolean finalizado,
+            String nombreEvento, String nombreLugar, Integer numeroInscritos, Long version) {
+        this.idActividad = idActividad;
+        this.nombre = nombre;
+        this.tipo = tipo;
+        this.fechaHoraInicio = fechaHoraInicio;
+        this.capacidad = capacidad;
+        this.duracion = duracion;
+        this.finalizado = finalizado;
+        this.nombreEvento = nombreEvento;
+        this.nombreLugar = nombreLugar;
+        this.numeroInscritos = numeroInscritos != null ? numeroInscritos : 0;
+        this.porcentajeOcupacion = capacidad != null && capacidad > 0
+                ? (this.numeroInscritos * 100.0) / capacidad : 0.0;
+        this.version = version;
+    }
+
     /**
      * Obtiene el id de la actividad.
      *
@@ -388,6 +429,24 @@ public class ActividadDTO {
     public void setNombreOrganizador(String nombreOrganizador) {
         this.nombreOrganizador = nombreOrganizador;
     }
+
+    /**
+     * Obtiene la versión de la actividad con la que se leyó.
+     *
+     * @return La versión, o null si no se conoce
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Establece la versión de la actividad con la que se leyó.
+     *
+     * @param version La versión a establecer
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
     
     
 
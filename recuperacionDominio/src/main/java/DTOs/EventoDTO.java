@@ -4,6 +4,8 @@
  */
 package DTOs;
 
+import entidades.Evento.EstadoEvento;
+import entidades.Evento.ModalidadEvento;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -17,6 +19,11 @@ import java.util.List;
  */
 public class EventoDTO {
 
+    /**
+     * Identificador único del evento.
+     */
+    private Long idEvento;
+
     /**
      * Código único del evento.
      */
@@ -77,6 +84,12 @@ public class EventoDTO {
      */
     private Integer totalActividades;
 
+    /**
+     * Versión del evento con la que se leyó, para detectar al guardar si otro
+     * usuario lo modificó mientras tanto. Es obligatoria para actualizar.
+     */
+    private Long version;
+
     /**
      * Constructor por defecto.
      */
@@ -144,6 +157,56 @@ public class EventoDTO {
         this.nombreActividades = nombreActividades != null ? nombreActividades : new ArrayList<>();
         this.totalActividades = totalActividades != null ? totalActividades : 0;
     }
+
+    /**
+     * Constructor usado por las consultas de proyección (SELECT NEW) de los
+     * listados. Recibe el estado y la modalidad tal como están en la entidad y
+     * no incluye los nombres de las actividades, solo su total. El total se
+     * recibe como Number porque el COUNT de la subconsulta es Long y
+     * EclipseLink no lo convierte al tipo del parámetro.
+     *
+     * @param idEvento Identificador único
+     * @param codigo Código único del evento
+     * @param titulo Título del evento
+     * @param descripcion Descripción detallada
+     * @param estado Estado actual del evento
+     * @param modalidad Modalidad del evento
+     * @param fechaInicio Fecha y hora de inicio
+     * @param fechaFin Fecha y hora de finalización
+     * @param observaciones Observaciones adicionales
+     * @param nombreOrganizador Nombre del organizador responsable
+     * @param correoOrganizador Correo del organizador
+     * @param totalActividades Número total de actividades
+     * @param version Versión del evento
+     */
+    public EventoDTO(Long idEvento, String codigo, String titulo, String descripcion, EstadoEvento estado,
+            ModalidadEvento modalidad, LocalDateTime fechaInicio, LocalDateTime fechaFin,
+            String observaciones, String nombreOrganizador, String correoOrganizador,
+            Number totalActividades, Long version) {
+        this(codigo, titulo, descripcion, String.valueOf(estado), String.valueOf(modalidad),
+                fechaInicio, fechaFin, observaciones, nombreOrganizador, correoOrganizador,
+                null, totalActividades != null ? totalActividades.intValue() : null);
+        this.idEvento = idEvento;
+        this.version = version;
+    }
+
+    /**
+     * Obtiene el id del evento.
+     *
+     * @return El id
+     */
+    public Long getIdEvento() {
+        return idEvento;
+    }
+
+    /**
+     * Establece el id del evento.
+     *
+     * @param idEvento El id a establecer
+     */
+    public void setIdEvento(Long idEvento) {
+        this.idEvento = idEvento;
+    }
     
     /**
      * Obtiene el código único del evento.
@@ -364,6 +427,24 @@ public class EventoDTO {
         this.totalActividades = totalActividades;
     }
 
+    /**
+     * Obtiene la versión del evento con la que se leyó.
+     *
+     * @return La versión, o null si no se conoce
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Establece la versión del evento con la que se leyó.
+     *
+     * @param version La versión a establecer
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     /**
      * Agrega el nombre de una actividad a la lista y actualiza el contador
      * total.
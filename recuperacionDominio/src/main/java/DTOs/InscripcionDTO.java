@@ -15,6 +15,11 @@ import java.time.LocalDateTime;
  */
 public class InscripcionDTO {
 
+    /**
+     * Identificador único de la inscripción.
+     */
+    private Long id;
+
     /**
      * Fecha y hora en que se realizó la inscripción.
      */
@@ -96,6 +101,24 @@ public class InscripcionDTO {
     }
 
     // Getters y Setters
+    /**
+     * Obtiene el identificador único de la inscripción.
+     *
+     * @return El ID de la inscripción
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Establece el identificador único de la inscripción.
+     *
+     * @param id El ID a establecer
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     /**
      * Obtiene la fecha y hora en que se realizó la inscripción.
      *
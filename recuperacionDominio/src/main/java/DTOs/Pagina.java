@@ -0,0 +1,91 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package DTOs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados de una consulta paginada por llave (keyset). Contiene
+ * los elementos de la página y el token de continuación que se debe enviar
+ * para pedir la página siguiente.
+ *
+ * @param <T> Tipo de los elementos de la página
+ * @author Alejandra García Preciado - 252444
+ */
+public class Pagina<T> {
+
+    /**
+     * Elementos de la página, en el orden de la consulta.
+     */
+    private final List<T> elementos;
+
+    /**
+     * Token para pedir la página siguiente, null si es la última.
+     */
+    private final String siguiente;
+
+    /**
+     * Constructor con los elementos y el token de continuación.
+     *
+     * @param elementos Elementos de la página
+     * @param siguiente Token de la página siguiente, null si es la última
+     */
+    public Pagina(List<T> elementos, String siguiente) {
+        this.elementos = Collections.unmodifiableList(elementos);
+        this.siguiente = siguiente;
+    }
+
+    /**
+     * Obtiene los elementos de la página.
+     *
+     * @return Lista no modificable de elementos
+     */
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Obtiene el token para pedir la página siguiente.
+     *
+     * @return Token de continuación, o null si es la última página
+     */
+    public String getSiguiente() {
+        return siguiente;
+    }
+
+    /**
+     * Indica si hay más páginas después de esta.
+     *
+     * @return true si existe una página siguiente
+     */
+    public boolean hayMas() {
+        return siguiente != null;
+    }
+
+    /**
+     * Convierte los elementos de la página conservando el token de
+     * continuación.
+     *
+     * @param <R> Tipo de los elementos convertidos
+     * @param conversion Función de conversión de cada elemento
+     * @return Nueva página con los elementos convertidos
+     */
+    public <R> Pagina<R> convertir(Function<? super T, ? extends R> conversion) {
+        List<R> convertidos = new ArrayList<>(elementos.size());
+        for (T elemento : elementos) {
+            convertidos.add(conversion.apply(elemento));
+        }
+        return new Pagina<>(convertidos, siguiente);
+    }
+
+    @Override
+    public String toString() {
+        return "Pagina{" + "elementos=" + elementos.size() + ", siguiente=" + siguiente + '}';
+    }
+
+}
@@ -80,7 +80,10 @@ public class ParticipanteDTO {
     }
 
     /**
-     * Constructor con todos los atributos.
+     * Constructor con todos los atributos. También lo usan las consultas de
+     * proyección (SELECT NEW) de los listados, por lo que el total de
+     * inscripciones se recibe como Number: el COUNT de la subconsulta es Long
+     * y EclipseLink no lo convierte al tipo del parámetro.
      *
      * @param idParticipante Identificador único
      * @param nombre Nombre del participante
@@ -91,7 +94,7 @@ public class ParticipanteDTO {
      * @param cantidadAsistencias Cantidad de asistencias acumuladas
      * @param totalInscripciones Número de inscripciones realizadas
      */
-    public ParticipanteDTO(Long idParticipante, String nombre, String apellidoPaterno, String apellidoMaterno, String correo, String tipoParticipante, Integer cantidadAsistencias, Integer totalInscripciones) {
+    public ParticipanteDTO(Long idParticipante, String nombre, String apellidoPaterno, String apellidoMaterno, String correo, String tipoParticipante, Integer cantidadAsistencias, Number totalInscripciones) {
         this.idParticipante = idParticipante;
         this.nombre = nombre;
         this.apellidoPaterno = apellidoPaterno;
@@ -99,7 +102,7 @@ public class ParticipanteDTO {
         this.correo = correo;
         this.tipoParticipante = tipoParticipante;
         this.cantidadAsistencias = cantidadAsistencias;
-        this.totalInscripciones = totalInscripciones;
+        this.totalInscripciones = totalInscripciones != null ? totalInscripciones.intValue() : null;
     }
 
     /**
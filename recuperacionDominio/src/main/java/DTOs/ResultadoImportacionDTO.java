@@ -0,0 +1,167 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package DTOs;
+
+/**
+ * DTO con el resumen de una importación masiva de participantes. Cada fila
+ * leída del archivo termina como importada, inválida, duplicada o fallida.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class ResultadoImportacionDTO {
+
+    /**
+     * Filas de datos leídas del archivo, sin contar el encabezado.
+     */
+    private long filasLeidas;
+
+    /**
+     * Filas guardadas como participantes.
+     */
+    private long importados;
+
+    /**
+     * Filas rechazadas por no cumplir las reglas de registro.
+     */
+    private long invalidos;
+
+    /**
+     * Filas rechazadas porque el correo o el número de control ya existe.
+     */
+    private long duplicados;
+
+    /**
+     * Filas que no se pudieron guardar por un error de persistencia.
+     */
+    private long fallidos;
+
+    /**
+     * Constructor por defecto.
+     */
+    public ResultadoImportacionDTO() {
+    }
+
+    /**
+     * Constructor con todos los contadores.
+     *
+     * @param filasLeidas Filas de datos leídas
+     * @param importados Filas guardadas
+     * @param invalidos Filas inválidas
+     * @param duplicados Filas duplicadas
+     * @param fallidos Filas que fallaron al guardarse
+     */
+    public ResultadoImportacionDTO(long filasLeidas, long importados, long invalidos, long duplicados, long fallidos) {
+        this.filasLeidas = filasLeidas;
+        this.importados = importados;
+        this.invalidos = invalidos;
+        this.duplicados = duplicados;
+        this.fallidos = fallidos;
+    }
+
+    /**
+     * Obtiene las filas de datos leídas del archivo.
+     *
+     * @return Filas leídas
+     */
+    public long getFilasLeidas() {
+        return filasLeidas;
+    }
+
+    /**
+     * Establece las filas de datos leídas del archivo.
+     *
+     * @param filasLeidas Filas leídas
+     */
+    public void setFilasLeidas(long filasLeidas) {
+        this.filasLeidas = filasLeidas;
+    }
+
+    /**
+     * Obtiene las filas guardadas como participantes.
+     *
+     * @return Filas importadas
+     */
+    public long getImportados() {
+        return importados;
+    }
+
+    /**
+     * Establece las filas guardadas como participantes.
+     *
+     * @param importados Filas importadas
+     */
+    public void setImportados(long importados) {
+        this.importados = importados;
+    }
+
+    /**
+     * Obtiene las filas que no cumplen las reglas de registro.
+     *
+     * @return Filas inválidas
+     */
+    public long getInvalidos() {
+        return invalidos;
+    }
+
+    /**
+     * Establece las filas que no cumplen las reglas de registro.
+     *
+     * @param invalidos Filas inválidas
+     */
+    public void setInvalidos(long invalidos) {
+        this.invalidos = invalidos;
+    }
+
+    /**
+     * Obtiene las filas cuyo correo o número de control ya existe.
+     *
+     * @return Filas duplicadas
+     */
+    public long getDuplicados() {
+        return duplicados;
+    }
+
+    /**
+     * Establece las filas cuyo correo o número de control ya existe.
+     *
+     * @param duplicados Filas duplicadas
+     */
+    public void setDuplicados(long duplicados) {
+        this.duplicados = duplicados;
+    }
+
+    /**
+     * Obtiene las filas que no se pudieron guardar.
+     *
+     * @return Filas fallidas
+     */
+    public long getFallidos() {
+        return fallidos;
+    }
+
+    /**
+     * Establece las filas que no se pudieron guardar.
+     *
+     * @param fallidos Filas fallidas
+     */
+    public void setFallidos(long fallidos) {
+        this.fallidos = fallidos;
+    }
+
+    /**
+     * Obtiene el total de filas rechazadas por cualquier motivo.
+     *
+     * @return Suma de inválidas, duplicadas y fallidas
+     */
+    public long getRechazados() {
+        return invalidos + duplicados + fallidos;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoImportacionDTO{" + "filasLeidas=" + filasLeidas + ", importados=" + importados + ", invalidos=" + invalidos + ", duplicados=" + duplicados + ", fallidos=" + fallidos + '}';
+    }
+
+}
@@ -21,6 +21,50 @@ import javax.persistence.*;
 @Entity
 @Table(name = "actividades", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"nombre", "evento_id"})
+}, indexes = {
+    @Index(name = "idx_actividades_nombre_fecha", columnList = "nombre, fecha_hora_inicio"),
+    @Index(name = "idx_actividades_lugar_fecha", columnList = "lugar_id, fecha_hora_inicio"),
+    @Index(name = "idx_actividades_fecha", columnList = "fecha_hora_inicio"),
+    @Index(name = "idx_actividades_finalizado", columnList = "finalizado")
+})
+@NamedQueries({
+    @NamedQuery(name = "Actividad.consultarTodos",
+            query = "select a from Actividad a"),
+    @NamedQuery(name = "Actividad.consultarListado",
+            query = "select new DTOs.ActividadDTO(a.id, a.nombre, a.tipo, a.fechaHoraInicio, a.capacidad, "
+            + "a.duracion, a.finalizado, e.titulo, l.nombre, a.lugaresReservados, a.version) "
+            + "from Actividad a join a.evento e join a.lugar l order by a.id"),
+    @NamedQuery(name = "Actividad.consultarListadoPagina",
+            query = "select new DTOs.ActividadDTO(a.id, a.nombre, a.tipo, a.fechaHoraInicio, a.capacidad, "
+            + "a.duracion, a.finalizado, e.titulo, l.nombre, a.lugaresReservados, a.version) "
+            + "from Actividad a join a.evento e join a.lugar l where a.id > :ultimoId order by a.id"),
+    @NamedQuery(name = "Actividad.consultarPorEvento",
+            query = "select a from Actividad a where a.evento = :evento"),
+    @NamedQuery(name = "Actividad.consultarPorEventoPagina",
+            query = "select a from Actividad a where a.evento = :evento and a.id > :ultimoId order by a.id"),
+    @NamedQuery(name = "Actividad.consultarPorLugar",
+            query = "select a from Actividad a where a.lugar = :lugar"),
+    @NamedQuery(name = "Actividad.consultarPorRangoFechas",
+            query = "select a from Actividad a where a.fechaHoraInicio between :fechaInicio and :fechaFin"),
+    @NamedQuery(name = "Actividad.consultarPorEstadoFinalizacion",
+            query = "select a from Actividad a where a.finalizado = :finalizado"),
+    @NamedQuery(name = "Actividad.buscarPorNombreYFecha",
+            query = "select a from Actividad a where a.nombre = :nombre and a.fechaHoraInicio = :fechaHoraInicio"),
+    @NamedQuery(name = "Actividad.finalizarPorEvento",
+            query = "update Actividad a set a.finalizado = true, a.version = a.version + 1 "
+            + "where a.evento.id = :eventoId and a.finalizado = false"),
+    @NamedQuery(name = "Actividad.finalizarPorEventos",
+            query = "update Actividad a set a.finalizado = true, a.version = a.version + 1 "
+            + "where a.evento.id in :ids and a.finalizado = false"),
+    @NamedQuery(name = "Actividad.reservarLugar",
+            query = "update Actividad a set a.lugaresReservados = a.lugaresReservados + 1 "
+            + "where a.id = :id and a.lugaresReservados < a.capacidad"),
+    @NamedQuery(name = "Actividad.reservarLugares",
+            query = "update Actividad a set a.lugaresReservados = a.lugaresReservados + :cantidad "
+            + "where a.id = :id and a.lugaresReservados + :cantidad <= a.capacidad"),
+    @NamedQuery(name = "Actividad.liberarLugar",
+            query = "update Actividad a set a.lugaresReservados = a.lugaresReservados - 1 "
+            + "where a.id = :id and a.lugaresReservados > 0")
 })
 public class Actividad implements Serializable {
 
@@ -28,9 +72,13 @@ public class Actividad implements Serializable {
 
     /**
      * Identificador único de la actividad.
+     * Se toma de la tabla de secuencias en bloques de 100 para que las
+     * inserciones se puedan enviar en lote.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "gen_actividades")
+    @TableGenerator(name = "gen_actividades", table = "secuencias", pkColumnName = "nombre",
+            valueColumnName = "valor", pkColumnValue = "actividades", allocationSize = 100)
     @Column(name = "id")
     private Long id;
 
@@ -58,6 +106,14 @@ public class Actividad implements Serializable {
     @Column(name = "capacidad", nullable = false)
     private Integer capacidad;
 
+    /**
+     * Número de lugares ocupados por inscripciones. Solo se modifica mediante
+     * actualizaciones condicionales en la misma transacción que la inscripción,
+     * por lo que no se escribe al actualizar la actividad.
+     */
+    @Column(name = "lugares_reservados", nullable = false, updatable = false)
+    private Integer lugaresReservados = 0;
+
     /**
      * Duración estimada en minutos.
      */
@@ -70,6 +126,15 @@ public class Actividad implements Serializable {
     @Column(name = "finalizado")
     private Boolean finalizado;
 
+    /**
+     * Versión de la actividad para el control de concurrencia optimista. Las
+     * reservas de lugares no la cambian, ya que no se escriben al actualizar
+     * la actividad.
+     */
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     /**
      * Evento al que pertenece esta actividad.
      */
@@ -244,6 +309,24 @@ public class Actividad implements Serializable {
         this.capacidad = capacidad;
     }
 
+    /**
+     * Obtiene el número de lugares ocupados por inscripciones.
+     *
+     * @return Los lugares reservados
+     */
+    public Integer getLugaresReservados() {
+        return lugaresReservados;
+    }
+
+    /**
+     * Establece el número de lugares ocupados por inscripciones.
+     *
+     * @param lugaresReservados Los lugares reservados a establecer
+     */
+    public void setLugaresReservados(Integer lugaresReservados) {
+        this.lugaresReservados = lugaresReservados;
+    }
+
     /**
      * Obtiene la duración estimada en minutos.
      *
@@ -280,6 +363,24 @@ public class Actividad implements Serializable {
         this.finalizado = finalizado;
     }
 
+    /**
+     * Obtiene la versión de la actividad.
+     *
+     * @return La versión, null si la actividad no se ha guardado
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Establece la versión de la actividad.
+     *
+     * @param version La versión a establecer
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     /**
      * Obtiene el evento al que pertenece la actividad.
      *
@@ -336,7 +437,7 @@ public class Actividad implements Serializable {
 
     @Override
     public String toString() {
-        return "Actividad{" + "id=" + id + ", nombre=" + nombre + ", tipo=" + tipo + ", fechaHoraInicio=" + fechaHoraInicio + ", capacidad=" + capacidad + ", duracion=" + duracion + ", finalizado=" + finalizado + ", evento=" + evento + ", lugar=" + lugar + ", inscripciones=" + inscripciones + '}';
+        return "Actividad{" + "id=" + id + ", nombre=" + nombre + ", tipo=" + tipo + ", fechaHoraInicio=" + fechaHoraInicio + ", capacidad=" + capacidad + ", lugaresReservados=" + lugaresReservados + ", duracion=" + duracion + ", finalizado=" + finalizado + ", evento=" + evento + ", lugar=" + lugar + ", inscripciones=" + inscripciones + '}';
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package entidades;
+
+import java.io.Serializable;
+import javax.persistence.*;
+
+/**
+ * Clase que representa un contador de códigos por periodo. Guarda el último
+ * valor secuencial reservado para una clave (por ejemplo EV-202505-), lo que
+ * permite generar códigos únicos sin recorrer las tablas de datos.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+@Entity
+@Table(name = "contadores_codigo")
+public class ContadorCodigo implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Clave del contador, formada por el prefijo y el periodo.
+     */
+    @Id
+    @Column(name = "clave", length = 30)
+    private String clave;
+
+    /**
+     * Último valor secuencial reservado para la clave.
+     */
+    @Column(name = "ultimo_valor", nullable = false)
+    private Long ultimoValor;
+
+    /**
+     * Constructor por defecto requerido por JPA.
+     */
+    public ContadorCodigo() {
+    }
+
+    /**
+     * Constructor con todos los atributos.
+     *
+     * @param clave Clave del contador
+     * @param ultimoValor Último valor reservado
+     */
+    public ContadorCodigo(String clave, Long ultimoValor) {
+        this.clave = clave;
+        this.ultimoValor = ultimoValor;
+    }
+
+    /**
+     * Obtiene la clave del contador.
+     *
+     * @return La clave
+     */
+    public String getClave() {
+        return clave;
+    }
+
+    /**
+     * Establece la clave del contador.
+     *
+     * @param clave La clave a establecer
+     */
+    public void setClave(String clave) {
+        this.clave = clave;
+    }
+
+    /**
+     * Obtiene el último valor reservado.
+     *
+     * @return El último valor
+     */
+    public Long getUltimoValor() {
+        return ultimoValor;
+    }
+
+    /**
+     * Establece el último valor reservado.
+     *
+     * @param ultimoValor El último valor a establecer
+     */
+    public void setUltimoValor(Long ultimoValor) {
+        this.ultimoValor = ultimoValor;
+    }
+
+    @Override
+    public String toString() {
+        return "ContadorCodigo{" + "clave=" + clave + ", ultimoValor=" + ultimoValor + '}';
+    }
+
+}
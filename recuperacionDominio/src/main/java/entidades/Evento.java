@@ -18,7 +18,65 @@ import javax.persistence.*;
  * @author Alejandra García Preciado - 252444
  */
 @Entity
-@Table(name = "eventos")
+@Table(name = "eventos", indexes = {
+    @Index(name = "idx_eventos_estado_fecha_inicio", columnList = "estado, fecha_inicio"),
+    @Index(name = "idx_eventos_estado_fecha_fin", columnList = "estado, fecha_fin"),
+    @Index(name = "idx_eventos_modalidad", columnList = "modalidad"),
+    @Index(name = "idx_eventos_fecha_inicio", columnList = "fecha_inicio"),
+    @Index(name = "idx_eventos_fecha_fin", columnList = "fecha_fin")
+})
+@NamedQueries({
+    @NamedQuery(name = "Evento.buscarPorId",
+            query = "select e from Evento e join fetch e.organizador where e.id = :id"),
+    @NamedQuery(name = "Evento.buscarPorCodigo",
+            query = "select e from Evento e join fetch e.organizador where e.codigo = :codigo"),
+    @NamedQuery(name = "Evento.consultarTodos",
+            query = "select e from Evento e join fetch e.organizador"),
+    @NamedQuery(name = "Evento.consultarTodosPagina",
+            query = "select e from Evento e join fetch e.organizador where e.id > :ultimoId order by e.id"),
+    @NamedQuery(name = "Evento.consultarListado",
+            query = "select new DTOs.EventoDTO(e.id, e.codigo, e.titulo, e.descripcion, e.estado, e.modalidad, "
+            + "e.fechaInicio, e.fechaFin, e.observaciones, o.nombre, o.correo, "
+            + "(select count(a) from Actividad a where a.evento = e), e.version) "
+            + "from Evento e join e.organizador o order by e.id"),
+    @NamedQuery(name = "Evento.consultarListadoPagina",
+            query = "select new DTOs.EventoDTO(e.id, e.codigo, e.titulo, e.descripcion, e.estado, e.modalidad, "
+            + "e.fechaInicio, e.fechaFin, e.observaciones, o.nombre, o.correo, "
+            + "(select count(a) from Actividad a where a.evento = e), e.version) "
+            + "from Evento e join e.organizador o where e.id > :ultimoId order by e.id"),
+    @NamedQuery(name = "Evento.consultarPorTitulo",
+            query = "select e from Evento e join fetch e.organizador where e.titulo like :titulo"),
+    @NamedQuery(name = "Evento.consultarPorEstado",
+            query = "select e from Evento e join fetch e.organizador where e.estado = :estado"),
+    @NamedQuery(name = "Evento.consultarPorEstadoPagina",
+            query = "select e from Evento e join fetch e.organizador where e.estado = :estado and e.id > :ultimoId order by e.id"),
+    @NamedQuery(name = "Evento.consultarPorModalidad",
+            query = "select e from Evento e join fetch e.organizador where e.modalidad = :modalidad"),
+    @NamedQuery(name = "Evento.consultarPorModalidadPagina",
+            query = "select e from Evento e join fetch e.organizador where e.modalidad = :modalidad and e.id > :ultimoId order by e.id"),
+    @NamedQuery(name = "Evento.consultarPorRangoFechas",
+            query = "select e from Evento e join fetch e.organizador "
+            + "where (e.fechaInicio between :fechaInicio and :fechaFin) "
+            + "or (e.fechaFin between :fechaInicio and :fechaFin) "
+            + "or (e.fechaInicio <= :fechaInicio and e.fechaFin >= :fechaFin)"),
+    @NamedQuery(name = "Evento.consultarPorOrganizador",
+            query = "select e from Evento e join fetch e.organizador where e.organizador = :organizador"),
+    @NamedQuery(name = "Evento.consultarPorOrganizadorPagina",
+            query = "select e from Evento e join fetch e.organizador where e.organizador = :organizador and e.id > :ultimoId order by e.id"),
+    @NamedQuery(name = "Evento.consultarCodigosPorPrefijo",
+            query = "select e.codigo from Evento e where e.codigo like :prefijo"),
+    @NamedQuery(name = "Evento.consultarIdsPorCambiarEstado",
+            query = "select e.id from Evento e where e.estado in :origen "
+            + "and e.fechaInicio <= :inicioHasta and e.fechaFin <= :finHasta"),
+    @NamedQuery(name = "Evento.actualizarEstado",
+            query = "update Evento e set e.estado = :nuevo, e.version = e.version + 1 where e.id in :ids"),
+    @NamedQuery(name = "Evento.consultarFechasInicioPendientes",
+            query = "select distinct e.fechaInicio from Evento e where e.estado = :planeado and e.fechaInicio > :desde "
+            + "order by e.fechaInicio"),
+    @NamedQuery(name = "Evento.consultarFechasFinPendientes",
+            query = "select distinct e.fechaFin from Evento e where e.estado in :estados and e.fechaFin > :desde "
+            + "order by e.fechaFin")
+})
 public class Evento implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -82,6 +140,16 @@ public class Evento implements Serializable {
     @Column(name = "observaciones", length = 1000)
     private String observaciones;
 
+    /**
+     * Versión del evento para el control de concurrencia optimista. Se
+     * incrementa en cada actualización; si dos organizadores editan el mismo
+     * evento, la segunda escritura se rechaza en lugar de sobrescribir la
+     * primera.
+     */
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     /**
      * Organizador responsable del evento.
      */
@@ -361,6 +429,24 @@ public class Evento implements Serializable {
         this.observaciones = observaciones;
     }
 
+    /**
+     * Obtiene la versión del evento.
+     *
+     * @return La versión, null si el evento no se ha guardado
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Establece la versión del evento.
+     *
+     * @param version La versión a establecer
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     /**
      * Obtiene el organizador responsable del evento.
      *
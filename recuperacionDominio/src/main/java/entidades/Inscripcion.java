@@ -19,6 +19,37 @@ import javax.persistence.*;
 @Entity
 @Table(name = "inscripciones", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"actividad_id", "participante_id"})
+}, indexes = {
+    @Index(name = "idx_inscripciones_estado_asistencia", columnList = "estado_asistencia"),
+    @Index(name = "idx_inscripciones_fecha_hora", columnList = "fecha_hora")
+})
+@NamedQueries({
+    @NamedQuery(name = "Inscripcion.consultarTodos",
+            query = "select i from Inscripcion i"),
+    @NamedQuery(name = "Inscripcion.recorrerTodos",
+            query = "select i from Inscripcion i join fetch i.participante join fetch i.actividad order by i.id"),
+    @NamedQuery(name = "Inscripcion.consultarPorActividad",
+            query = "select i from Inscripcion i where i.actividad = :actividad"),
+    @NamedQuery(name = "Inscripcion.consultarPorActividadPagina",
+            query = "select i from Inscripcion i where i.actividad = :actividad and i.id > :ultimoId order by i.id"),
+    @NamedQuery(name = "Inscripcion.consultarPorParticipante",
+            query = "select i from Inscripcion i where i.participante = :participante"),
+    @NamedQuery(name = "Inscripcion.consultarPorParticipantePagina",
+            query = "select i from Inscripcion i where i.participante = :participante and i.id > :ultimoId order by i.id"),
+    @NamedQuery(name = "Inscripcion.consultarPorEstadoAsistencia",
+            query = "select i from Inscripcion i where i.estadoAsistencia = :estadoAsistencia"),
+    @NamedQuery(name = "Inscripcion.consultarPorRangoFechas",
+            query = "select i from Inscripcion i where i.fechaHora between :fechaInicio and :fechaFin"),
+    @NamedQuery(name = "Inscripcion.buscarPorParticipanteYActividad",
+            query = "select i from Inscripcion i where i.participante = :participante and i.actividad = :actividad"),
+    @NamedQuery(name = "Inscripcion.consultarEstadosAsistencia",
+            query = "select i.id, i.participante.id, i.estadoAsistencia from Inscripcion i where i.id in :ids"),
+    @NamedQuery(name = "Inscripcion.actualizarEstadoAsistenciaAsistidas",
+            query = "update Inscripcion i set i.estadoAsistencia = :estado, i.version = i.version + 1 "
+            + "where i.id in :ids and i.estadoAsistencia = :asistio"),
+    @NamedQuery(name = "Inscripcion.actualizarEstadoAsistenciaNoAsistidas",
+            query = "update Inscripcion i set i.estadoAsistencia = :estado, i.version = i.version + 1 "
+            + "where i.id in :ids and (i.estadoAsistencia is null or i.estadoAsistencia <> :asistio)")
 })
 public class Inscripcion implements Serializable {
 
@@ -26,9 +57,13 @@ public class Inscripcion implements Serializable {
 
     /**
      * Identificador único de la inscripción.
+     * Se toma de la tabla de secuencias en bloques de 100 para que las
+     * inserciones se puedan enviar en lote.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "gen_inscripciones")
+    @TableGenerator(name = "gen_inscripciones", table = "secuencias", pkColumnName = "nombre",
+            valueColumnName = "valor", pkColumnValue = "inscripciones", allocationSize = 100)
     @Column(name = "id")
     private Long id;
 
@@ -45,6 +80,13 @@ public class Inscripcion implements Serializable {
     @Column(name = "estado_asistencia")
     private EstadoAsistencia estadoAsistencia;
 
+    /**
+     * Versión de la inscripción para el control de concurrencia optimista.
+     */
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     /**
      * Participante que se inscribió a la actividad.
      */
@@ -168,6 +210,24 @@ public class Inscripcion implements Serializable {
         this.estadoAsistencia = estadoAsistencia;
     }
 
+    /**
+     * Obtiene la versión de la inscripción.
+     *
+     * @return La versión, null si la inscripción no se ha guardado
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Establece la versión de la inscripción.
+     *
+     * @param version La versión a establecer
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     /**
      * Obtiene el participante inscrito.
      *
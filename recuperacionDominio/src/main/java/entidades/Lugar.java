@@ -8,16 +8,39 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import javax.persistence.*;
+import org.eclipse.persistence.annotations.Cache;
+import org.eclipse.persistence.annotations.CacheType;
 
 /**
  * Clase que representa un lugar o sede donde se realizan las actividades. Puede
  * ser un aula física, un laboratorio o una plataforma virtual. Contiene
  * información sobre la capacidad y el tipo de lugar.
  *
+ * Es un dato de referencia que se consulta en cada registro de actividad y
+ * cambia muy poco, por lo que se guarda en la caché compartida de EclipseLink.
+ * Los cambios hechos con el DAO se aplican a la caché al confirmar la
+ * transacción. La lista de actividades no se guarda en la caché porque
+ * Actividad no es cacheable, así que se lee en cada EntityManager y no queda
+ * desactualizada.
+ *
  * @author Alejandra García Preciado - 252444
  */
 @Entity
 @Table(name = "lugares")
+@NamedQueries({
+    @NamedQuery(name = "Lugar.consultarTodos",
+            query = "select l from Lugar l"),
+    @NamedQuery(name = "Lugar.consultarPorNombre",
+            query = "select l from Lugar l where l.nombre like :nombre"),
+    @NamedQuery(name = "Lugar.buscarPorNombre",
+            query = "select l from Lugar l where l.nombre = :nombre"),
+    @NamedQuery(name = "Lugar.consultarPorTipo",
+            query = "select l from Lugar l where l.tipoLugar = :tipoLugar"),
+    @NamedQuery(name = "Lugar.consultarPorCapacidadMinima",
+            query = "select l from Lugar l where l.capacidad >= :capacidadMinima")
+})
+@Cacheable
+@Cache(type = CacheType.SOFT, size = 500, expiry = 3600000)
 public class Lugar implements Serializable {
 
     private static final long serialVersionUID = 1L;
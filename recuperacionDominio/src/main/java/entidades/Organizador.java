@@ -8,16 +8,31 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import javax.persistence.*;
+import org.eclipse.persistence.annotations.Cache;
+import org.eclipse.persistence.annotations.CacheType;
 
 /**
  * Clase que representa a un organizador de eventos en el sistema. Contiene la
  * información del organizador y mantiene relaciones con los eventos que
  * coordina.
  *
+ * Es un dato de referencia que cambia muy poco, por lo que se guarda en la
+ * caché compartida de EclipseLink. Los cambios hechos con el DAO se aplican a
+ * la caché al confirmar la transacción. La lista de eventos no se guarda en la
+ * caché porque Evento no es cacheable.
+ *
  * @author Alejandra García Preciado - 252444
  */
 @Entity
 @Table(name = "organizadores")
+@NamedQueries({
+    @NamedQuery(name = "Organizador.consultarTodos",
+            query = "select o from Organizador o"),
+    @NamedQuery(name = "Organizador.consultarPorTipo",
+            query = "select o from Organizador o where o.tipoOrganizador = :tipoOrganizador")
+})
+@Cacheable
+@Cache(type = CacheType.SOFT, size = 200, expiry = 3600000)
 public class Organizador implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -17,17 +17,62 @@ import javax.persistence.*;
  * @author Alejandra García Preciado - 252444
  */
 @Entity
-@Table(name = "participantes")
+@Table(name = "participantes", indexes = {
+    @Index(name = "idx_participantes_correo_indice", columnList = "correo_indice", unique = true)
+})
 @Inheritance(strategy = InheritanceType.JOINED)
+@NamedQueries({
+    @NamedQuery(name = "Participante.consultarTodos",
+            query = "select p from Participante p"),
+    @NamedQuery(name = "Participante.recorrerTodos",
+            query = "select p from Participante p order by p.id"),
+    @NamedQuery(name = "Participante.consultarListado",
+            query = "select new DTOs.ParticipanteDTO(p.id, p.nombre, p.apellidoPaterno, p.apellidoMaterno, p.correo, "
+            + "case type(p) when ParticipanteEstudiante then 'ESTUDIANTE' "
+            + "when ParticipanteDocente then 'DOCENTE' "
+            + "when ParticipanteExterno then 'EXTERNO' else 'GENERAL' end, "
+            + "p.cantidadAsistencias, "
+            + "(select count(i) from Inscripcion i where i.participante = p)) "
+            + "from Participante p order by p.id"),
+    @NamedQuery(name = "Participante.consultarListadoPagina",
+            query = "select new DTOs.ParticipanteDTO(p.id, p.nombre, p.apellidoPaterno, p.apellidoMaterno, p.correo, "
+            + "case type(p) when ParticipanteEstudiante then 'ESTUDIANTE' "
+            + "when ParticipanteDocente then 'DOCENTE' "
+            + "when ParticipanteExterno then 'EXTERNO' else 'GENERAL' end, "
+            + "p.cantidadAsistencias, "
+            + "(select count(i) from Inscripcion i where i.participante = p)) "
+            + "from Participante p where p.id > :ultimoId order by p.id"),
+    @NamedQuery(name = "Participante.consultarPorNombre",
+            query = "select p from Participante p where p.nombre like :nombre "
+            + "or p.apellidoPaterno like :nombre "
+            + "or p.apellidoMaterno like :nombre"),
+    @NamedQuery(name = "Participante.consultarPorNombrePagina",
+            query = "select p from Participante p where (p.nombre like :nombre "
+            + "or p.apellidoPaterno like :nombre "
+            + "or p.apellidoMaterno like :nombre) and p.id > :ultimoId order by p.id"),
+    @NamedQuery(name = "Participante.buscarPorCorreoIndice",
+            query = "select p from Participante p where p.correoIndice = :correoIndice"),
+    @NamedQuery(name = "Participante.consultarIndicesCorreoRegistrados",
+            query = "select p.correoIndice from Participante p where p.correoIndice in :indices"),
+    @NamedQuery(name = "Participante.consultarPorAsistenciasMinimas",
+            query = "select p from Participante p where p.cantidadAsistencias >= :minAsistencias"),
+    @NamedQuery(name = "Participante.sumarAsistencias",
+            query = "update Participante p set p.cantidadAsistencias = coalesce(p.cantidadAsistencias, 0) + :cambio, "
+            + "p.version = p.version + 1 where p.id in :participantes")
+})
 public class Participante implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     /**
      * Identificador único del participante.
+     * Se toma de la tabla de secuencias en bloques de 100 para que las
+     * inserciones se puedan enviar en lote.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "gen_participantes")
+    @TableGenerator(name = "gen_participantes", table = "secuencias", pkColumnName = "nombre",
+            valueColumnName = "valor", pkColumnValue = "participantes", allocationSize = 100)
     @Column(name = "id")
     private Long id;
 
@@ -50,17 +95,35 @@ public class Participante implements Serializable {
     private String apellidoMaterno;
 
     /**
-     * Correo electrónico del participante, debe ser único.
+     * Correo electrónico del participante, se almacena encriptado.
      */
-    @Column(name = "correo", nullable = false, unique = true)
+    @Sensible(indice = "correoIndice", ignorarMayusculas = true)
+    @Column(name = "correo", nullable = false)
     private String correo;
 
+    /**
+     * Índice ciego (HMAC) del correo normalizado. Garantiza la unicidad del
+     * correo y permite buscarlo sin depender del texto encriptado. Los
+     * registros anteriores a la columna se indexan al migrar el esquema.
+     */
+    @Column(name = "correo_indice", length = 64)
+    private String correoIndice;
+
     /**
      * Contador de asistencias acumuladas por el participante.
      */
     @Column(name = "cantidad_asistencias")
     private Integer cantidadAsistencias;
 
+    /**
+     * Versión del participante para el control de concurrencia optimista.
+     * También cambia al ajustar el contador de asistencias, de modo que una
+     * copia anterior del participante no puede sobrescribir el contador.
+     */
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     /**
      * Lista de inscripciones a actividades realizadas por este participante.
      */
@@ -205,6 +268,24 @@ public class Participante implements Serializable {
         this.correo = correo;
     }
 
+    /**
+     * Obtiene el índice ciego del correo del participante.
+     *
+     * @return El índice ciego del correo
+     */
+    public String getCorreoIndice() {
+        return correoIndice;
+    }
+
+    /**
+     * Establece el índice ciego del correo del participante.
+     *
+     * @param correoIndice El índice ciego a establecer
+     */
+    public void setCorreoIndice(String correoIndice) {
+        this.correoIndice = correoIndice;
+    }
+
     /**
      * Obtiene la cantidad de asistencias registradas del participante.
      *
@@ -223,6 +304,24 @@ public class Participante implements Serializable {
         this.cantidadAsistencias = cantidadAsistencias;
     }
 
+    /**
+     * Obtiene la versión del participante.
+     *
+     * @return La versión, null si el participante no se ha guardado
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Establece la versión del participante.
+     *
+     * @param version La versión a establecer
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     /**
      * Obtiene la lista de inscripciones del participante.
      *
@@ -7,6 +7,8 @@ package entidades;
 import java.util.List;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
 import javax.persistence.Table;
 
 /**
@@ -17,6 +19,12 @@ import javax.persistence.Table;
  */
 @Entity
 @Table(name = "participantes_docentes")
+@NamedQueries({
+    @NamedQuery(name = "ParticipanteDocente.consultarTodos",
+            query = "select pd from ParticipanteDocente pd"),
+    @NamedQuery(name = "ParticipanteDocente.consultarPorDepartamento",
+            query = "select pd from ParticipanteDocente pd where pd.departamento like :departamento")
+})
 public class ParticipanteDocente extends Participante {
 
     /**
@@ -7,6 +7,9 @@ package entidades;
 import java.util.List;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
 import javax.persistence.Table;
 
 /**
@@ -17,15 +20,36 @@ import javax.persistence.Table;
  * @author Alejandra García Preciado - 252444
  */
 @Entity
-@Table(name = "participantes_estudiantes")
+@Table(name = "participantes_estudiantes", indexes = {
+    @Index(name = "idx_estudiantes_numero_control_indice", columnList = "numero_control_indice", unique = true)
+})
+@NamedQueries({
+    @NamedQuery(name = "ParticipanteEstudiante.consultarTodos",
+            query = "select pe from ParticipanteEstudiante pe"),
+    @NamedQuery(name = "ParticipanteEstudiante.buscarPorNumeroControlIndice",
+            query = "select pe from ParticipanteEstudiante pe where pe.numeroControlIndice = :numeroControlIndice"),
+    @NamedQuery(name = "ParticipanteEstudiante.consultarPorCarrera",
+            query = "select pe from ParticipanteEstudiante pe where pe.carrera like :carrera"),
+    @NamedQuery(name = "ParticipanteEstudiante.consultarIndicesNumeroControlRegistrados",
+            query = "select pe.numeroControlIndice from ParticipanteEstudiante pe where pe.numeroControlIndice in :indices")
+})
 public class ParticipanteEstudiante extends Participante {
 
     /**
-     * Número de control del estudiante, debe ser único.
+     * Número de control del estudiante, se almacena encriptado.
      */
-    @Column(name = "numero_control", nullable = false, unique = true)
+    @Sensible(indice = "numeroControlIndice")
+    @Column(name = "numero_control", nullable = false)
     private String numeroControl; // String por la encriptación
 
+    /**
+     * Índice ciego (HMAC) del número de control. Garantiza su unicidad y
+     * permite buscarlo sin depender del texto encriptado. Los registros
+     * anteriores a la columna se indexan al migrar el esquema.
+     */
+    @Column(name = "numero_control_indice", length = 64)
+    private String numeroControlIndice;
+
     /**
      * Carrera que está cursando el estudiante.
      */
@@ -94,6 +118,24 @@ public class ParticipanteEstudiante extends Participante {
         this.numeroControl = numeroControl;
     }
 
+    /**
+     * Obtiene el índice ciego del número de control del estudiante.
+     *
+     * @return El índice ciego del número de control
+     */
+    public String getNumeroControlIndice() {
+        return numeroControlIndice;
+    }
+
+    /**
+     * Establece el índice ciego del número de control del estudiante.
+     *
+     * @param numeroControlIndice El índice ciego a establecer
+     */
+    public void setNumeroControlIndice(String numeroControlIndice) {
+        this.numeroControlIndice = numeroControlIndice;
+    }
+
     /**
      * Obtiene la carrera que estudia el participante.
      *
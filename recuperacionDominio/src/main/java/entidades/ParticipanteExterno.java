@@ -7,6 +7,8 @@ package entidades;
 import java.util.List;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
 import javax.persistence.Table;
 
 /**
@@ -18,6 +20,12 @@ import javax.persistence.Table;
  */
 @Entity
 @Table(name = "participantes_externos")
+@NamedQueries({
+    @NamedQuery(name = "ParticipanteExterno.consultarTodos",
+            query = "select pe from ParticipanteExterno pe"),
+    @NamedQuery(name = "ParticipanteExterno.consultarPorInstitucion",
+            query = "select pe from ParticipanteExterno pe where pe.institucion like :institucion")
+})
 public class ParticipanteExterno extends Participante {
 
     /**
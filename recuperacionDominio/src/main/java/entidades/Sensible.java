@@ -0,0 +1,38 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Annotation.java to edit this template
+ */
+package entidades;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un atributo String de una entidad como dato sensible. La capa de
+ * persistencia lo encripta antes de guardarlo y lo desencripta al leerlo.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Sensible {
+
+    /**
+     * Nombre del atributo de la misma entidad donde se guarda el índice ciego
+     * del valor. Si está vacío no se calcula índice.
+     *
+     * @return Nombre del atributo del índice ciego
+     */
+    String indice() default "";
+
+    /**
+     * Indica si el valor se normaliza a minúsculas antes de calcular el índice
+     * ciego.
+     *
+     * @return true si el índice ignora mayúsculas
+     */
+    boolean ignorarMayusculas() default false;
+
+}
@@ -6,12 +6,15 @@ package BOs;
 
 import DTOs.ActividadCreacionDTO;
 import DTOs.ActividadDTO;
+import DTOs.Pagina;
 import DTOs.ActividadDetalleDTO;
 import DTOs.LugarDTO;
 import entidades.Actividad;
 import entidades.Evento;
 import entidades.Evento.EstadoEvento;
 import entidades.Lugar;
+import exception.ConflictoEdicionException;
+import exception.ConflictoVersionException;
 import exception.NegocioException;
 import exception.PersistenciaException;
 import fabrica.FabricaDAO;
@@ -20,7 +23,12 @@ import interfaces.IActividadDAO;
 import interfaces.IEventoDAO;
 import interfaces.ILugarDAO;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import mapper.ActividadMapper;
 
 /**
@@ -72,11 +80,10 @@ public class ActividadBO implements IActividadBO {
             }
 
             // Obtener el lugar por nombre
-            List<Lugar> lugares = lugarDAO.consultarPorNombre(actividadDTO.getNombreLugar());
-            if (lugares.isEmpty()) {
+            Lugar lugar = buscarLugar(actividadDTO.getNombreLugar());
+            if (lugar == null) {
                 throw new NegocioException("El lugar especificado no existe.");
             }
-            Lugar lugar = lugares.get(0);
 
             // Validar que el nombre de la actividad no se repita dentro del mismo evento
             validarNombreUnico(actividadDTO.getNombre(), evento);
@@ -94,6 +101,7 @@ public class ActividadBO implements IActividadBO {
             actividad.setFinalizado(false); // Estado inicial
 
             actividad = actividadDAO.guardar(actividad);
+            IndiceHorarios.getInstancia().invalidar(lugar.getId());
 
             // Retornar el DTO con la información de la actividad persistida
             return actividadMapper.toDTO(actividad);
@@ -109,6 +117,8 @@ public class ActividadBO implements IActividadBO {
      * @param id ID de la actividad a actualizar
      * @param actividadDTO DTO con la nueva información
      * @return DTO con la información actualizada
+     * @throws ConflictoEdicionException Si la actividad cambió desde la
+     * versión del DTO o si otro usuario la guardó mientras se actualizaba
      * @throws NegocioException Si hay errores de validación o persistencia
      */
     @Override
@@ -120,6 +130,14 @@ public class ActividadBO implements IActividadBO {
                 throw new NegocioException("La actividad con ID " + id + " no existe.");
             }
 
+            // Validar que nadie haya modificado la actividad desde que se consultó
+            if (actividadDTO.getVersion() == null) {
+                throw new NegocioException("No se indicó la versión de la actividad. Vuelva a cargarla antes de guardar.");
+            }
+            if (!actividadDTO.getVersion().equals(actividad.getVersion())) {
+                throw new ConflictoEdicionException("La actividad fue modificada por otro usuario desde que se consultó. Vuelva a cargarla antes de guardar.");
+            }
+
             // Validar que no se intente modificar una actividad finalizada
             if (actividad.getFinalizado()) {
                 throw new NegocioException("No se puede modificar una actividad finalizada.");
@@ -149,10 +167,13 @@ public class ActividadBO implements IActividadBO {
 
             // Persistir cambios
             actividad = actividadDAO.actualizar(actividad);
+            IndiceHorarios.getInstancia().invalidar(actividad.getLugar().getId());
 
             // Retornar el DTO actualizado
             return actividadMapper.toDTO(actividad);
 
+        } catch (ConflictoVersionException ex) {
+            throw new ConflictoEdicionException("Error al actualizar la actividad: " + ex.getMessage(), ex);
         } catch (PersistenciaException ex) {
             throw new NegocioException("Error al actualizar la actividad: " + ex.getMessage());
         }
@@ -188,13 +209,29 @@ public class ActividadBO implements IActividadBO {
     @Override
     public List<ActividadDTO> consultarTodos() throws NegocioException {
         try {
-            List<Actividad> actividades = actividadDAO.consultarTodos();
-            return actividadMapper.toDTOList(actividades);
+            return actividadDAO.consultarListado();
         } catch (PersistenciaException ex) {
             throw new NegocioException("Error al consultar todas las actividades: " + ex.getMessage());
         }
     }
 
+    /**
+     * Obtiene una página de todas las actividades, ordenadas por ID.
+     *
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de actividades
+     * @throws NegocioException Si hay errores de validación o persistencia
+     */
+    @Override
+    public Pagina<ActividadDTO> consultarTodos(String token, int tamano) throws NegocioException {
+        try {
+            return actividadDAO.consultarListado(token, tamano);
+        } catch (PersistenciaException ex) {
+            throw new NegocioException("Error al consultar la página de actividades: " + ex.getMessage());
+        }
+    }
+
     /**
      * Consulta actividades por el evento al que pertenecen.
      *
@@ -221,6 +258,35 @@ public class ActividadBO implements IActividadBO {
         }
     }
 
+    /**
+     * Consulta una página de actividades por el evento al que pertenecen,
+     * ordenadas por ID.
+     *
+     * @param eventoId ID del evento
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de actividades del evento
+     * @throws NegocioException Si hay errores de validación o persistencia
+     */
+    @Override
+    public Pagina<ActividadDTO> consultarPorEvento(Long eventoId, String token, int tamano) throws NegocioException {
+        try {
+            if (eventoId == null) {
+                throw new NegocioException("El ID del evento no puede ser nulo.");
+            }
+
+            Evento evento = eventoDAO.buscarPorId(eventoId);
+            if (evento == null) {
+                throw new NegocioException("El evento con ID " + eventoId + " no existe.");
+            }
+
+            Pagina<Actividad> actividades = actividadDAO.consultarPorEvento(evento, token, tamano);
+            return actividades.convertir(actividadMapper::toDTO);
+        } catch (PersistenciaException ex) {
+            throw new NegocioException("Error al consultar actividades por evento: " + ex.getMessage());
+        }
+    }
+
     /**
      * Consulta actividades por fecha.
      *
@@ -258,14 +324,8 @@ public class ActividadBO implements IActividadBO {
     @Override
     public ActividadDetalleDTO consultarPorFechaNombre(String nombre, LocalDateTime fechaHora) throws NegocioException {
         try {
-            // Buscar todas las actividades
-            List<Actividad> actividades = actividadDAO.consultarTodos();
-
-            // Filtrar por nombre y fecha
-            Actividad actividad = actividades.stream()
-                    .filter(a -> a.getNombre().equals(nombre) && a.getFechaHoraInicio().equals(fechaHora))
-                    .findFirst()
-                    .orElse(null);
+            // Buscar la actividad por nombre y fecha
+            Actividad actividad = actividadDAO.buscarPorNombreYFecha(nombre, fechaHora);
 
             if (actividad == null) {
                 throw new NegocioException("No se encontró la actividad especificada.");
@@ -283,19 +343,15 @@ public class ActividadBO implements IActividadBO {
      * @param nombre Nombre de la actividad
      * @param fechaHora Fecha y hora de inicio
      * @return DTO con la información actualizada
+     * @throws ConflictoEdicionException Si otro usuario modificó la actividad
+     * mientras se finalizaba
      * @throws NegocioException Si hay errores de validación o persistencia
      */
     @Override
     public ActividadDTO finalizarActividad(String nombre, LocalDateTime fechaHora) throws NegocioException {
         try {
-            // Buscar todas las actividades
-            List<Actividad> actividades = actividadDAO.consultarTodos();
-
-            // Filtrar por nombre y fecha
-            Actividad actividad = actividades.stream()
-                    .filter(a -> a.getNombre().equals(nombre) && a.getFechaHoraInicio().equals(fechaHora))
-                    .findFirst()
-                    .orElse(null);
+            // Buscar la actividad por nombre y fecha
+            Actividad actividad = actividadDAO.buscarPorNombreYFecha(nombre, fechaHora);
 
             if (actividad == null) {
                 throw new NegocioException("No se encontró la actividad especificada.");
@@ -309,16 +365,49 @@ public class ActividadBO implements IActividadBO {
             // Marcar como finalizada
             actividad.setFinalizado(true);
             actividad = actividadDAO.actualizar(actividad);
+            IndiceHorarios.getInstancia().invalidar(actividad.getLugar().getId());
 
             return actividadMapper.toDTO(actividad);
+        } catch (ConflictoVersionException ex) {
+            throw new ConflictoEdicionException("Error al finalizar la actividad: " + ex.getMessage(), ex);
         } catch (PersistenciaException ex) {
             throw new NegocioException("Error al finalizar la actividad: " + ex.getMessage());
         }
     }
 
+    /**
+     * Marca como finalizadas todas las actividades pendientes de un evento.
+     *
+     * @param eventoId ID del evento
+     * @return Número de actividades finalizadas
+     * @throws NegocioException Si el evento no existe o hay errores de
+     * persistencia
+     */
+    @Override
+    public int finalizarActividadesDeEvento(Long eventoId) throws NegocioException {
+        try {
+            if (eventoId == null) {
+                throw new NegocioException("El ID del evento no puede ser nulo.");
+            }
+            if (eventoDAO.buscarPorId(eventoId) == null) {
+                throw new NegocioException("El evento con ID " + eventoId + " no existe.");
+            }
+
+            int finalizadas = actividadDAO.finalizarPorEvento(eventoId);
+            if (finalizadas > 0) {
+                // Las actividades finalizadas ya no ocupan su lugar
+                IndiceHorarios.getInstancia().invalidarTodo();
+            }
+            return finalizadas;
+        } catch (PersistenciaException ex) {
+            throw new NegocioException("Error al finalizar las actividades del evento: " + ex.getMessage());
+        }
+    }
+
     /**
      * Verifica si hay conflictos de horario entre actividades en el mismo
-     * lugar.
+     * lugar. La consulta se resuelve con el índice de horarios del lugar
+     * ({@link IndiceHorarios}), sin recorrer todas sus actividades.
      *
      * @param actividadDTO DTO con la información de la actividad a verificar
      * @param lugarDTO Objeto LugarDTO con la información del lugar
@@ -329,50 +418,85 @@ public class ActividadBO implements IActividadBO {
     public boolean verificarConflictosHorario(ActividadCreacionDTO actividadDTO, LugarDTO lugarDTO) throws NegocioException {
         try {
             // Buscar el lugar por nombre
-            List<Lugar> lugares = lugarDAO.consultarPorNombre(lugarDTO.getNombre());
-            if (lugares.isEmpty()) {
+            Lugar lugar = buscarLugar(lugarDTO.getNombre());
+            if (lugar == null) {
                 throw new NegocioException("El lugar especificado no existe.");
             }
 
-            // Tomar el primer lugar que coincida con el nombre
-            Lugar lugar = lugares.get(0);
-
-            // Obtener todas las actividades en el mismo lugar
-            List<Actividad> actividades = actividadDAO.consultarPorLugar(lugar);
-            if (actividades.isEmpty()) {
-                return false; // No hay otras actividades en este lugar
-            }
-
             // Calcular la hora de finalización de la nueva actividad
             LocalDateTime horaInicio = actividadDTO.getFechaHoraInicio();
             LocalDateTime horaFin = horaInicio.plusMinutes(actividadDTO.getDuracion());
 
-            // Verificar si hay otras actividades que se traslapen
-            for (Actividad actividad : actividades) {
-                // Si la actividad está finalizada, no se considera para conflictos
-                if (actividad.getFinalizado()) {
+            // Verificar si hay actividades no finalizadas que se traslapen
+            return IndiceHorarios.getInstancia().hayConflicto(lugar, horaInicio, horaFin);
+        } catch (PersistenciaException ex) {
+            throw new NegocioException("Error al verificar conflictos de horario: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Verifica de una sola vez los conflictos de horario de una agenda
+     * propuesta. Cada actividad se compara contra las actividades ya
+     * registradas en su lugar y contra las actividades anteriores de la misma
+     * agenda que no tuvieron conflicto.
+     *
+     * @param agenda Lista de actividades propuestas
+     * @return Actividades de la agenda que tienen conflicto, en el mismo orden;
+     * vacía si la agenda es válida
+     * @throws NegocioException Si algún lugar no existe, faltan datos de
+     * horario o hay errores de persistencia
+     */
+    @Override
+    public List<ActividadCreacionDTO> verificarConflictosAgenda(List<ActividadCreacionDTO> agenda) throws NegocioException {
+        try {
+            List<ActividadCreacionDTO> conflictos = new ArrayList<>();
+            if (agenda == null || agenda.isEmpty()) {
+                return conflictos;
+            }
+
+            Map<String, Lugar> lugaresPorNombre = new HashMap<>();
+            // Horarios aceptados de la agenda por lugar: inicio -> fin, sin traslapes entre sí
+            Map<Long, TreeMap<Long, Long>> aceptadas = new HashMap<>();
+
+            for (ActividadCreacionDTO actividadDTO : agenda) {
+                if (actividadDTO.getFechaHoraInicio() == null || actividadDTO.getDuracion() == null) {
+                    throw new NegocioException("La fecha de inicio y la duración son obligatorias en la agenda.");
+                }
+
+                // Buscar el lugar por nombre una sola vez
+                Lugar lugar = lugaresPorNombre.get(actividadDTO.getNombreLugar());
+                if (lugar == null) {
+                    lugar = buscarLugar(actividadDTO.getNombreLugar());
+                    if (lugar == null) {
+                        throw new NegocioException("El lugar '" + actividadDTO.getNombreLugar() + "' no existe.");
+                    }
+                    lugaresPorNombre.put(actividadDTO.getNombreLugar(), lugar);
+                }
+
+                LocalDateTime horaInicio = actividadDTO.getFechaHoraInicio();
+                LocalDateTime horaFin = horaInicio.plusMinutes(actividadDTO.getDuracion());
+
+                // Conflicto con actividades ya registradas
+                if (IndiceHorarios.getInstancia().hayConflicto(lugar, horaInicio, horaFin)) {
+                    conflictos.add(actividadDTO);
                     continue;
                 }
 
-                // Calcular hora de finalización de la actividad existente
-                LocalDateTime actividadInicio = actividad.getFechaHoraInicio();
-                LocalDateTime actividadFin = actividadInicio.plusMinutes(actividad.getDuracion());
-
-                // Verificar si se traslapan
-                // Caso 1: La nueva actividad comienza durante otra actividad
-                // Caso 2: La nueva actividad termina durante otra actividad
-                // Caso 3: La nueva actividad abarca completamente otra actividad
-                if ((horaInicio.isBefore(actividadFin) && horaInicio.isAfter(actividadInicio))
-                        || (horaFin.isAfter(actividadInicio) && horaFin.isBefore(actividadFin))
-                        || (horaInicio.isBefore(actividadInicio) && horaFin.isAfter(actividadFin))
-                        || (horaInicio.isEqual(actividadInicio))) {
-                    return true; // Hay conflicto
+                // Conflicto con actividades anteriores de la misma agenda
+                TreeMap<Long, Long> horarios = aceptadas.computeIfAbsent(lugar.getId(), k -> new TreeMap<>());
+                long inicio = horaInicio.toEpochSecond(ZoneOffset.UTC);
+                long fin = horaFin.toEpochSecond(ZoneOffset.UTC);
+                Map.Entry<Long, Long> anterior = horarios.lowerEntry(fin);
+                if (anterior != null && anterior.getValue() > inicio) {
+                    conflictos.add(actividadDTO);
+                    continue;
                 }
+                horarios.put(inicio, fin);
             }
 
-            return false; // No hay conflicto
+            return conflictos;
         } catch (PersistenciaException ex) {
-            throw new NegocioException("Error al verificar conflictos de horario: " + ex.getMessage());
+            throw new NegocioException("Error al verificar conflictos de la agenda: " + ex.getMessage());
         }
     }
 
@@ -443,4 +567,22 @@ public class ActividadBO implements IActividadBO {
         }
     }
 
+    /**
+     * Busca un lugar por su nombre. Primero se busca el nombre exacto, que se
+     * resuelve con la caché compartida de lugares; si no hay coincidencia
+     * exacta se toma el primer lugar cuyo nombre lo contenga.
+     *
+     * @param nombre Nombre del lugar
+     * @return Lugar encontrado o null si no existe
+     * @throws PersistenciaException Si hay errores de persistencia
+     */
+    private Lugar buscarLugar(String nombre) throws PersistenciaException {
+        Lugar lugar = lugarDAO.buscarPorNombre(nombre);
+        if (lugar == null) {
+            List<Lugar> lugares = lugarDAO.consultarPorNombre(nombre);
+            lugar = lugares.isEmpty() ? null : lugares.get(0);
+        }
+        return lugar;
+    }
+
 }
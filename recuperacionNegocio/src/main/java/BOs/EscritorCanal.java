@@ -0,0 +1,91 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package BOs;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Escritor de texto UTF-8 sobre un canal NIO con un búfer de bytes propio. El
+ * texto se codifica directamente en el búfer y solo se escribe en el canal
+ * cuando el búfer se llena o al vaciarlo, de modo que cada fila exportada no
+ * provoca una escritura en la salida.
+ *
+ * No cierra el flujo de salida; quien lo abrió es responsable de cerrarlo.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+class EscritorCanal {
+
+    /**
+     * Tamaño del búfer de bytes.
+     */
+    static final int TAMANO_BUFER = 64 * 1024;
+
+    private final OutputStream salida;
+    private final WritableByteChannel canal;
+    private final CharsetEncoder codificador;
+    private final ByteBuffer bufer;
+
+    /**
+     * Constructor que envuelve un flujo de salida en un canal.
+     *
+     * @param salida Flujo de salida
+     */
+    EscritorCanal(OutputStream salida) {
+        this.salida = salida;
+        this.canal = Channels.newChannel(salida);
+        this.codificador = StandardCharsets.UTF_8.newEncoder();
+        this.bufer = ByteBuffer.allocate(TAMANO_BUFER);
+    }
+
+    /**
+     * Codifica un texto en el búfer, escribiendo en el canal cada vez que se
+     * llena.
+     *
+     * @param texto Texto a escribir
+     * @throws IOException Si falla la escritura en el canal
+     */
+    void escribir(CharSequence texto) throws IOException {
+        CharBuffer caracteres = CharBuffer.wrap(texto);
+        while (true) {
+            CoderResult resultado = codificador.encode(caracteres, bufer, false);
+            if (resultado.isOverflow()) {
+                vaciarBufer();
+            } else if (resultado.isUnderflow()) {
+                return;
+            } else {
+                resultado.throwException();
+            }
+        }
+    }
+
+    /**
+     * Escribe en el canal lo que quede en el búfer y vacía el flujo de
+     * salida.
+     *
+     * @throws IOException Si falla la escritura en el canal
+     */
+    void vaciar() throws IOException {
+        vaciarBufer();
+        salida.flush();
+    }
+
+    private void vaciarBufer() throws IOException {
+        bufer.flip();
+        while (bufer.hasRemaining()) {
+            canal.write(bufer);
+        }
+        bufer.clear();
+    }
+
+}
@@ -7,6 +7,7 @@ package BOs;
 import DTOs.EventoCreacionDTO;
 import DTOs.EventoDTO;
 import DTOs.EventoDetalleDTO;
+import DTOs.Pagina;
 import entidades.Evento;
 import entidades.Evento.EstadoEvento;
 import static entidades.Evento.EstadoEvento.EN_CURSO;
@@ -14,11 +15,14 @@ import static entidades.Evento.EstadoEvento.FINALIZADO;
 import static entidades.Evento.EstadoEvento.PLANEADO;
 import entidades.Evento.ModalidadEvento;
 import entidades.Organizador;
+import exception.ConflictoEdicionException;
+import exception.ConflictoVersionException;
 import exception.NegocioException;
 import exception.PersistenciaException;
 import fabrica.FabricaDAO;
 import interfaces.IEventoBO;
 import interfaces.IEventoDAO;
+import interfaces.IEventoDAO.PlanCarga;
 import interfaces.IOrganizadorDAO;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -85,6 +89,7 @@ public class EventoBO implements IEventoBO {
             evento.setEstado(EstadoEvento.PLANEADO); // Estado inicial
 
             evento = eventoDAO.guardar(evento);
+            PlanificadorEstados.getInstancia().programar(evento.getFechaInicio(), evento.getFechaFin());
 
             // Retornar el DTO con la información del evento persistido
             return eventoMapper.toDTO(evento);
@@ -100,6 +105,8 @@ public class EventoBO implements IEventoBO {
      * @param id ID del evento a actualizar
      * @param eventoDTO DTO con la nueva información
      * @return DTO con la información actualizada
+     * @throws ConflictoEdicionException Si el evento cambió desde la versión
+     * del DTO o si otro usuario lo guardó mientras se actualizaba
      * @throws NegocioException Si hay errores de validación o persistencia
      */
     @Override
@@ -111,6 +118,14 @@ public class EventoBO implements IEventoBO {
                 throw new NegocioException("El evento con ID " + id + " no existe.");
             }
 
+            // Validar que nadie haya modificado el evento desde que se consultó
+            if (eventoDTO.getVersion() == null) {
+                throw new NegocioException("No se indicó la versión del evento. Vuelva a cargarlo antes de guardar.");
+            }
+            if (!eventoDTO.getVersion().equals(evento.getVersion())) {
+                throw new ConflictoEdicionException("El evento fue modificado por otro usuario desde que se consultó. Vuelva a cargarlo antes de guardar.");
+            }
+
             // Validar que no se intente modificar un evento finalizado
             if (evento.getEstado() == EstadoEvento.FINALIZADO) {
                 throw new NegocioException("No se puede modificar un evento finalizado.");
@@ -133,10 +148,13 @@ public class EventoBO implements IEventoBO {
 
             // Persistir cambios
             evento = eventoDAO.actualizar(evento);
+            PlanificadorEstados.getInstancia().programar(evento.getFechaInicio(), evento.getFechaFin());
 
             // Retornar el DTO actualizado
             return eventoMapper.toDTO(evento);
 
+        } catch (ConflictoVersionException ex) {
+            throw new ConflictoEdicionException("Error al actualizar el evento: " + ex.getMessage(), ex);
         } catch (PersistenciaException ex) {
             throw new NegocioException("Error al actualizar el evento: " + ex.getMessage());
         }
@@ -153,7 +171,7 @@ public class EventoBO implements IEventoBO {
     @Override
     public EventoDetalleDTO consultar(Long id) throws NegocioException {
         try {
-            Evento evento = eventoDAO.buscarPorId(id);
+            Evento evento = eventoDAO.buscarPorId(id, PlanCarga.DETALLE);
             if (evento == null) {
                 throw new NegocioException("El evento con ID " + id + " no existe.");
             }
@@ -174,7 +192,7 @@ public class EventoBO implements IEventoBO {
     @Override
     public EventoDetalleDTO consultarPorCodigo(String codigo) throws NegocioException {
         try {
-            Evento evento = eventoDAO.buscarPorCodigo(codigo);
+            Evento evento = eventoDAO.buscarPorCodigo(codigo, PlanCarga.DETALLE);
             if (evento == null) {
                 throw new NegocioException("El evento con código " + codigo + " no existe.");
             }
@@ -193,13 +211,29 @@ public class EventoBO implements IEventoBO {
     @Override
     public List<EventoDTO> consultarTodos() throws NegocioException {
         try {
-            List<Evento> eventos = eventoDAO.consultarTodos();
-            return eventoMapper.toDTOList(eventos);
+            return eventoDAO.consultarListado();
         } catch (PersistenciaException ex) {
             throw new NegocioException("Error al consultar todos los eventos: " + ex.getMessage());
         }
     }
 
+    /**
+     * Obtiene una página de todos los eventos, ordenados por ID.
+     *
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de eventos
+     * @throws NegocioException Si hay errores de validación o persistencia
+     */
+    @Override
+    public Pagina<EventoDTO> consultarTodos(String token, int tamano) throws NegocioException {
+        try {
+            return eventoDAO.consultarListado(token, tamano);
+        } catch (PersistenciaException ex) {
+            throw new NegocioException("Error al consultar la página de eventos: " + ex.getMessage());
+        }
+    }
+
     /**
      * Consulta eventos por su título.
      *
@@ -213,7 +247,7 @@ public class EventoBO implements IEventoBO {
             if (titulo == null || titulo.trim().isEmpty()) {
                 throw new NegocioException("El título a buscar no puede estar vacío.");
             }
-            List<Evento> eventos = eventoDAO.consultarPorTitulo(titulo);
+            List<Evento> eventos = eventoDAO.consultarPorTitulo(titulo, PlanCarga.CON_ACTIVIDADES);
             return eventoMapper.toDTOList(eventos);
         } catch (PersistenciaException ex) {
             throw new NegocioException("Error al consultar eventos por título: " + ex.getMessage());
@@ -241,13 +275,43 @@ public class EventoBO implements IEventoBO {
                 throw new NegocioException("Estado no válido. Valores permitidos: PLANEADO, EN_CURSO, FINALIZADO");
             }
 
-            List<Evento> eventos = eventoDAO.consultarPorEstado(estadoEvento);
+            List<Evento> eventos = eventoDAO.consultarPorEstado(estadoEvento, PlanCarga.CON_ACTIVIDADES);
             return eventoMapper.toDTOList(eventos);
         } catch (PersistenciaException ex) {
             throw new NegocioException("Error al consultar eventos por estado: " + ex.getMessage());
         }
     }
 
+    /**
+     * Consulta una página de eventos por su estado, ordenados por ID.
+     *
+     * @param estado Estado a buscar (PLANEADO, EN_CURSO, FINALIZADO)
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de eventos con el estado especificado
+     * @throws NegocioException Si hay errores de validación o persistencia
+     */
+    @Override
+    public Pagina<EventoDTO> consultarPorEstado(String estado, String token, int tamano) throws NegocioException {
+        try {
+            if (estado == null || estado.trim().isEmpty()) {
+                throw new NegocioException("El estado a buscar no puede estar vacío.");
+            }
+
+            EstadoEvento estadoEvento;
+            try {
+                estadoEvento = EstadoEvento.valueOf(estado);
+            } catch (IllegalArgumentException ex) {
+                throw new NegocioException("Estado no válido. Valores permitidos: PLANEADO, EN_CURSO, FINALIZADO");
+            }
+
+            Pagina<Evento> eventos = eventoDAO.consultarPorEstado(estadoEvento, token, tamano, PlanCarga.CON_ACTIVIDADES);
+            return eventos.convertir(eventoMapper::toDTO);
+        } catch (PersistenciaException ex) {
+            throw new NegocioException("Error al consultar eventos por estado: " + ex.getMessage());
+        }
+    }
+
     /**
      * Consulta eventos por su modalidad.
      *
@@ -269,7 +333,7 @@ public class EventoBO implements IEventoBO {
                 throw new NegocioException("Modalidad no válida. Valores permitidos: PRESENCIAL, EN_LINEA, HIBRIDO");
             }
 
-            List<Evento> eventos = eventoDAO.consultarPorModalidad(modalidadEvento);
+            List<Evento> eventos = eventoDAO.consultarPorModalidad(modalidadEvento, PlanCarga.CON_ACTIVIDADES);
             return eventoMapper.toDTOList(eventos);
         } catch (PersistenciaException ex) {
             throw new NegocioException("Error al consultar eventos por modalidad: " + ex.getMessage());
@@ -300,7 +364,7 @@ public class EventoBO implements IEventoBO {
             LocalDateTime inicio = fechaInicio.atStartOfDay();
             LocalDateTime fin = fechaFin.atTime(23, 59, 59);
 
-            List<Evento> eventos = eventoDAO.consultarPorRangoFechas(inicio, fin);
+            List<Evento> eventos = eventoDAO.consultarPorRangoFechas(inicio, fin, PlanCarga.CON_ACTIVIDADES);
             return eventoMapper.toDTOList(eventos);
         } catch (PersistenciaException ex) {
             throw new NegocioException("Error al consultar eventos por rango de fechas: " + ex.getMessage());
@@ -313,6 +377,8 @@ public class EventoBO implements IEventoBO {
      * @param id ID del evento
      * @param nuevoEstado Nuevo estado a establecer
      * @return DTO con la información actualizada
+     * @throws ConflictoEdicionException Si otro usuario modificó el evento
+     * mientras se cambiaba su estado
      * @throws NegocioException Si hay errores de validación o persistencia
      */
     @Override
@@ -344,48 +410,77 @@ public class EventoBO implements IEventoBO {
             evento = eventoDAO.actualizar(evento);
 
             return eventoMapper.toDTO(evento);
+        } catch (ConflictoVersionException ex) {
+            throw new ConflictoEdicionException("Error al cambiar el estado del evento: " + ex.getMessage(), ex);
         } catch (PersistenciaException ex) {
             throw new NegocioException("Error al cambiar el estado del evento: " + ex.getMessage());
         }
     }
 
     /**
-     * Genera un código único para un nuevo evento.
+     * Pasa a EN_CURSO todos los eventos cuya fecha de inicio ya llegó. Los
+     * estados de origen se obtienen de las mismas reglas de transición que
+     * usa {@link #cambiarEstado(Long, String)}.
      *
-     * @return Código único en formato EV-YYYYMM-XXX
+     * @param ahora Fecha y hora de referencia
+     * @return IDs de los eventos que cambiaron de estado
+     * @throws NegocioException Si hay errores de persistencia
+     */
+    @Override
+    public List<Long> iniciarEventosVencidos(LocalDateTime ahora) throws NegocioException {
+        if (ahora == null) {
+            throw new NegocioException("La fecha de referencia no puede ser nula.");
+        }
+        try {
+            return eventoDAO.actualizarEstadoPorFecha(estadosOrigenPermitidos(EN_CURSO), EN_CURSO, ahora, null);
+        } catch (PersistenciaException ex) {
+            throw new NegocioException("Error al iniciar los eventos: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Pasa a FINALIZADO todos los eventos cuya fecha de fin ya llegó, junto
+     * con sus actividades pendientes.
+     *
+     * @param ahora Fecha y hora de referencia
+     * @return IDs de los eventos que cambiaron de estado
      * @throws NegocioException Si hay errores de persistencia
      */
     @Override
+    public List<Long> finalizarEventosVencidos(LocalDateTime ahora) throws NegocioException {
+        if (ahora == null) {
+            throw new NegocioException("La fecha de referencia no puede ser nula.");
+        }
+        try {
+            List<Long> ids = eventoDAO.actualizarEstadoPorFecha(estadosOrigenPermitidos(FINALIZADO), FINALIZADO, null, ahora);
+            if (!ids.isEmpty()) {
+                // Las actividades finalizadas ya no ocupan su lugar
+                IndiceHorarios.getInstancia().invalidarTodo();
+            }
+            return ids;
+        } catch (PersistenciaException ex) {
+            throw new NegocioException("Error al finalizar los eventos: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Genera un código único para un nuevo evento. El número secuencial se
+     * toma del contador del periodo mediante {@link GeneradorCodigosEvento},
+     * sin recorrer los eventos existentes.
+     *
+     * @return Código único en formato EV-YYYYMM-XXX
+     * @throws NegocioException Si ya se usaron los 999 códigos del periodo o
+     * hay errores de persistencia
+     */
+    @Override
     public String generarCodigo() throws NegocioException {
         try {
             // Obtener el año y mes actual
             YearMonth yearMonth = YearMonth.now();
             String fechaParte = yearMonth.format(DateTimeFormatter.ofPattern("yyyyMM"));
 
-            // Contar eventos para este periodo y generar el número secuencial
-            int contador = 1; // Valor por defecto
-            List<Evento> eventos = eventoDAO.consultarTodos();
-            if (eventos != null && !eventos.isEmpty()) {
-                List<Evento> eventosDelPeriodo = new ArrayList<>();
-                String prefijo = "EV-" + fechaParte + "-";
-
-                // Filtrar eventos del periodo actual y encontrar el número más alto
-                for (Evento evento : eventos) {
-                    if (evento.getCodigo() != null && evento.getCodigo().startsWith(prefijo)) {
-                        eventosDelPeriodo.add(evento);
-
-                        try {
-                            String secuencialStr = evento.getCodigo().substring(prefijo.length());
-                            int secuencial = Integer.parseInt(secuencialStr);
-                            if (secuencial >= contador) {
-                                contador = secuencial + 1;
-                            }
-                        } catch (NumberFormatException | IndexOutOfBoundsException ex) {
-                            // Ignorar códigos mal formados
-                        }
-                    }
-                }
-            }
+            // Obtener el siguiente número secuencial del periodo
+            long contador = GeneradorCodigosEvento.getInstancia().siguienteSecuencial("EV-" + fechaParte + "-");
 
             // Formatear el código
             return String.format("EV-%s-%03d", fechaParte, contador);
@@ -524,5 +619,29 @@ public class EventoBO implements IEventoBO {
                 throw new NegocioException("Estado actual no reconocido.");
         }
     }
+
+    /**
+     * Obtiene los estados desde los que se permite pasar al nuevo estado,
+     * según {@link #validarTransicionEstado(EstadoEvento, EstadoEvento)}. Las
+     * transiciones masivas los usan como condición de la actualización.
+     *
+     * @param nuevoEstado Estado destino
+     * @return Estados de origen permitidos, sin incluir el propio destino
+     */
+    private List<EstadoEvento> estadosOrigenPermitidos(EstadoEvento nuevoEstado) {
+        List<EstadoEvento> origenes = new ArrayList<>();
+        for (EstadoEvento estadoActual : EstadoEvento.values()) {
+            if (estadoActual == nuevoEstado) {
+                continue;
+            }
+            try {
+                validarTransicionEstado(estadoActual, nuevoEstado);
+                origenes.add(estadoActual);
+            } catch (NegocioException ex) {
+                // Transición no permitida desde este estado
+            }
+        }
+        return origenes;
+    }
     
 }
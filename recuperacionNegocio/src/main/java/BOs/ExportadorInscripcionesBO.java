@@ -0,0 +1,271 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package BOs;
+
+import DTOs.InscripcionDTO;
+import exception.NegocioException;
+import exception.PersistenciaException;
+import fabrica.FabricaDAO;
+import interfaces.IActividadDAO;
+import interfaces.IEventoDAO;
+import interfaces.IExportadorInscripcionesBO;
+import interfaces.IInscripcionDAO;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Implementación de la interfaz IExportadorInscripcionesBO. Las inscripciones
+ * se leen en bloques por llave desde el DAO y cada fila se escribe en cuanto
+ * llega a través de un {@link EscritorCanal}, de modo que la memoria usada no
+ * depende del número de inscripciones. El correo, que es el único dato
+ * encriptado de la lista, solo se consulta y desencripta si se pide su columna.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class ExportadorInscripcionesBO implements IExportadorInscripcionesBO {
+
+    private final IInscripcionDAO inscripcionDAO;
+    private final IActividadDAO actividadDAO;
+    private final IEventoDAO eventoDAO;
+
+    /**
+     * Constructor que inicializa las dependencias necesarias.
+     */
+    public ExportadorInscripcionesBO() {
+        this.inscripcionDAO = FabricaDAO.getInstancia().crearInscripcionDAO();
+        this.actividadDAO = FabricaDAO.getInstancia().crearActividadDAO();
+        this.eventoDAO = FabricaDAO.getInstancia().crearEventoDAO();
+    }
+
+    /**
+     * Exporta las inscripciones de una actividad.
+     *
+     * @param actividadId ID de la actividad
+     * @param formato Formato de exportación
+     * @param columnas Columnas a exportar, todas si es null o vacía
+     * @param salida Flujo donde se escribe la exportación; no se cierra
+     * @return Número de inscripciones exportadas
+     * @throws NegocioException Si la actividad no existe o hay errores de
+     * persistencia o de escritura
+     */
+    @Override
+    public long exportarPorActividad(Long actividadId, Formato formato, List<Columna> columnas, OutputStream salida) throws NegocioException {
+        if (actividadId == null) {
+            throw new NegocioException("El ID de la actividad no puede ser nulo.");
+        }
+        try {
+            if (actividadDAO.buscarPorId(actividadId) == null) {
+                throw new NegocioException("La actividad con ID " + actividadId + " no existe.");
+            }
+        } catch (PersistenciaException ex) {
+            throw new NegocioException("Error al consultar la actividad: " + ex.getMessage());
+        }
+        return exportar(actividadId, null, null, null, formato, columnas, salida);
+    }
+
+    /**
+     * Exporta las inscripciones de todas las actividades de un evento.
+     *
+     * @param eventoId ID del evento
+     * @param formato Formato de exportación
+     * @param columnas Columnas a exportar, todas si es null o vacía
+     * @param salida Flujo donde se escribe la exportación; no se cierra
+     * @return Número de inscripciones exportadas
+     * @throws NegocioException Si el evento no existe o hay errores de
+     * persistencia o de escritura
+     */
+    @Override
+    public long exportarPorEvento(Long eventoId, Formato formato, List<Columna> columnas, OutputStream salida) throws NegocioException {
+        if (eventoId == null) {
+            throw new NegocioException("El ID del evento no puede ser nulo.");
+        }
+        try {
+            if (eventoDAO.buscarPorId(eventoId) == null) {
+                throw new NegocioException("El evento con ID " + eventoId + " no existe.");
+            }
+        } catch (PersistenciaException ex) {
+            throw new NegocioException("Error al consultar el evento: " + ex.getMessage());
+        }
+        return exportar(null, eventoId, null, null, formato, columnas, salida);
+    }
+
+    /**
+     * Exporta las inscripciones realizadas en un rango de fechas.
+     *
+     * @param desde Fecha y hora inicial
+     * @param hasta Fecha y hora final
+     * @param formato Formato de exportación
+     * @param columnas Columnas a exportar, todas si es null o vacía
+     * @param salida Flujo donde se escribe la exportación; no se cierra
+     * @return Número de inscripciones exportadas
+     * @throws NegocioException Si el rango no es válido o hay errores de
+     * persistencia o de escritura
+     */
+    @Override
+    public long exportarPorRangoFechas(LocalDateTime desde, LocalDateTime hasta, Formato formato, List<Columna> columnas,
+            OutputStream salida) throws NegocioException {
+        if (desde == null || hasta == null) {
+            throw new NegocioException("Las fechas del rango no pueden ser nulas.");
+        }
+        if (desde.isAfter(hasta)) {
+            throw new NegocioException("La fecha inicial no puede ser posterior a la fecha final.");
+        }
+        return exportar(null, null, desde, hasta, formato, columnas, salida);
+    }
+
+    /**
+     * Recorre las inscripciones que cumplen los criterios y las escribe en la
+     * salida en el formato indicado.
+     */
+    private long exportar(Long actividadId, Long eventoId, LocalDateTime desde, LocalDateTime hasta, Formato formato,
+            List<Columna> columnas, OutputStream salida) throws NegocioException {
+        if (formato == null) {
+            throw new NegocioException("El formato de exportación no puede ser nulo.");
+        }
+        if (salida == null) {
+            throw new NegocioException("La salida de la exportación no puede ser nula.");
+        }
+        // Se respeta el orden de declaración de las columnas y se ignoran repetidas
+        Columna[] seleccion = (columnas == null || columnas.isEmpty() ? EnumSet.allOf(Columna.class)
+                : EnumSet.copyOf(columnas)).toArray(new Columna[0]);
+        boolean incluirCorreo = Arrays.asList(seleccion).contains(Columna.CORREO_PARTICIPANTE);
+
+        EscritorCanal escritor = new EscritorCanal(salida);
+        StringBuilder fila = new StringBuilder(256);
+        long[] escritas = {0};
+        try {
+            escribirInicio(escritor, formato, seleccion);
+            inscripcionDAO.recorrerListado(actividadId, eventoId, desde, hasta, incluirCorreo, inscripcion -> {
+                fila.setLength(0);
+                if (formato == Formato.CSV) {
+                    filaCsv(fila, inscripcion, seleccion);
+                } else {
+                    filaJson(fila, inscripcion, seleccion, escritas[0] == 0);
+                }
+                try {
+                    escritor.escribir(fila);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                escritas[0]++;
+            });
+            if (formato == Formato.JSON) {
+                escritor.escribir(escritas[0] == 0 ? "]\n" : "\n]\n");
+            }
+            escritor.vaciar();
+            return escritas[0];
+        } catch (IOException ex) {
+            throw new NegocioException("Error al escribir la exportación: " + ex.getMessage());
+        } catch (PersistenciaException ex) {
+            throw new NegocioException("Error al exportar las inscripciones: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Escribe el encabezado en CSV o la apertura del arreglo en JSON.
+     */
+    private void escribirInicio(EscritorCanal escritor, Formato formato, Columna[] columnas) throws IOException {
+        if (formato == Formato.JSON) {
+            escritor.escribir("[");
+            return;
+        }
+        StringBuilder encabezado = new StringBuilder();
+        for (int i = 0; i < columnas.length; i++) {
+            if (i > 0) {
+                encabezado.append(',');
+            }
+            encabezado.append(columnas[i].getNombre());
+        }
+        escritor.escribir(encabezado.append("\r\n"));
+    }
+
+    /**
+     * Agrega una inscripción como fila CSV. Los valores con comas, comillas o
+     * saltos de línea se encierran entre comillas.
+     */
+    private void filaCsv(StringBuilder fila, InscripcionDTO inscripcion, Columna[] columnas) {
+        for (int i = 0; i < columnas.length; i++) {
+            if (i > 0) {
+                fila.append(',');
+            }
+            Object valor = columnas[i].valor(inscripcion);
+            if (valor == null) {
+                continue;
+            }
+            String texto = valor.toString();
+            if (texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0 || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+                fila.append('"').append(texto.replace("\"", "\"\"")).append('"');
+            } else {
+                fila.append(texto);
+            }
+        }
+        fila.append("\r\n");
+    }
+
+    /**
+     * Agrega una inscripción como objeto JSON, precedido de una coma si no es
+     * el primero del arreglo. Los números se escriben sin comillas y los
+     * valores nulos como null.
+     */
+    private void filaJson(StringBuilder fila, InscripcionDTO inscripcion, Columna[] columnas, boolean primera) {
+        fila.append(primera ? "\n{" : ",\n{");
+        for (int i = 0; i < columnas.length; i++) {
+            if (i > 0) {
+                fila.append(',');
+            }
+            fila.append('"').append(columnas[i].getNombre()).append("\":");
+            Object valor = columnas[i].valor(inscripcion);
+            if (valor == null) {
+                fila.append("null");
+            } else if (valor instanceof Number) {
+                fila.append(valor);
+            } else {
+                textoJson(fila, valor.toString());
+            }
+        }
+        fila.append('}');
+    }
+
+    /**
+     * Agrega un texto JSON entre comillas, escapando los caracteres de
+     * control, las comillas y la diagonal invertida.
+     */
+    private void textoJson(StringBuilder destino, String texto) {
+        destino.append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '"':
+                    destino.append("\\\"");
+                    break;
+                case '\\':
+                    destino.append("\\\\");
+                    break;
+                case '\n':
+                    destino.append("\\n");
+                    break;
+                case '\r':
+                    destino.append("\\r");
+                    break;
+                case '\t':
+                    destino.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        destino.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        destino.append(c);
+                    }
+            }
+        }
+        destino.append('"');
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package BOs;
+
+import exception.NegocioException;
+import exception.PersistenciaException;
+import fabrica.FabricaDAO;
+import interfaces.IContadorCodigoDAO;
+import interfaces.IEventoDAO;
+
+/**
+ * Asignador de números secuenciales para los códigos de evento. Reserva en la
+ * base de datos bloques de valores consecutivos por periodo y los entrega
+ * desde memoria, de modo que la mayoría de los registros no consultan la base
+ * de datos. Implementa el patrón Singleton para que todas las instancias de
+ * EventoBO compartan el mismo bloque.
+ *
+ * Los valores de un bloque que no se lleguen a usar (por ejemplo, al cerrar la
+ * aplicación) se pierden, por lo que puede haber huecos en la numeración, pero
+ * nunca códigos repetidos. Como el formato EV-YYYYMM-XXX admite a lo más
+ * {@value #MAXIMO_SECUENCIAL} códigos por mes, los bloques son pequeños para
+ * que cada arranque de la aplicación desperdicie pocos valores, y al agotarse
+ * el periodo se lanza una NegocioException en lugar de generar un código con
+ * más dígitos.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class GeneradorCodigosEvento {
+
+    /**
+     * Número de valores que se reservan en cada acceso a la base de datos.
+     */
+    private static final int TAMANO_BLOQUE = 5;
+
+    /**
+     * Mayor número secuencial que cabe en los tres dígitos del código.
+     */
+    static final long MAXIMO_SECUENCIAL = 999;
+
+    private static GeneradorCodigosEvento instancia;
+
+    private final IContadorCodigoDAO contadorDAO;
+    private final IEventoDAO eventoDAO;
+
+    // Bloque vigente: valores de siguiente a limite (inclusive) del periodo actual
+    private String periodoActual;
+    private long siguiente;
+    private long limite;
+
+    private GeneradorCodigosEvento() {
+        this.contadorDAO = FabricaDAO.getInstancia().crearContadorCodigoDAO();
+        this.eventoDAO = FabricaDAO.getInstancia().crearEventoDAO();
+    }
+
+    /**
+     * Obtiene la instancia única del generador.
+     *
+     * @return Instancia de GeneradorCodigosEvento
+     */
+    public static synchronized GeneradorCodigosEvento getInstancia() {
+        if (instancia == null) {
+            instancia = new GeneradorCodigosEvento();
+        }
+        return instancia;
+    }
+
+    /**
+     * Obtiene el siguiente número secuencial para el prefijo indicado. Solo se
+     * accede a la base de datos cuando se agota el bloque vigente o cambia el
+     * periodo.
+     *
+     * @param prefijo Prefijo del código, por ejemplo EV-202505-
+     * @return Número secuencial único para el prefijo
+     * @throws NegocioException Si ya se usaron todos los números del periodo
+     * @throws PersistenciaException Si ocurre un error al reservar un bloque
+     */
+    public synchronized long siguienteSecuencial(String prefijo) throws NegocioException, PersistenciaException {
+        if (!prefijo.equals(periodoActual)) {
+            // Primer uso del periodo: el contador no debe quedar por debajo de
+            // los códigos que ya existan (por ejemplo, los previos al contador)
+            long minimo = eventoDAO.obtenerMayorSecuencial(prefijo);
+            reservar(prefijo, minimo);
+        } else if (siguiente > limite) {
+            reservar(prefijo, 0);
+        }
+        if (siguiente > MAXIMO_SECUENCIAL) {
+            throw new NegocioException("Se alcanzó el máximo de " + MAXIMO_SECUENCIAL
+                    + " códigos de evento para el periodo " + prefijo + "; no es posible registrar más eventos este mes.");
+        }
+        return siguiente++;
+    }
+
+    private void reservar(String prefijo, long minimo) throws PersistenciaException {
+        long inicio = contadorDAO.reservarBloque(prefijo, TAMANO_BLOQUE, minimo);
+        periodoActual = prefijo;
+        siguiente = inicio;
+        // El bloque no se extiende más allá del último número permitido
+        limite = Math.min(inicio + TAMANO_BLOQUE - 1, MAXIMO_SECUENCIAL);
+    }
+
+}
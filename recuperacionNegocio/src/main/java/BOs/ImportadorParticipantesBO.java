@@ -0,0 +1,438 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package BOs;
+
+import DTOs.ParticipanteCreacionDTO;
+import DTOs.ParticipanteDocenteCreacionDTO;
+import DTOs.ParticipanteEstudianteCreacionDTO;
+import DTOs.ParticipanteExternoCreacionDTO;
+import DTOs.ResultadoImportacionDTO;
+import entidades.Participante;
+import exception.NegocioException;
+import exception.PersistenciaException;
+import fabrica.FabricaDAO;
+import interfaces.IImportadorParticipantesBO;
+import interfaces.IParticipanteDAO;
+import interfaces.IParticipanteEstudianteDAO;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import mapper.ParticipanteDocenteMapper;
+import mapper.ParticipanteEstudianteMapper;
+import mapper.ParticipanteExternoMapper;
+import utils.IndiceCiegoUtil;
+
+/**
+ * Implementación de la interfaz IImportadorParticipantesBO. El archivo se lee
+ * línea por línea y se procesa en bloques de {@value #TAMANO_BLOQUE} filas: en
+ * memoria solo se mantiene el bloque actual, por lo que el consumo no depende
+ * del tamaño del archivo.
+ *
+ * Por cada bloque se validan las filas con las reglas de los BOs de cada tipo
+ * de participante, se descartan los correos y números de control repetidos
+ * dentro del bloque o ya registrados (comparando índices ciegos, sin
+ * desencriptar nada) y el resto se guarda en una sola transacción con
+ * escrituras en lote. Si el bloque falla se reintenta fila por fila para
+ * aislar las filas con error.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class ImportadorParticipantesBO implements IImportadorParticipantesBO {
+
+    /**
+     * Número de filas que se validan y guardan juntas.
+     */
+    static final int TAMANO_BLOQUE = 1000;
+
+    private static final String ESTUDIANTE = "ESTUDIANTE";
+    private static final String DOCENTE = "DOCENTE";
+    private static final String EXTERNO = "EXTERNO";
+
+    private final IParticipanteDAO participanteDAO;
+    private final IParticipanteEstudianteDAO estudianteDAO;
+    private final ParticipanteEstudianteBO estudianteBO;
+    private final ParticipanteDocenteBO docenteBO;
+    private final ParticipanteExternoBO externoBO;
+    private final ParticipanteEstudianteMapper estudianteMapper;
+    private final ParticipanteDocenteMapper docenteMapper;
+    private final ParticipanteExternoMapper externoMapper;
+
+    /**
+     * Constructor que inicializa las dependencias necesarias.
+     */
+    public ImportadorParticipantesBO() {
+        this.participanteDAO = FabricaDAO.getInstancia().crearParticipanteDAO();
+        this.estudianteDAO = FabricaDAO.getInstancia().crearParticipanteEstudianteDAO();
+        this.estudianteBO = new ParticipanteEstudianteBO();
+        this.docenteBO = new ParticipanteDocenteBO();
+        this.externoBO = new ParticipanteExternoBO();
+        this.estudianteMapper = new ParticipanteEstudianteMapper();
+        this.docenteMapper = new ParticipanteDocenteMapper();
+        this.externoMapper = new ParticipanteExternoMapper();
+    }
+
+    /**
+     * Importa los participantes de un archivo CSV.
+     *
+     * @param archivo Archivo CSV en UTF-8
+     * @param reporteErrores Archivo donde se escribe el reporte de filas
+     * rechazadas
+     * @param progreso Receptor del avance, puede ser null
+     * @return Resumen de la importación
+     * @throws NegocioException Si no se puede leer el archivo, el encabezado
+     * no es válido o no se puede escribir el reporte
+     */
+    @Override
+    public ResultadoImportacionDTO importar(Path archivo, Path reporteErrores, Progreso progreso) throws NegocioException {
+        if (archivo == null || reporteErrores == null) {
+            throw new NegocioException("El archivo a importar y el reporte de errores son obligatorios.");
+        }
+
+        ResultadoImportacionDTO resultado = new ResultadoImportacionDTO();
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8);
+                BufferedWriter reporte = Files.newBufferedWriter(reporteErrores, StandardCharsets.UTF_8)) {
+
+            String encabezado = lector.readLine();
+            if (encabezado == null) {
+                throw new NegocioException("El archivo a importar está vacío.");
+            }
+            Map<String, Integer> columnas = leerEncabezado(encabezado);
+            reporte.write("linea,motivo");
+            reporte.newLine();
+
+            List<Fila> bloque = new ArrayList<>(TAMANO_BLOQUE);
+            String linea;
+            long numeroLinea = 1;
+            while ((linea = lector.readLine()) != null) {
+                numeroLinea++;
+                if (linea.trim().isEmpty()) {
+                    continue;
+                }
+                resultado.setFilasLeidas(resultado.getFilasLeidas() + 1);
+                bloque.add(new Fila(numeroLinea, dividir(linea), columnas));
+                if (bloque.size() == TAMANO_BLOQUE) {
+                    procesarBloque(bloque, resultado, reporte);
+                    bloque.clear();
+                    notificar(progreso, resultado);
+                }
+            }
+            if (!bloque.isEmpty()) {
+                procesarBloque(bloque, resultado, reporte);
+                notificar(progreso, resultado);
+            }
+            return resultado;
+
+        } catch (IOException ex) {
+            throw new NegocioException("Error al importar el archivo de participantes: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Valida, depura y guarda un bloque de filas.
+     *
+     * @param bloque Filas del bloque
+     * @param resultado Contadores acumulados
+     * @param reporte Reporte de filas rechazadas
+     * @throws IOException Si no se puede escribir el reporte
+     * @throws NegocioException Si falla la consulta de duplicados
+     */
+    private void procesarBloque(List<Fila> bloque, ResultadoImportacionDTO resultado, BufferedWriter reporte)
+            throws IOException, NegocioException {
+        // Validar cada fila y calcular sus índices ciegos
+        bloque.parallelStream().forEach(this::validar);
+
+        List<Fila> validas = new ArrayList<>(bloque.size());
+        for (Fila fila : bloque) {
+            if (fila.error != null) {
+                resultado.setInvalidos(resultado.getInvalidos() + 1);
+                reportar(reporte, fila);
+            } else {
+                validas.add(fila);
+            }
+        }
+
+        // Descartar duplicados dentro del bloque y contra la base de datos
+        Set<String> correosRegistrados;
+        Set<String> numerosControlRegistrados;
+        try {
+            List<String> indicesCorreo = new ArrayList<>(validas.size());
+            List<String> indicesNumeroControl = new ArrayList<>();
+            for (Fila fila : validas) {
+                indicesCorreo.add(fila.indiceCorreo);
+                if (fila.indiceNumeroControl != null) {
+                    indicesNumeroControl.add(fila.indiceNumeroControl);
+                }
+            }
+            correosRegistrados = participanteDAO.consultarIndicesCorreoRegistrados(indicesCorreo);
+            numerosControlRegistrados = estudianteDAO.consultarIndicesNumeroControlRegistrados(indicesNumeroControl);
+        } catch (PersistenciaException ex) {
+            throw new NegocioException("Error al verificar participantes duplicados: " + ex.getMessage());
+        }
+
+        List<Fila> nuevas = new ArrayList<>(validas.size());
+        for (Fila fila : validas) {
+            if (correosRegistrados.contains(fila.indiceCorreo)) {
+                fila.error = "El correo ya está registrado.";
+            } else if (fila.indiceNumeroControl != null && numerosControlRegistrados.contains(fila.indiceNumeroControl)) {
+                fila.error = "El número de control ya está registrado.";
+            }
+            if (fila.error != null) {
+                resultado.setDuplicados(resultado.getDuplicados() + 1);
+                reportar(reporte, fila);
+            } else {
+                // Las filas siguientes del bloque con el mismo correo o número son duplicadas
+                correosRegistrados.add(fila.indiceCorreo);
+                if (fila.indiceNumeroControl != null) {
+                    numerosControlRegistrados.add(fila.indiceNumeroControl);
+                }
+                nuevas.add(fila);
+            }
+        }
+
+        guardar(nuevas, resultado, reporte);
+    }
+
+    /**
+     * Guarda las filas nuevas de un bloque en una sola transacción. Si la
+     * transacción falla, se reintenta fila por fila para que una fila con
+     * error no impida guardar el resto.
+     *
+     * @param nuevas Filas válidas y sin duplicados
+     * @param resultado Contadores acumulados
+     * @param reporte Reporte de filas rechazadas
+     * @throws IOException Si no se puede escribir el reporte
+     */
+    private void guardar(List<Fila> nuevas, ResultadoImportacionDTO resultado, BufferedWriter reporte) throws IOException {
+        if (nuevas.isEmpty()) {
+            return;
+        }
+        try {
+            List<Participante> entidades = new ArrayList<>(nuevas.size());
+            for (Fila fila : nuevas) {
+                entidades.add(toEntity(fila));
+            }
+            participanteDAO.guardarTodos(entidades);
+            resultado.setImportados(resultado.getImportados() + nuevas.size());
+            return;
+        } catch (PersistenciaException ex) {
+            System.err.println("Error al guardar un bloque de la importación, se reintentará fila por fila: " + ex.getMessage());
+        }
+
+        for (Fila fila : nuevas) {
+            try {
+                // Las entidades del intento anterior quedaron encriptadas, se crean de nuevo
+                participanteDAO.guardarTodos(Collections.singletonList(toEntity(fila)));
+                resultado.setImportados(resultado.getImportados() + 1);
+            } catch (PersistenciaException ex) {
+                fila.error = "No fue posible guardar el participante.";
+                resultado.setFallidos(resultado.getFallidos() + 1);
+                reportar(reporte, fila);
+            }
+        }
+    }
+
+    /**
+     * Construye el DTO de creación de una fila, lo valida con las reglas del
+     * BO de su tipo y calcula sus índices ciegos. Si la fila no es válida solo
+     * se registra el motivo.
+     *
+     * @param fila Fila a validar
+     */
+    private void validar(Fila fila) {
+        try {
+            String tipo = fila.valor("tipo");
+            if (tipo == null) {
+                throw new NegocioException("El tipo de participante es obligatorio.");
+            }
+            switch (tipo.toUpperCase(Locale.ROOT)) {
+                case ESTUDIANTE:
+                    ParticipanteEstudianteCreacionDTO estudianteDTO = new ParticipanteEstudianteCreacionDTO(
+                            fila.valor("nombre"), fila.valor("apellidoPaterno"), fila.valor("apellidoMaterno"),
+                            fila.valor("correo"), fila.valor("numeroControl"), fila.valor("carrera"));
+                    estudianteBO.validarCamposRequeridos(estudianteDTO);
+                    fila.dto = estudianteDTO;
+                    fila.indiceNumeroControl = IndiceCiegoUtil.indiceNumeroControl(estudianteDTO.getNumeroControl());
+                    break;
+                case DOCENTE:
+                    ParticipanteDocenteCreacionDTO docenteDTO = new ParticipanteDocenteCreacionDTO(
+                            fila.valor("nombre"), fila.valor("apellidoPaterno"), fila.valor("apellidoMaterno"),
+                            fila.valor("correo"), fila.valor("departamento"));
+                    docenteBO.validarCamposRequeridos(docenteDTO);
+                    fila.dto = docenteDTO;
+                    break;
+                case EXTERNO:
+                    ParticipanteExternoCreacionDTO externoDTO = new ParticipanteExternoCreacionDTO(
+                            fila.valor("nombre"), fila.valor("apellidoPaterno"), fila.valor("apellidoMaterno"),
+                            fila.valor("correo"), fila.valor("institucion"));
+                    externoBO.validarCamposRequeridos(externoDTO);
+                    fila.dto = externoDTO;
+                    break;
+                default:
+                    throw new NegocioException("El tipo de participante debe ser ESTUDIANTE, DOCENTE o EXTERNO.");
+            }
+            fila.indiceCorreo = IndiceCiegoUtil.indiceCorreo(fila.dto.getCorreo());
+        } catch (NegocioException ex) {
+            fila.error = ex.getMessage();
+        }
+    }
+
+    /**
+     * Convierte el DTO de una fila a una entidad nueva sin persistir.
+     *
+     * @param fila Fila válida
+     * @return Entidad del tipo de participante de la fila
+     */
+    private Participante toEntity(Fila fila) {
+        if (fila.dto instanceof ParticipanteEstudianteCreacionDTO) {
+            return estudianteMapper.toEntity((ParticipanteEstudianteCreacionDTO) fila.dto);
+        }
+        if (fila.dto instanceof ParticipanteDocenteCreacionDTO) {
+            return docenteMapper.toEntity((ParticipanteDocenteCreacionDTO) fila.dto);
+        }
+        return externoMapper.toEntity((ParticipanteExternoCreacionDTO) fila.dto);
+    }
+
+    /**
+     * Escribe una fila rechazada en el reporte. Solo se escribe el número de
+     * línea y el motivo, nunca los datos de la fila.
+     *
+     * @param reporte Reporte de filas rechazadas
+     * @param fila Fila rechazada
+     * @throws IOException Si no se puede escribir el reporte
+     */
+    private void reportar(BufferedWriter reporte, Fila fila) throws IOException {
+        reporte.write(Long.toString(fila.linea));
+        reporte.write(",\"");
+        reporte.write(fila.error.replace("\"", "\"\""));
+        reporte.write('"');
+        reporte.newLine();
+    }
+
+    /**
+     * Envía al receptor una copia de los contadores acumulados.
+     *
+     * @param progreso Receptor del avance, puede ser null
+     * @param resultado Contadores acumulados
+     */
+    private void notificar(Progreso progreso, ResultadoImportacionDTO resultado) {
+        if (progreso != null) {
+            progreso.avance(new ResultadoImportacionDTO(resultado.getFilasLeidas(), resultado.getImportados(),
+                    resultado.getInvalidos(), resultado.getDuplicados(), resultado.getFallidos()));
+        }
+    }
+
+    /**
+     * Lee el encabezado del archivo y regresa la posición de cada columna.
+     *
+     * @param encabezado Primera línea del archivo
+     * @return Posición de cada columna por nombre
+     * @throws NegocioException Si faltan las columnas comunes a todos los
+     * tipos de participante
+     */
+    private Map<String, Integer> leerEncabezado(String encabezado) throws NegocioException {
+        // Quitar la marca de orden de bytes que agregan algunas hojas de cálculo
+        if (encabezado.startsWith("\uFEFF")) {
+            encabezado = encabezado.substring(1);
+        }
+        Map<String, Integer> columnas = new HashMap<>();
+        String[] nombres = dividir(encabezado);
+        for (int i = 0; i < nombres.length; i++) {
+            if (nombres[i] != null) {
+                columnas.put(nombres[i].trim(), i);
+            }
+        }
+        for (String requerida : new String[]{"tipo", "nombre", "apellidoPaterno", "apellidoMaterno", "correo"}) {
+            if (!columnas.containsKey(requerida)) {
+                throw new NegocioException("El archivo no tiene la columna " + requerida + ".");
+            }
+        }
+        return columnas;
+    }
+
+    /**
+     * Divide una línea CSV en sus valores. Soporta valores entre comillas
+     * dobles con comas y comillas escapadas (""), pero no saltos de línea
+     * dentro de un valor. Los valores vacíos se regresan como null.
+     *
+     * @param linea Línea del archivo
+     * @return Valores de la línea
+     */
+    static String[] dividir(String linea) {
+        List<String> valores = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"') {
+                    if (i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                        actual.append('"');
+                        i++;
+                    } else {
+                        entreComillas = false;
+                    }
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                valores.add(actual.length() == 0 ? null : actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        valores.add(actual.length() == 0 ? null : actual.toString());
+        return valores.toArray(new String[0]);
+    }
+
+    /**
+     * Fila del archivo en proceso, con su DTO, sus índices ciegos y el motivo
+     * de rechazo si lo hay.
+     */
+    private static class Fila {
+
+        private final long linea;
+        private final String[] valores;
+        private final Map<String, Integer> columnas;
+        private ParticipanteCreacionDTO dto;
+        private String indiceCorreo;
+        private String indiceNumeroControl;
+        private String error;
+
+        Fila(long linea, String[] valores, Map<String, Integer> columnas) {
+            this.linea = linea;
+            this.valores = valores;
+            this.columnas = columnas;
+        }
+
+        /**
+         * Obtiene el valor de una columna sin espacios a los lados.
+         *
+         * @param columna Nombre de la columna
+         * @return Valor de la columna, o null si no existe o está vacía
+         */
+        String valor(String columna) {
+            Integer posicion = columnas.get(columna);
+            if (posicion == null || posicion >= valores.length || valores[posicion] == null) {
+                return null;
+            }
+            String valor = valores[posicion].trim();
+            return valor.isEmpty() ? null : valor;
+        }
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package BOs;
+
+import entidades.Actividad;
+import entidades.Lugar;
+import exception.PersistenciaException;
+import fabrica.FabricaDAO;
+import interfaces.IActividadDAO;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Índice en memoria de los horarios ocupados de cada lugar. Para cada lugar se
+ * construye, la primera vez que se consulta, un árbol de intervalos con sus
+ * actividades no finalizadas; las consultas de traslape cuestan O(log n + k).
+ * El índice de un lugar se descarta cuando se registra, actualiza o finaliza
+ * una actividad en él, y se vuelve a construir en la siguiente consulta.
+ *
+ * Implementa el patrón Singleton para que todas las instancias de ActividadBO
+ * compartan el mismo índice.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class IndiceHorarios {
+
+    private static IndiceHorarios instancia;
+
+    private final IActividadDAO actividadDAO;
+
+    // Agenda de cada lugar, por ID de lugar
+    private final Map<Long, AgendaLugar> agendas = new ConcurrentHashMap<>();
+
+    // Cambia en cada invalidación, evita guardar una agenda construida antes de ella
+    private final AtomicLong version = new AtomicLong();
+
+    private IndiceHorarios() {
+        this.actividadDAO = FabricaDAO.getInstancia().crearActividadDAO();
+    }
+
+    /**
+     * Obtiene la instancia única del índice.
+     *
+     * @return Instancia de IndiceHorarios
+     */
+    public static synchronized IndiceHorarios getInstancia() {
+        if (instancia == null) {
+            instancia = new IndiceHorarios();
+        }
+        return instancia;
+    }
+
+    /**
+     * Verifica si el horario indicado se traslapa con alguna actividad no
+     * finalizada del lugar. Los intervalos se consideran semiabiertos: una
+     * actividad que termina justo cuando empieza otra no genera conflicto.
+     *
+     * @param lugar Lugar a consultar
+     * @param inicio Fecha y hora de inicio del horario
+     * @param fin Fecha y hora de fin del horario
+     * @return true si hay traslape, false si el horario está libre
+     * @throws PersistenciaException Si hay errores al construir el índice
+     */
+    public boolean hayConflicto(Lugar lugar, LocalDateTime inicio, LocalDateTime fin) throws PersistenciaException {
+        return !obtenerAgenda(lugar).consultarTraslapes(segundos(inicio), segundos(fin), true).isEmpty();
+    }
+
+    /**
+     * Obtiene los IDs de las actividades no finalizadas del lugar que se
+     * traslapan con el horario indicado.
+     *
+     * @param lugar Lugar a consultar
+     * @param inicio Fecha y hora de inicio del horario
+     * @param fin Fecha y hora de fin del horario
+     * @return IDs de las actividades que se traslapan
+     * @throws PersistenciaException Si hay errores al construir el índice
+     */
+    public List<Long> consultarTraslapes(Lugar lugar, LocalDateTime inicio, LocalDateTime fin) throws PersistenciaException {
+        return obtenerAgenda(lugar).consultarTraslapes(segundos(inicio), segundos(fin), false);
+    }
+
+    /**
+     * Descarta el índice de un lugar. Se debe llamar cuando se registra,
+     * actualiza o finaliza una actividad en él.
+     *
+     * @param lugarId ID del lugar
+     */
+    public void invalidar(Long lugarId) {
+        if (lugarId != null) {
+            version.incrementAndGet();
+            agendas.remove(lugarId);
+        }
+    }
+
+    /**
+     * Descarta el índice de todos los lugares.
+     */
+    public void invalidarTodo() {
+        version.incrementAndGet();
+        agendas.clear();
+    }
+
+    private AgendaLugar obtenerAgenda(Lugar lugar) throws PersistenciaException {
+        AgendaLugar agenda = agendas.get(lugar.getId());
+        if (agenda != null) {
+            return agenda;
+        }
+
+        long versionInicial = version.get();
+        List<Actividad> activas = new ArrayList<>();
+        for (Actividad actividad : actividadDAO.consultarPorLugar(lugar)) {
+            if (!Boolean.TRUE.equals(actividad.getFinalizado())) {
+                activas.add(actividad);
+            }
+        }
+        agenda = new AgendaLugar(activas);
+
+        // Solo se guarda si no hubo invalidaciones mientras se construía
+        if (version.get() == versionInicial) {
+            agendas.put(lugar.getId(), agenda);
+        }
+        return agenda;
+    }
+
+    private static long segundos(LocalDateTime fechaHora) {
+        return fechaHora.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Árbol de intervalos inmutable de un lugar. Los intervalos se ordenan por
+     * inicio y se ven como un árbol binario balanceado implícito (el nodo de
+     * un rango es su elemento central); cada nodo guarda el mayor fin de su
+     * subárbol para descartar ramas completas durante la búsqueda.
+     */
+    private static final class AgendaLugar {
+
+        private final long[] inicios;
+        private final long[] fines;
+        private final long[] maxFines;
+        private final Long[] ids;
+
+        private AgendaLugar(List<Actividad> actividades) {
+            Actividad[] ordenadas = actividades.toArray(new Actividad[0]);
+            Arrays.sort(ordenadas, Comparator.comparing(Actividad::getFechaHoraInicio));
+
+            int n = ordenadas.length;
+            inicios = new long[n];
+            fines = new long[n];
+            maxFines = new long[n];
+            ids = new Long[n];
+            for (int i = 0; i < n; i++) {
+                LocalDateTime inicio = ordenadas[i].getFechaHoraInicio();
+                inicios[i] = segundos(inicio);
+                fines[i] = segundos(inicio.plusMinutes(ordenadas[i].getDuracion()));
+                ids[i] = ordenadas[i].getId();
+            }
+            calcularMaxFin(0, n - 1);
+        }
+
+        private long calcularMaxFin(int bajo, int alto) {
+            if (bajo > alto) {
+                return Long.MIN_VALUE;
+            }
+            int medio = (bajo + alto) >>> 1;
+            long max = Math.max(fines[medio], Math.max(calcularMaxFin(bajo, medio - 1), calcularMaxFin(medio + 1, alto)));
+            maxFines[medio] = max;
+            return max;
+        }
+
+        private List<Long> consultarTraslapes(long inicio, long fin, boolean soloPrimero) {
+            List<Long> resultado = new ArrayList<>();
+            buscar(0, inicios.length - 1, inicio, fin, soloPrimero, resultado);
+            return resultado;
+        }
+
+        private void buscar(int bajo, int alto, long inicio, long fin, boolean soloPrimero, List<Long> resultado) {
+            if (bajo > alto || (soloPrimero && !resultado.isEmpty())) {
+                return;
+            }
+            int medio = (bajo + alto) >>> 1;
+            // Ningún intervalo del subárbol termina después del inicio buscado
+            if (maxFines[medio] <= inicio) {
+                return;
+            }
+            buscar(bajo, medio - 1, inicio, fin, soloPrimero, resultado);
+            // Los intervalos a la derecha empiezan igual o después que el nodo
+            if (inicios[medio] >= fin) {
+                return;
+            }
+            if (fines[medio] > inicio && (!soloPrimero || resultado.isEmpty())) {
+                resultado.add(ids[medio]);
+            }
+            buscar(medio + 1, alto, inicio, fin, soloPrimero, resultado);
+        }
+    }
+
+}
@@ -6,6 +6,7 @@ package BOs;
 
 import DTOs.InscripcionCreacionDTO;
 import DTOs.InscripcionDTO;
+import DTOs.Pagina;
 import entidades.Actividad;
 import entidades.Inscripcion;
 import entidades.Inscripcion.EstadoAsistencia;
@@ -20,8 +21,11 @@ import interfaces.IParticipanteDAO;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantLock;
 import mapper.InscripcionMapper;
 
 /**
@@ -32,6 +36,26 @@ import mapper.InscripcionMapper;
  */
 public class InscripcionBO implements IInscripcionBO {
 
+    /**
+     * Número de candados para serializar los registros por actividad. Debe
+     * ser potencia de 2.
+     */
+    private static final int NUMERO_CANDADOS = 64;
+
+    /**
+     * Candados compartidos por todas las instancias. Cada actividad usa el
+     * candado que le corresponde según su ID, de modo que los registros a una
+     * misma actividad se atienden de uno en uno dentro del proceso, sin
+     * bloquear los de otras actividades.
+     */
+    private static final ReentrantLock[] CANDADOS = new ReentrantLock[NUMERO_CANDADOS];
+
+    static {
+        for (int i = 0; i < NUMERO_CANDADOS; i++) {
+            CANDADOS[i] = new ReentrantLock();
+        }
+    }
+
     private final IInscripcionDAO inscripcionDAO;
     private final IParticipanteDAO participanteDAO;
     private final IActividadDAO actividadDAO;
@@ -87,24 +111,32 @@ public class InscripcionBO implements IInscripcionBO {
                 throw new NegocioException("No se pueden realizar inscripciones a una actividad finalizada.");
             }
 
-            // Verificar que el participante no esté ya inscrito a esta actividad
-            boolean inscritoExistente = verificarInscripcionExistente(
-                    inscripcionDTO.getParticipanteId(), inscripcionDTO.getActividadId());
-            if (inscritoExistente) {
-                throw new NegocioException("El participante ya está inscrito a esta actividad.");
-            }
-
-            // Verificar que haya cupo disponible en la actividad
-            boolean hayEspacio = verificarCupoDisponible(inscripcionDTO.getActividadId());
-            if (!hayEspacio) {
+            // Verificar cupo rápido con el contador de lugares reservados
+            if (actividad.getLugaresReservados() >= actividad.getCapacidad()) {
                 throw new NegocioException("La actividad ha alcanzado su capacidad máxima.");
             }
 
-            // Crear y persistir la entidad Inscripcion
-            Inscripcion inscripcion = inscripcionMapper.toEntity(inscripcionDTO, participante, actividad);
-            inscripcion.setFechaHora(LocalDateTime.now());
+            Inscripcion inscripcion;
+            ReentrantLock candado = obtenerCandado(actividad.getId());
+            candado.lock();
+            try {
+                // Verificar que el participante no esté ya inscrito a esta actividad
+                Inscripcion existente = inscripcionDAO.buscarPorParticipanteYActividad(participante, actividad);
+                if (existente != null) {
+                    throw new NegocioException("El participante ya está inscrito a esta actividad.");
+                }
+
+                // Crear la entidad y persistirla reservando el lugar en la misma transacción
+                inscripcion = inscripcionMapper.toEntity(inscripcionDTO, participante, actividad);
+                inscripcion.setFechaHora(LocalDateTime.now());
 
-            inscripcion = inscripcionDAO.guardar(inscripcion);
+                inscripcion = inscripcionDAO.guardarConCupo(inscripcion);
+                if (inscripcion == null) {
+                    throw new NegocioException("La actividad ha alcanzado su capacidad máxima.");
+                }
+            } finally {
+                candado.unlock();
+            }
 
             // Retornar el DTO con la información de la inscripción persistida
             return inscripcionMapper.toDTO(inscripcion);
@@ -171,19 +203,12 @@ public class InscripcionBO implements IInscripcionBO {
                 throw new NegocioException("Formato de fecha/hora inválido: " + fechaHoraStr);
             }
 
-            // Buscar actividades que coincidan con nombre y fecha
-            List<Actividad> actividades = actividadDAO.consultarTodos().stream()
-                    .filter(a -> a.getNombre().equals(nombreActividad)
-                    && a.getFechaHoraInicio().isEqual(fechaHora))
-                    .collect(Collectors.toList());
-
-            if (actividades.isEmpty()) {
+            // Buscar la actividad que coincida con nombre y fecha
+            Actividad actividad = actividadDAO.buscarPorNombreYFecha(nombreActividad, fechaHora);
+            if (actividad == null) {
                 throw new NegocioException("No se encontró la actividad especificada.");
             }
 
-            // Tomar la primera actividad que coincida
-            Actividad actividad = actividades.get(0);
-
             // Consultar inscripciones
             List<Inscripcion> inscripciones = inscripcionDAO.consultarPorActividad(actividad);
             return inscripcionMapper.toDTOList(inscripciones);
@@ -193,67 +218,96 @@ public class InscripcionBO implements IInscripcionBO {
     }
 
     /**
-     * Registra la asistencia de un participante a una actividad.
+     * Consulta una página de las inscripciones de una actividad, ordenadas por
+     * ID.
      *
-     * @param inscripcionDTO Objeto InscripcionDTO con la información de la
-     * inscripción
-     * @param asistio true si el participante asistió, false si no asistió
+     * @param actividadId ID de la actividad
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de las inscripciones de la actividad
      * @throws NegocioException Si hay errores de validación o persistencia
      */
     @Override
-    public void registrarAsistencia(InscripcionDTO inscripcionDTO, boolean asistio) throws NegocioException {
+    public Pagina<InscripcionDTO> consultarPorActividad(Long actividadId, String token, int tamano) throws NegocioException {
         try {
-            // Buscar la inscripción por los datos proporcionados
-            // Buscar la actividad por nombre
-            List<Actividad> actividades = actividadDAO.consultarTodos().stream()
-                    .filter(a -> a.getNombre().equals(inscripcionDTO.getNombreActividad()))
-                    .collect(Collectors.toList());
+            if (actividadId == null) {
+                throw new NegocioException("El ID de la actividad no puede ser nulo.");
+            }
 
-            if (actividades.isEmpty()) {
-                throw new NegocioException("No se encontró la actividad especificada.");
+            Actividad actividad = actividadDAO.buscarPorId(actividadId);
+            if (actividad == null) {
+                throw new NegocioException("La actividad con ID " + actividadId + " no existe.");
             }
 
-            // Buscar la inscripción adecuada
-            Inscripcion inscripcionEncontrada = null;
-
-            for (Actividad actividad : actividades) {
-                List<Inscripcion> inscripciones = inscripcionDAO.consultarPorActividad(actividad);
-                for (Inscripcion insc : inscripciones) {
-                    // Verificar si coincide con los datos del DTO
-                    String nombreCompleto = insc.getParticipante().getNombre() + " "
-                            + insc.getParticipante().getApellidoPaterno() + " "
-                            + insc.getParticipante().getApellidoMaterno();
-
-                    if (nombreCompleto.equals(inscripcionDTO.getNombreParticipante())
-                            && insc.getParticipante().getCorreo().equals(inscripcionDTO.getCorreoParticipante())) {
-                        inscripcionEncontrada = insc;
-                        break;
-                    }
-                }
+            Pagina<Inscripcion> inscripciones = inscripcionDAO.consultarPorActividad(actividad, token, tamano);
+            return inscripciones.convertir(inscripcionMapper::toDTO);
+        } catch (PersistenciaException ex) {
+            throw new NegocioException("Error al consultar inscripciones por actividad: " + ex.getMessage());
+        }
+    }
 
-                if (inscripcionEncontrada != null) {
-                    break;
-                }
-            }
+    /**
+     * Registra la asistencia de un participante a una actividad. La
+     * inscripción se actualiza por su ID, que el DTO debe traer.
+     *
+     * @param inscripcionDTO Objeto InscripcionDTO con la información de la
+     * inscripción
+     * @param asistio true si el participante asistió, false si no asistió
+     * @throws NegocioException Si el DTO no trae el ID de la inscripción o hay
+     * errores de persistencia
+     */
+    @Override
+    public void registrarAsistencia(InscripcionDTO inscripcionDTO, boolean asistio) throws NegocioException {
+        if (inscripcionDTO == null || inscripcionDTO.getId() == null) {
+            throw new NegocioException("El ID de la inscripción es obligatorio para registrar la asistencia.");
+        }
+        registrarAsistencia(inscripcionDTO.getId(), asistio);
+    }
 
-            if (inscripcionEncontrada == null) {
-                throw new NegocioException("No se encontró la inscripción especificada.");
-            }
+    /**
+     * Registra la asistencia de una inscripción identificada por su ID.
+     *
+     * @param inscripcionId ID de la inscripción
+     * @param asistio true si el participante asistió, false si no asistió
+     * @throws NegocioException Si la inscripción no existe o hay errores de
+     * persistencia
+     */
+    @Override
+    public void registrarAsistencia(Long inscripcionId, boolean asistio) throws NegocioException {
+        if (inscripcionId == null) {
+            throw new NegocioException("El ID de la inscripción no puede ser nulo.");
+        }
+        int actualizadas = registrarAsistencias(Collections.singletonList(inscripcionId), asistio);
+        if (actualizadas == 0) {
+            throw new NegocioException("La inscripción con ID " + inscripcionId + " no existe.");
+        }
+    }
 
-            // Actualizar estado y aplicar cambios en contador de asistencias
-            EstadoAsistencia nuevoEstado;
-            if (asistio) {
-                nuevoEstado = EstadoAsistencia.ASISTIO;
-            } else {
-                nuevoEstado = EstadoAsistencia.NO_ASISTIO;
+    /**
+     * Registra la asistencia de varias inscripciones en una sola transacción.
+     * El contador de asistencias de cada participante se ajusta según el
+     * cambio de estado, por lo que marcar dos veces la misma inscripción no lo
+     * incrementa de nuevo. Si otra transacción cambia alguna de las
+     * inscripciones al mismo tiempo, la operación se repite completa.
+     *
+     * @param inscripcionIds IDs de las inscripciones
+     * @param asistio true para marcarlas como ASISTIO, false para NO_ASISTIO
+     * @return Número de inscripciones actualizadas
+     * @throws NegocioException Si hay errores de persistencia
+     */
+    @Override
+    public int registrarAsistencias(List<Long> inscripcionIds, boolean asistio) throws NegocioException {
+        return ReintentoConflictos.ejecutar("Error al registrar las asistencias", () -> {
+            if (inscripcionIds == null || inscripcionIds.isEmpty()) {
+                return 0;
+            }
+            if (inscripcionIds.contains(null)) {
+                throw new NegocioException("Los IDs de las inscripciones no pueden ser nulos.");
             }
-            inscripcionMapper.updateEstadoAsistencia(inscripcionEncontrada, nuevoEstado.toString());
 
-            // Guardar cambios
-            inscripcionDAO.actualizar(inscripcionEncontrada);
-        } catch (PersistenciaException ex) {
-            throw new NegocioException("Error al registrar la asistencia: " + ex.getMessage());
-        }
+            EstadoAsistencia estado = asistio ? EstadoAsistencia.ASISTIO : EstadoAsistencia.NO_ASISTIO;
+            return inscripcionDAO.actualizarEstadoAsistencia(new ArrayList<>(new LinkedHashSet<>(inscripcionIds)), estado);
+        });
     }
 
     /**
@@ -285,6 +339,35 @@ public class InscripcionBO implements IInscripcionBO {
         }
     }
 
+    /**
+     * Consulta una página de las inscripciones de un participante, ordenadas
+     * por ID.
+     *
+     * @param participanteId ID del participante
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de las inscripciones del participante
+     * @throws NegocioException Si hay errores de validación o persistencia
+     */
+    @Override
+    public Pagina<InscripcionDTO> consultarPorParticipante(Long participanteId, String token, int tamano) throws NegocioException {
+        try {
+            if (participanteId == null) {
+                throw new NegocioException("El ID del participante no puede ser nulo.");
+            }
+
+            Participante participante = participanteDAO.buscarPorId(participanteId);
+            if (participante == null) {
+                throw new NegocioException("El participante con ID " + participanteId + " no existe.");
+            }
+
+            Pagina<Inscripcion> inscripciones = inscripcionDAO.consultarPorParticipante(participante, token, tamano);
+            return inscripciones.convertir(inscripcionMapper::toDTO);
+        } catch (PersistenciaException ex) {
+            throw new NegocioException("Error al consultar inscripciones por participante: " + ex.getMessage());
+        }
+    }
+
     /**
      * Verifica si un participante ya está inscrito a una actividad.
      *
@@ -342,19 +425,22 @@ public class InscripcionBO implements IInscripcionBO {
                 throw new NegocioException("La actividad con ID " + actividadId + " no existe.");
             }
 
-            // Obtener la capacidad máxima
-            int capacidadMaxima = actividad.getCapacidad();
-
-            // Obtener el número de inscripciones actuales
-            List<Inscripcion> inscripciones = inscripcionDAO.consultarPorActividad(actividad);
-            int inscripcionesActuales = inscripciones.size();
-
-            // Verificar si hay cupo disponible
-            return inscripcionesActuales < capacidadMaxima;
+            // Verificar si hay cupo disponible con el contador de lugares reservados
+            return actividad.getLugaresReservados() < actividad.getCapacidad();
 
         } catch (PersistenciaException ex) {
             throw new NegocioException("Error al verificar cupo disponible: " + ex.getMessage());
         }
     }
 
+    /**
+     * Obtiene el candado que corresponde a una actividad.
+     *
+     * @param actividadId ID de la actividad
+     * @return Candado de la actividad
+     */
+    private static ReentrantLock obtenerCandado(Long actividadId) {
+        return CANDADOS[Long.hashCode(actividadId) & (NUMERO_CANDADOS - 1)];
+    }
+
 }
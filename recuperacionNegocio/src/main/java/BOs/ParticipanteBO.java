@@ -4,6 +4,7 @@
  */
 package BOs;
 
+import DTOs.Pagina;
 import DTOs.ParticipanteDTO;
 import entidades.Participante;
 import exception.NegocioException;
@@ -63,13 +64,29 @@ public class ParticipanteBO implements IParticipanteBO {
     @Override
     public List<ParticipanteDTO> consultarTodos() throws NegocioException {
         try {
-            List<Participante> participantes = participanteDAO.consultarTodos();
-            return participanteMapper.toDTOList(participantes);
+            return participanteDAO.consultarListado();
         } catch (PersistenciaException ex) {
             throw new NegocioException("Error al consultar todos los participantes: " + ex.getMessage());
         }
     }
 
+    /**
+     * Obtiene una página de todos los participantes, ordenados por ID.
+     *
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de participantes
+     * @throws NegocioException Si hay errores de validación o persistencia
+     */
+    @Override
+    public Pagina<ParticipanteDTO> consultarTodos(String token, int tamano) throws NegocioException {
+        try {
+            return participanteDAO.consultarListado(token, tamano);
+        } catch (PersistenciaException ex) {
+            throw new NegocioException("Error al consultar la página de participantes: " + ex.getMessage());
+        }
+    }
+
     /**
      * Consulta participantes por su nombre o apellidos.
      *
@@ -90,6 +107,29 @@ public class ParticipanteBO implements IParticipanteBO {
         }
     }
 
+    /**
+     * Consulta una página de participantes por su nombre o apellidos,
+     * ordenados por ID.
+     *
+     * @param nombre Nombre o parte del nombre/apellidos a buscar
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de los participantes
+     * @throws NegocioException Si hay errores de validación o persistencia
+     */
+    @Override
+    public Pagina<ParticipanteDTO> consultarPorNombre(String nombre, String token, int tamano) throws NegocioException {
+        try {
+            if (nombre == null || nombre.trim().isEmpty()) {
+                throw new NegocioException("El nombre a buscar no puede estar vacío.");
+            }
+            Pagina<Participante> participantes = participanteDAO.consultarPorNombre(nombre, token, tamano);
+            return participantes.convertir(participanteMapper::toDTO);
+        } catch (PersistenciaException ex) {
+            throw new NegocioException("Error al consultar participantes por nombre: " + ex.getMessage());
+        }
+    }
+
     /**
      * Consulta un participante por su correo electrónico.
      *
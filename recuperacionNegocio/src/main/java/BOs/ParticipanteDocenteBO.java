@@ -123,12 +123,13 @@ public class ParticipanteDocenteBO extends ParticipanteBO implements IParticipan
     }
 
     /**
-     * Valida que los campos requeridos del DTO no sean nulos o vacíos.
+     * Valida que los campos requeridos del DTO no sean nulos o vacíos. El
+     * importador masivo de participantes aplica las mismas reglas a cada fila.
      *
      * @param docenteDTO DTO a validar
      * @throws NegocioException Si algún campo requerido es inválido
      */
-    private void validarCamposRequeridos(ParticipanteDocenteCreacionDTO docenteDTO) throws NegocioException {
+    void validarCamposRequeridos(ParticipanteDocenteCreacionDTO docenteDTO) throws NegocioException {
         if (docenteDTO == null) {
             throw new NegocioException("La información del docente no puede ser nula.");
         }
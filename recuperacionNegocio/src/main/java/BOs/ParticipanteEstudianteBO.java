@@ -172,12 +172,13 @@ public class ParticipanteEstudianteBO extends ParticipanteBO implements IPartici
     }
 
     /**
-     * Valida que los campos requeridos del DTO no sean nulos o vacíos.
+     * Valida que los campos requeridos del DTO no sean nulos o vacíos. El
+     * importador masivo de participantes aplica las mismas reglas a cada fila.
      *
      * @param estudianteDTO DTO a validar
      * @throws NegocioException Si algún campo requerido es inválido
      */
-    private void validarCamposRequeridos(ParticipanteEstudianteCreacionDTO estudianteDTO) throws NegocioException {
+    void validarCamposRequeridos(ParticipanteEstudianteCreacionDTO estudianteDTO) throws NegocioException {
         if (estudianteDTO == null) {
             throw new NegocioException("La información del estudiante no puede ser nula.");
         }
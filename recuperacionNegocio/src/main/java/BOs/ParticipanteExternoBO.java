@@ -123,12 +123,13 @@ public class ParticipanteExternoBO extends ParticipanteBO implements IParticipan
     }
 
     /**
-     * Valida que los campos requeridos del DTO no sean nulos o vacíos.
+     * Valida que los campos requeridos del DTO no sean nulos o vacíos. El
+     * importador masivo de participantes aplica las mismas reglas a cada fila.
      *
      * @param externoDTO DTO a validar
      * @throws NegocioException Si algún campo requerido es inválido
      */
-    private void validarCamposRequeridos(ParticipanteExternoCreacionDTO externoDTO) throws NegocioException {
+    void validarCamposRequeridos(ParticipanteExternoCreacionDTO externoDTO) throws NegocioException {
         if (externoDTO == null) {
             throw new NegocioException("La información del participante externo no puede ser nula.");
         }
@@ -0,0 +1,270 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package BOs;
+
+import entidades.Evento.EstadoEvento;
+import exception.NegocioException;
+import exception.PersistenciaException;
+import fabrica.FabricaDAO;
+import interfaces.IEventoBO;
+import interfaces.IEventoDAO;
+import interfaces.IPlanificadorEstados;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Servicio en segundo plano que cambia automáticamente el estado de los
+ * eventos: de PLANEADO a EN_CURSO al llegar su fecha de inicio y a FINALIZADO
+ * (junto con sus actividades) al llegar su fecha de fin. Implementa el patrón
+ * Singleton.
+ *
+ * Las próximas fechas de cambio se mantienen en una cola de prioridad ordenada
+ * por tiempo; el hilo del planificador duerme hasta la primera de ellas, no
+ * consulta la base de datos periódicamente. Al despertar aplica las
+ * transiciones vencidas con las actualizaciones masivas de {@link EventoBO} y
+ * avisa a los oyentes suscritos. Tras cada despertar se carga de la base de
+ * datos el siguiente bloque de fechas, a lo más {@value #LIMITE_FECHAS} de
+ * inicio y otras tantas de fin, de modo que la cola se mantiene acotada.
+ *
+ * EventoBO avisa al planificador cuando se registra o actualiza un evento para
+ * que sus fechas se agreguen a la cola.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class PlanificadorEstados implements IPlanificadorEstados {
+
+    /**
+     * Número máximo de fechas de inicio y de fin que se cargan en cada
+     * consulta.
+     */
+    static final int LIMITE_FECHAS = 500;
+
+    /**
+     * Tiempo de espera antes de reintentar cuando falla el acceso a la base
+     * de datos.
+     */
+    private static final long ESPERA_REINTENTO_MS = 60000;
+
+    private static PlanificadorEstados instancia;
+
+    private final IEventoBO eventoBO;
+    private final IEventoDAO eventoDAO;
+    private final List<Oyente> oyentes = new CopyOnWriteArrayList<>();
+
+    // Próximas fechas de cambio, la más cercana al frente; protegida por this
+    private final PriorityQueue<LocalDateTime> fechas = new PriorityQueue<>();
+
+    private Thread hilo;
+
+    private PlanificadorEstados() {
+        this.eventoBO = new EventoBO();
+        this.eventoDAO = FabricaDAO.getInstancia().crearEventoDAO();
+    }
+
+    /**
+     * Obtiene la instancia única del planificador.
+     *
+     * @return Instancia de PlanificadorEstados
+     */
+    public static synchronized PlanificadorEstados getInstancia() {
+        if (instancia == null) {
+            instancia = new PlanificadorEstados();
+        }
+        return instancia;
+    }
+
+    /**
+     * Inicia el hilo del planificador. Al iniciar se aplican de inmediato las
+     * transiciones que quedaron pendientes mientras la aplicación estaba
+     * cerrada. Si ya está iniciado no hace nada.
+     */
+    @Override
+    public synchronized void iniciar() {
+        if (hilo != null) {
+            return;
+        }
+        fechas.clear();
+        fechas.add(LocalDateTime.MIN);
+        hilo = new Thread(this::ejecutar, "planificador-estados");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Detiene el hilo del planificador.
+     */
+    @Override
+    public synchronized void detener() {
+        if (hilo != null) {
+            hilo.interrupt();
+            hilo = null;
+            fechas.clear();
+        }
+    }
+
+    /**
+     * Indica si el hilo del planificador está iniciado.
+     *
+     * @return true si está iniciado
+     */
+    @Override
+    public synchronized boolean isIniciado() {
+        return hilo != null;
+    }
+
+    /**
+     * Agrega fechas de cambio de estado a la cola, por ejemplo las de un
+     * evento recién registrado o actualizado. Si alguna es anterior a la que
+     * el hilo está esperando, el hilo se despierta para recalcular su espera.
+     * Si el planificador no está iniciado no hace nada.
+     *
+     * @param fechasNuevas Fechas de inicio o fin de eventos, se ignoran las
+     * nulas
+     */
+    @Override
+    public synchronized void programar(LocalDateTime... fechasNuevas) {
+        if (hilo == null) {
+            return;
+        }
+        LocalDateTime primera = fechas.peek();
+        boolean despertar = false;
+        for (LocalDateTime fecha : fechasNuevas) {
+            if (fecha != null && !fechas.contains(fecha)) {
+                fechas.add(fecha);
+                despertar |= primera == null || fecha.isBefore(primera);
+            }
+        }
+        if (despertar) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Suscribe un oyente a los cambios de estado.
+     *
+     * @param oyente Oyente a suscribir
+     */
+    @Override
+    public void suscribir(Oyente oyente) {
+        if (oyente != null) {
+            oyentes.add(oyente);
+        }
+    }
+
+    /**
+     * Cancela la suscripción de un oyente.
+     *
+     * @param oyente Oyente a quitar
+     */
+    @Override
+    public void cancelarSuscripcion(Oyente oyente) {
+        oyentes.remove(oyente);
+    }
+
+    /**
+     * Ciclo del hilo: espera a la primera fecha de la cola, aplica las
+     * transiciones vencidas y carga el siguiente bloque de fechas.
+     */
+    private void ejecutar() {
+        Thread actual = Thread.currentThread();
+        try {
+            while (!actual.isInterrupted()) {
+                LocalDateTime ahora = esperarSiguiente(actual);
+                if (ahora == null) {
+                    return;
+                }
+                try {
+                    aplicarTransiciones(ahora);
+                    cargarFechas(ahora);
+                } catch (NegocioException | PersistenciaException ex) {
+                    System.err.println("Error en el planificador de estados: " + ex.getMessage());
+                    // Se reintenta pasado el tiempo de espera
+                    synchronized (this) {
+                        fechas.add(ahora.plus(Duration.ofMillis(ESPERA_REINTENTO_MS)));
+                    }
+                }
+            }
+        } catch (InterruptedException ex) {
+            // Se detuvo el planificador
+        }
+    }
+
+    /**
+     * Espera a que llegue la primera fecha de la cola y la quita junto con
+     * todas las que ya vencieron.
+     *
+     * @param actual Hilo del planificador
+     * @return Fecha y hora en que se despertó, o null si se detuvo
+     * @throws InterruptedException Si se detiene el planificador durante la
+     * espera
+     */
+    private synchronized LocalDateTime esperarSiguiente(Thread actual) throws InterruptedException {
+        while (hilo == actual) {
+            LocalDateTime siguiente = fechas.peek();
+            if (siguiente == null) {
+                wait();
+                continue;
+            }
+            LocalDateTime ahora = LocalDateTime.now();
+            long espera = siguiente.isAfter(ahora) ? Duration.between(ahora, siguiente).toMillis() : 0;
+            if (espera > 0) {
+                wait(espera);
+                continue;
+            }
+            while (!fechas.isEmpty() && !fechas.peek().isAfter(ahora)) {
+                fechas.poll();
+            }
+            return ahora;
+        }
+        return null;
+    }
+
+    /**
+     * Aplica las transiciones vencidas y avisa a los oyentes. Primero se
+     * finalizan los eventos que ya terminaron para que no pasen antes por
+     * EN_CURSO.
+     */
+    private void aplicarTransiciones(LocalDateTime ahora) throws NegocioException {
+        List<Long> finalizados = eventoBO.finalizarEventosVencidos(ahora);
+        if (!finalizados.isEmpty()) {
+            publicar(finalizados, EstadoEvento.FINALIZADO);
+        }
+        List<Long> iniciados = eventoBO.iniciarEventosVencidos(ahora);
+        if (!iniciados.isEmpty()) {
+            publicar(iniciados, EstadoEvento.EN_CURSO);
+        }
+    }
+
+    /**
+     * Vuelve a cargar de la base de datos el siguiente bloque de fechas a
+     * partir de la hora en que se despertó. Las fechas de la cola posteriores
+     * a la última del bloque se descartan para que la cola no crezca; se
+     * volverán a cargar cuando el hilo llegue a esa fecha.
+     */
+    private void cargarFechas(LocalDateTime ahora) throws PersistenciaException {
+        List<LocalDateTime> siguientes = eventoDAO.consultarFechasCambioEstado(ahora, LIMITE_FECHAS);
+        synchronized (this) {
+            if (!siguientes.isEmpty()) {
+                LocalDateTime ultima = siguientes.get(siguientes.size() - 1);
+                fechas.removeIf(fecha -> fecha.isAfter(ultima));
+            }
+        }
+        programar(siguientes.toArray(new LocalDateTime[0]));
+    }
+
+    private void publicar(List<Long> eventoIds, EstadoEvento nuevoEstado) {
+        for (Oyente oyente : oyentes) {
+            try {
+                oyente.estadoCambiado(eventoIds, nuevoEstado);
+            } catch (RuntimeException ex) {
+                System.err.println("Error en un oyente del planificador de estados: " + ex.getMessage());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package BOs;
+
+import exception.ConflictoEdicionException;
+import exception.ConflictoVersionException;
+import exception.NegocioException;
+import exception.PersistenciaException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Política de reintento para las operaciones que pueden fallar por un
+ * conflicto de versión (bloqueo optimista). En lugar de bloquear los
+ * registros, la operación se repite completa cuando otra transacción escribió
+ * primero: vuelve a leer los datos, a validarlos y a aplicar su cambio.
+ *
+ * Solo se usa con operaciones que dan el mismo resultado al repetirse, como
+ * marcar asistencias y ajustar los contadores de asistencia. Las ediciones de
+ * los usuarios no se reintentan: repetirlas aplicaría los datos del usuario
+ * sobre los cambios que otro acaba de guardar, por lo que el conflicto se
+ * reporta directamente como {@link ConflictoEdicionException}.
+ *
+ * Se hacen a lo más {@value #MAX_INTENTOS} intentos, con una espera aleatoria
+ * que crece en cada uno para que las transacciones en conflicto no vuelvan a
+ * coincidir. Si se agotan, se lanza {@link ConflictoEdicionException}.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+class ReintentoConflictos {
+
+    /**
+     * Número máximo de intentos de una operación.
+     */
+    static final int MAX_INTENTOS = 3;
+
+    /**
+     * Espera máxima antes del segundo intento; se duplica en cada intento.
+     */
+    private static final long ESPERA_BASE_MS = 20;
+
+    /**
+     * Operación que se puede repetir.
+     *
+     * @param <T> Tipo del resultado
+     */
+    @FunctionalInterface
+    interface Operacion<T> {
+
+        T ejecutar() throws NegocioException, PersistenciaException;
+    }
+
+    /**
+     * Ejecuta una operación repitiéndola mientras falle por un conflicto de
+     * versión. Las excepciones de negocio se propagan sin reintentar y las
+     * demás de persistencia se convierten en NegocioException.
+     *
+     * @param <T> Tipo del resultado
+     * @param error Mensaje de error de la operación
+     * @param operacion Operación a ejecutar
+     * @return Resultado de la operación
+     * @throws ConflictoEdicionException Si el conflicto persiste tras el
+     * último intento
+     * @throws NegocioException Si la operación falla por otra causa
+     */
+    static <T> T ejecutar(String error, Operacion<T> operacion) throws NegocioException {
+        for (int intento = 1;; intento++) {
+            try {
+                return operacion.ejecutar();
+            } catch (ConflictoVersionException ex) {
+                if (intento >= MAX_INTENTOS) {
+                    throw new ConflictoEdicionException(error + ": " + ex.getMessage(), ex);
+                }
+                esperar(intento, error, ex);
+            } catch (PersistenciaException ex) {
+                throw new NegocioException(error + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    private static void esperar(int intento, String error, ConflictoVersionException conflicto) throws ConflictoEdicionException {
+        long maximo = ESPERA_BASE_MS << (intento - 1);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maximo / 2, maximo + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConflictoEdicionException(error + ": " + conflicto.getMessage(), conflicto);
+        }
+    }
+
+}
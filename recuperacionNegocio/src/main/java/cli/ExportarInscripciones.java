@@ -0,0 +1,122 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package cli;
+
+import exception.NegocioException;
+import fabrica.FabricaBO;
+import interfaces.IExportadorInscripcionesBO;
+import interfaces.IExportadorInscripcionesBO.Columna;
+import interfaces.IExportadorInscripcionesBO.Formato;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Punto de entrada de línea de comandos para exportar listas de asistencia sin
+ * la interfaz gráfica. Uso:
+ *
+ * <pre>
+ * ExportarInscripciones (--actividad ID | --evento ID | --desde FECHA --hasta FECHA)
+ *                       [--formato csv|json] [--columnas col1,col2,...] [--salida ARCHIVO]
+ * </pre>
+ *
+ * Las fechas van en formato ISO (2025-03-01T00:00). Si no se indica la salida
+ * se escribe en la salida estándar; los mensajes van a la salida de errores.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class ExportarInscripciones {
+
+    public static void main(String[] args) {
+        Map<String, String> opciones = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                uso("Opción no válida: " + args[i]);
+                return;
+            }
+            opciones.put(args[i].substring(2), args[i + 1]);
+        }
+        if (args.length % 2 != 0) {
+            uso("Falta el valor de la opción " + args[args.length - 1]);
+            return;
+        }
+
+        try {
+            Formato formato = Formato.valueOf(opciones.getOrDefault("formato", "csv").toUpperCase(Locale.ROOT));
+            List<Columna> columnas = leerColumnas(opciones.get("columnas"));
+            IExportadorInscripcionesBO exportador = FabricaBO.getInstancia().crearExportadorInscripcionesBO();
+
+            String ruta = opciones.get("salida");
+            OutputStream salida = ruta != null ? Files.newOutputStream(Paths.get(ruta)) : System.out;
+            long filas;
+            try {
+                if (opciones.containsKey("actividad")) {
+                    filas = exportador.exportarPorActividad(Long.valueOf(opciones.get("actividad")), formato, columnas, salida);
+                } else if (opciones.containsKey("evento")) {
+                    filas = exportador.exportarPorEvento(Long.valueOf(opciones.get("evento")), formato, columnas, salida);
+                } else if (opciones.containsKey("desde") && opciones.containsKey("hasta")) {
+                    filas = exportador.exportarPorRangoFechas(LocalDateTime.parse(opciones.get("desde")),
+                            LocalDateTime.parse(opciones.get("hasta")), formato, columnas, salida);
+                } else {
+                    uso("Indique --actividad, --evento o --desde y --hasta");
+                    return;
+                }
+            } finally {
+                // La salida estándar no se cierra
+                if (ruta != null) {
+                    salida.close();
+                }
+            }
+            System.err.println("Inscripciones exportadas: " + filas);
+        } catch (NegocioException | IOException ex) {
+            System.err.println("Error al exportar: " + ex.getMessage());
+            System.exit(1);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            uso("Valor no válido: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Convierte la lista de nombres de columnas separados por comas.
+     *
+     * @param nombres Nombres de las columnas, null para exportar todas
+     * @return Columnas seleccionadas, vacía para exportar todas
+     */
+    private static List<Columna> leerColumnas(String nombres) {
+        List<Columna> columnas = new ArrayList<>();
+        if (nombres == null) {
+            return columnas;
+        }
+        for (String nombre : nombres.split(",")) {
+            Columna encontrada = null;
+            for (Columna columna : Columna.values()) {
+                if (columna.getNombre().equalsIgnoreCase(nombre.trim())) {
+                    encontrada = columna;
+                }
+            }
+            if (encontrada == null) {
+                throw new IllegalArgumentException("columna " + nombre.trim());
+            }
+            columnas.add(encontrada);
+        }
+        return columnas;
+    }
+
+    private static void uso(String mensaje) {
+        System.err.println(mensaje);
+        System.err.println("Uso: ExportarInscripciones (--actividad ID | --evento ID | --desde FECHA --hasta FECHA)"
+                + " [--formato csv|json] [--columnas col1,col2,...] [--salida ARCHIVO]");
+        System.exit(2);
+    }
+
+}
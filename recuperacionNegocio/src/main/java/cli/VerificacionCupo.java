@@ -0,0 +1,200 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Main.java to edit this template
+ */
+package cli;
+
+import DTOs.InscripcionCreacionDTO;
+import conexion.Conexion;
+import entidades.Actividad;
+import entidades.Evento;
+import entidades.Evento.EstadoEvento;
+import entidades.Evento.ModalidadEvento;
+import entidades.Lugar;
+import entidades.Lugar.TipoLugar;
+import entidades.Organizador;
+import entidades.Organizador.TipoOrganizador;
+import entidades.Participante;
+import entidades.ParticipanteExterno;
+import exception.NegocioException;
+import exception.PersistenciaException;
+import fabrica.FabricaBO;
+import fabrica.FabricaDAO;
+import interfaces.IActividadDAO;
+import interfaces.IInscripcionBO;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clase para verificar contra la base de datos que el registro de
+ * inscripciones no sobrevende una actividad. Varios hilos llaman al mismo
+ * tiempo a InscripcionBO.registrar sobre una sola actividad, cada uno con
+ * participantes distintos, y al final se revisa que ni las inscripciones de la
+ * actividad ni su contador de lugares reservados excedan la capacidad; termina
+ * con código 1 si alguno la excede. Uso:
+ *
+ * <pre>
+ * VerificacionCupo [--inscripciones N] [--hilos N] [--capacidad N] [--actividad ID]
+ * </pre>
+ *
+ * Sin --actividad se crea una actividad nueva con la capacidad indicada. Con
+ * --actividad se usa una existente, de modo que se pueden ejecutar varios
+ * procesos a la vez sobre la misma actividad: dentro de un proceso los
+ * registros de una actividad se ordenan con un candado, y entre procesos solo
+ * los protege la actualización condicional del contador en la base de datos.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class VerificacionCupo {
+
+    private static final String MENSAJE_CUPO = "La actividad ha alcanzado su capacidad máxima.";
+
+    public static void main(String[] args) throws PersistenciaException, InterruptedException {
+        int inscripciones = 2000;
+        int hilos = 32;
+        int capacidad = 100;
+        Long actividadId = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--inscripciones":
+                    inscripciones = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--hilos":
+                    hilos = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--capacidad":
+                    capacidad = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--actividad":
+                    actividadId = Long.valueOf(args[i + 1]);
+                    break;
+                default:
+                    System.err.println("Opción no válida: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        IActividadDAO actividadDAO = FabricaDAO.getInstancia().crearActividadDAO();
+        long marca = System.currentTimeMillis();
+        Actividad actividad = actividadId != null ? actividadDAO.buscarPorId(actividadId) : crearActividad(capacidad, marca);
+        if (actividad == null) {
+            System.err.println("La actividad con ID " + actividadId + " no existe.");
+            System.exit(2);
+        }
+        List<Participante> participantes = crearParticipantes(inscripciones, marca);
+        System.out.println("Actividad " + actividad.getId() + " con capacidad " + actividad.getCapacidad()
+                + ": " + inscripciones + " registros en " + hilos + " hilos");
+
+        IInscripcionBO inscripcionBO = FabricaBO.getInstancia().crearInscripcionBO();
+        AtomicInteger registradas = new AtomicInteger();
+        AtomicInteger sinCupo = new AtomicInteger();
+        AtomicInteger errores = new AtomicInteger();
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        long inicio = System.nanoTime();
+        for (Participante participante : participantes) {
+            InscripcionCreacionDTO dto = new InscripcionCreacionDTO(participante.getId(), actividad.getId());
+            ejecutor.execute(() -> {
+                try {
+                    salida.await();
+                    inscripcionBO.registrar(dto);
+                    registradas.incrementAndGet();
+                } catch (NegocioException ex) {
+                    if (ex.getMessage() != null && ex.getMessage().contains(MENSAJE_CUPO)) {
+                        sinCupo.incrementAndGet();
+                    } else if (errores.incrementAndGet() <= 5) {
+                        System.err.println("Error al registrar: " + ex.getMessage());
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        // Todos los registros empiezan al mismo tiempo
+        salida.countDown();
+        ejecutor.shutdown();
+        ejecutor.awaitTermination(1, TimeUnit.HOURS);
+        long milisegundos = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        Actividad resultado = actividadDAO.buscarPorId(actividad.getId());
+        int inscritas = FabricaDAO.getInstancia().crearInscripcionDAO().consultarPorActividad(resultado).size();
+        int reservados = resultado.getLugaresReservados();
+        boolean correcto = inscritas <= resultado.getCapacidad() && reservados <= resultado.getCapacidad();
+
+        System.out.println("Registradas: " + registradas + ", sin cupo: " + sinCupo + ", errores: " + errores
+                + " (" + milisegundos + " ms)");
+        System.out.println("Inscripciones de la actividad: " + inscritas + ", lugares reservados: " + reservados
+                + ", capacidad: " + resultado.getCapacidad() + (correcto ? " OK" : " FALLA"));
+
+        Conexion.cerrar();
+        if (!correcto) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Crea una actividad de un evento planeado a través de los DAOs.
+     */
+    private static Actividad crearActividad(int capacidad, long marca) throws PersistenciaException {
+        LocalDateTime inicio = LocalDateTime.now().withNano(0).plusDays(30);
+
+        Organizador organizador = new Organizador();
+        organizador.setNombre("Organizador de prueba");
+        organizador.setCorreo("organizador." + marca + "@ejemplo.com");
+        organizador.setTipoOrganizador(TipoOrganizador.ORGANIZADOR);
+        organizador = FabricaDAO.getInstancia().crearOrganizadorDAO().guardar(organizador);
+
+        Lugar lugar = new Lugar();
+        lugar.setNombre("Lugar " + marca);
+        lugar.setTipoLugar(TipoLugar.AULA);
+        lugar.setCapacidad(capacidad);
+        lugar = FabricaDAO.getInstancia().crearLugarDAO().guardar(lugar);
+
+        Evento evento = new Evento();
+        evento.setCodigo("CUP-" + marca);
+        evento.setTitulo("Evento de prueba de cupo");
+        evento.setDescripcion("Evento sintético para verificar el cupo de las actividades");
+        evento.setEstado(EstadoEvento.PLANEADO);
+        evento.setModalidad(ModalidadEvento.PRESENCIAL);
+        evento.setFechaInicio(inicio);
+        evento.setFechaFin(inicio.plusHours(4));
+        evento.setOrganizador(organizador);
+        evento = FabricaDAO.getInstancia().crearEventoDAO().guardar(evento);
+
+        Actividad actividad = new Actividad();
+        actividad.setNombre("Actividad de cupo");
+        actividad.setTipo("Conferencia");
+        actividad.setFechaHoraInicio(inicio);
+        actividad.setCapacidad(capacidad);
+        actividad.setDuracion(120);
+        actividad.setFinalizado(false);
+        actividad.setEvento(evento);
+        actividad.setLugar(lugar);
+        return FabricaDAO.getInstancia().crearActividadDAO().guardar(actividad);
+    }
+
+    /**
+     * Crea los participantes que se van a inscribir, uno por registro.
+     */
+    private static List<Participante> crearParticipantes(int cantidad, long marca) throws PersistenciaException {
+        List<Participante> participantes = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            ParticipanteExterno participante = new ParticipanteExterno();
+            participante.setNombre("Participante");
+            participante.setApellidoPaterno("Cupo");
+            participante.setApellidoMaterno(String.valueOf(i));
+            participante.setCorreo("cupo." + marca + "." + i + "@ejemplo.com");
+            participante.setCantidadAsistencias(0);
+            participante.setInstitucion("Institución de prueba");
+            participantes.add(participante);
+        }
+        return FabricaDAO.getInstancia().crearParticipanteDAO().guardarTodos(participantes);
+    }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package exception;
+
+/**
+ * Excepción de la capa de Negocio que indica que un registro no se guardó
+ * porque otro usuario u otra operación lo modificó al mismo tiempo. La
+ * presentación puede distinguirla del resto de los errores para pedir al
+ * usuario que vuelva a cargar los datos antes de guardar.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class ConflictoEdicionException extends NegocioException {
+
+    /**
+     * Constructor que recibe únicamente un mensaje.
+     *
+     * @param mensaje Mensaje que describe la raíz de la excepción.
+     */
+    public ConflictoEdicionException(String mensaje) {
+        super(mensaje);
+    }
+
+    /**
+     * Constructor que recibe el mensaje y la causa de la excepción, como un
+     * objeto Throwable.
+     *
+     * @param mensaje Mensaje que describe la raíz de la excepción.
+     * @param causa Objeto Throwable de la causa de la excepción.
+     */
+    public ConflictoEdicionException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+
+}
@@ -111,5 +111,33 @@ public class FabricaBO {
     public IParticipanteExternoBO crearParticipanteExternoBO() {
         return new ParticipanteExternoBO();
     }
+
+    /**
+     * Crea una instancia de IImportadorParticipantesBO.
+     *
+     * @return Instancia de IImportadorParticipantesBO
+     */
+    public IImportadorParticipantesBO crearImportadorParticipantesBO() {
+        return new ImportadorParticipantesBO();
+    }
+
+    /**
+     * Crea una instancia de IExportadorInscripcionesBO.
+     *
+     * @return Instancia de IExportadorInscripcionesBO
+     */
+    public IExportadorInscripcionesBO crearExportadorInscripcionesBO() {
+        return new ExportadorInscripcionesBO();
+    }
+
+    /**
+     * Obtiene el planificador de estados de los eventos. Es una instancia
+     * única compartida por toda la aplicación.
+     *
+     * @return Instancia de IPlanificadorEstados
+     */
+    public IPlanificadorEstados obtenerPlanificadorEstados() {
+        return PlanificadorEstados.getInstancia();
+    }
     
 }
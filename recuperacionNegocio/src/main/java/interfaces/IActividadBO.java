@@ -6,6 +6,7 @@ package interfaces;
 
 import DTOs.ActividadCreacionDTO;
 import DTOs.ActividadDTO;
+import DTOs.Pagina;
 import DTOs.ActividadDetalleDTO;
 import DTOs.LugarDTO;
 import exception.NegocioException;
@@ -32,7 +33,8 @@ public interface IActividadBO {
      * Actualiza la información de una actividad existente.
      *
      * @param id ID de la actividad a actualizar
-     * @param actividadDTO DTO con la nueva información
+     * @param actividadDTO DTO con la nueva información y la versión con la que se
+     * leyó la actividad
      * @return DTO con la información actualizada
      * @throws NegocioException Si hay errores de validación o persistencia
      */
@@ -56,6 +58,16 @@ public interface IActividadBO {
      */
     public List<ActividadDTO> consultarTodos() throws NegocioException;
 
+    /**
+     * Obtiene una página de todas las actividades, ordenadas por ID.
+     *
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de actividades
+     * @throws NegocioException Si hay errores de validación o persistencia
+     */
+    public Pagina<ActividadDTO> consultarTodos(String token, int tamano) throws NegocioException;
+
     /**
      * Consulta actividades por el evento al que pertenecen.
      *
@@ -65,6 +77,18 @@ public interface IActividadBO {
      */
     public List<ActividadDTO> consultarPorEvento(Long eventoId) throws NegocioException;
 
+    /**
+     * Consulta una página de actividades por el evento al que pertenecen,
+     * ordenadas por ID.
+     *
+     * @param eventoId ID del evento
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de actividades del evento
+     * @throws NegocioException Si hay errores de validación o persistencia
+     */
+    public Pagina<ActividadDTO> consultarPorEvento(Long eventoId, String token, int tamano) throws NegocioException;
+
     /**
      * Consulta actividades por fecha.
      *
@@ -95,6 +119,18 @@ public interface IActividadBO {
      */
     public ActividadDTO finalizarActividad(String nombre, LocalDateTime fechaHora) throws NegocioException;
 
+    /**
+     * Marca como finalizadas todas las actividades pendientes de un evento
+     * con una sola actualización masiva. Las actividades que ya estaban
+     * finalizadas no se modifican.
+     *
+     * @param eventoId ID del evento
+     * @return Número de actividades finalizadas
+     * @throws NegocioException Si el evento no existe o hay errores de
+     * persistencia
+     */
+    public int finalizarActividadesDeEvento(Long eventoId) throws NegocioException;
+
     /**
      * Verifica si hay conflictos de horario entre actividades en el mismo
      * lugar.
@@ -106,4 +142,17 @@ public interface IActividadBO {
      */
     public boolean verificarConflictosHorario(ActividadCreacionDTO actividadDTO, LugarDTO lugarDTO) throws NegocioException;
 
+    /**
+     * Verifica de una sola vez los conflictos de horario de una agenda
+     * propuesta, tanto contra las actividades registradas como entre las
+     * actividades de la misma agenda.
+     *
+     * @param agenda Lista de actividades propuestas
+     * @return Actividades de la agenda que tienen conflicto; vacía si la
+     * agenda es válida
+     * @throws NegocioException Si algún lugar no existe, faltan datos de
+     * horario o hay errores de persistencia
+     */
+    public List<ActividadCreacionDTO> verificarConflictosAgenda(List<ActividadCreacionDTO> agenda) throws NegocioException;
+
 }
@@ -7,8 +7,10 @@ package interfaces;
 import DTOs.EventoCreacionDTO;
 import DTOs.EventoDTO;
 import DTOs.EventoDetalleDTO;
+import DTOs.Pagina;
 import exception.NegocioException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -31,7 +33,8 @@ public interface IEventoBO {
      * Actualiza la información de un evento existente.
      *
      * @param id ID del evento a actualizar
-     * @param eventoDTO DTO con la nueva información
+     * @param eventoDTO DTO con la nueva información y la versión con la que se
+     * leyó el evento
      * @return DTO con la información actualizada
      * @throws NegocioException Si hay errores de validación o persistencia
      */
@@ -65,6 +68,16 @@ public interface IEventoBO {
      */
     public List<EventoDTO> consultarTodos() throws NegocioException;
 
+    /**
+     * Obtiene una página de todos los eventos, ordenados por ID.
+     *
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de eventos
+     * @throws NegocioException Si hay errores de validación o persistencia
+     */
+    public Pagina<EventoDTO> consultarTodos(String token, int tamano) throws NegocioException;
+
     /**
      * Consulta eventos por su título.
      *
@@ -83,6 +96,17 @@ public interface IEventoBO {
      */
     public List<EventoDTO> consultarPorEstado(String estado) throws NegocioException;
 
+    /**
+     * Consulta una página de eventos por su estado, ordenados por ID.
+     *
+     * @param estado Estado a buscar (PLANEADO, EN_CURSO, FINALIZADO)
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de eventos con el estado especificado
+     * @throws NegocioException Si hay errores de validación o persistencia
+     */
+    public Pagina<EventoDTO> consultarPorEstado(String estado, String token, int tamano) throws NegocioException;
+
     /**
      * Consulta eventos por su modalidad.
      *
@@ -112,11 +136,35 @@ public interface IEventoBO {
      */
     public EventoDTO cambiarEstado(Long id, String nuevoEstado) throws NegocioException;
 
+    /**
+     * Pasa a EN_CURSO todos los eventos PLANEADOS cuya fecha de inicio ya
+     * llegó, con una sola actualización masiva. Conviene llamar antes a
+     * {@link #finalizarEventosVencidos(LocalDateTime)} para que los eventos
+     * que ya terminaron pasen directamente a FINALIZADO.
+     *
+     * @param ahora Fecha y hora de referencia
+     * @return IDs de los eventos que cambiaron de estado
+     * @throws NegocioException Si hay errores de persistencia
+     */
+    public List<Long> iniciarEventosVencidos(LocalDateTime ahora) throws NegocioException;
+
+    /**
+     * Pasa a FINALIZADO todos los eventos no finalizados cuya fecha de fin ya
+     * llegó y finaliza sus actividades pendientes, con actualizaciones
+     * masivas en una sola transacción.
+     *
+     * @param ahora Fecha y hora de referencia
+     * @return IDs de los eventos que cambiaron de estado
+     * @throws NegocioException Si hay errores de persistencia
+     */
+    public List<Long> finalizarEventosVencidos(LocalDateTime ahora) throws NegocioException;
+
     /**
      * Genera un código único para un nuevo evento.
      *
      * @return Código único en formato EV-YYYYMM-XXX
-     * @throws NegocioException Si hay errores de persistencia
+     * @throws NegocioException Si ya se usaron los 999 códigos del periodo o
+     * hay errores de persistencia
      */
     public String generarCodigo() throws NegocioException;
 
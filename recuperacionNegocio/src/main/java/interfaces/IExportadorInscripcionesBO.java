@@ -0,0 +1,121 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package interfaces;
+
+import DTOs.InscripcionDTO;
+import exception.NegocioException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Interfaz que define la exportación de listas de asistencia (inscripciones)
+ * a CSV o JSON. Las filas se escriben en la salida conforme se leen de la base
+ * de datos, sin cargar la lista completa en memoria.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public interface IExportadorInscripcionesBO {
+
+    /**
+     * Formatos de exportación soportados.
+     */
+    public enum Formato {
+        /**
+         * Valores separados por comas, con encabezado.
+         */
+        CSV,
+        /**
+         * Arreglo JSON con un objeto por inscripción.
+         */
+        JSON
+    }
+
+    /**
+     * Columnas que se pueden exportar, en el orden en que se declaran. El
+     * nombre de cada columna es el encabezado en CSV y la llave en JSON.
+     */
+    public enum Columna {
+        ID("id", InscripcionDTO::getId),
+        FECHA_HORA("fechaHora", InscripcionDTO::getFechaHora),
+        ESTADO_ASISTENCIA("estadoAsistencia", InscripcionDTO::getEstadoAsistencia),
+        NOMBRE_PARTICIPANTE("nombreParticipante", InscripcionDTO::getNombreParticipante),
+        CORREO_PARTICIPANTE("correoParticipante", InscripcionDTO::getCorreoParticipante),
+        TIPO_PARTICIPANTE("tipoParticipante", InscripcionDTO::getTipoParticipante),
+        NOMBRE_ACTIVIDAD("nombreActividad", InscripcionDTO::getNombreActividad),
+        NOMBRE_EVENTO("nombreEvento", InscripcionDTO::getNombreEvento);
+
+        private final String nombre;
+        private final Function<InscripcionDTO, Object> valor;
+
+        private Columna(String nombre, Function<InscripcionDTO, Object> valor) {
+            this.nombre = nombre;
+            this.valor = valor;
+        }
+
+        /**
+         * Obtiene el nombre de la columna.
+         *
+         * @return Nombre de la columna
+         */
+        public String getNombre() {
+            return nombre;
+        }
+
+        /**
+         * Obtiene el valor de la columna de una inscripción.
+         *
+         * @param inscripcion Inscripción
+         * @return Valor de la columna, puede ser null
+         */
+        public Object valor(InscripcionDTO inscripcion) {
+            return valor.apply(inscripcion);
+        }
+    }
+
+    /**
+     * Exporta las inscripciones de una actividad.
+     *
+     * @param actividadId ID de la actividad
+     * @param formato Formato de exportación
+     * @param columnas Columnas a exportar, todas si es null o vacía
+     * @param salida Flujo donde se escribe la exportación; no se cierra
+     * @return Número de inscripciones exportadas
+     * @throws NegocioException Si la actividad no existe o hay errores de
+     * persistencia o de escritura
+     */
+    public long exportarPorActividad(Long actividadId, Formato formato, List<Columna> columnas, OutputStream salida) throws NegocioException;
+
+    /**
+     * Exporta las inscripciones de todas las actividades de un evento.
+     *
+     * @param eventoId ID del evento
+     * @param formato Formato de exportación
+     * @param columnas Columnas a exportar, todas si es null o vacía
+     * @param salida Flujo donde se escribe la exportación; no se cierra
+     * @return Número de inscripciones exportadas
+     * @throws NegocioException Si el evento no existe o hay errores de
+     * persistencia o de escritura
+     */
+    public long exportarPorEvento(Long eventoId, Formato formato, List<Columna> columnas, OutputStream salida) throws NegocioException;
+
+    /**
+     * Exporta las inscripciones realizadas en un rango de fechas, incluyendo
+     * ambos extremos.
+     *
+     * @param desde Fecha y hora inicial
+     * @param hasta Fecha y hora final
+     * @param formato Formato de exportación
+     * @param columnas Columnas a exportar, todas si es null o vacía
+     * @param salida Flujo donde se escribe la exportación; no se cierra
+     * @return Número de inscripciones exportadas
+     * @throws NegocioException Si el rango no es válido o hay errores de
+     * persistencia o de escritura
+     */
+    public long exportarPorRangoFechas(LocalDateTime desde, LocalDateTime hasta, Formato formato, List<Columna> columnas,
+            OutputStream salida) throws NegocioException;
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package interfaces;
+
+import DTOs.ResultadoImportacionDTO;
+import exception.NegocioException;
+import java.nio.file.Path;
+
+/**
+ * Interfaz que define la importación masiva de participantes (estudiantes,
+ * docentes y externos) desde un archivo CSV.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public interface IImportadorParticipantesBO {
+
+    /**
+     * Recibe el avance de una importación cada vez que se termina un bloque
+     * de filas.
+     */
+    @FunctionalInterface
+    public interface Progreso {
+
+        /**
+         * Notifica el avance de la importación.
+         *
+         * @param resultado Contadores acumulados hasta el momento
+         */
+        public void avance(ResultadoImportacionDTO resultado);
+    }
+
+    /**
+     * Importa los participantes de un archivo CSV. La primera línea es el
+     * encabezado con los nombres de las columnas: tipo (ESTUDIANTE, DOCENTE o
+     * EXTERNO), nombre, apellidoPaterno, apellidoMaterno, correo y, según el
+     * tipo, numeroControl y carrera, departamento o institucion. Cada fila se
+     * valida con las mismas reglas que el registro individual; las filas
+     * rechazadas se escriben en el reporte de errores con su número de línea y
+     * el motivo, y no detienen la importación.
+     *
+     * @param archivo Archivo CSV en UTF-8
+     * @param reporteErrores Archivo donde se escribe el reporte de filas
+     * rechazadas, se reemplaza si ya existe
+     * @param progreso Receptor del avance, puede ser null
+     * @return Resumen de la importación
+     * @throws NegocioException Si no se puede leer el archivo, el encabezado
+     * no es válido o no se puede escribir el reporte
+     */
+    public ResultadoImportacionDTO importar(Path archivo, Path reporteErrores, Progreso progreso) throws NegocioException;
+
+}
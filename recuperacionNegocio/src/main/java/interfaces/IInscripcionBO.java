@@ -6,6 +6,7 @@ package interfaces;
 
 import DTOs.InscripcionCreacionDTO;
 import DTOs.InscripcionDTO;
+import DTOs.Pagina;
 import exception.NegocioException;
 import java.util.List;
 
@@ -44,16 +45,49 @@ public interface IInscripcionBO {
      */
     public List<InscripcionDTO> consultarPorActividad(String nombreActividad, String fechaHoraStr) throws NegocioException;
 
+    /**
+     * Consulta una página de las inscripciones de una actividad, ordenadas por
+     * ID.
+     *
+     * @param actividadId ID de la actividad
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de las inscripciones de la actividad
+     * @throws NegocioException Si hay errores de validación o persistencia
+     */
+    public Pagina<InscripcionDTO> consultarPorActividad(Long actividadId, String token, int tamano) throws NegocioException;
+
     /**
      * Registra la asistencia de un participante a una actividad.
      *
      * @param inscripcionDTO Objeto InscripcionDTO con la información de la
-     * inscripción
+     * inscripción, incluido su ID
      * @param asistio true si el participante asistió, false si no asistió
-     * @throws NegocioException Si hay errores de validación o persistencia
+     * @throws NegocioException Si el DTO no trae el ID de la inscripción o hay
+     * errores de persistencia
      */
     public void registrarAsistencia(InscripcionDTO inscripcionDTO, boolean asistio) throws NegocioException;
 
+    /**
+     * Registra la asistencia de una inscripción identificada por su ID.
+     *
+     * @param inscripcionId ID de la inscripción
+     * @param asistio true si el participante asistió, false si no asistió
+     * @throws NegocioException Si la inscripción no existe o hay errores de
+     * persistencia
+     */
+    public void registrarAsistencia(Long inscripcionId, boolean asistio) throws NegocioException;
+
+    /**
+     * Registra la asistencia de varias inscripciones en una sola transacción.
+     *
+     * @param inscripcionIds IDs de las inscripciones
+     * @param asistio true para marcarlas como ASISTIO, false para NO_ASISTIO
+     * @return Número de inscripciones actualizadas
+     * @throws NegocioException Si hay errores de persistencia
+     */
+    public int registrarAsistencias(List<Long> inscripcionIds, boolean asistio) throws NegocioException;
+
     /**
      * Obtiene todas las inscripciones de un participante.
      *
@@ -63,6 +97,18 @@ public interface IInscripcionBO {
      */
     public List<InscripcionDTO> consultarPorParticipante(Long participanteId) throws NegocioException;
 
+    /**
+     * Consulta una página de las inscripciones de un participante, ordenadas
+     * por ID.
+     *
+     * @param participanteId ID del participante
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de las inscripciones del participante
+     * @throws NegocioException Si hay errores de validación o persistencia
+     */
+    public Pagina<InscripcionDTO> consultarPorParticipante(Long participanteId, String token, int tamano) throws NegocioException;
+
     /**
      * Verifica si un participante ya está inscrito a una actividad.
      *
@@ -4,6 +4,7 @@
  */
 package interfaces;
 
+import DTOs.Pagina;
 import DTOs.ParticipanteDTO;
 import exception.NegocioException;
 import java.util.List;
@@ -34,6 +35,16 @@ public interface IParticipanteBO {
      */
     public List<ParticipanteDTO> consultarTodos() throws NegocioException;
 
+    /**
+     * Obtiene una página de todos los participantes, ordenados por ID.
+     *
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de participantes
+     * @throws NegocioException Si hay errores de validación o persistencia
+     */
+    public Pagina<ParticipanteDTO> consultarTodos(String token, int tamano) throws NegocioException;
+
     /**
      * Consulta participantes por su nombre o apellidos.
      *
@@ -43,6 +54,18 @@ public interface IParticipanteBO {
      */
     public List<ParticipanteDTO> consultarPorNombre(String nombre) throws NegocioException;
 
+    /**
+     * Consulta una página de participantes por su nombre o apellidos,
+     * ordenados por ID.
+     *
+     * @param nombre Nombre o parte del nombre/apellidos a buscar
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de los participantes
+     * @throws NegocioException Si hay errores de validación o persistencia
+     */
+    public Pagina<ParticipanteDTO> consultarPorNombre(String nombre, String token, int tamano) throws NegocioException;
+
     /**
      * Consulta un participante por su correo electrónico.
      *
@@ -0,0 +1,79 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package interfaces;
+
+import entidades.Evento.EstadoEvento;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Interfaz del servicio que cambia automáticamente el estado de los eventos
+ * al llegar sus fechas de inicio y de fin, y avisa de los cambios a los
+ * oyentes suscritos.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public interface IPlanificadorEstados {
+
+    /**
+     * Recibe los cambios de estado aplicados por el planificador. Se invoca
+     * desde el hilo del planificador; la interfaz gráfica debe pasar al hilo
+     * de eventos de Swing antes de actualizar sus componentes.
+     */
+    @FunctionalInterface
+    public interface Oyente {
+
+        /**
+         * Notifica que un conjunto de eventos cambió de estado.
+         *
+         * @param eventoIds IDs de los eventos que cambiaron
+         * @param nuevoEstado Estado al que pasaron
+         */
+        public void estadoCambiado(List<Long> eventoIds, EstadoEvento nuevoEstado);
+    }
+
+    /**
+     * Inicia el planificador. Al iniciar se aplican de inmediato las
+     * transiciones que quedaron pendientes mientras la aplicación estaba
+     * cerrada. Si ya está iniciado no hace nada.
+     */
+    public void iniciar();
+
+    /**
+     * Detiene el planificador.
+     */
+    public void detener();
+
+    /**
+     * Indica si el planificador está iniciado.
+     *
+     * @return true si está iniciado
+     */
+    public boolean isIniciado();
+
+    /**
+     * Agrega fechas de cambio de estado, por ejemplo las de un evento recién
+     * registrado o actualizado. Si el planificador no está iniciado no hace
+     * nada.
+     *
+     * @param fechas Fechas de inicio o fin de eventos, se ignoran las nulas
+     */
+    public void programar(LocalDateTime... fechas);
+
+    /**
+     * Suscribe un oyente a los cambios de estado.
+     *
+     * @param oyente Oyente a suscribir
+     */
+    public void suscribir(Oyente oyente);
+
+    /**
+     * Cancela la suscripción de un oyente.
+     *
+     * @param oyente Oyente a quitar
+     */
+    public void cancelarSuscripcion(Oyente oyente);
+
+}
@@ -66,6 +66,7 @@ public class ActividadMapper {
         dto.setNombreLugar(nombreLugar);
         dto.setNumeroInscritos(numeroInscritos);
         dto.setPorcentajeOcupacion(porcentajeOcupacion);
+        dto.setVersion(actividad.getVersion());
 
         return dto;
     }
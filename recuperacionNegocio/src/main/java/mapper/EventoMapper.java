@@ -59,6 +59,7 @@ public class EventoMapper {
         Integer totalActividades = evento.getActividades().size();
 
         EventoDTO dto = new EventoDTO();
+        dto.setIdEvento(evento.getId());
         dto.setCodigo(evento.getCodigo());
         dto.setTitulo(evento.getTitulo());
         dto.setDescripcion(evento.getDescripcion());
@@ -71,6 +72,7 @@ public class EventoMapper {
         dto.setCorreoOrganizador(correoOrganizador);
         dto.setNombreActividades(nombreActividades);
         dto.setTotalActividades(totalActividades);
+        dto.setVersion(evento.getVersion());
 
         return dto;
     }
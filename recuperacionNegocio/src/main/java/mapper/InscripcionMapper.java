@@ -63,6 +63,7 @@ public class InscripcionMapper {
         String nombreEvento = actividad.getEvento().getTitulo();
 
         InscripcionDTO dto = new InscripcionDTO();
+        dto.setId(inscripcion.getId());
         dto.setFechaHora(inscripcion.getFechaHora());
 
         // El estado de asistencia puede ser null 
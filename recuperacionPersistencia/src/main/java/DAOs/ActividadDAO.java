@@ -4,16 +4,22 @@
  */
 package DAOs;
 
+import DTOs.ActividadDTO;
+import DTOs.Pagina;
+import conexion.CacheConsultas;
 import conexion.Conexion;
 import entidades.Actividad;
 import entidades.Evento;
 import entidades.Lugar;
+import exception.ConflictoVersionException;
 import exception.PersistenciaException;
 import interfaces.IActividadDAO;
 import java.time.LocalDateTime;
 import java.util.List;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import utils.Paginacion;
+import utils.SoloLectura;
 
 /**
  * Implementación de la interfaz IActividadDAO utilizando JPA.
@@ -36,6 +42,7 @@ public class ActividadDAO implements IActividadDAO {
             em.getTransaction().begin();
             em.persist(actividad);
             em.getTransaction().commit();
+            CacheConsultas.invalidar(Actividad.class);
             return actividad;
         } catch (Exception ex) {
             em.getTransaction().rollback();
@@ -45,11 +52,49 @@ public class ActividadDAO implements IActividadDAO {
         }
     }
 
+    /**
+     * Guarda varias actividades en una sola transacción con escrituras JDBC
+     * en lote, vaciando el contexto de persistencia cada lote.
+     *
+     * @param actividades Actividades a guardar
+     * @return Las mismas actividades con su ID asignado
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public List<Actividad> guardarTodos(List<Actividad> actividades) throws PersistenciaException {
+        if (actividades.isEmpty()) {
+            return actividades;
+        }
+        EntityManager em = Conexion.crearConexion();
+        try {
+            em.getTransaction().begin();
+            int lote = Conexion.obtenerConfiguracion().getTamanoLoteEscritura();
+            for (int i = 0; i < actividades.size(); i++) {
+                em.persist(actividades.get(i));
+                if ((i + 1) % lote == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+            CacheConsultas.invalidar(Actividad.class);
+            return actividades;
+        } catch (Exception ex) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            throw new PersistenciaException("Error al guardar las actividades: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
     /**
      * Actualiza una actividad existente en la base de datos.
      *
      * @param actividad Objeto Actividad con los datos actualizados
      * @return Actividad actualizada
+     * @throws ConflictoVersionException Si la actividad cambió desde que se leyó
      * @throws PersistenciaException Si ocurre un error durante la operación
      */
     @Override
@@ -59,15 +104,53 @@ public class ActividadDAO implements IActividadDAO {
             em.getTransaction().begin();
             Actividad actividadActualizada = em.merge(actividad);
             em.getTransaction().commit();
+            CacheConsultas.invalidar(Actividad.class);
             return actividadActualizada;
         } catch (Exception ex) {
-            em.getTransaction().rollback();
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            if (ConflictoVersionException.esConflicto(ex)) {
+                throw new ConflictoVersionException("La actividad fue modificada por otro usuario mientras se editaba.", ex);
+            }
             throw new PersistenciaException("Error al actualizar la actividad: " + ex.getMessage());
         } finally {
             em.close();
         }
     }
 
+    /**
+     * Marca como finalizadas todas las actividades pendientes de un evento
+     * con una sola sentencia de actualización masiva.
+     *
+     * @param eventoId ID del evento
+     * @return Número de actividades finalizadas
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public int finalizarPorEvento(Long eventoId) throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            em.getTransaction().begin();
+            int finalizadas = em.createNamedQuery("Actividad.finalizarPorEvento")
+                    .setParameter("eventoId", eventoId)
+                    .executeUpdate();
+            em.getTransaction().commit();
+            if (finalizadas > 0) {
+                CacheConsultas.invalidar(Actividad.class);
+                Conexion.invalidarCache(Actividad.class);
+            }
+            return finalizadas;
+        } catch (Exception ex) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            throw new PersistenciaException("Error al finalizar las actividades del evento: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
     /**
      * Busca una actividad por su ID.
      *
@@ -97,7 +180,7 @@ public class ActividadDAO implements IActividadDAO {
     public List<Actividad> consultarTodos() throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Actividad> query = em.createQuery("select a from Actividad a", Actividad.class);
+            TypedQuery<Actividad> query = SoloLectura.preparar(em.createNamedQuery("Actividad.consultarTodos", Actividad.class));
             return query.getResultList();
         } catch (Exception ex) {
             throw new PersistenciaException("Error al consultar todas las actividades: " + ex.getMessage());
@@ -106,6 +189,50 @@ public class ActividadDAO implements IActividadDAO {
         }
     }
 
+    /**
+     * Obtiene el listado de todas las actividades proyectado directamente a
+     * DTOs, sin cargar las entidades ni sus relaciones. El número de inscritos
+     * se toma del contador de lugares reservados.
+     *
+     * @return Lista de DTOs de todas las actividades
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public List<ActividadDTO> consultarListado() throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            TypedQuery<ActividadDTO> query = em.createNamedQuery("Actividad.consultarListado", ActividadDTO.class);
+            return query.getResultList();
+        } catch (Exception ex) {
+            throw new PersistenciaException("Error al consultar el listado de actividades: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Obtiene una página del listado de actividades, ordenado por ID,
+     * proyectado directamente a DTOs.
+     *
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de actividades
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public Pagina<ActividadDTO> consultarListado(String token, int tamano) throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            TypedQuery<ActividadDTO> query = em.createNamedQuery("Actividad.consultarListadoPagina", ActividadDTO.class);
+            query.setParameter("ultimoId", Paginacion.decodificarDesde(token));
+            return Paginacion.paginar(query, Paginacion.normalizarTamano(tamano), ActividadDTO::getIdActividad);
+        } catch (Exception ex) {
+            throw new PersistenciaException("Error al consultar la página del listado de actividades: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
     /**
      * Consulta actividades por el evento al que pertenecen.
      *
@@ -117,8 +244,7 @@ public class ActividadDAO implements IActividadDAO {
     public List<Actividad> consultarPorEvento(Evento evento) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Actividad> query = em.createQuery(
-                    "select a from Actividad a where a.evento = :evento", Actividad.class);
+            TypedQuery<Actividad> query = SoloLectura.preparar(em.createNamedQuery("Actividad.consultarPorEvento", Actividad.class));
             query.setParameter("evento", evento);
             return query.getResultList();
         } catch (Exception ex) {
@@ -128,6 +254,31 @@ public class ActividadDAO implements IActividadDAO {
         }
     }
 
+    /**
+     * Consulta una página de actividades por el evento al que pertenecen,
+     * ordenadas por ID.
+     *
+     * @param evento Evento de las actividades
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de actividades del evento
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public Pagina<Actividad> consultarPorEvento(Evento evento, String token, int tamano) throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            TypedQuery<Actividad> query = SoloLectura.preparar(em.createNamedQuery("Actividad.consultarPorEventoPagina", Actividad.class));
+            query.setParameter("evento", evento);
+            query.setParameter("ultimoId", Paginacion.decodificarDesde(token));
+            return Paginacion.paginar(query, Paginacion.normalizarTamano(tamano), Actividad::getId);
+        } catch (Exception ex) {
+            throw new PersistenciaException("Error al consultar la página de actividades por evento: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
     /**
      * Consulta actividades por el lugar donde se realizan.
      *
@@ -139,8 +290,7 @@ public class ActividadDAO implements IActividadDAO {
     public List<Actividad> consultarPorLugar(Lugar lugar) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Actividad> query = em.createQuery(
-                    "select a from Actividad a where a.lugar = :lugar", Actividad.class);
+            TypedQuery<Actividad> query = SoloLectura.preparar(em.createNamedQuery("Actividad.consultarPorLugar", Actividad.class));
             query.setParameter("lugar", lugar);
             return query.getResultList();
         } catch (Exception ex) {
@@ -162,9 +312,7 @@ public class ActividadDAO implements IActividadDAO {
     public List<Actividad> consultarPorRangoFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Actividad> query = em.createQuery(
-                    "select a from Actividad a where a.fechaHoraInicio between:fechaInicio and :fechaFin",
-                    Actividad.class);
+            TypedQuery<Actividad> query = SoloLectura.preparar(em.createNamedQuery("Actividad.consultarPorRangoFechas", Actividad.class));
             query.setParameter("fechaInicio", fechaInicio);
             query.setParameter("fechaFin", fechaFin);
             return query.getResultList();
@@ -186,9 +334,7 @@ public class ActividadDAO implements IActividadDAO {
     public List<Actividad> consultarPorEstadoFinalizacion(Boolean finalizado) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Actividad> query = em.createQuery(
-                    "select a from Actividad a where a.finalizado = :finalizado",
-                    Actividad.class);
+            TypedQuery<Actividad> query = SoloLectura.preparar(em.createNamedQuery("Actividad.consultarPorEstadoFinalizacion", Actividad.class));
             query.setParameter("finalizado", finalizado);
             return query.getResultList();
         } catch (Exception ex) {
@@ -197,5 +343,32 @@ public class ActividadDAO implements IActividadDAO {
             em.close();
         }
     }
+
+    /**
+     * Busca una actividad por su nombre y su fecha y hora de inicio. La
+     * consulta usa el índice compuesto (nombre, fecha_hora_inicio), por lo que
+     * solo se lee la fila buscada.
+     *
+     * @param nombre Nombre de la actividad
+     * @param fechaHoraInicio Fecha y hora de inicio de la actividad
+     * @return Actividad encontrada o null si no existe
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public Actividad buscarPorNombreYFecha(String nombre, LocalDateTime fechaHoraInicio) throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            TypedQuery<Actividad> query = em.createNamedQuery("Actividad.buscarPorNombreYFecha", Actividad.class);
+            query.setParameter("nombre", nombre);
+            query.setParameter("fechaHoraInicio", fechaHoraInicio);
+            query.setMaxResults(1);
+            List<Actividad> actividades = query.getResultList();
+            return actividades.isEmpty() ? null : actividades.get(0);
+        } catch (Exception ex) {
+            throw new PersistenciaException("Error al buscar actividad por nombre y fecha: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
     
 }
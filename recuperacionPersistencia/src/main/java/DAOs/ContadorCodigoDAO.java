@@ -0,0 +1,73 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package DAOs;
+
+import conexion.Conexion;
+import entidades.ContadorCodigo;
+import exception.PersistenciaException;
+import interfaces.IContadorCodigoDAO;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+
+/**
+ * Implementación de la interfaz IContadorCodigoDAO utilizando JPA. La fila del
+ * contador se bloquea con un bloqueo pesimista mientras se reserva el bloque,
+ * por lo que dos reservas concurrentes nunca obtienen valores repetidos.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class ContadorCodigoDAO implements IContadorCodigoDAO {
+
+    /**
+     * Reserva un bloque de valores consecutivos para una clave. Si dos
+     * procesos intentan crear el mismo contador al mismo tiempo, uno de ellos
+     * falla por la llave primaria y se reintenta una vez sobre la fila ya
+     * creada.
+     *
+     * @param clave Clave del contador
+     * @param tamano Número de valores a reservar, mayor a cero
+     * @param minimo Valor a partir del cual se reserva
+     * @return Primer valor del bloque reservado
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public long reservarBloque(String clave, int tamano, long minimo) throws PersistenciaException {
+        if (tamano <= 0) {
+            throw new PersistenciaException("El tamaño del bloque debe ser mayor a cero.");
+        }
+        try {
+            return intentarReservar(clave, tamano, minimo);
+        } catch (PersistenciaException ex) {
+            return intentarReservar(clave, tamano, minimo);
+        }
+    }
+
+    private long intentarReservar(String clave, int tamano, long minimo) throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            em.getTransaction().begin();
+            ContadorCodigo contador = em.find(ContadorCodigo.class, clave, LockModeType.PESSIMISTIC_WRITE);
+            if (contador == null) {
+                contador = new ContadorCodigo(clave, minimo);
+                em.persist(contador);
+            } else if (contador.getUltimoValor() < minimo) {
+                contador.setUltimoValor(minimo);
+            }
+
+            long inicio = contador.getUltimoValor() + 1;
+            contador.setUltimoValor(contador.getUltimoValor() + tamano);
+            em.getTransaction().commit();
+            return inicio;
+        } catch (Exception ex) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            throw new PersistenciaException("Error al reservar valores del contador " + clave + ": " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
+}
@@ -4,18 +4,32 @@
  */
 package DAOs;
 
+import DTOs.EventoDTO;
+import DTOs.Pagina;
+import conexion.CacheConsultas;
 import conexion.Conexion;
+import entidades.Actividad;
 import entidades.Evento;
 import entidades.Evento.EstadoEvento;
 import entidades.Evento.ModalidadEvento;
 import entidades.Organizador;
+import exception.ConflictoVersionException;
 import exception.PersistenciaException;
 import interfaces.IEventoDAO;
+import interfaces.IEventoDAO.PlanCarga;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.TreeSet;
 import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
 import javax.persistence.NoResultException;
 import javax.persistence.TypedQuery;
+import org.eclipse.persistence.annotations.BatchFetchType;
+import org.eclipse.persistence.config.QueryHints;
+import utils.Paginacion;
+import utils.SoloLectura;
 
 /**
  * Implementación de la interfaz IEventoDAO utilizando JPA.
@@ -24,6 +38,18 @@ import javax.persistence.TypedQuery;
  */
 public class EventoDAO implements IEventoDAO {
 
+    /**
+     * Entidades cuya escritura invalida las consultas de eventos en caché:
+     * los eventos muestran el nombre del organizador y sus actividades.
+     */
+    private static final Class<?>[] DEPENDENCIAS_CACHE = {Evento.class, Actividad.class, Organizador.class};
+
+    /**
+     * Fecha que sustituye a un límite de fecha no indicado en la consulta de
+     * eventos por cambiar de estado; es la mayor que admite DATETIME en MySQL.
+     */
+    private static final LocalDateTime SIN_LIMITE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     /**
      * Guarda un evento en la base de datos.
      *
@@ -38,6 +64,7 @@ public class EventoDAO implements IEventoDAO {
             em.getTransaction().begin();
             em.persist(evento);
             em.getTransaction().commit();
+            CacheConsultas.invalidar(Evento.class);
             return evento;
         } catch (Exception ex) {
             em.getTransaction().rollback();
@@ -52,6 +79,7 @@ public class EventoDAO implements IEventoDAO {
      *
      * @param evento Objeto Evento con los datos actualizados
      * @return Evento actualizado
+     * @throws ConflictoVersionException Si el evento cambió desde que se leyó
      * @throws PersistenciaException Si ocurre un error durante la operación
      */
     @Override
@@ -61,15 +89,125 @@ public class EventoDAO implements IEventoDAO {
             em.getTransaction().begin();
             Evento eventoActualizado = em.merge(evento);
             em.getTransaction().commit();
+            CacheConsultas.invalidar(Evento.class);
             return eventoActualizado;
         } catch (Exception ex) {
-            em.getTransaction().rollback();
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            if (ConflictoVersionException.esConflicto(ex)) {
+                throw new ConflictoVersionException("El evento fue modificado por otro usuario mientras se editaba.", ex);
+            }
             throw new PersistenciaException("Error al actualizar el evento: " + ex.getMessage());
         } finally {
             em.close();
         }
     }
 
+    /**
+     * Cambia el estado de los eventos cuyas fechas ya llegaron a los límites
+     * indicados. Primero se obtienen y bloquean los IDs de los eventos que
+     * cumplen, de modo que las actualizaciones masivas posteriores afectan
+     * exactamente a esos eventos aunque otra transacción los modifique al
+     * mismo tiempo.
+     *
+     * @param estadosOrigen Estados desde los que se permite la transición
+     * @param nuevoEstado Estado al que pasan los eventos
+     * @param inicioHasta Fecha límite de inicio, null para no filtrar
+     * @param finHasta Fecha límite de fin, null para no filtrar
+     * @return IDs de los eventos que cambiaron de estado
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public List<Long> actualizarEstadoPorFecha(Collection<EstadoEvento> estadosOrigen, EstadoEvento nuevoEstado,
+            LocalDateTime inicioHasta, LocalDateTime finHasta) throws PersistenciaException {
+        if (estadosOrigen == null || estadosOrigen.isEmpty()) {
+            return new ArrayList<>();
+        }
+        EntityManager em = Conexion.crearConexion();
+        try {
+            em.getTransaction().begin();
+
+            TypedQuery<Long> query = em.createNamedQuery("Evento.consultarIdsPorCambiarEstado", Long.class);
+            query.setParameter("origen", estadosOrigen);
+            query.setParameter("inicioHasta", inicioHasta != null ? inicioHasta : SIN_LIMITE);
+            query.setParameter("finHasta", finHasta != null ? finHasta : SIN_LIMITE);
+            query.setLockMode(LockModeType.PESSIMISTIC_WRITE);
+            List<Long> ids = query.getResultList();
+
+            if (!ids.isEmpty()) {
+                if (nuevoEstado == EstadoEvento.FINALIZADO) {
+                    em.createNamedQuery("Actividad.finalizarPorEventos")
+                            .setParameter("ids", ids)
+                            .executeUpdate();
+                }
+                em.createNamedQuery("Evento.actualizarEstado")
+                        .setParameter("nuevo", nuevoEstado)
+                        .setParameter("ids", ids)
+                        .executeUpdate();
+            }
+            em.getTransaction().commit();
+
+            if (!ids.isEmpty()) {
+                CacheConsultas.invalidar(Evento.class, Actividad.class);
+                Conexion.invalidarCache(Evento.class);
+                Conexion.invalidarCache(Actividad.class);
+            }
+            return ids;
+        } catch (Exception ex) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            throw new PersistenciaException("Error al actualizar el estado de los eventos: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Obtiene las próximas fechas de cambio de estado de los eventos. Las
+     * fechas de inicio y de fin se consultan por separado con el mismo límite;
+     * si alguna de las dos listas llega al límite, el resultado se corta en su
+     * última fecha para no omitir fechas de la otra lista que sean anteriores
+     * a las que faltan por consultar.
+     *
+     * @param desde Fecha y hora a partir de la cual se buscan (exclusiva)
+     * @param limite Número máximo de fechas de inicio y de fin a consultar
+     * @return Fechas de cambio de estado ordenadas
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public List<LocalDateTime> consultarFechasCambioEstado(LocalDateTime desde, int limite) throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            List<LocalDateTime> inicios = em.createNamedQuery("Evento.consultarFechasInicioPendientes", LocalDateTime.class)
+                    .setParameter("planeado", EstadoEvento.PLANEADO)
+                    .setParameter("desde", desde)
+                    .setMaxResults(limite)
+                    .getResultList();
+            List<LocalDateTime> fines = em.createNamedQuery("Evento.consultarFechasFinPendientes", LocalDateTime.class)
+                    .setParameter("estados", List.of(EstadoEvento.PLANEADO, EstadoEvento.EN_CURSO))
+                    .setParameter("desde", desde)
+                    .setMaxResults(limite)
+                    .getResultList();
+
+            TreeSet<LocalDateTime> fechas = new TreeSet<>(inicios);
+            fechas.addAll(fines);
+            LocalDateTime corte = null;
+            if (inicios.size() == limite) {
+                corte = inicios.get(inicios.size() - 1);
+            }
+            if (fines.size() == limite && (corte == null || fines.get(fines.size() - 1).isBefore(corte))) {
+                corte = fines.get(fines.size() - 1);
+            }
+            return new ArrayList<>(corte != null ? fechas.headSet(corte, true) : fechas);
+        } catch (Exception ex) {
+            throw new PersistenciaException("Error al consultar las fechas de cambio de estado: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
     /**
      * Busca un evento por su ID.
      *
@@ -89,6 +227,30 @@ public class EventoDAO implements IEventoDAO {
         }
     }
 
+    /**
+     * Busca un evento por su ID cargando las relaciones del plan indicado.
+     *
+     * @param id ID del evento a buscar
+     * @param plan Plan de carga de las relaciones
+     * @return Evento encontrado o null si no existe
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public Evento buscarPorId(Long id, PlanCarga plan) throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            TypedQuery<Evento> query = crearConsulta(em, "Evento.buscarPorId", plan);
+            query.setParameter("id", id);
+            return query.getSingleResult();
+        } catch (NoResultException ex) {
+            return null;
+        } catch (Exception ex) {
+            throw new PersistenciaException("Error al buscar el evento: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
     /**
      * Busca un evento por su código único.
      *
@@ -98,10 +260,23 @@ public class EventoDAO implements IEventoDAO {
      */
     @Override
     public Evento buscarPorCodigo(String codigo) throws PersistenciaException {
+        return buscarPorCodigo(codigo, PlanCarga.LISTA);
+    }
+
+    /**
+     * Busca un evento por su código único cargando las relaciones del plan
+     * indicado.
+     *
+     * @param codigo Código único del evento
+     * @param plan Plan de carga de las relaciones
+     * @return Evento encontrado o null si no existe
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public Evento buscarPorCodigo(String codigo, PlanCarga plan) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Evento> query = em.createQuery(
-                    "select e from Evento e where e.codigo = :codigo", Evento.class);
+            TypedQuery<Evento> query = crearConsulta(em, "Evento.buscarPorCodigo", plan);
             query.setParameter("codigo", codigo);
             return query.getSingleResult();
         } catch (NoResultException ex) {
@@ -121,9 +296,22 @@ public class EventoDAO implements IEventoDAO {
      */
     @Override
     public List<Evento> consultarTodos() throws PersistenciaException {
+        return consultarTodos(PlanCarga.LISTA);
+    }
+
+    /**
+     * Obtiene todos los eventos almacenados en la base de datos cargando las
+     * relaciones del plan indicado.
+     *
+     * @param plan Plan de carga de las relaciones
+     * @return Lista de todos los eventos
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public List<Evento> consultarTodos(PlanCarga plan) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Evento> query = em.createQuery("select e from Evento e", Evento.class);
+            TypedQuery<Evento> query = SoloLectura.preparar(crearConsulta(em, "Evento.consultarTodos", plan));
             return query.getResultList();
         } catch (Exception ex) {
             throw new PersistenciaException("Error al consultar todos los eventos: " + ex.getMessage());
@@ -132,6 +320,64 @@ public class EventoDAO implements IEventoDAO {
         }
     }
 
+    /**
+     * Obtiene una página de todos los eventos, ordenados por ID, cargando las
+     * relaciones del plan indicado.
+     *
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de eventos
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public Pagina<Evento> consultarTodos(String token, int tamano, PlanCarga plan) throws PersistenciaException {
+        return consultarPagina("Evento.consultarTodosPagina", null, null, token, tamano, plan, "Error al consultar la página de eventos");
+    }
+
+    /**
+     * Obtiene el listado de todos los eventos proyectado directamente a DTOs,
+     * sin cargar las entidades ni sus actividades. Los DTOs solo traen el total
+     * de actividades (calculado con una subconsulta), no sus nombres.
+     *
+     * @return Lista de DTOs de todos los eventos
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public List<EventoDTO> consultarListado() throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            TypedQuery<EventoDTO> query = em.createNamedQuery("Evento.consultarListado", EventoDTO.class);
+            return query.getResultList();
+        } catch (Exception ex) {
+            throw new PersistenciaException("Error al consultar el listado de eventos: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Obtiene una página del listado de eventos, ordenado por ID, proyectado
+     * directamente a DTOs.
+     *
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de eventos
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public Pagina<EventoDTO> consultarListado(String token, int tamano) throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            TypedQuery<EventoDTO> query = em.createNamedQuery("Evento.consultarListadoPagina", EventoDTO.class);
+            query.setParameter("ultimoId", Paginacion.decodificarDesde(token));
+            return Paginacion.paginar(query, Paginacion.normalizarTamano(tamano), EventoDTO::getIdEvento);
+        } catch (Exception ex) {
+            throw new PersistenciaException("Error al consultar la página del listado de eventos: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
     /**
      * Consulta eventos por su título.
      *
@@ -141,10 +387,23 @@ public class EventoDAO implements IEventoDAO {
      */
     @Override
     public List<Evento> consultarPorTitulo(String titulo) throws PersistenciaException {
+        return consultarPorTitulo(titulo, PlanCarga.LISTA);
+    }
+
+    /**
+     * Consulta eventos por su título cargando las relaciones del
+     * plan indicado.
+     *
+     * @param titulo Título o parte del título a buscar
+     * @param plan Plan de carga de las relaciones
+     * @return Lista de eventos que coinciden con el título
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public List<Evento> consultarPorTitulo(String titulo, PlanCarga plan) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Evento> query = em.createQuery(
-                    "select e from Evento e where e.titulo like :titulo", Evento.class);
+            TypedQuery<Evento> query = SoloLectura.preparar(crearConsulta(em, "Evento.consultarPorTitulo", plan));
             query.setParameter("titulo", "%" + titulo + "%");
             return query.getResultList();
         } catch (Exception ex) {
@@ -163,10 +422,41 @@ public class EventoDAO implements IEventoDAO {
      */
     @Override
     public List<Evento> consultarPorEstado(EstadoEvento estado) throws PersistenciaException {
+        return consultarPorEstado(estado, PlanCarga.LISTA);
+    }
+
+    /**
+     * Consulta eventos por su estado cargando las relaciones del
+     * plan indicado. El resultado se guarda en la caché de consultas, salvo
+     * con el plan DETALLE, que incluye las inscripciones y cambia con cada
+     * registro.
+     *
+     * @param estado Estado a buscar
+     * @param plan Plan de carga de las relaciones
+     * @return Lista de eventos con el estado especificado
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public List<Evento> consultarPorEstado(EstadoEvento estado, PlanCarga plan) throws PersistenciaException {
+        if (plan == PlanCarga.DETALLE) {
+            return consultarPorEstadoSinCache(estado, plan);
+        }
+        return CacheConsultas.consultar("Evento.consultarPorEstado", DEPENDENCIAS_CACHE,
+                () -> consultarPorEstadoSinCache(estado, plan), estado, plan);
+    }
+
+    /**
+     * Consulta eventos por su estado directamente en la base de datos.
+     *
+     * @param estado Estado a buscar
+     * @param plan Plan de carga de las relaciones
+     * @return Lista de eventos con el estado especificado
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    private List<Evento> consultarPorEstadoSinCache(EstadoEvento estado, PlanCarga plan) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Evento> query = em.createQuery(
-                    "select e from Evento e where e.estado = :estado", Evento.class);
+            TypedQuery<Evento> query = SoloLectura.preparar(crearConsulta(em, "Evento.consultarPorEstado", plan));
             query.setParameter("estado", estado);
             return query.getResultList();
         } catch (Exception ex) {
@@ -176,6 +466,21 @@ public class EventoDAO implements IEventoDAO {
         }
     }
 
+    /**
+     * Consulta una página de eventos por su estado, ordenados por ID.
+     *
+     * @param estado Estado a buscar
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de eventos con el estado especificado
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public Pagina<Evento> consultarPorEstado(EstadoEvento estado, String token, int tamano, PlanCarga plan) throws PersistenciaException {
+        return consultarPagina("Evento.consultarPorEstadoPagina", "estado", estado, token, tamano, plan,
+                "Error al consultar la página de eventos por estado");
+    }
+
     /**
      * Consulta eventos por su modalidad.
      *
@@ -185,10 +490,23 @@ public class EventoDAO implements IEventoDAO {
      */
     @Override
     public List<Evento> consultarPorModalidad(ModalidadEvento modalidad) throws PersistenciaException {
+        return consultarPorModalidad(modalidad, PlanCarga.LISTA);
+    }
+
+    /**
+     * Consulta eventos por su modalidad cargando las relaciones del
+     * plan indicado.
+     *
+     * @param modalidad Modalidad a buscar
+     * @param plan Plan de carga de las relaciones
+     * @return Lista de eventos con la modalidad especificada
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public List<Evento> consultarPorModalidad(ModalidadEvento modalidad, PlanCarga plan) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Evento> query = em.createQuery(
-                    "select e from Evento e where e.modalidad = :modalidad", Evento.class);
+            TypedQuery<Evento> query = SoloLectura.preparar(crearConsulta(em, "Evento.consultarPorModalidad", plan));
             query.setParameter("modalidad", modalidad);
             return query.getResultList();
         } catch (Exception ex) {
@@ -198,6 +516,21 @@ public class EventoDAO implements IEventoDAO {
         }
     }
 
+    /**
+     * Consulta una página de eventos por su modalidad, ordenados por ID.
+     *
+     * @param modalidad Modalidad a buscar
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de eventos con la modalidad especificada
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public Pagina<Evento> consultarPorModalidad(ModalidadEvento modalidad, String token, int tamano, PlanCarga plan) throws PersistenciaException {
+        return consultarPagina("Evento.consultarPorModalidadPagina", "modalidad", modalidad, token, tamano, plan,
+                "Error al consultar la página de eventos por modalidad");
+    }
+
     /**
      * Consulta eventos por un rango de fechas.
      *
@@ -208,13 +541,24 @@ public class EventoDAO implements IEventoDAO {
      */
     @Override
     public List<Evento> consultarPorRangoFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin) throws PersistenciaException {
+        return consultarPorRangoFechas(fechaInicio, fechaFin, PlanCarga.LISTA);
+    }
+
+    /**
+     * Consulta eventos por un rango de fechas cargando las relaciones del
+     * plan indicado.
+     *
+     * @param fechaInicio Fecha de inicio del rango
+     * @param fechaFin Fecha de fin del rango
+     * @param plan Plan de carga de las relaciones
+     * @return Lista de eventos en el rango de fechas
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public List<Evento> consultarPorRangoFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin, PlanCarga plan) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Evento> query = em.createQuery(
-                    "select e from Evento e where (e.fechaInicio between :fechaInicio and :fechaFin) "
-                    + "or (e.fechaFin between :fechaInicio and :fechaFin) "
-                    + "or (e.fechaInicio <= :fechaInicio and e.fechaFin >= :fechaFin)",
-                    Evento.class);
+            TypedQuery<Evento> query = SoloLectura.preparar(crearConsulta(em, "Evento.consultarPorRangoFechas", plan));
             query.setParameter("fechaInicio", fechaInicio);
             query.setParameter("fechaFin", fechaFin);
             return query.getResultList();
@@ -234,10 +578,23 @@ public class EventoDAO implements IEventoDAO {
      */
     @Override
     public List<Evento> consultarPorOrganizador(Organizador organizador) throws PersistenciaException {
+        return consultarPorOrganizador(organizador, PlanCarga.LISTA);
+    }
+
+    /**
+     * Consulta eventos por organizador cargando las relaciones del
+     * plan indicado.
+     *
+     * @param organizador Organizador de los eventos
+     * @param plan Plan de carga de las relaciones
+     * @return Lista de eventos del organizador especificado
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public List<Evento> consultarPorOrganizador(Organizador organizador, PlanCarga plan) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Evento> query = em.createQuery(
-                    "select e from Evento e where e.organizador = :organizador", Evento.class);
+            TypedQuery<Evento> query = SoloLectura.preparar(crearConsulta(em, "Evento.consultarPorOrganizador", plan));
             query.setParameter("organizador", organizador);
             return query.getResultList();
         } catch (Exception ex) {
@@ -246,5 +603,112 @@ public class EventoDAO implements IEventoDAO {
             em.close();
         }
     }
+
+    /**
+     * Consulta una página de eventos por organizador, ordenados por ID.
+     *
+     * @param organizador Organizador de los eventos
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de eventos del organizador especificado
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public Pagina<Evento> consultarPorOrganizador(Organizador organizador, String token, int tamano, PlanCarga plan) throws PersistenciaException {
+        return consultarPagina("Evento.consultarPorOrganizadorPagina", "organizador", organizador, token, tamano, plan,
+                "Error al consultar la página de eventos por organizador");
+    }
+
+    /**
+     * Obtiene el mayor número secuencial entre los códigos de evento que
+     * empiezan con el prefijo indicado. Solo se consultan los códigos del
+     * prefijo, no la tabla completa.
+     *
+     * @param prefijo Prefijo del código, por ejemplo EV-202505-
+     * @return Mayor número secuencial encontrado, o 0 si no hay códigos
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public long obtenerMayorSecuencial(String prefijo) throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            TypedQuery<String> query = em.createNamedQuery("Evento.consultarCodigosPorPrefijo", String.class);
+            query.setParameter("prefijo", prefijo + "%");
+
+            long mayor = 0;
+            for (String codigo : query.getResultList()) {
+                try {
+                    mayor = Math.max(mayor, Long.parseLong(codigo.substring(prefijo.length())));
+                } catch (NumberFormatException | IndexOutOfBoundsException ex) {
+                    // Ignorar códigos mal formados
+                }
+            }
+            return mayor;
+        } catch (Exception ex) {
+            throw new PersistenciaException("Error al obtener el mayor secuencial de eventos: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Crea la consulta nombrada de eventos indicada con el plan de carga
+     * indicado. Las consultas de eventos declaradas en la entidad traen el
+     * organizador con JOIN FETCH en la misma sentencia. Las colecciones se
+     * cargan por lotes (batch IN): una sentencia adicional por relación para
+     * todos los eventos del resultado, en lugar de una por evento, y sin
+     * multiplicar las filas del resultado principal.
+     *
+     * @param em EntityManager de la operación
+     * @param nombre Nombre de la consulta declarada en {@link Evento}
+     * @param plan Plan de carga de las relaciones
+     * @return Consulta lista para asignar sus parámetros
+     */
+    private TypedQuery<Evento> crearConsulta(EntityManager em, String nombre, PlanCarga plan) {
+        TypedQuery<Evento> query = em.createNamedQuery(nombre, Evento.class);
+
+        if (plan == PlanCarga.CON_ACTIVIDADES || plan == PlanCarga.DETALLE) {
+            query.setHint(QueryHints.BATCH_TYPE, BatchFetchType.IN);
+            query.setHint(QueryHints.BATCH, "e.actividades");
+            if (plan == PlanCarga.DETALLE) {
+                query.setHint(QueryHints.BATCH, "e.actividades.lugar");
+                query.setHint(QueryHints.BATCH, "e.actividades.inscripciones");
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Consulta una página de eventos ordenados por ID con una consulta
+     * nombrada de a lo más un parámetro además de :ultimoId. La página empieza
+     * después del último ID del token.
+     *
+     * @param nombre Nombre de la consulta declarada en {@link Evento}
+     * @param parametro Nombre del parámetro de la condición, o null si no
+     * tiene
+     * @param valor Valor del parámetro de la condición
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @param plan Plan de carga de las relaciones
+     * @param error Mensaje de error de la operación
+     * @return Página de eventos
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    private Pagina<Evento> consultarPagina(String nombre, String parametro, Object valor, String token,
+            int tamano, PlanCarga plan, String error) throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            TypedQuery<Evento> query = SoloLectura.preparar(crearConsulta(em, nombre, plan));
+            if (parametro != null) {
+                query.setParameter(parametro, valor);
+            }
+            query.setParameter("ultimoId", Paginacion.decodificarDesde(token));
+            return Paginacion.paginar(query, Paginacion.normalizarTamano(tamano), Evento::getId);
+        } catch (Exception ex) {
+            throw new PersistenciaException(error + ": " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
     
 }
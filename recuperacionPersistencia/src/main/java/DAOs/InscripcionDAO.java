@@ -4,18 +4,37 @@
  */
 package DAOs;
 
+import DTOs.InscripcionDTO;
+import DTOs.Pagina;
 import conexion.Conexion;
 import entidades.Actividad;
 import entidades.Inscripcion;
 import entidades.Inscripcion.EstadoAsistencia;
 import entidades.Participante;
+import exception.ConflictoVersionException;
 import exception.PersistenciaException;
 import interfaces.IInscripcionDAO;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import javax.persistence.OptimisticLockException;
+import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import utils.DesencriptadorMasivo;
+import utils.EncryptionUtil;
+import utils.Paginacion;
+import utils.RecorridoCursor;
+import utils.RegistroCamposSensibles;
+import utils.SoloLectura;
 
 /**
  * Implementación de la interfaz IInscripcionDAO utilizando JPA.
@@ -47,11 +66,108 @@ public class InscripcionDAO implements IInscripcionDAO {
         }
     }
 
+    /**
+     * Guarda una inscripción reservando un lugar de su actividad en la misma
+     * transacción. El lugar se reserva con una actualización condicional, por
+     * lo que la actividad nunca supera su capacidad aunque haya registros
+     * concurrentes.
+     *
+     * @param inscripcion Objeto Inscripcion a guardar
+     * @return Inscripcion guardada con su ID asignado, o null si la actividad
+     * ya no tiene cupo
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public Inscripcion guardarConCupo(Inscripcion inscripcion) throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            em.getTransaction().begin();
+
+            // Reservar un lugar solo si quedan lugares disponibles
+            int reservados = em.createNamedQuery("Actividad.reservarLugar")
+                    .setParameter("id", inscripcion.getActividad().getId())
+                    .executeUpdate();
+            if (reservados == 0) {
+                em.getTransaction().rollback();
+                return null;
+            }
+
+            em.persist(inscripcion);
+            em.getTransaction().commit();
+            return inscripcion;
+        } catch (Exception ex) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            throw new PersistenciaException("Error al guardar la inscripción: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Guarda varias inscripciones en una sola transacción con escrituras JDBC
+     * en lote. Primero se reservan los lugares de cada actividad con una sola
+     * actualización condicional por actividad y después se insertan las
+     * inscripciones, vaciando el contexto de persistencia cada lote para que
+     * la memoria no crezca con el número de inscripciones.
+     *
+     * @param inscripciones Inscripciones a guardar
+     * @return Las mismas inscripciones con su ID asignado
+     * @throws PersistenciaException Si alguna actividad no tiene cupo o
+     * ocurre un error durante la operación
+     */
+    @Override
+    public List<Inscripcion> guardarTodos(List<Inscripcion> inscripciones) throws PersistenciaException {
+        if (inscripciones.isEmpty()) {
+            return inscripciones;
+        }
+        EntityManager em = Conexion.crearConexion();
+        try {
+            em.getTransaction().begin();
+
+            // Reservar los lugares de cada actividad de una sola vez
+            Map<Long, Integer> porActividad = new LinkedHashMap<>();
+            for (Inscripcion inscripcion : inscripciones) {
+                porActividad.merge(inscripcion.getActividad().getId(), 1, Integer::sum);
+            }
+            for (Map.Entry<Long, Integer> reserva : porActividad.entrySet()) {
+                int reservados = em.createNamedQuery("Actividad.reservarLugares")
+                        .setParameter("cantidad", reserva.getValue())
+                        .setParameter("id", reserva.getKey())
+                        .executeUpdate();
+                if (reservados == 0) {
+                    throw new PersistenciaException("La actividad con ID " + reserva.getKey()
+                            + " no tiene cupo para " + reserva.getValue() + " inscripciones.");
+                }
+            }
+
+            int lote = Conexion.obtenerConfiguracion().getTamanoLoteEscritura();
+            for (int i = 0; i < inscripciones.size(); i++) {
+                em.persist(inscripciones.get(i));
+                if ((i + 1) % lote == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+            return inscripciones;
+        } catch (Exception ex) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            throw new PersistenciaException("Error al guardar las inscripciones: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
     /**
      * Actualiza una inscripción existente en la base de datos.
      *
      * @param inscripcion Objeto Inscripcion con los datos actualizados
      * @return Inscripcion actualizada
+     * @throws ConflictoVersionException Si la inscripción cambió desde que se leyó
      * @throws PersistenciaException Si ocurre un error durante la operación
      */
     @Override
@@ -63,7 +179,12 @@ public class InscripcionDAO implements IInscripcionDAO {
             em.getTransaction().commit();
             return inscripcionActualizada;
         } catch (Exception ex) {
-            em.getTransaction().rollback();
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            if (ConflictoVersionException.esConflicto(ex)) {
+                throw new ConflictoVersionException("La inscripción fue modificada por otra operación mientras se editaba.", ex);
+            }
             throw new PersistenciaException("Error al actualizar la inscripción: " + ex.getMessage());
         } finally {
             em.close();
@@ -71,7 +192,113 @@ public class InscripcionDAO implements IInscripcionDAO {
     }
 
     /**
-     * Elimina una inscripción de la base de datos.
+     * Cambia el estado de asistencia de varias inscripciones en una sola
+     * transacción y ajusta el contador de asistencias de sus participantes con
+     * actualizaciones por conjunto: suma uno por cada inscripción que pasa a
+     * ASISTIO y resta uno por cada una que deja de estarlo.
+     *
+     * El cambio en los contadores se calcula con el estado leído al inicio,
+     * sin bloquear las inscripciones. Para que dos llamadas concurrentes no
+     * cuenten dos veces la misma asistencia, cada inscripción solo se
+     * actualiza si su estado sigue siendo el leído; si alguna cambió mientras
+     * tanto, la transacción se revierte y se reporta un conflicto.
+     *
+     * @param ids IDs de las inscripciones a actualizar
+     * @param estado Nuevo estado de asistencia
+     * @return Número de inscripciones actualizadas
+     * @throws ConflictoVersionException Si otra operación cambió la asistencia
+     * de alguna de las inscripciones al mismo tiempo
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public int actualizarEstadoAsistencia(List<Long> ids, EstadoAsistencia estado) throws PersistenciaException {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+
+        EntityManager em = Conexion.crearConexion();
+        try {
+            em.getTransaction().begin();
+
+            // Estado anterior de cada inscripción para calcular el cambio en los contadores
+            List<Object[]> anteriores = em.createNamedQuery("Inscripcion.consultarEstadosAsistencia", Object[].class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+
+            Map<Long, Integer> cambios = new HashMap<>();
+            List<Long> asistidas = new ArrayList<>();
+            List<Long> noAsistidas = new ArrayList<>();
+            for (Object[] fila : anteriores) {
+                boolean asistiaAntes = fila[2] == EstadoAsistencia.ASISTIO;
+                boolean asisteAhora = estado == EstadoAsistencia.ASISTIO;
+                (asistiaAntes ? asistidas : noAsistidas).add((Long) fila[0]);
+                if (asistiaAntes != asisteAhora) {
+                    cambios.merge((Long) fila[1], asisteAhora ? 1 : -1, Integer::sum);
+                }
+            }
+
+            // Cambiar el estado con una sentencia por estado anterior; cada una solo
+            // afecta a las inscripciones cuyo estado no ha cambiado desde que se leyó
+            int actualizadas = actualizarEstadoAsistencia(em, "Inscripcion.actualizarEstadoAsistenciaAsistidas", asistidas, estado)
+                    + actualizarEstadoAsistencia(em, "Inscripcion.actualizarEstadoAsistenciaNoAsistidas", noAsistidas, estado);
+            if (actualizadas != anteriores.size()) {
+                throw new OptimisticLockException("La asistencia de alguna inscripción cambió durante la actualización.");
+            }
+
+            // Agrupar participantes por cambio para ajustar sus contadores por conjunto
+            Map<Integer, List<Long>> participantesPorCambio = new HashMap<>();
+            for (Map.Entry<Long, Integer> cambio : cambios.entrySet()) {
+                if (cambio.getValue() != 0) {
+                    participantesPorCambio.computeIfAbsent(cambio.getValue(), k -> new ArrayList<>()).add(cambio.getKey());
+                }
+            }
+            for (Map.Entry<Integer, List<Long>> grupo : participantesPorCambio.entrySet()) {
+                em.createNamedQuery("Participante.sumarAsistencias")
+                        .setParameter("cambio", grupo.getKey())
+                        .setParameter("participantes", grupo.getValue())
+                        .executeUpdate();
+            }
+
+            em.getTransaction().commit();
+            return actualizadas;
+        } catch (Exception ex) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            if (ConflictoVersionException.esConflicto(ex)) {
+                throw new ConflictoVersionException("Otra operación registró la asistencia de las mismas inscripciones al mismo tiempo.", ex);
+            }
+            throw new PersistenciaException("Error al actualizar el estado de asistencia: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Cambia el estado de asistencia de un grupo de inscripciones con la
+     * actualización condicional indicada.
+     *
+     * @param em EntityManager de la transacción
+     * @param consulta Nombre de la actualización declarada en
+     * {@link Inscripcion}
+     * @param ids IDs de las inscripciones del grupo
+     * @param estado Nuevo estado de asistencia
+     * @return Número de inscripciones actualizadas
+     */
+    private int actualizarEstadoAsistencia(EntityManager em, String consulta, List<Long> ids, EstadoAsistencia estado) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return em.createNamedQuery(consulta)
+                .setParameter("estado", estado)
+                .setParameter("ids", ids)
+                .setParameter("asistio", EstadoAsistencia.ASISTIO)
+                .executeUpdate();
+    }
+
+    /**
+     * Elimina una inscripción de la base de datos y libera el lugar que
+     * ocupaba en su actividad.
      *
      * @param id ID de la inscripción a eliminar
      * @throws PersistenciaException Si ocurre un error durante la operación
@@ -84,6 +311,9 @@ public class InscripcionDAO implements IInscripcionDAO {
             Inscripcion inscripcion = em.find(Inscripcion.class, id);
             if (inscripcion != null) {
                 em.remove(inscripcion);
+                em.createNamedQuery("Actividad.liberarLugar")
+                        .setParameter("id", inscripcion.getActividad().getId())
+                        .executeUpdate();
                 em.getTransaction().commit();
             } else {
                 em.getTransaction().rollback();
@@ -126,7 +356,7 @@ public class InscripcionDAO implements IInscripcionDAO {
     public List<Inscripcion> consultarTodos() throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Inscripcion> query = em.createQuery("select i from Inscripcion i", Inscripcion.class);
+            TypedQuery<Inscripcion> query = SoloLectura.preparar(em.createNamedQuery("Inscripcion.consultarTodos", Inscripcion.class));
             return query.getResultList();
         } catch (Exception ex) {
             throw new PersistenciaException("Error al consultar todas las inscripciones: " + ex.getMessage());
@@ -135,6 +365,153 @@ public class InscripcionDAO implements IInscripcionDAO {
         }
     }
 
+    /**
+     * Recorre todas las inscripciones con un cursor de la base de datos, entregando
+     * cada fila al visitante sin cargar el resultado completo en memoria. El
+     * participante y la actividad se traen en la misma sentencia y el correo
+     * del participante se desencripta antes de entregar cada inscripción.
+     * Usa el tamaño de lote de la configuración de la conexión.
+     *
+     * @param visitante Operación que recibe cada inscripcion
+     * @return Número de filas recorridas
+     * @throws PersistenciaException Si ocurre un error durante la operación o
+     * en el visitante
+     */
+    @Override
+    public long recorrerTodos(Consumer<? super Inscripcion> visitante) throws PersistenciaException {
+        return recorrerTodos(Conexion.obtenerConfiguracion().getTamanoFetchCursor(), visitante);
+    }
+
+    /**
+     * Recorre todas las inscripciones con un cursor de la base de datos usando el
+     * tamaño de lote indicado.
+     *
+     * @param tamanoFetch Filas por viaje a la base de datos y por lote
+     * @param visitante Operación que recibe cada inscripcion
+     * @return Número de filas recorridas
+     * @throws PersistenciaException Si ocurre un error durante la operación o
+     * en el visitante
+     */
+    @Override
+    public long recorrerTodos(int tamanoFetch, Consumer<? super Inscripcion> visitante) throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            Query query = em.createNamedQuery("Inscripcion.recorrerTodos");
+
+            // Un participante con varias inscripciones es la misma instancia
+            // dentro del lote, se desencripta solo la primera vez
+            Set<Participante> desencriptados = Collections.newSetFromMap(new IdentityHashMap<>());
+            return RecorridoCursor.<Inscripcion>recorrer(em, query, tamanoFetch, fila -> {
+                if (desencriptados.add(fila.getParticipante())) {
+                    RegistroCamposSensibles.desencriptar(fila.getParticipante());
+                }
+                visitante.accept(fila);
+            }, desencriptados::clear);
+        } catch (Exception ex) {
+            throw new PersistenciaException("Error al recorrer las inscripciones: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Recorre el listado de inscripciones proyectado a DTOs, ordenado por ID.
+     * Cada bloque es una consulta por llave (id mayor al último entregado), así
+     * que no se mantiene un cursor abierto mientras el visitante procesa las
+     * filas. Solo se consultan columnas escalares, sin administrar entidades,
+     * y el correo solo se consulta y desencripta si se pide.
+     *
+     * @param actividadId ID de la actividad, null para no filtrar
+     * @param eventoId ID del evento, null para no filtrar
+     * @param desde Fecha y hora mínima de la inscripción, null para no filtrar
+     * @param hasta Fecha y hora máxima de la inscripción, null para no filtrar
+     * @param incluirCorreo true para consultar y desencriptar el correo del
+     * participante
+     * @param visitante Operación que recibe cada inscripción
+     * @return Número de filas recorridas
+     * @throws PersistenciaException Si ocurre un error durante la operación o
+     * en el visitante
+     */
+    @Override
+    public long recorrerListado(Long actividadId, Long eventoId, LocalDateTime desde, LocalDateTime hasta,
+            boolean incluirCorreo, Consumer<? super InscripcionDTO> visitante) throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            // El texto depende de los filtros y columnas pedidos, por lo que no es
+            // una consulta nombrada; se arma una vez y se reutiliza en cada bloque
+            String jpql = "select i.id, i.fechaHora, i.estadoAsistencia, p.nombre, p.apellidoPaterno, p.apellidoMaterno, "
+                    + "case type(p) when ParticipanteEstudiante then 'ESTUDIANTE' "
+                    + "when ParticipanteDocente then 'DOCENTE' "
+                    + "when ParticipanteExterno then 'EXTERNO' else 'GENERAL' end, "
+                    + "a.nombre, e.titulo"
+                    + (incluirCorreo ? ", p.correo" : "")
+                    + " from Inscripcion i join i.participante p join i.actividad a join a.evento e"
+                    + " where i.id > :ultimoId"
+                    + (actividadId != null ? " and a.id = :actividadId" : "")
+                    + (eventoId != null ? " and e.id = :eventoId" : "")
+                    + (desde != null ? " and i.fechaHora >= :desde" : "")
+                    + (hasta != null ? " and i.fechaHora <= :hasta" : "")
+                    + " order by i.id";
+            int lote = Conexion.obtenerConfiguracion().getTamanoFetchCursor();
+
+            long filas = 0;
+            long ultimoId = 0;
+            List<InscripcionDTO> bloque;
+            do {
+                TypedQuery<Object[]> query = em.createQuery(jpql, Object[].class);
+                query.setParameter("ultimoId", ultimoId);
+                if (actividadId != null) {
+                    query.setParameter("actividadId", actividadId);
+                }
+                if (eventoId != null) {
+                    query.setParameter("eventoId", eventoId);
+                }
+                if (desde != null) {
+                    query.setParameter("desde", desde);
+                }
+                if (hasta != null) {
+                    query.setParameter("hasta", hasta);
+                }
+                query.setMaxResults(lote);
+
+                bloque = new ArrayList<>(lote);
+                for (Object[] fila : query.getResultList()) {
+                    InscripcionDTO dto = new InscripcionDTO();
+                    dto.setId((Long) fila[0]);
+                    dto.setFechaHora((LocalDateTime) fila[1]);
+                    if (fila[2] != null) {
+                        dto.setEstadoAsistencia(fila[2].toString());
+                    }
+                    dto.setNombreParticipante(fila[3] + " " + fila[4] + " " + fila[5]);
+                    dto.setTipoParticipante((String) fila[6]);
+                    dto.setNombreActividad((String) fila[7]);
+                    dto.setNombreEvento((String) fila[8]);
+                    if (incluirCorreo) {
+                        dto.setCorreoParticipante((String) fila[9]);
+                    }
+                    bloque.add(dto);
+                }
+                if (incluirCorreo) {
+                    DesencriptadorMasivo.desencriptar(bloque,
+                            dto -> dto.setCorreoParticipante(EncryptionUtil.desencriptar(dto.getCorreoParticipante())));
+                }
+
+                for (InscripcionDTO dto : bloque) {
+                    visitante.accept(dto);
+                }
+                filas += bloque.size();
+                if (!bloque.isEmpty()) {
+                    ultimoId = bloque.get(bloque.size() - 1).getId();
+                }
+            } while (bloque.size() == lote);
+            return filas;
+        } catch (Exception ex) {
+            throw new PersistenciaException("Error al recorrer el listado de inscripciones: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
     /**
      * Consulta inscripciones por actividad.
      *
@@ -146,8 +523,7 @@ public class InscripcionDAO implements IInscripcionDAO {
     public List<Inscripcion> consultarPorActividad(Actividad actividad) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Inscripcion> query = em.createQuery(
-                    "select i from Inscripcion i where i.actividad = :actividad", Inscripcion.class);
+            TypedQuery<Inscripcion> query = SoloLectura.preparar(em.createNamedQuery("Inscripcion.consultarPorActividad", Inscripcion.class));
             query.setParameter("actividad", actividad);
             return query.getResultList();
         } catch (Exception ex) {
@@ -157,6 +533,30 @@ public class InscripcionDAO implements IInscripcionDAO {
         }
     }
 
+    /**
+     * Consulta una página de inscripciones por actividad, ordenadas por ID.
+     *
+     * @param actividad Actividad de las inscripciones
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de inscripciones de la actividad
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public Pagina<Inscripcion> consultarPorActividad(Actividad actividad, String token, int tamano) throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            TypedQuery<Inscripcion> query = SoloLectura.preparar(em.createNamedQuery("Inscripcion.consultarPorActividadPagina", Inscripcion.class));
+            query.setParameter("actividad", actividad);
+            query.setParameter("ultimoId", Paginacion.decodificarDesde(token));
+            return Paginacion.paginar(query, Paginacion.normalizarTamano(tamano), Inscripcion::getId);
+        } catch (Exception ex) {
+            throw new PersistenciaException("Error al consultar la página de inscripciones por actividad: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
     /**
      * Consulta inscripciones por participante.
      *
@@ -168,8 +568,7 @@ public class InscripcionDAO implements IInscripcionDAO {
     public List<Inscripcion> consultarPorParticipante(Participante participante) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Inscripcion> query = em.createQuery(
-                    "select i from Inscripcion i where i.participante = :participante", Inscripcion.class);
+            TypedQuery<Inscripcion> query = SoloLectura.preparar(em.createNamedQuery("Inscripcion.consultarPorParticipante", Inscripcion.class));
             query.setParameter("participante", participante);
             return query.getResultList();
         } catch (Exception ex) {
@@ -179,6 +578,31 @@ public class InscripcionDAO implements IInscripcionDAO {
         }
     }
 
+    /**
+     * Consulta una página de inscripciones por participante, ordenadas por
+     * ID.
+     *
+     * @param participante Participante de las inscripciones
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de inscripciones del participante
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public Pagina<Inscripcion> consultarPorParticipante(Participante participante, String token, int tamano) throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            TypedQuery<Inscripcion> query = SoloLectura.preparar(em.createNamedQuery("Inscripcion.consultarPorParticipantePagina", Inscripcion.class));
+            query.setParameter("participante", participante);
+            query.setParameter("ultimoId", Paginacion.decodificarDesde(token));
+            return Paginacion.paginar(query, Paginacion.normalizarTamano(tamano), Inscripcion::getId);
+        } catch (Exception ex) {
+            throw new PersistenciaException("Error al consultar la página de inscripciones por participante: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
     /**
      * Consulta inscripciones por estado de asistencia.
      *
@@ -190,8 +614,7 @@ public class InscripcionDAO implements IInscripcionDAO {
     public List<Inscripcion> consultarPorEstadoAsistencia(EstadoAsistencia estadoAsistencia) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Inscripcion> query = em.createQuery(
-                    "select i from Inscripcion i where i.estadoAsistencia = :estadoAsistencia", Inscripcion.class);
+            TypedQuery<Inscripcion> query = SoloLectura.preparar(em.createNamedQuery("Inscripcion.consultarPorEstadoAsistencia", Inscripcion.class));
             query.setParameter("estadoAsistencia", estadoAsistencia);
             return query.getResultList();
         } catch (Exception ex) {
@@ -213,9 +636,7 @@ public class InscripcionDAO implements IInscripcionDAO {
     public List<Inscripcion> consultarPorRangoFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Inscripcion> query = em.createQuery(
-                    "select i from Inscripcion i where i.fechaHora between :fechaInicio and :fechaFin",
-                    Inscripcion.class);
+            TypedQuery<Inscripcion> query = SoloLectura.preparar(em.createNamedQuery("Inscripcion.consultarPorRangoFechas", Inscripcion.class));
             query.setParameter("fechaInicio", fechaInicio);
             query.setParameter("fechaFin", fechaFin);
             return query.getResultList();
@@ -238,9 +659,7 @@ public class InscripcionDAO implements IInscripcionDAO {
     public Inscripcion buscarPorParticipanteYActividad(Participante participante, Actividad actividad) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Inscripcion> query = em.createQuery(
-                    "select i from Inscripcion i where i.participante = :participante and i.actividad = :actividad",
-                    Inscripcion.class);
+            TypedQuery<Inscripcion> query = em.createNamedQuery("Inscripcion.buscarPorParticipanteYActividad", Inscripcion.class);
             query.setParameter("participante", participante);
             query.setParameter("actividad", actividad);
             return query.getSingleResult();
@@ -4,13 +4,20 @@
  */
 package DAOs;
 
+import conexion.CacheConsultas;
 import conexion.Conexion;
+import entidades.Actividad;
 import entidades.Lugar;
 import exception.PersistenciaException;
 import interfaces.ILugarDAO;
 import java.util.List;
 import javax.persistence.EntityManager;
+import javax.persistence.NoResultException;
 import javax.persistence.TypedQuery;
+import org.eclipse.persistence.config.CacheUsage;
+import org.eclipse.persistence.config.QueryHints;
+import org.eclipse.persistence.config.QueryType;
+import utils.SoloLectura;
 
 /**
  * Implementación de la interfaz ILugarDAO utilizando JPA.
@@ -19,6 +26,12 @@ import javax.persistence.TypedQuery;
  */
 public class LugarDAO implements ILugarDAO {
 
+    /**
+     * Entidades cuya escritura invalida las consultas de lugares en caché:
+     * los lugares muestran su número de actividades.
+     */
+    private static final Class<?>[] DEPENDENCIAS_CACHE = {Lugar.class, Actividad.class};
+
     /**
      * Guarda un lugar en la base de datos.
      *
@@ -33,6 +46,7 @@ public class LugarDAO implements ILugarDAO {
             em.getTransaction().begin();
             em.persist(lugar);
             em.getTransaction().commit();
+            CacheConsultas.invalidar(Lugar.class);
             return lugar;
         } catch (Exception ex) {
             em.getTransaction().rollback();
@@ -71,7 +85,7 @@ public class LugarDAO implements ILugarDAO {
     public List<Lugar> consultarTodos() throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Lugar> query = em.createQuery("select l from Lugar l", Lugar.class);
+            TypedQuery<Lugar> query = SoloLectura.preparar(em.createNamedQuery("Lugar.consultarTodos", Lugar.class));
             return query.getResultList();
         } catch (Exception ex) {
             throw new PersistenciaException("Error al consultar todos los lugares: " + ex.getMessage());
@@ -91,8 +105,7 @@ public class LugarDAO implements ILugarDAO {
     public List<Lugar> consultarPorNombre(String nombre) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Lugar> query = em.createQuery(
-                    "select l from Lugar l where l.nombre like :nombre", Lugar.class);
+            TypedQuery<Lugar> query = SoloLectura.preparar(em.createNamedQuery("Lugar.consultarPorNombre", Lugar.class));
             query.setParameter("nombre", "%" + nombre + "%");
             return query.getResultList();
         } catch (Exception ex) {
@@ -103,7 +116,35 @@ public class LugarDAO implements ILugarDAO {
     }
 
     /**
-     * Consulta lugares por su tipo.
+     * Busca un lugar por su nombre exacto. La consulta se ejecuta como lectura
+     * de un solo objeto para que EclipseLink la evalúe primero contra la caché
+     * compartida; si encuentra el lugar ahí no se envía SQL.
+     *
+     * @param nombre Nombre exacto del lugar
+     * @return Lugar encontrado o null si no existe
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public Lugar buscarPorNombre(String nombre) throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            TypedQuery<Lugar> query = em.createNamedQuery("Lugar.buscarPorNombre", Lugar.class);
+            query.setParameter("nombre", nombre);
+            query.setHint(QueryHints.QUERY_TYPE, QueryType.ReadObject);
+            query.setHint(QueryHints.CACHE_USAGE, CacheUsage.CheckCacheThenDatabase);
+            return query.getSingleResult();
+        } catch (NoResultException ex) {
+            return null;
+        } catch (Exception ex) {
+            throw new PersistenciaException("Error al buscar el lugar por nombre: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Consulta lugares por su tipo. El resultado se guarda en la caché de
+     * consultas.
      *
      * @param tipoLugar Tipo de lugar a buscar
      * @return Lista de lugares del tipo especificado
@@ -111,10 +152,21 @@ public class LugarDAO implements ILugarDAO {
      */
     @Override
     public List<Lugar> consultarPorTipo(Lugar.TipoLugar tipoLugar) throws PersistenciaException {
+        return CacheConsultas.consultar("Lugar.consultarPorTipo", DEPENDENCIAS_CACHE,
+                () -> consultarPorTipoSinCache(tipoLugar), tipoLugar);
+    }
+
+    /**
+     * Consulta lugares por su tipo directamente en la base de datos.
+     *
+     * @param tipoLugar Tipo de lugar a buscar
+     * @return Lista de lugares del tipo especificado
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    private List<Lugar> consultarPorTipoSinCache(Lugar.TipoLugar tipoLugar) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Lugar> query = em.createQuery(
-                    "select l from Lugar l where l.tipoLugar = :tipoLugar", Lugar.class);
+            TypedQuery<Lugar> query = SoloLectura.preparar(em.createNamedQuery("Lugar.consultarPorTipo", Lugar.class));
             query.setParameter("tipoLugar", tipoLugar);
             return query.getResultList();
         } catch (Exception ex) {
@@ -135,8 +187,7 @@ public class LugarDAO implements ILugarDAO {
     public List<Lugar> consultarPorCapacidadMinima(int capacidadMinima) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Lugar> query = em.createQuery(
-                    "select l from Lugar l where l.capacidad >= :capacidadMinima", Lugar.class);
+            TypedQuery<Lugar> query = SoloLectura.preparar(em.createNamedQuery("Lugar.consultarPorCapacidadMinima", Lugar.class));
             query.setParameter("capacidadMinima", capacidadMinima);
             return query.getResultList();
         } catch (Exception ex) {
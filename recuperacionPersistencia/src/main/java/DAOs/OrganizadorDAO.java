@@ -4,7 +4,9 @@
  */
 package DAOs;
 
+import conexion.CacheConsultas;
 import conexion.Conexion;
+import entidades.Evento;
 import entidades.Organizador;
 import entidades.Organizador.TipoOrganizador;
 import exception.PersistenciaException;
@@ -12,6 +14,7 @@ import interfaces.IOrganizadorDAO;
 import java.util.List;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import utils.SoloLectura;
 
 /**
  * Implementación de la interfaz IOrganizadorDAO utilizando JPA.
@@ -20,6 +23,12 @@ import javax.persistence.TypedQuery;
  */
 public class OrganizadorDAO implements IOrganizadorDAO {
 
+    /**
+     * Entidades cuya escritura invalida las consultas de organizadores en
+     * caché: los organizadores muestran su número de eventos.
+     */
+    private static final Class<?>[] DEPENDENCIAS_CACHE = {Organizador.class, Evento.class};
+
     /**
      * Guarda un organizador en la base de datos.
      * 
@@ -34,6 +43,7 @@ public class OrganizadorDAO implements IOrganizadorDAO {
             em.getTransaction().begin();
             em.persist(organizador);
             em.getTransaction().commit();
+            CacheConsultas.invalidar(Organizador.class);
             return organizador;
         } catch (Exception ex) {
             em.getTransaction().rollback();
@@ -58,6 +68,7 @@ public class OrganizadorDAO implements IOrganizadorDAO {
             if (organizador != null) {
                 em.remove(organizador);
                 em.getTransaction().commit();
+                CacheConsultas.invalidar(Organizador.class);
             } else {
                 em.getTransaction().rollback();
                 throw new PersistenciaException("No se encontró el organizador con ID: " + id);
@@ -99,7 +110,7 @@ public class OrganizadorDAO implements IOrganizadorDAO {
     public List<Organizador> consultarTodos() throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Organizador> query = em.createQuery("select o from Organizador o", Organizador.class);
+            TypedQuery<Organizador> query = SoloLectura.preparar(em.createNamedQuery("Organizador.consultarTodos", Organizador.class));
             return query.getResultList();
         } catch (Exception ex) {
             throw new PersistenciaException("Error al consultar todos los organizadores: " + ex.getMessage());
@@ -109,7 +120,8 @@ public class OrganizadorDAO implements IOrganizadorDAO {
     }
 
     /**
-     * Consulta organizadores por su tipo.
+     * Consulta organizadores por su tipo. El resultado se guarda en la caché
+     * de consultas.
      * 
      * @param tipoOrganizador Tipo de organizador a buscar
      * @return Lista de organizadores del tipo especificado
@@ -117,10 +129,21 @@ public class OrganizadorDAO implements IOrganizadorDAO {
      */
     @Override
     public List<Organizador> consultarPorTipo(TipoOrganizador tipoOrganizador) throws PersistenciaException {
+        return CacheConsultas.consultar("Organizador.consultarPorTipo", DEPENDENCIAS_CACHE,
+                () -> consultarPorTipoSinCache(tipoOrganizador), tipoOrganizador);
+    }
+
+    /**
+     * Consulta organizadores por su tipo directamente en la base de datos.
+     * 
+     * @param tipoOrganizador Tipo de organizador a buscar
+     * @return Lista de organizadores del tipo especificado
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    private List<Organizador> consultarPorTipoSinCache(TipoOrganizador tipoOrganizador) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Organizador> query = em.createQuery(
-                    "select o from Organizador o where o.tipoOrganizador = :tipoOrganizador", Organizador.class);
+            TypedQuery<Organizador> query = SoloLectura.preparar(em.createNamedQuery("Organizador.consultarPorTipo", Organizador.class));
             query.setParameter("tipoOrganizador", tipoOrganizador);
             return query.getResultList();
         } catch (Exception ex) {
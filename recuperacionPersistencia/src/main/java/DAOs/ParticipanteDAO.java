@@ -4,17 +4,29 @@
  */
 package DAOs;
 
+import DTOs.Pagina;
+import DTOs.ParticipanteDTO;
 import conexion.Conexion;
 import entidades.Participante;
-import entidades.ParticipanteEstudiante;
 import exception.PersistenciaException;
 import interfaces.IParticipanteDAO;
-import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import utils.DesencriptadorMasivo;
 import utils.EncryptionUtil;
+import utils.IndiceCiegoUtil;
+import utils.Paginacion;
+import utils.RecorridoCursor;
+import utils.RegistroCamposSensibles;
+import utils.SoloLectura;
 
 /**
  * Implementación de la interfaz IParticipanteDAO utilizando JPA.
@@ -35,14 +47,14 @@ public class ParticipanteDAO implements IParticipanteDAO {
         EntityManager em = Conexion.crearConexion();
         try {
             // Encriptar datos sensibles antes de guardar
-            encriptarDatosSensibles(participante);
+            RegistroCamposSensibles.encriptar(participante);
 
             em.getTransaction().begin();
             em.persist(participante);
             em.getTransaction().commit();
 
             // Desencriptar datos para devolverlos a la capa de negocio
-            desencriptarDatosSensibles(participante);
+            RegistroCamposSensibles.desencriptar(participante);
             return participante;
         } catch (Exception ex) {
             em.getTransaction().rollback();
@@ -52,6 +64,51 @@ public class ParticipanteDAO implements IParticipanteDAO {
         }
     }
 
+    /**
+     * Guarda varios participantes en una sola transacción con escrituras JDBC
+     * en lote, vaciando el contexto de persistencia cada lote para que la
+     * memoria no crezca con el número de participantes.
+     *
+     * @param participantes Participantes a guardar
+     * @return Los mismos participantes con su ID asignado y sus datos
+     * desencriptados
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public List<Participante> guardarTodos(List<? extends Participante> participantes) throws PersistenciaException {
+        List<Participante> guardados = new ArrayList<>(participantes);
+        if (guardados.isEmpty()) {
+            return guardados;
+        }
+        EntityManager em = Conexion.crearConexion();
+        try {
+            // Encriptar datos sensibles antes de guardar, en paralelo
+            guardados.parallelStream().forEach(RegistroCamposSensibles::encriptar);
+
+            em.getTransaction().begin();
+            int lote = Conexion.obtenerConfiguracion().getTamanoLoteEscritura();
+            for (int i = 0; i < guardados.size(); i++) {
+                em.persist(guardados.get(i));
+                if ((i + 1) % lote == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+
+            // Desencriptar datos para devolverlos a la capa de negocio
+            DesencriptadorMasivo.desencriptar(guardados, RegistroCamposSensibles::desencriptar);
+            return guardados;
+        } catch (Exception ex) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            throw new PersistenciaException("Error al guardar los participantes: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
     /**
      * Busca un participante por su ID.
      *
@@ -65,7 +122,7 @@ public class ParticipanteDAO implements IParticipanteDAO {
         try {
             Participante participante = em.find(Participante.class, id);
             if (participante != null) {
-                desencriptarDatosSensibles(participante);
+                RegistroCamposSensibles.desencriptar(participante);
             }
             return participante;
         } catch (Exception ex) {
@@ -85,13 +142,11 @@ public class ParticipanteDAO implements IParticipanteDAO {
     public List<Participante> consultarTodos() throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Participante> query = em.createQuery("select p from Participante p", Participante.class);
+            TypedQuery<Participante> query = SoloLectura.preparar(em.createNamedQuery("Participante.consultarTodos", Participante.class));
             List<Participante> participantes = query.getResultList();
 
             // Desencriptar datos sensibles de todos los participantes
-            for (Participante p : participantes) {
-                desencriptarDatosSensibles(p);
-            }
+            DesencriptadorMasivo.desencriptar(participantes, RegistroCamposSensibles::desencriptar);
 
             return participantes;
         } catch (Exception ex) {
@@ -101,6 +156,104 @@ public class ParticipanteDAO implements IParticipanteDAO {
         }
     }
 
+    /**
+     * Recorre todos los participantes con un cursor de la base de datos, entregando
+     * cada fila al visitante sin cargar el resultado completo en memoria. El correo
+     * se desencripta antes de entregar cada participante.
+     * Usa el tamaño de lote de la configuración de la conexión.
+     *
+     * @param visitante Operación que recibe cada participante
+     * @return Número de filas recorridas
+     * @throws PersistenciaException Si ocurre un error durante la operación o
+     * en el visitante
+     */
+    @Override
+    public long recorrerTodos(Consumer<? super Participante> visitante) throws PersistenciaException {
+        return recorrerTodos(Conexion.obtenerConfiguracion().getTamanoFetchCursor(), visitante);
+    }
+
+    /**
+     * Recorre todos los participantes con un cursor de la base de datos usando el
+     * tamaño de lote indicado.
+     *
+     * @param tamanoFetch Filas por viaje a la base de datos y por lote
+     * @param visitante Operación que recibe cada participante
+     * @return Número de filas recorridas
+     * @throws PersistenciaException Si ocurre un error durante la operación o
+     * en el visitante
+     */
+    @Override
+    public long recorrerTodos(int tamanoFetch, Consumer<? super Participante> visitante) throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            Query query = em.createNamedQuery("Participante.recorrerTodos");
+            return RecorridoCursor.<Participante>recorrer(em, query, tamanoFetch, fila -> {
+                RegistroCamposSensibles.desencriptar(fila);
+                visitante.accept(fila);
+            });
+        } catch (Exception ex) {
+            throw new PersistenciaException("Error al recorrer los participantes: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Obtiene el listado de todos los participantes proyectado directamente a
+     * DTOs, sin cargar las entidades ni sus inscripciones. El tipo se obtiene
+     * de la subclase de cada fila y el correo se desencripta sobre el DTO.
+     *
+     * @return Lista de DTOs de todos los participantes
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public List<ParticipanteDTO> consultarListado() throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            TypedQuery<ParticipanteDTO> query = em.createNamedQuery("Participante.consultarListado", ParticipanteDTO.class);
+            List<ParticipanteDTO> participantes = query.getResultList();
+
+            DesencriptadorMasivo.desencriptar(participantes,
+                    dto -> dto.setCorreo(EncryptionUtil.desencriptar(dto.getCorreo())));
+
+            return participantes;
+        } catch (Exception ex) {
+            throw new PersistenciaException("Error al consultar el listado de participantes: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Obtiene una página del listado de participantes, ordenado por ID,
+     * proyectado directamente a DTOs.
+     *
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de participantes
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public Pagina<ParticipanteDTO> consultarListado(String token, int tamano) throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            TypedQuery<ParticipanteDTO> query = em.createNamedQuery("Participante.consultarListadoPagina", ParticipanteDTO.class);
+            query.setParameter("ultimoId", Paginacion.decodificarDesde(token));
+            Pagina<ParticipanteDTO> pagina = Paginacion.paginar(query, Paginacion.normalizarTamano(tamano),
+                    ParticipanteDTO::getIdParticipante);
+
+            for (ParticipanteDTO dto : pagina.getElementos()) {
+                dto.setCorreo(EncryptionUtil.desencriptar(dto.getCorreo()));
+            }
+
+            return pagina;
+        } catch (Exception ex) {
+            throw new PersistenciaException("Error al consultar la página del listado de participantes: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
     /**
      * Consulta participantes por su nombre o apellidos.
      *
@@ -112,11 +265,7 @@ public class ParticipanteDAO implements IParticipanteDAO {
     public List<Participante> consultarPorNombre(String nombre) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Participante> query = em.createQuery(
-                    "select p from Participante p where p.nombre like :nombre "
-                    + "or p.apellidoPaterno like :nombre "
-                    + "or p.apellidoMaterno like :nombre",
-                    Participante.class);
+            TypedQuery<Participante> query = SoloLectura.preparar(em.createNamedQuery("Participante.consultarPorNombre", Participante.class));
             query.setParameter("nombre", "%" + nombre + "%");
             return query.getResultList();
         } catch (Exception ex) {
@@ -126,10 +275,42 @@ public class ParticipanteDAO implements IParticipanteDAO {
         }
     }
 
+    /**
+     * Consulta una página de participantes por su nombre o apellidos,
+     * ordenados por ID.
+     *
+     * @param nombre Nombre o parte del nombre/apellidos a buscar
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de participantes que coinciden con el criterio
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public Pagina<Participante> consultarPorNombre(String nombre, String token, int tamano) throws PersistenciaException {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            TypedQuery<Participante> query = SoloLectura.preparar(em.createNamedQuery("Participante.consultarPorNombrePagina", Participante.class));
+            query.setParameter("nombre", "%" + nombre + "%");
+            query.setParameter("ultimoId", Paginacion.decodificarDesde(token));
+            Pagina<Participante> pagina = Paginacion.paginar(query, Paginacion.normalizarTamano(tamano),
+                    Participante::getId);
+
+            for (Participante participante : pagina.getElementos()) {
+                RegistroCamposSensibles.desencriptar(participante);
+            }
+
+            return pagina;
+        } catch (Exception ex) {
+            throw new PersistenciaException("Error al consultar la página de participantes por nombre: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
     /**
      * Busca un participante por su correo electrónico. Como el correo se
-     * almacena encriptado, esta búsqueda requiere cargar todos los
-     * participantes y filtrar en memoria.
+     * almacena encriptado, la búsqueda se hace sobre su índice ciego, que está
+     * respaldado por un índice único en la base de datos.
      *
      * @param correo Correo electrónico a buscar
      * @return Participante encontrado o null si no existe
@@ -141,18 +322,17 @@ public class ParticipanteDAO implements IParticipanteDAO {
             return null;
         }
 
-        // Encriptar el correo para la búsqueda
-        String correoEncriptado = EncryptionUtil.encriptar(correo);
+        // Calcular el índice ciego del correo para la búsqueda
+        String correoIndice = IndiceCiegoUtil.indiceCorreo(correo);
 
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Participante> query = em.createQuery(
-                    "select p from Participante p where p.correo = :correo", Participante.class);
-            query.setParameter("correo", correoEncriptado);
+            TypedQuery<Participante> query = em.createNamedQuery("Participante.buscarPorCorreoIndice", Participante.class);
+            query.setParameter("correoIndice", correoIndice);
 
             try {
                 Participante participante = query.getSingleResult();
-                desencriptarDatosSensibles(participante);
+                RegistroCamposSensibles.desencriptar(participante);
                 return participante;
             } catch (NoResultException ex) {
                 return null;
@@ -164,6 +344,32 @@ public class ParticipanteDAO implements IParticipanteDAO {
         }
     }
 
+    /**
+     * Consulta cuáles de los índices ciegos de correo indicados ya pertenecen
+     * a un participante registrado. Se resuelve con una sola consulta sobre el
+     * índice único de correo, sin desencriptar nada.
+     *
+     * @param indicesCorreo Índices ciegos de correo a verificar
+     * @return Índices que ya están registrados
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public Set<String> consultarIndicesCorreoRegistrados(Collection<String> indicesCorreo) throws PersistenciaException {
+        if (indicesCorreo.isEmpty()) {
+            return new HashSet<>();
+        }
+        EntityManager em = Conexion.crearConexion();
+        try {
+            TypedQuery<String> query = em.createNamedQuery("Participante.consultarIndicesCorreoRegistrados", String.class);
+            query.setParameter("indices", indicesCorreo);
+            return new HashSet<>(query.getResultList());
+        } catch (Exception ex) {
+            throw new PersistenciaException("Error al consultar correos registrados: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
     /**
      * Consulta participantes por número mínimo de asistencias.
      *
@@ -175,9 +381,7 @@ public class ParticipanteDAO implements IParticipanteDAO {
     public List<Participante> consultarPorAsistenciasMinimas(int minAsistencias) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<Participante> query = em.createQuery(
-                    "select p from Participante p where p.cantidadAsistencias >= :minAsistencias",
-                    Participante.class);
+            TypedQuery<Participante> query = SoloLectura.preparar(em.createNamedQuery("Participante.consultarPorAsistenciasMinimas", Participante.class));
             query.setParameter("minAsistencias", minAsistencias);
             return query.getResultList();
         } catch (Exception ex) {
@@ -186,63 +390,5 @@ public class ParticipanteDAO implements IParticipanteDAO {
             em.close();
         }
     }
-    
-    // Métodos auxiliares para encriptar/desencriptar datos
-    private void encriptarDatosSensibles(Participante participante) {
-        if (participante.getCorreo() != null) {
-            try {
-                Field correoField = Participante.class.getDeclaredField("correo");
-                correoField.setAccessible(true);
-                String correoOriginal = (String) correoField.get(participante);
-                correoField.set(participante, EncryptionUtil.encriptar(correoOriginal));
-            } catch (Exception ex) {
-                System.err.println("Error al encriptar correo: " + ex.getMessage());
-            }
-        }
-
-        // Manejo especial para participante estudiante
-        if (participante instanceof ParticipanteEstudiante) {
-            ParticipanteEstudiante estudiante = (ParticipanteEstudiante) participante;
-            if (estudiante.getNumeroControl() != null) {
-                try {
-                    Field numeroControlField = ParticipanteEstudiante.class.getDeclaredField("numeroControl");
-                    numeroControlField.setAccessible(true);
-                    String numeroControl = estudiante.getNumeroControl();
-                    numeroControlField.set(estudiante, EncryptionUtil.encriptar(numeroControl));
-                } catch (Exception ex) {
-                    System.err.println("Error al encriptar número de control: " + ex.getMessage());
-                }
-            }
-        }
-    }
 
-    private void desencriptarDatosSensibles(Participante participante) {
-        if (participante.getCorreo() != null) {
-            try {
-                Field correoField = Participante.class.getDeclaredField("correo");
-                correoField.setAccessible(true);
-                String correoEncriptado = (String) correoField.get(participante);
-                correoField.set(participante, EncryptionUtil.desencriptar(correoEncriptado));
-            } catch (Exception ex) {
-                System.err.println("Error al desencriptar correo: " + ex.getMessage());
-            }
-        }
-
-        // Manejo especial para participante estudiante
-        if (participante instanceof ParticipanteEstudiante) {
-            ParticipanteEstudiante estudiante = (ParticipanteEstudiante) participante;
-            try {
-                Field numeroControlField = ParticipanteEstudiante.class.getDeclaredField("numeroControl");
-                numeroControlField.setAccessible(true);
-                String numeroControlEncriptado = (String) numeroControlField.get(estudiante);
-                if (numeroControlEncriptado != null) {
-                    String numeroDesencriptado = EncryptionUtil.desencriptar(numeroControlEncriptado);
-                    numeroControlField.set(estudiante, numeroDesencriptado);
-                }
-            } catch (Exception ex) {
-                System.err.println("Error al desencriptar número de control: " + ex.getMessage());
-            }
-        }
-    }
-    
 }
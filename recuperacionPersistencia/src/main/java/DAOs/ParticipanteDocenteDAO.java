@@ -5,15 +5,15 @@
 package DAOs;
 
 import conexion.Conexion;
-import entidades.Participante;
 import entidades.ParticipanteDocente;
 import exception.PersistenciaException;
 import interfaces.IParticipanteDocenteDAO;
-import java.lang.reflect.Field;
 import java.util.List;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
-import utils.EncryptionUtil;
+import utils.DesencriptadorMasivo;
+import utils.RegistroCamposSensibles;
+import utils.SoloLectura;
 
 /**
  * Implementación de la interfaz IParticipanteDocenteDAO utilizando JPA.
@@ -34,14 +34,14 @@ public class ParticipanteDocenteDAO extends ParticipanteDAO implements IParticip
         EntityManager em = Conexion.crearConexion();
         try {
             // Encriptar datos sensibles antes de guardar
-            encriptarDatosSensibles(docente);
+            RegistroCamposSensibles.encriptar(docente);
             
             em.getTransaction().begin();
             em.persist(docente);
             em.getTransaction().commit();
             
             // Desencriptar datos para devolverlos a la capa de negocio
-            desencriptarDatosSensibles(docente);
+            RegistroCamposSensibles.desencriptar(docente);
             return docente;
         } catch (Exception ex) {
             em.getTransaction().rollback();
@@ -80,9 +80,10 @@ public class ParticipanteDocenteDAO extends ParticipanteDAO implements IParticip
     public List<ParticipanteDocente> consultarTodosDocentes() throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<ParticipanteDocente> query = em.createQuery(
-                    "select pd from ParticipanteDocente pd", ParticipanteDocente.class);
-            return query.getResultList();
+            TypedQuery<ParticipanteDocente> query = SoloLectura.preparar(em.createNamedQuery("ParticipanteDocente.consultarTodos", ParticipanteDocente.class));
+            List<ParticipanteDocente> docentes = query.getResultList();
+            DesencriptadorMasivo.desencriptar(docentes, RegistroCamposSensibles::desencriptar);
+            return docentes;
         } catch (Exception ex) {
             throw new PersistenciaException("Error al consultar todos los docentes: " + ex.getMessage());
         } finally {
@@ -101,9 +102,7 @@ public class ParticipanteDocenteDAO extends ParticipanteDAO implements IParticip
     public List<ParticipanteDocente> consultarPorDepartamento(String departamento) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<ParticipanteDocente> query = em.createQuery(
-                    "select pd from ParticipanteDocente pd where pd.departamento like :departamento",
-                    ParticipanteDocente.class);
+            TypedQuery<ParticipanteDocente> query = SoloLectura.preparar(em.createNamedQuery("ParticipanteDocente.consultarPorDepartamento", ParticipanteDocente.class));
             query.setParameter("departamento", "%" + departamento + "%");
             return query.getResultList();
         } catch (Exception ex) {
@@ -112,32 +111,5 @@ public class ParticipanteDocenteDAO extends ParticipanteDAO implements IParticip
             em.close();
         }
     }
-    
-    // Métodos auxiliares para encriptar/desencriptar datos
-    private void encriptarDatosSensibles(ParticipanteDocente participante) {
-        if (participante.getCorreo() != null) {
-            try {
-                Field correoField = Participante.class.getDeclaredField("correo");
-                correoField.setAccessible(true);
-                String correoOriginal = (String) correoField.get(participante);
-                correoField.set(participante, EncryptionUtil.encriptar(correoOriginal));
-            } catch (Exception ex) {
-                System.err.println("Error al encriptar correo: " + ex.getMessage());
-            }
-        }
-    }
 
-    private void desencriptarDatosSensibles(ParticipanteDocente participante) {
-        if (participante.getCorreo() != null) {
-            try {
-                Field correoField = Participante.class.getDeclaredField("correo");
-                correoField.setAccessible(true);
-                String correoEncriptado = (String) correoField.get(participante);
-                correoField.set(participante, EncryptionUtil.desencriptar(correoEncriptado));
-            } catch (Exception ex) {
-                System.err.println("Error al desencriptar correo: " + ex.getMessage());
-            }
-        }
-    }
-    
 }
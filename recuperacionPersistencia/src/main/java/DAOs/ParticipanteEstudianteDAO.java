@@ -5,16 +5,20 @@
 package DAOs;
 
 import conexion.Conexion;
-import entidades.Participante;
 import entidades.ParticipanteEstudiante;
 import exception.PersistenciaException;
 import interfaces.IParticipanteEstudianteDAO;
-import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.TypedQuery;
-import utils.EncryptionUtil;
+import utils.DesencriptadorMasivo;
+import utils.IndiceCiegoUtil;
+import utils.RegistroCamposSensibles;
+import utils.SoloLectura;
 
 /**
  * Implementación de la interfaz IParticipanteEstudianteDAO utilizando JPA.
@@ -35,14 +39,14 @@ public class ParticipanteEstudianteDAO extends ParticipanteDAO implements IParti
         EntityManager em = Conexion.crearConexion();
         try {
             // Encriptar datos sensibles antes de guardar
-            encriptarDatosSensibles(estudiante);
+            RegistroCamposSensibles.encriptar(estudiante);
 
             em.getTransaction().begin();
             em.persist(estudiante);
             em.getTransaction().commit();
             
             // Desencriptar datos para devolverlos a la capa de negocio
-            desencriptarDatosSensibles(estudiante);
+            RegistroCamposSensibles.desencriptar(estudiante);
             return estudiante;
         } catch (Exception ex) {
             em.getTransaction().rollback();
@@ -82,9 +86,10 @@ public class ParticipanteEstudianteDAO extends ParticipanteDAO implements IParti
     public List<ParticipanteEstudiante> consultarTodosEstudiantes() throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<ParticipanteEstudiante> query = em.createQuery(
-                    "select pe from ParticipanteEstudiante pe", ParticipanteEstudiante.class);
-            return query.getResultList();
+            TypedQuery<ParticipanteEstudiante> query = SoloLectura.preparar(em.createNamedQuery("ParticipanteEstudiante.consultarTodos", ParticipanteEstudiante.class));
+            List<ParticipanteEstudiante> estudiantes = query.getResultList();
+            DesencriptadorMasivo.desencriptar(estudiantes, RegistroCamposSensibles::desencriptar);
+            return estudiantes;
         } catch (Exception ex) {
             throw new PersistenciaException("Error al consultar todos los estudiantes: " + ex.getMessage());
         } finally {
@@ -94,8 +99,8 @@ public class ParticipanteEstudianteDAO extends ParticipanteDAO implements IParti
 
     /**
      * Busca un participante estudiante por su número de control. Como el número
-     * de control se almacena encriptado, esta búsqueda requiere cargar todos
-     * los estudiantes y filtrar en memoria.
+     * de control se almacena encriptado, la búsqueda se hace sobre su índice
+     * ciego, que está respaldado por un índice único en la base de datos.
      *
      * @param numeroControl Número de control a buscar
      * @return ParticipanteEstudiante encontrado o null si no existe
@@ -107,19 +112,17 @@ public class ParticipanteEstudianteDAO extends ParticipanteDAO implements IParti
             return null;
         }
 
-        // Encriptar el número de control para la búsqueda
-        String numeroControlEncriptado = EncryptionUtil.encriptar(numeroControl);
+        // Calcular el índice ciego del número de control para la búsqueda
+        String numeroControlIndice = IndiceCiegoUtil.indiceNumeroControl(numeroControl);
 
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<ParticipanteEstudiante> query = em.createQuery(
-                    "select pe from ParticipanteEstudiante pe where pe.numeroControl = :numeroControl",
-                    ParticipanteEstudiante.class);
-            query.setParameter("numeroControl", numeroControlEncriptado);
+            TypedQuery<ParticipanteEstudiante> query = em.createNamedQuery("ParticipanteEstudiante.buscarPorNumeroControlIndice", ParticipanteEstudiante.class);
+            query.setParameter("numeroControlIndice", numeroControlIndice);
 
             try {
                 ParticipanteEstudiante estudiante = query.getSingleResult();
-                // Los datos se desencriptarán en el método auxiliar del ParticipanteDAO
+                RegistroCamposSensibles.desencriptar(estudiante);
                 return estudiante;
             } catch (NoResultException ex) {
                 return null;
@@ -142,9 +145,7 @@ public class ParticipanteEstudianteDAO extends ParticipanteDAO implements IParti
     public List<ParticipanteEstudiante> consultarPorCarrera(String carrera) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<ParticipanteEstudiante> query = em.createQuery(
-                    "select pe from ParticipanteEstudiante pe where pe.carrera like :carrera",
-                    ParticipanteEstudiante.class);
+            TypedQuery<ParticipanteEstudiante> query = SoloLectura.preparar(em.createNamedQuery("ParticipanteEstudiante.consultarPorCarrera", ParticipanteEstudiante.class));
             query.setParameter("carrera", "%" + carrera + "%");
             return query.getResultList();
         } catch (Exception ex) {
@@ -154,54 +155,31 @@ public class ParticipanteEstudianteDAO extends ParticipanteDAO implements IParti
         }
     }
 
-    // Métodos auxiliares para encriptar/desencriptar datos
-    private void encriptarDatosSensibles(ParticipanteEstudiante participante) {
-        if (participante.getCorreo() != null) {
-            try {
-                Field correoField = Participante.class.getDeclaredField("correo");
-                correoField.setAccessible(true);
-                String correoOriginal = (String) correoField.get(participante);
-                correoField.set(participante, EncryptionUtil.encriptar(correoOriginal));
-            } catch (Exception ex) {
-                System.err.println("Error al encriptar correo: " + ex.getMessage());
-            }
-        }
-
-        if (participante.getNumeroControl() != null) {
-            try {
-                Field numeroControlField = ParticipanteEstudiante.class.getDeclaredField("numeroControl");
-                numeroControlField.setAccessible(true);
-                String numeroControl = participante.getNumeroControl();
-                numeroControlField.set(participante, EncryptionUtil.encriptar(numeroControl));
-            } catch (Exception ex) {
-                System.err.println("Error al encriptar número de control: " + ex.getMessage());
-            }
-        }
-    }
-    
-    private void desencriptarDatosSensibles(ParticipanteEstudiante participante) {
-        if (participante.getCorreo() != null) {
-            try {
-                Field correoField = Participante.class.getDeclaredField("correo");
-                correoField.setAccessible(true);
-                String correoEncriptado = (String) correoField.get(participante);
-                correoField.set(participante, EncryptionUtil.desencriptar(correoEncriptado));
-            } catch (Exception ex) {
-                System.err.println("Error al desencriptar correo: " + ex.getMessage());
-            }
+    /**
+     * Consulta cuáles de los índices ciegos de número de control indicados ya
+     * pertenecen a un estudiante registrado. Se resuelve con una sola consulta
+     * sobre el índice único de número de control, sin desencriptar nada.
+     *
+     * @param indicesNumeroControl Índices ciegos de número de control a
+     * verificar
+     * @return Índices que ya están registrados
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    @Override
+    public Set<String> consultarIndicesNumeroControlRegistrados(Collection<String> indicesNumeroControl) throws PersistenciaException {
+        if (indicesNumeroControl.isEmpty()) {
+            return new HashSet<>();
         }
-
+        EntityManager em = Conexion.crearConexion();
         try {
-            Field numeroControlField = ParticipanteEstudiante.class.getDeclaredField("numeroControl");
-            numeroControlField.setAccessible(true);
-            String numeroControlEncriptado = (String) numeroControlField.get(participante);
-            if (numeroControlEncriptado != null) {
-                String numeroDesencriptado = EncryptionUtil.desencriptar(numeroControlEncriptado);
-                numeroControlField.set(participante, numeroDesencriptado);
-            }
+            TypedQuery<String> query = em.createNamedQuery("ParticipanteEstudiante.consultarIndicesNumeroControlRegistrados", String.class);
+            query.setParameter("indices", indicesNumeroControl);
+            return new HashSet<>(query.getResultList());
         } catch (Exception ex) {
-            System.err.println("Error al desencriptar número de control: " + ex.getMessage());
+            throw new PersistenciaException("Error al consultar números de control registrados: " + ex.getMessage());
+        } finally {
+            em.close();
         }
     }
-    
+
 }
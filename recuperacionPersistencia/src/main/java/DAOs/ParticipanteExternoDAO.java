@@ -5,15 +5,15 @@
 package DAOs;
 
 import conexion.Conexion;
-import entidades.Participante;
 import entidades.ParticipanteExterno;
 import exception.PersistenciaException;
 import interfaces.IParticipanteExternoDAO;
-import java.lang.reflect.Field;
 import java.util.List;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
-import utils.EncryptionUtil;
+import utils.DesencriptadorMasivo;
+import utils.RegistroCamposSensibles;
+import utils.SoloLectura;
 
 /**
  * Implementación de la interfaz IParticipanteExternoDAO utilizando JPA.
@@ -34,14 +34,14 @@ public class ParticipanteExternoDAO extends ParticipanteDAO implements IParticip
         EntityManager em = Conexion.crearConexion();
         try {
             // Encriptar datos sensibles antes de guardar
-            encriptarDatosSensibles(externo);
+            RegistroCamposSensibles.encriptar(externo);
             
             em.getTransaction().begin();
             em.persist(externo);
             em.getTransaction().commit();
             
             // Desencriptar datos para devolverlos a la capa de negocio
-            desencriptarDatosSensibles(externo);
+            RegistroCamposSensibles.desencriptar(externo);
             return externo;
         } catch (Exception ex) {
             em.getTransaction().rollback();
@@ -80,9 +80,10 @@ public class ParticipanteExternoDAO extends ParticipanteDAO implements IParticip
     public List<ParticipanteExterno> consultarTodosExternos() throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<ParticipanteExterno> query = em.createQuery(
-                    "select pe from ParticipanteExterno pe", ParticipanteExterno.class);
-            return query.getResultList();
+            TypedQuery<ParticipanteExterno> query = SoloLectura.preparar(em.createNamedQuery("ParticipanteExterno.consultarTodos", ParticipanteExterno.class));
+            List<ParticipanteExterno> externos = query.getResultList();
+            DesencriptadorMasivo.desencriptar(externos, RegistroCamposSensibles::desencriptar);
+            return externos;
         } catch (Exception ex) {
             throw new PersistenciaException("Error al consultar todos los participantes externos: " + ex.getMessage());
         } finally {
@@ -101,9 +102,7 @@ public class ParticipanteExternoDAO extends ParticipanteDAO implements IParticip
     public List<ParticipanteExterno> consultarPorInstitucion(String institucion) throws PersistenciaException {
         EntityManager em = Conexion.crearConexion();
         try {
-            TypedQuery<ParticipanteExterno> query = em.createQuery(
-                    "select pe from ParticipanteExterno pe where pe.institucion like :institucion",
-                    ParticipanteExterno.class);
+            TypedQuery<ParticipanteExterno> query = SoloLectura.preparar(em.createNamedQuery("ParticipanteExterno.consultarPorInstitucion", ParticipanteExterno.class));
             query.setParameter("institucion", "%" + institucion + "%");
             return query.getResultList();
         } catch (Exception ex) {
@@ -112,32 +111,5 @@ public class ParticipanteExternoDAO extends ParticipanteDAO implements IParticip
             em.close();
         }
     }
-    
-    // Métodos auxiliares para encriptar/desencriptar datos
-    private void encriptarDatosSensibles(ParticipanteExterno participante) {
-        if (participante.getCorreo() != null) {
-            try {
-                Field correoField = Participante.class.getDeclaredField("correo");
-                correoField.setAccessible(true);
-                String correoOriginal = (String) correoField.get(participante);
-                correoField.set(participante, EncryptionUtil.encriptar(correoOriginal));
-            } catch (Exception ex) {
-                System.err.println("Error al encriptar correo: " + ex.getMessage());
-            }
-        }
-    }
 
-    private void desencriptarDatosSensibles(ParticipanteExterno participante) {
-        if (participante.getCorreo() != null) {
-            try {
-                Field correoField = Participante.class.getDeclaredField("correo");
-                correoField.setAccessible(true);
-                String correoEncriptado = (String) correoField.get(participante);
-                correoField.set(participante, EncryptionUtil.desencriptar(correoEncriptado));
-            } catch (Exception ex) {
-                System.err.println("Error al desencriptar correo: " + ex.getMessage());
-            }
-        }
-    }
-    
 }
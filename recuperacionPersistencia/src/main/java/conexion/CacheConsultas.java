@@ -0,0 +1,250 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package conexion;
+
+import exception.PersistenciaException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché de resultados de las consultas frecuentes de los DAOs. Cada resultado
+ * se guarda con la consulta y sus parámetros como llave, y se descarta al
+ * vencer su tiempo de vida o cuando se escribe alguna de las entidades de las
+ * que depende. Cuando se llena se descarta el resultado usado hace más tiempo
+ * (LRU).
+ *
+ * El tamaño y el tiempo de vida se configuran en conexion.properties
+ * (cacheConsultas.tamano y cacheConsultas.ttlSeg). Las listas que se regresan
+ * son copias, pero las entidades son compartidas entre quienes consultan, por
+ * lo que deben tratarse como de solo lectura.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class CacheConsultas {
+
+    /**
+     * Operación que ejecuta la consulta contra la base de datos cuando el
+     * resultado no está en caché.
+     *
+     * @param <T> Tipo de los elementos del resultado
+     */
+    @FunctionalInterface
+    public interface Cargador<T> {
+
+        /**
+         * Ejecuta la consulta.
+         *
+         * @return Resultado de la consulta
+         * @throws PersistenciaException Si ocurre un error durante la operación
+         */
+        List<T> cargar() throws PersistenciaException;
+    }
+
+    private static final int TAMANO;
+    private static final long TTL_NANOS;
+
+    private static final Object CANDADO = new Object();
+
+    // En orden de acceso para descartar el resultado usado hace más tiempo
+    private static final LinkedHashMap<Llave, Entrada> ENTRADAS = new LinkedHashMap<>(16, 0.75f, true);
+
+    private static final Map<String, Metricas> METRICAS = new ConcurrentHashMap<>();
+
+    // Aumenta en cada invalidación; un resultado cargado mientras cambió no se guarda
+    private static long generacion;
+
+    static {
+        ConfiguracionConexion configuracion = Conexion.obtenerConfiguracion();
+        TAMANO = configuracion.getTamanoCacheConsultas();
+        TTL_NANOS = TimeUnit.SECONDS.toNanos(configuracion.getTtlCacheConsultasSeg());
+    }
+
+    /**
+     * Obtiene el resultado de una consulta desde la caché o, si no está o ya
+     * venció, lo carga de la base de datos y lo guarda.
+     *
+     * @param <T> Tipo de los elementos del resultado
+     * @param consulta Nombre de la consulta, por ejemplo
+     * "Evento.consultarPorEstado"
+     * @param dependencias Entidades cuya escritura invalida el resultado
+     * @param cargador Operación que ejecuta la consulta
+     * @param parametros Parámetros de la consulta
+     * @return Copia del resultado de la consulta
+     * @throws PersistenciaException Si ocurre un error al cargar el resultado
+     */
+    public static <T> List<T> consultar(String consulta, Class<?>[] dependencias, Cargador<T> cargador,
+            Object... parametros) throws PersistenciaException {
+        long inicio = System.nanoTime();
+        Metricas metricas = METRICAS.computeIfAbsent(consulta, k -> new Metricas());
+        if (TAMANO == 0 || TTL_NANOS == 0) {
+            List<T> resultado = cargador.cargar();
+            metricas.registrarFallo(System.nanoTime() - inicio);
+            return resultado;
+        }
+
+        Llave llave = new Llave(consulta, parametros);
+        long generacionInicial;
+        synchronized (CANDADO) {
+            Entrada entrada = ENTRADAS.get(llave);
+            if (entrada != null && entrada.vence - inicio > 0) {
+                @SuppressWarnings("unchecked")
+                List<T> valor = (List<T>) entrada.valor;
+                List<T> copia = new ArrayList<>(valor);
+                metricas.registrarAcierto(System.nanoTime() - inicio);
+                return copia;
+            }
+            if (entrada != null) {
+                ENTRADAS.remove(llave);
+            }
+            generacionInicial = generacion;
+        }
+
+        List<T> resultado = cargador.cargar();
+        long fin = System.nanoTime();
+        synchronized (CANDADO) {
+            if (generacion == generacionInicial) {
+                ENTRADAS.put(llave, new Entrada(new ArrayList<>(resultado), dependencias, fin + TTL_NANOS));
+                if (ENTRADAS.size() > TAMANO) {
+                    Iterator<Entrada> it = ENTRADAS.values().iterator();
+                    it.next();
+                    it.remove();
+                }
+            }
+        }
+        metricas.registrarFallo(fin - inicio);
+        return resultado;
+    }
+
+    /**
+     * Descarta los resultados que dependen de alguna de las entidades
+     * indicadas. Los DAOs lo invocan después de confirmar una escritura.
+     *
+     * @param entidades Entidades que se escribieron
+     */
+    public static void invalidar(Class<?>... entidades) {
+        synchronized (CANDADO) {
+            generacion++;
+            ENTRADAS.values().removeIf(entrada -> entrada.dependeDe(entidades));
+        }
+    }
+
+    /**
+     * Descarta todos los resultados guardados.
+     */
+    public static void limpiar() {
+        synchronized (CANDADO) {
+            generacion++;
+            ENTRADAS.clear();
+        }
+    }
+
+    /**
+     * Obtiene los aciertos, fallos y latencias de cada consulta.
+     *
+     * @return Estadísticas por consulta
+     */
+    public static List<EstadisticasConsulta> obtenerEstadisticas() {
+        List<EstadisticasConsulta> estadisticas = new ArrayList<>();
+        METRICAS.forEach((consulta, metricas) -> estadisticas.add(metricas.fotografia(consulta)));
+        return estadisticas;
+    }
+
+    /**
+     * Llave de un resultado: nombre de la consulta y sus parámetros.
+     */
+    private static class Llave {
+
+        private final String consulta;
+        private final Object[] parametros;
+        private final int hash;
+
+        Llave(String consulta, Object[] parametros) {
+            this.consulta = consulta;
+            this.parametros = parametros.clone();
+            this.hash = 31 * consulta.hashCode() + Arrays.hashCode(parametros);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Llave)) {
+                return false;
+            }
+            Llave otra = (Llave) obj;
+            return consulta.equals(otra.consulta) && Arrays.equals(parametros, otra.parametros);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Resultado guardado con sus dependencias y su vencimiento.
+     */
+    private static class Entrada {
+
+        private final List<?> valor;
+        private final Class<?>[] dependencias;
+        private final long vence;
+
+        Entrada(List<?> valor, Class<?>[] dependencias, long vence) {
+            this.valor = valor;
+            this.dependencias = dependencias;
+            this.vence = vence;
+        }
+
+        boolean dependeDe(Class<?>[] entidades) {
+            for (Class<?> dependencia : dependencias) {
+                for (Class<?> entidad : entidades) {
+                    if (dependencia.isAssignableFrom(entidad)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Contadores de una consulta.
+     */
+    private static class Metricas {
+
+        private final LongAdder aciertos = new LongAdder();
+        private final LongAdder fallos = new LongAdder();
+        private final LongAdder nanosAciertos = new LongAdder();
+        private final LongAdder nanosFallos = new LongAdder();
+
+        void registrarAcierto(long nanos) {
+            aciertos.increment();
+            nanosAciertos.add(nanos);
+        }
+
+        void registrarFallo(long nanos) {
+            fallos.increment();
+            nanosFallos.add(nanos);
+        }
+
+        EstadisticasConsulta fotografia(String consulta) {
+            long totalAciertos = aciertos.sum();
+            long totalFallos = fallos.sum();
+            return new EstadisticasConsulta(consulta, totalAciertos, totalFallos,
+                    totalAciertos == 0 ? 0 : nanosAciertos.sum() / totalAciertos / 1000,
+                    totalFallos == 0 ? 0 : nanosFallos.sum() / totalFallos / 1000);
+        }
+    }
+
+}
@@ -4,6 +4,10 @@
  */
 package conexion;
 
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
@@ -13,16 +17,97 @@ import javax.persistence.Persistence;
  * SingleTon, es decir, sólo existe una instancia de esta clase en todo el
  * sistema.
  *
+ * El modo de conexión se configura en el archivo conexion.properties (ver
+ * {@link ConfiguracionConexion}): en modo ECLIPSELINK se ajusta el pool interno
+ * de EclipseLink y en modo POOL se entrega a EclipseLink un
+ * {@link PoolConexiones} propio con métricas.
+ *
  * @author Alejandra García Preciado - 252444
  */
 public class Conexion {
 
+    /**
+     * Nombre de la unidad de persistencia.
+     */
+    private static final String UNIDAD_PERSISTENCIA = "com.mycompany_recuperacionDominio_jar_1.0-SNAPSHOTPU";
+
+    /**
+     * Pool propio de conexiones, solo existe en modo POOL.
+     */
+    private static final PoolConexiones pool;
+
+    /**
+     * Configuración de la conexión cargada al iniciar.
+     */
+    private static final ConfiguracionConexion configuracion;
+
     /**
      * Clase SingleTon EntityManagerFactory para crear objetos EntityManager
      * cuando se requiera, para el manejo de las operaciones CRUD con la base de
      * datos.
      */
-    private static final EntityManagerFactory emf = Persistence.createEntityManagerFactory("com.mycompany_recuperacionDominio_jar_1.0-SNAPSHOTPU"); // solo un factory en toda la aplicación
+    private static final EntityManagerFactory emf; // solo un factory en toda la aplicación
+
+    /**
+     * Versión del esquema después de aplicar las migraciones al iniciar.
+     */
+    private static final int versionEsquema;
+
+    static {
+        configuracion = ConfiguracionConexion.cargar(UNIDAD_PERSISTENCIA);
+        Map<String, Object> propiedades = new HashMap<>();
+        PoolConexiones poolCreado = null;
+
+        if (configuracion.getModo() == ConfiguracionConexion.Modo.POOL) {
+            try {
+                poolCreado = new PoolConexiones(configuracion);
+            } catch (SQLException ex) {
+                throw new ExceptionInInitializerError("Error al crear el pool de conexiones: " + ex.getMessage());
+            }
+            propiedades.put("javax.persistence.nonJtaDataSource", poolCreado);
+            // La caché de sentencias la maneja el driver en cada conexión física
+            propiedades.put("eclipselink.jdbc.cache-statements", "false");
+        } else {
+            String minimo = String.valueOf(configuracion.getMinimo());
+            propiedades.put("eclipselink.connection-pool.default.initial", minimo);
+            propiedades.put("eclipselink.connection-pool.default.min", minimo);
+            propiedades.put("eclipselink.connection-pool.default.max", String.valueOf(configuracion.getMaximo()));
+            propiedades.put("eclipselink.connection-pool.default.wait", String.valueOf(configuracion.getTimeoutAdquisicionMs()));
+            if (configuracion.getCacheSentencias() > 0) {
+                propiedades.put("eclipselink.jdbc.cache-statements", "true");
+                propiedades.put("eclipselink.jdbc.cache-statements.size", String.valueOf(configuracion.getCacheSentencias()));
+            }
+            // Cursores del lado del servidor cuando una consulta pide un fetch size
+            propiedades.put("eclipselink.jdbc.property.useCursorFetch", "true");
+            // Las inserciones en lote se reescriben como un solo INSERT de varias filas
+            propiedades.put("eclipselink.jdbc.property.rewriteBatchedStatements", "true");
+        }
+
+        // Escrituras en lote; los identificadores de la tabla de secuencias se
+        // reservan en su propia conexión para no bloquearla durante una carga masiva
+        propiedades.put("eclipselink.jdbc.batch-writing", "JDBC");
+        propiedades.put("eclipselink.jdbc.batch-writing.size", String.valueOf(configuracion.getTamanoLoteEscritura()));
+        propiedades.put("eclipselink.jdbc.sequence-connection-pool", "true");
+
+        // Conteo de sentencias SQL para verificar el costo de las consultas
+        propiedades.put("eclipselink.session-event-listener", ContadorConsultas.class.getName());
+        // Aciertos y fallos de la caché compartida por entidad
+        propiedades.put("eclipselink.profiler", MonitorCache.class.getName());
+
+        pool = poolCreado;
+        emf = Persistence.createEntityManagerFactory(UNIDAD_PERSISTENCIA, propiedades);
+        try {
+            RegistroConsultas.validar(emf);
+            versionEsquema = Migraciones.aplicar(emf);
+        } catch (IllegalStateException ex) {
+            emf.close();
+            if (pool != null) {
+                pool.cerrar();
+            }
+            throw new ExceptionInInitializerError(ex.getMessage());
+        }
+        Secuencias.alinear(emf);
+    }
 
     /**
      * Crea una nueva conexión con la base de datos.
@@ -33,6 +118,88 @@ public class Conexion {
         return emf.createEntityManager(); // se reutiliza el factory y se obtiene un nuevo EntityManager
     }
 
+    /**
+     * Obtiene la configuración de la conexión cargada al iniciar.
+     *
+     * @return Configuración de la conexión
+     */
+    public static ConfiguracionConexion obtenerConfiguracion() {
+        return configuracion;
+    }
+
+    /**
+     * Obtiene la versión del esquema de la base de datos, es decir, la última
+     * migración aplicada (ver {@link Migraciones}).
+     *
+     * @return Versión del esquema
+     */
+    public static int obtenerVersionEsquema() {
+        return versionEsquema;
+    }
+
+    /**
+     * Obtiene las métricas del pool de conexiones propio.
+     *
+     * @return Métricas del pool, o null si no se está usando el modo POOL
+     */
+    public static EstadisticasPool obtenerEstadisticasPool() {
+        return pool != null ? pool.obtenerEstadisticas() : null;
+    }
+
+    /**
+     * Quita una entidad de la caché compartida para que la siguiente lectura
+     * la traiga de la base de datos, por ejemplo cuando otra aplicación la
+     * modificó directamente en la base de datos.
+     *
+     * @param clase Clase de la entidad
+     * @param id Identificador de la entidad, se ignora si es null
+     */
+    public static void invalidarCache(Class<?> clase, Object id) {
+        if (id != null) {
+            emf.getCache().evict(clase, id);
+        }
+    }
+
+    /**
+     * Quita de la caché compartida todas las instancias de una entidad. Se usa
+     * después de las actualizaciones masivas, que no pasan por las entidades
+     * administradas.
+     *
+     * @param clase Clase de la entidad
+     */
+    public static void invalidarCache(Class<?> clase) {
+        emf.getCache().evict(clase);
+    }
+
+    /**
+     * Obtiene los aciertos y fallos de la caché compartida por entidad.
+     *
+     * @return Estadísticas de las entidades consultadas
+     */
+    public static List<EstadisticasCache> obtenerEstadisticasCache() {
+        return MonitorCache.obtenerTodas();
+    }
+
+    /**
+     * Obtiene los aciertos, fallos y latencias de la caché de consultas por
+     * consulta.
+     *
+     * @return Estadísticas de las consultas ejecutadas
+     */
+    public static List<EstadisticasConsulta> obtenerEstadisticasConsultas() {
+        return CacheConsultas.obtenerEstadisticas();
+    }
+
+    /**
+     * Obtiene el número de ejecuciones y los tiempos de cada consulta
+     * nombrada.
+     *
+     * @return Estadísticas de las consultas nombradas
+     */
+    public static List<EstadisticasEjecucion> obtenerEstadisticasEjecucion() {
+        return RegistroConsultas.obtenerEstadisticas();
+    }
+
     /**
      * Cierra la conexión con la base de datos.
      */
@@ -40,6 +207,9 @@ public class Conexion {
         if (emf.isOpen()) {
             emf.close();
         }
+        if (pool != null) {
+            pool.cerrar();
+        }
     }
 
 }
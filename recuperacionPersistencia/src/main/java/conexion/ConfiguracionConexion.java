@@ -0,0 +1,344 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package conexion;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * Clase que carga la configuración de la conexión desde un archivo de
+ * propiedades externo. Primero se busca la ruta indicada en la propiedad del
+ * sistema {@value #PROPIEDAD_RUTA}; si no existe, se usa el archivo
+ * {@value #ARCHIVO_DEFECTO} del classpath.
+ *
+ * Los datos JDBC (URL, usuario, contraseña y driver) que no se indiquen en el
+ * archivo se toman de la unidad de persistencia ({@value #ARCHIVO_UNIDAD}),
+ * para no mantener una segunda copia de las credenciales.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class ConfiguracionConexion {
+
+    /**
+     * Propiedad del sistema con la ruta del archivo de configuración externo.
+     */
+    public static final String PROPIEDAD_RUTA = "recuperacion.conexion.config";
+
+    /**
+     * Nombre del archivo de configuración por defecto dentro del classpath.
+     */
+    public static final String ARCHIVO_DEFECTO = "conexion.properties";
+
+    /**
+     * Archivo de la unidad de persistencia dentro del classpath.
+     */
+    public static final String ARCHIVO_UNIDAD = "META-INF/persistence.xml";
+
+    /**
+     * Máximo de conexiones por defecto, el mismo que usa el pool interno de
+     * EclipseLink.
+     */
+    public static final int MAXIMO_DEFECTO = 32;
+
+    /**
+     * Modos de conexión soportados.
+     */
+    public enum Modo {
+        /**
+         * Pool interno de EclipseLink (comportamiento original).
+         */
+        ECLIPSELINK,
+        /**
+         * Pool propio de conexiones JDBC entregado a EclipseLink como
+         * DataSource.
+         */
+        POOL
+    }
+
+    private final Properties propiedades;
+
+    /**
+     * Constructor que recibe las propiedades ya cargadas.
+     *
+     * @param propiedades Propiedades de configuración
+     */
+    public ConfiguracionConexion(Properties propiedades) {
+        this.propiedades = propiedades;
+    }
+
+    /**
+     * Carga la configuración desde el archivo externo o desde el classpath.
+     * Si no se encuentra ningún archivo se regresa una configuración vacía,
+     * que equivale al modo ECLIPSELINK con sus valores por defecto.
+     *
+     * @param unidadPersistencia Nombre de la unidad de persistencia de la que
+     * se toman los datos JDBC no configurados
+     * @return Configuración cargada
+     */
+    public static ConfiguracionConexion cargar(String unidadPersistencia) {
+        Properties propiedades = new Properties(leerDatosJdbc(unidadPersistencia));
+        String ruta = System.getProperty(PROPIEDAD_RUTA);
+        try {
+            if (ruta != null && !ruta.trim().isEmpty()) {
+                try (InputStream in = new FileInputStream(ruta)) {
+                    propiedades.load(in);
+                }
+            } else {
+                try (InputStream in = ConfiguracionConexion.class.getClassLoader().getResourceAsStream(ARCHIVO_DEFECTO)) {
+                    if (in != null) {
+                        propiedades.load(in);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            System.err.println("Error al cargar la configuración de conexión: " + ex.getMessage());
+        }
+        return new ConfiguracionConexion(propiedades);
+    }
+
+    /**
+     * Lee los datos JDBC de la unidad de persistencia indicada y los regresa
+     * con las claves de este archivo de configuración.
+     *
+     * @param unidadPersistencia Nombre de la unidad de persistencia
+     * @return Datos JDBC encontrados, vacío si no se pudo leer la unidad
+     */
+    private static Properties leerDatosJdbc(String unidadPersistencia) {
+        Properties datos = new Properties();
+        try (InputStream in = ConfiguracionConexion.class.getClassLoader().getResourceAsStream(ARCHIVO_UNIDAD)) {
+            if (in == null) {
+                return datos;
+            }
+            DocumentBuilderFactory fabrica = DocumentBuilderFactory.newInstance();
+            fabrica.setNamespaceAware(true);
+            NodeList unidades = fabrica.newDocumentBuilder().parse(in).getElementsByTagNameNS("*", "persistence-unit");
+            for (int i = 0; i < unidades.getLength(); i++) {
+                Element unidad = (Element) unidades.item(i);
+                if (!unidad.getAttribute("name").equals(unidadPersistencia)) {
+                    continue;
+                }
+                NodeList propiedades = unidad.getElementsByTagNameNS("*", "property");
+                for (int j = 0; j < propiedades.getLength(); j++) {
+                    Element propiedad = (Element) propiedades.item(j);
+                    String clave = claveJdbc(propiedad.getAttribute("name"));
+                    if (clave != null) {
+                        datos.setProperty(clave, propiedad.getAttribute("value"));
+                    }
+                }
+            }
+        } catch (IOException | ParserConfigurationException | SAXException ex) {
+            System.err.println("Error al leer los datos JDBC de la unidad de persistencia: " + ex.getMessage());
+        }
+        return datos;
+    }
+
+    private static String claveJdbc(String propiedadUnidad) {
+        switch (propiedadUnidad) {
+            case "javax.persistence.jdbc.url":
+                return "jdbc.url";
+            case "javax.persistence.jdbc.user":
+                return "jdbc.usuario";
+            case "javax.persistence.jdbc.password":
+                return "jdbc.password";
+            case "javax.persistence.jdbc.driver":
+                return "jdbc.driver";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Obtiene el modo de conexión configurado.
+     *
+     * @return Modo de conexión, ECLIPSELINK si no se especifica
+     */
+    public Modo getModo() {
+        String modo = propiedades.getProperty("conexion.modo", Modo.ECLIPSELINK.name());
+        try {
+            return Modo.valueOf(modo.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            System.err.println("Modo de conexión no válido: " + modo + ", se usará ECLIPSELINK");
+            return Modo.ECLIPSELINK;
+        }
+    }
+
+    /**
+     * Obtiene la URL JDBC de la base de datos.
+     *
+     * @return URL JDBC o null si no se especifica
+     */
+    public String getUrl() {
+        return propiedades.getProperty("jdbc.url");
+    }
+
+    /**
+     * Obtiene el usuario de la base de datos.
+     *
+     * @return Usuario o null si no se especifica
+     */
+    public String getUsuario() {
+        return propiedades.getProperty("jdbc.usuario");
+    }
+
+    /**
+     * Obtiene la contraseña de la base de datos.
+     *
+     * @return Contraseña o null si no se especifica
+     */
+    public String getPassword() {
+        return propiedades.getProperty("jdbc.password");
+    }
+
+    /**
+     * Obtiene la clase del driver JDBC.
+     *
+     * @return Nombre de la clase del driver o null si no se especifica
+     */
+    public String getDriver() {
+        return propiedades.getProperty("jdbc.driver");
+    }
+
+    /**
+     * Obtiene el número mínimo de conexiones del pool.
+     *
+     * @return Mínimo de conexiones
+     */
+    public int getMinimo() {
+        return getEntero("pool.minimo", 2);
+    }
+
+    /**
+     * Obtiene el número máximo de conexiones del pool. Si no se configura se
+     * usa {@value #MAXIMO_DEFECTO}, el mismo máximo del pool de EclipseLink.
+     *
+     * @return Máximo de conexiones
+     */
+    public int getMaximo() {
+        return Math.max(getEntero("pool.maximo", MAXIMO_DEFECTO), getMinimo());
+    }
+
+    /**
+     * Obtiene el tiempo máximo de espera para adquirir una conexión.
+     *
+     * @return Tiempo de espera en milisegundos
+     */
+    public long getTimeoutAdquisicionMs() {
+        return getLargo("pool.timeoutAdquisicionMs", 5000);
+    }
+
+    /**
+     * Indica si las conexiones se validan antes de entregarlas.
+     *
+     * @return true si se valida al prestar la conexión
+     */
+    public boolean isValidarAlPrestar() {
+        return Boolean.parseBoolean(propiedades.getProperty("pool.validarAlPrestar", "true"));
+    }
+
+    /**
+     * Obtiene el tiempo máximo para la validación de una conexión.
+     *
+     * @return Tiempo de validación en segundos
+     */
+    public int getTimeoutValidacionSeg() {
+        return getEntero("pool.timeoutValidacionSeg", 2);
+    }
+
+    /**
+     * Obtiene el tiempo a partir del cual una conexión prestada se considera
+     * una posible fuga. Un valor de 0 desactiva la detección.
+     *
+     * @return Umbral de fuga en milisegundos
+     */
+    public long getUmbralFugaMs() {
+        return getLargo("pool.umbralFugaMs", 60000);
+    }
+
+    /**
+     * Obtiene el tamaño de la caché de sentencias preparadas por conexión. Un
+     * valor de 0 desactiva la caché.
+     *
+     * @return Tamaño de la caché de sentencias
+     */
+    public int getCacheSentencias() {
+        return getEntero("pool.cacheSentencias", 250);
+    }
+
+    /**
+     * Obtiene el número de filas que el driver trae por cada viaje a la base de
+     * datos en los recorridos con cursor. También es el número de filas tras
+     * el cual se limpia el contexto de persistencia durante el recorrido.
+     *
+     * @return Tamaño de lote del cursor
+     */
+    public int getTamanoFetchCursor() {
+        return Math.max(getEntero("cursor.tamanoFetch", 500), 1);
+    }
+
+    /**
+     * Obtiene el número de sentencias que se envían juntas en las escrituras
+     * JDBC. También es el número de entidades tras el cual se vacía el
+     * contexto de persistencia en las inserciones masivas.
+     *
+     * @return Tamaño de lote de escritura
+     */
+    public int getTamanoLoteEscritura() {
+        return Math.max(getEntero("escritura.tamanoLote", 100), 1);
+    }
+
+    /**
+     * Obtiene el número máximo de resultados que guarda la caché de consultas.
+     * Un valor de 0 desactiva la caché.
+     *
+     * @return Tamaño de la caché de consultas
+     */
+    public int getTamanoCacheConsultas() {
+        return Math.max(getEntero("cacheConsultas.tamano", 500), 0);
+    }
+
+    /**
+     * Obtiene el tiempo de vida de cada resultado en la caché de consultas.
+     *
+     * @return Tiempo de vida en segundos
+     */
+    public long getTtlCacheConsultasSeg() {
+        return Math.max(getLargo("cacheConsultas.ttlSeg", 300), 0);
+    }
+
+    /**
+     * Indica si las consultas de solo lectura de los DAOs se ejecutan sin
+     * registrar sus entidades en el contexto de persistencia.
+     *
+     * @return true si las consultas de solo lectura están activadas
+     */
+    public boolean isConsultasSoloLectura() {
+        return Boolean.parseBoolean(propiedades.getProperty("consultas.soloLectura", "true"));
+    }
+
+    private int getEntero(String clave, int defecto) {
+        return (int) getLargo(clave, defecto);
+    }
+
+    private long getLargo(String clave, long defecto) {
+        String valor = propiedades.getProperty(clave);
+        if (valor == null || valor.trim().isEmpty()) {
+            return defecto;
+        }
+        try {
+            return Long.parseLong(valor.trim());
+        } catch (NumberFormatException ex) {
+            System.err.println("Valor no válido para " + clave + ": " + valor);
+            return defecto;
+        }
+    }
+
+}
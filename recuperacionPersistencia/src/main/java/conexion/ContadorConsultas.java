@@ -0,0 +1,126 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package conexion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.persistence.internal.databaseaccess.DatabaseCall;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+
+/**
+ * Escucha de eventos de la sesión de EclipseLink que cuenta las sentencias SQL
+ * ejecutadas contra la base de datos. Lleva un conteo global y otro por hilo,
+ * de modo que una operación puede reiniciar su conteo, ejecutarse y verificar
+ * cuántas sentencias costó (por ejemplo, para detectar consultas N+1). Un hilo
+ * también puede capturar el texto de sus sentencias para revisar su plan de
+ * ejecución.
+ *
+ * También avisa a {@link RegistroConsultas} del inicio y fin de cada consulta
+ * para medir las consultas nombradas.
+ *
+ * Se registra en {@link Conexion} mediante la propiedad
+ * eclipselink.session-event-listener.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class ContadorConsultas extends SessionEventAdapter {
+
+    private static final AtomicLong TOTAL = new AtomicLong();
+
+    private static final ThreadLocal<long[]> POR_HILO = ThreadLocal.withInitial(() -> new long[1]);
+
+    // Sentencias capturadas por el hilo, null si no está capturando
+    private static final ThreadLocal<List<SentenciaCapturada>> CAPTURA = new ThreadLocal<>();
+
+    /**
+     * Se invoca antes de cada sentencia enviada a la base de datos.
+     *
+     * @param event Evento de la sesión
+     */
+    @Override
+    public void preExecuteCall(SessionEvent event) {
+        TOTAL.incrementAndGet();
+        POR_HILO.get()[0]++;
+        List<SentenciaCapturada> captura = CAPTURA.get();
+        if (captura != null && event.getCall() instanceof DatabaseCall) {
+            DatabaseCall llamada = (DatabaseCall) event.getCall();
+            // getParameters() es un Vector sin tipo; se copia elemento por elemento
+            List<Object> parametros = new ArrayList<>();
+            for (Object parametro : llamada.getParameters()) {
+                parametros.add(parametro);
+            }
+            captura.add(new SentenciaCapturada(llamada.getSQLString(), parametros));
+        }
+    }
+
+    /**
+     * Se invoca antes de ejecutar cada consulta.
+     *
+     * @param event Evento de la sesión
+     */
+    @Override
+    public void preExecuteQuery(SessionEvent event) {
+        RegistroConsultas.iniciar(event.getQuery());
+    }
+
+    /**
+     * Se invoca después de ejecutar cada consulta.
+     *
+     * @param event Evento de la sesión
+     */
+    @Override
+    public void postExecuteQuery(SessionEvent event) {
+        RegistroConsultas.terminar(event.getQuery());
+    }
+
+    /**
+     * Reinicia el conteo de sentencias del hilo actual.
+     */
+    public static void reiniciar() {
+        POR_HILO.get()[0] = 0;
+    }
+
+    /**
+     * Obtiene las sentencias ejecutadas por el hilo actual desde el último
+     * reinicio.
+     *
+     * @return Número de sentencias del hilo actual
+     */
+    public static long obtener() {
+        return POR_HILO.get()[0];
+    }
+
+    /**
+     * Empieza a capturar las sentencias del hilo actual, descartando las
+     * capturadas antes.
+     */
+    public static void iniciarCaptura() {
+        CAPTURA.set(new ArrayList<>());
+    }
+
+    /**
+     * Deja de capturar las sentencias del hilo actual.
+     *
+     * @return Sentencias capturadas desde que se inició la captura, vacía si
+     * no se había iniciado
+     */
+    public static List<SentenciaCapturada> terminarCaptura() {
+        List<SentenciaCapturada> captura = CAPTURA.get();
+        CAPTURA.remove();
+        return captura != null ? captura : new ArrayList<>();
+    }
+
+    /**
+     * Obtiene el total de sentencias ejecutadas por la aplicación.
+     *
+     * @return Número total de sentencias
+     */
+    public static long obtenerTotal() {
+        return TOTAL.get();
+    }
+
+}
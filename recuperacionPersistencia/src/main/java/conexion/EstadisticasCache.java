@@ -0,0 +1,74 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package conexion;
+
+/**
+ * Fotografía inmutable de los aciertos y fallos de la caché compartida para
+ * una entidad en un instante dado.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class EstadisticasCache {
+
+    private final String entidad;
+    private final long aciertos;
+    private final long fallos;
+
+    /**
+     * Constructor con todas las métricas.
+     *
+     * @param entidad Nombre de la entidad
+     * @param aciertos Consultas resueltas con la caché
+     * @param fallos Consultas que tuvieron que ir a la base de datos
+     */
+    public EstadisticasCache(String entidad, long aciertos, long fallos) {
+        this.entidad = entidad;
+        this.aciertos = aciertos;
+        this.fallos = fallos;
+    }
+
+    /**
+     * Obtiene el nombre de la entidad.
+     *
+     * @return Nombre de la entidad
+     */
+    public String getEntidad() {
+        return entidad;
+    }
+
+    /**
+     * Obtiene el número de consultas resueltas con la caché.
+     *
+     * @return Aciertos
+     */
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    /**
+     * Obtiene el número de consultas que tuvieron que ir a la base de datos.
+     *
+     * @return Fallos
+     */
+    public long getFallos() {
+        return fallos;
+    }
+
+    /**
+     * Obtiene la proporción de consultas resueltas con la caché.
+     *
+     * @return Tasa de aciertos entre 0 y 1, o 0 si no hay consultas
+     */
+    public double getTasaAciertos() {
+        long total = aciertos + fallos;
+        return total == 0 ? 0 : (double) aciertos / total;
+    }
+
+    @Override
+    public String toString() {
+        return "EstadisticasCache{" + "entidad=" + entidad + ", aciertos=" + aciertos + ", fallos=" + fallos + ", tasaAciertos=" + getTasaAciertos() + '}';
+    }
+
+}
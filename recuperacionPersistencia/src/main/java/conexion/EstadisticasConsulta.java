@@ -0,0 +1,102 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package conexion;
+
+/**
+ * Fotografía inmutable de las métricas de una consulta de la caché de
+ * consultas en un instante dado.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class EstadisticasConsulta {
+
+    private final String consulta;
+    private final long aciertos;
+    private final long fallos;
+    private final long latenciaAciertoMicros;
+    private final long latenciaFalloMicros;
+
+    /**
+     * Constructor con todas las métricas.
+     *
+     * @param consulta Nombre de la consulta
+     * @param aciertos Ejecuciones resueltas con la caché
+     * @param fallos Ejecuciones que fueron a la base de datos
+     * @param latenciaAciertoMicros Latencia promedio de un acierto en
+     * microsegundos
+     * @param latenciaFalloMicros Latencia promedio de un fallo en
+     * microsegundos
+     */
+    public EstadisticasConsulta(String consulta, long aciertos, long fallos, long latenciaAciertoMicros,
+            long latenciaFalloMicros) {
+        this.consulta = consulta;
+        this.aciertos = aciertos;
+        this.fallos = fallos;
+        this.latenciaAciertoMicros = latenciaAciertoMicros;
+        this.latenciaFalloMicros = latenciaFalloMicros;
+    }
+
+    /**
+     * Obtiene el nombre de la consulta.
+     *
+     * @return Nombre de la consulta
+     */
+    public String getConsulta() {
+        return consulta;
+    }
+
+    /**
+     * Obtiene el número de ejecuciones resueltas con la caché.
+     *
+     * @return Aciertos
+     */
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    /**
+     * Obtiene el número de ejecuciones que fueron a la base de datos.
+     *
+     * @return Fallos
+     */
+    public long getFallos() {
+        return fallos;
+    }
+
+    /**
+     * Obtiene la proporción de ejecuciones resueltas con la caché.
+     *
+     * @return Tasa de aciertos entre 0 y 1, o 0 si no hay ejecuciones
+     */
+    public double getTasaAciertos() {
+        long total = aciertos + fallos;
+        return total == 0 ? 0 : (double) aciertos / total;
+    }
+
+    /**
+     * Obtiene la latencia promedio de un acierto.
+     *
+     * @return Latencia promedio en microsegundos
+     */
+    public long getLatenciaAciertoMicros() {
+        return latenciaAciertoMicros;
+    }
+
+    /**
+     * Obtiene la latencia promedio de un fallo, incluida la consulta a la base
+     * de datos.
+     *
+     * @return Latencia promedio en microsegundos
+     */
+    public long getLatenciaFalloMicros() {
+        return latenciaFalloMicros;
+    }
+
+    @Override
+    public String toString() {
+        return "EstadisticasConsulta{" + "consulta=" + consulta + ", aciertos=" + aciertos + ", fallos=" + fallos + ", tasaAciertos=" + getTasaAciertos() + ", latenciaAciertoMicros=" + latenciaAciertoMicros + ", latenciaFalloMicros=" + latenciaFalloMicros + '}';
+    }
+
+}
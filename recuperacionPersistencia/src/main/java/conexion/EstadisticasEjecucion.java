@@ -0,0 +1,87 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package conexion;
+
+/**
+ * Fotografía inmutable de las ejecuciones de una consulta nombrada en un
+ * instante dado.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class EstadisticasEjecucion {
+
+    private final String consulta;
+    private final long ejecuciones;
+    private final long tiempoTotalMicros;
+    private final long tiempoMaximoMicros;
+
+    /**
+     * Constructor con todas las métricas.
+     *
+     * @param consulta Nombre de la consulta
+     * @param ejecuciones Número de ejecuciones
+     * @param tiempoTotalMicros Tiempo acumulado de las ejecuciones en
+     * microsegundos
+     * @param tiempoMaximoMicros Tiempo de la ejecución más lenta en
+     * microsegundos
+     */
+    public EstadisticasEjecucion(String consulta, long ejecuciones, long tiempoTotalMicros, long tiempoMaximoMicros) {
+        this.consulta = consulta;
+        this.ejecuciones = ejecuciones;
+        this.tiempoTotalMicros = tiempoTotalMicros;
+        this.tiempoMaximoMicros = tiempoMaximoMicros;
+    }
+
+    /**
+     * Obtiene el nombre de la consulta.
+     *
+     * @return Nombre de la consulta
+     */
+    public String getConsulta() {
+        return consulta;
+    }
+
+    /**
+     * Obtiene el número de ejecuciones.
+     *
+     * @return Ejecuciones
+     */
+    public long getEjecuciones() {
+        return ejecuciones;
+    }
+
+    /**
+     * Obtiene el tiempo acumulado de las ejecuciones.
+     *
+     * @return Tiempo total en microsegundos
+     */
+    public long getTiempoTotalMicros() {
+        return tiempoTotalMicros;
+    }
+
+    /**
+     * Obtiene el tiempo de la ejecución más lenta.
+     *
+     * @return Tiempo máximo en microsegundos
+     */
+    public long getTiempoMaximoMicros() {
+        return tiempoMaximoMicros;
+    }
+
+    /**
+     * Obtiene el tiempo promedio de una ejecución.
+     *
+     * @return Tiempo promedio en microsegundos, o 0 si no hay ejecuciones
+     */
+    public long getTiempoPromedioMicros() {
+        return ejecuciones == 0 ? 0 : tiempoTotalMicros / ejecuciones;
+    }
+
+    @Override
+    public String toString() {
+        return "EstadisticasEjecucion{" + "consulta=" + consulta + ", ejecuciones=" + ejecuciones + ", tiempoPromedioMicros=" + getTiempoPromedioMicros() + ", tiempoMaximoMicros=" + tiempoMaximoMicros + '}';
+    }
+
+}
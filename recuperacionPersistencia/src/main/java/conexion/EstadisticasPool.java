@@ -0,0 +1,150 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package conexion;
+
+import java.util.Arrays;
+
+/**
+ * Fotografía inmutable de las métricas del pool de conexiones en un instante
+ * dado. Incluye los indicadores de conexiones activas, ociosas y en espera, así
+ * como un histograma de la latencia de adquisición.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class EstadisticasPool {
+
+    /**
+     * Límites superiores (exclusivos) en milisegundos de cada cubeta del
+     * histograma de latencia. La última cubeta acumula todo lo que exceda el
+     * último límite.
+     */
+    public static final long[] LIMITES_HISTOGRAMA_MS = {1, 5, 10, 50, 100, 500, 1000};
+
+    private final int activas;
+    private final int ociosas;
+    private final int enEspera;
+    private final int maximo;
+    private final long adquisiciones;
+    private final long timeouts;
+    private final long fugasDetectadas;
+    private final long latenciaPromedioMicros;
+    private final long[] histograma;
+
+    /**
+     * Constructor con todas las métricas.
+     *
+     * @param activas Conexiones prestadas actualmente
+     * @param ociosas Conexiones disponibles en el pool
+     * @param enEspera Hilos esperando una conexión
+     * @param maximo Tamaño máximo del pool
+     * @param adquisiciones Total de adquisiciones exitosas
+     * @param timeouts Total de adquisiciones que agotaron el tiempo de espera
+     * @param fugasDetectadas Total de posibles fugas detectadas
+     * @param latenciaPromedioMicros Latencia promedio de adquisición en
+     * microsegundos
+     * @param histograma Conteo por cubeta de latencia de adquisición
+     */
+    public EstadisticasPool(int activas, int ociosas, int enEspera, int maximo, long adquisiciones,
+            long timeouts, long fugasDetectadas, long latenciaPromedioMicros, long[] histograma) {
+        this.activas = activas;
+        this.ociosas = ociosas;
+        this.enEspera = enEspera;
+        this.maximo = maximo;
+        this.adquisiciones = adquisiciones;
+        this.timeouts = timeouts;
+        this.fugasDetectadas = fugasDetectadas;
+        this.latenciaPromedioMicros = latenciaPromedioMicros;
+        this.histograma = histograma.clone();
+    }
+
+    /**
+     * Obtiene el número de conexiones prestadas actualmente.
+     *
+     * @return Conexiones activas
+     */
+    public int getActivas() {
+        return activas;
+    }
+
+    /**
+     * Obtiene el número de conexiones disponibles en el pool.
+     *
+     * @return Conexiones ociosas
+     */
+    public int getOciosas() {
+        return ociosas;
+    }
+
+    /**
+     * Obtiene el número de hilos esperando una conexión.
+     *
+     * @return Hilos en espera
+     */
+    public int getEnEspera() {
+        return enEspera;
+    }
+
+    /**
+     * Obtiene el tamaño máximo del pool.
+     *
+     * @return Máximo de conexiones
+     */
+    public int getMaximo() {
+        return maximo;
+    }
+
+    /**
+     * Obtiene el total de adquisiciones exitosas.
+     *
+     * @return Total de adquisiciones
+     */
+    public long getAdquisiciones() {
+        return adquisiciones;
+    }
+
+    /**
+     * Obtiene el total de adquisiciones que agotaron el tiempo de espera.
+     *
+     * @return Total de timeouts
+     */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * Obtiene el total de posibles fugas de conexiones detectadas.
+     *
+     * @return Total de fugas detectadas
+     */
+    public long getFugasDetectadas() {
+        return fugasDetectadas;
+    }
+
+    /**
+     * Obtiene la latencia promedio de adquisición.
+     *
+     * @return Latencia promedio en microsegundos
+     */
+    public long getLatenciaPromedioMicros() {
+        return latenciaPromedioMicros;
+    }
+
+    /**
+     * Obtiene el conteo por cubeta del histograma de latencia de adquisición.
+     * La cubeta i cuenta las adquisiciones menores a
+     * LIMITES_HISTOGRAMA_MS[i]; la última cuenta el resto.
+     *
+     * @return Copia del histograma
+     */
+    public long[] getHistograma() {
+        return histograma.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "EstadisticasPool{" + "activas=" + activas + ", ociosas=" + ociosas + ", enEspera=" + enEspera + ", maximo=" + maximo + ", adquisiciones=" + adquisiciones + ", timeouts=" + timeouts + ", fugasDetectadas=" + fugasDetectadas + ", latenciaPromedioMicros=" + latenciaPromedioMicros + ", histograma=" + Arrays.toString(histograma) + '}';
+    }
+
+}
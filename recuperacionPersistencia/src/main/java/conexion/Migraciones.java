@@ -0,0 +1,310 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package conexion;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Query;
+import utils.EncryptionUtil;
+import utils.IndiceCiegoUtil;
+
+/**
+ * Clase que aplica al esquema de la base de datos los cambios que la
+ * generación automática de JPA no hace. La acción "create" de la unidad de
+ * persistencia solo crea las tablas que no existen, con sus índices; en una
+ * base de datos creada con una versión anterior, las columnas agregadas
+ * después a las entidades y los índices declarados con {@code @Index} nunca
+ * se crean.
+ *
+ * Cada migración tiene un número de versión y se aplica una sola vez: las
+ * versiones aplicadas se registran en la tabla esquema_versiones. Al iniciar
+ * se aplican en orden las que falten. Como MySQL confirma cada sentencia DDL
+ * por separado, los pasos revisan antes si su cambio ya existe, de modo que
+ * una migración interrumpida se puede volver a aplicar completa.
+ *
+ * Para cambiar el esquema se agrega una migración nueva al final de
+ * {@link #MIGRACIONES}; a las ya publicadas solo se les agregan los pasos
+ * idempotentes que les falten para aplicarse sobre una base de datos
+ * anterior. Los índices y columnas declarados en las entidades deben tener el
+ * mismo nombre aquí.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+class Migraciones {
+
+    /**
+     * Un cambio idempotente sobre el esquema.
+     */
+    @FunctionalInterface
+    private interface Paso {
+
+        void aplicar(EntityManager em);
+    }
+
+    /**
+     * Una versión del esquema y los pasos para llegar a ella.
+     */
+    private static class Migracion {
+
+        private final int version;
+        private final String descripcion;
+        private final Paso[] pasos;
+
+        Migracion(int version, String descripcion, Paso... pasos) {
+            this.version = version;
+            this.descripcion = descripcion;
+            this.pasos = pasos;
+        }
+    }
+
+    /**
+     * Filas que se leen y se actualizan por sentencia al calcular los índices
+     * ciegos de los registros existentes.
+     */
+    private static final int LOTE_INDICES = 500;
+
+    /**
+     * Migraciones en orden de versión.
+     */
+    private static final Migracion[] MIGRACIONES = {
+        new Migracion(1, "Índices ciegos y búsqueda de actividades por nombre y fecha",
+        // Columnas agregadas a tablas que pueden ser anteriores a estos índices
+        columna("participantes", "correo_indice", "varchar(64) null"),
+        columna("participantes_estudiantes", "numero_control_indice", "varchar(64) null"),
+        columna("actividades", "lugares_reservados", "int not null default 0"),
+        // El cupo reservado parte de las inscripciones que ya existen
+        actualizacion("update actividades a set lugares_reservados = "
+                + "(select count(*) from inscripciones i where i.actividad_id = a.id)"),
+        // Los registros guardados antes de los índices ciegos se indexan antes de
+        // crear los índices únicos
+        indiceCiego("participantes", "correo", "correo_indice", IndiceCiegoUtil::indiceCorreo),
+        indiceCiego("participantes_estudiantes", "numero_control", "numero_control_indice", IndiceCiegoUtil::indiceNumeroControl),
+        indice("participantes", "idx_participantes_correo_indice", "correo_indice", true),
+        indice("participantes_estudiantes", "idx_estudiantes_numero_control_indice", "numero_control_indice", true),
+        indice("actividades", "idx_actividades_nombre_fecha", "nombre, fecha_hora_inicio", false)),
+        new Migracion(2, "Índices de los filtros frecuentes de eventos, actividades e inscripciones",
+        indice("eventos", "idx_eventos_estado_fecha_inicio", "estado, fecha_inicio", false),
+        indice("eventos", "idx_eventos_estado_fecha_fin", "estado, fecha_fin", false),
+        indice("eventos", "idx_eventos_modalidad", "modalidad", false),
+        indice("eventos", "idx_eventos_fecha_inicio", "fecha_inicio", false),
+        indice("eventos", "idx_eventos_fecha_fin", "fecha_fin", false),
+        indice("actividades", "idx_actividades_lugar_fecha", "lugar_id, fecha_hora_inicio", false),
+        indice("actividades", "idx_actividades_fecha", "fecha_hora_inicio", false),
+        indice("actividades", "idx_actividades_finalizado", "finalizado", false),
+        indice("inscripciones", "idx_inscripciones_estado_asistencia", "estado_asistencia", false),
+        indice("inscripciones", "idx_inscripciones_fecha_hora", "fecha_hora", false)),
+        new Migracion(3, "Columnas de versión para el bloqueo optimista",
+        columna("eventos", "version", "bigint not null default 1"),
+        columna("actividades", "version", "bigint not null default 1"),
+        columna("participantes", "version", "bigint not null default 1"),
+        columna("inscripciones", "version", "bigint not null default 1"))
+    };
+
+    /**
+     * Aplica en orden las migraciones que no se han aplicado. Si una falla no
+     * se aplican las siguientes y se detiene el arranque, porque las entidades
+     * ya mapean las columnas que agregan; se reintentará al iniciar de nuevo.
+     *
+     * @param emf Fábrica de EntityManager ya inicializada
+     * @return Versión del esquema después de aplicar las migraciones
+     * @throws IllegalStateException Si alguna migración falla
+     */
+    static int aplicar(EntityManagerFactory emf) {
+        EntityManager em = emf.createEntityManager();
+        int actual = 0;
+        try {
+            em.getTransaction().begin();
+            em.createNativeQuery("create table if not exists esquema_versiones ("
+                    + "version int not null primary key, "
+                    + "descripcion varchar(255) not null, "
+                    + "fecha_aplicacion datetime not null)")
+                    .executeUpdate();
+            em.getTransaction().commit();
+            actual = ((Number) em.createNativeQuery("select coalesce(max(version), 0) from esquema_versiones")
+                    .getSingleResult()).intValue();
+
+            for (Migracion migracion : MIGRACIONES) {
+                if (migracion.version <= actual) {
+                    continue;
+                }
+                em.getTransaction().begin();
+                for (Paso paso : migracion.pasos) {
+                    paso.aplicar(em);
+                }
+                em.createNativeQuery("insert into esquema_versiones (version, descripcion, fecha_aplicacion) values (?, ?, now())")
+                        .setParameter(1, migracion.version)
+                        .setParameter(2, migracion.descripcion)
+                        .executeUpdate();
+                em.getTransaction().commit();
+                actual = migracion.version;
+                System.err.println("Esquema actualizado a la versión " + actual + ": " + migracion.descripcion);
+            }
+        } catch (Exception ex) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            throw new IllegalStateException("No fue posible migrar el esquema desde la versión " + actual + ": " + ex.getMessage(), ex);
+        } finally {
+            em.close();
+        }
+        return actual;
+    }
+
+    /**
+     * Crea un paso que agrega un índice si la tabla no tiene ya uno con ese
+     * nombre, por ejemplo porque la generación del esquema lo creó junto con
+     * la tabla.
+     *
+     * @param tabla Tabla del índice
+     * @param nombre Nombre del índice
+     * @param columnas Columnas del índice separadas por comas
+     * @param unico Si el índice es único
+     * @return Paso de la migración
+     */
+    private static Paso indice(String tabla, String nombre, String columnas, boolean unico) {
+        return em -> {
+            List<?> existente = em.createNativeQuery("select 1 from information_schema.statistics "
+                    + "where table_schema = database() and table_name = ? and index_name = ?")
+                    .setParameter(1, tabla)
+                    .setParameter(2, nombre)
+                    .setMaxResults(1)
+                    .getResultList();
+            if (existente.isEmpty()) {
+                em.createNativeQuery("create " + (unico ? "unique " : "") + "index " + nombre
+                        + " on " + tabla + " (" + columnas + ")")
+                        .executeUpdate();
+            }
+        };
+    }
+
+    /**
+     * Crea un paso que agrega una columna si la tabla no la tiene. Las filas
+     * existentes toman el valor por defecto de la definición.
+     *
+     * @param tabla Tabla de la columna
+     * @param nombre Nombre de la columna
+     * @param definicion Tipo y restricciones de la columna
+     * @return Paso de la migración
+     */
+    private static Paso columna(String tabla, String nombre, String definicion) {
+        return em -> {
+            List<?> existente = em.createNativeQuery("select 1 from information_schema.columns "
+                    + "where table_schema = database() and table_name = ? and column_name = ?")
+                    .setParameter(1, tabla)
+                    .setParameter(2, nombre)
+                    .setMaxResults(1)
+                    .getResultList();
+            if (existente.isEmpty()) {
+                em.createNativeQuery("alter table " + tabla + " add column " + nombre + " " + definicion)
+                        .executeUpdate();
+            }
+        };
+    }
+
+    /**
+     * Crea un paso que ejecuta una sentencia de actualización de datos. La
+     * sentencia debe dar el mismo resultado si se ejecuta de nuevo.
+     *
+     * @param sentencia Sentencia SQL a ejecutar
+     * @return Paso de la migración
+     */
+    private static Paso actualizacion(String sentencia) {
+        return em -> em.createNativeQuery(sentencia).executeUpdate();
+    }
+
+    /**
+     * Crea un paso que calcula el índice ciego de las filas que no lo tienen.
+     * Cada valor se desencripta y su índice se calcula igual que al guardar la
+     * entidad. Las filas se recorren por ID en lotes de
+     * {@value #LOTE_INDICES} y cada lote se actualiza con una sola sentencia.
+     *
+     * Si el índice de una fila ya lo tiene otra, por ejemplo dos participantes
+     * registrados con el mismo correo, la fila se deja sin índice y se reporta.
+     * Así el índice único se puede crear, y el registro duplicado se corrige a
+     * mano.
+     *
+     * @param tabla Tabla de las filas
+     * @param columna Columna encriptada de la que se calcula el índice
+     * @param columnaIndice Columna del índice ciego
+     * @param calcular Función que calcula el índice del valor desencriptado
+     * @return Paso de la migración
+     */
+    private static Paso indiceCiego(String tabla, String columna, String columnaIndice, UnaryOperator<String> calcular) {
+        return em -> {
+            Set<String> registrados = new HashSet<>();
+            for (Object indice : em.createNativeQuery("select " + columnaIndice + " from " + tabla
+                    + " where " + columnaIndice + " is not null").getResultList()) {
+                registrados.add((String) indice);
+            }
+
+            long ultimoId = 0;
+            List<?> filas;
+            do {
+                filas = em.createNativeQuery("select id, " + columna + " from " + tabla
+                        + " where " + columnaIndice + " is null and id > ? order by id")
+                        .setParameter(1, ultimoId)
+                        .setMaxResults(LOTE_INDICES)
+                        .getResultList();
+
+                List<Long> ids = new ArrayList<>();
+                List<String> indices = new ArrayList<>();
+                for (Object fila : filas) {
+                    Object[] valores = (Object[]) fila;
+                    ultimoId = ((Number) valores[0]).longValue();
+                    String indice = calcular.apply(EncryptionUtil.desencriptar((String) valores[1]));
+                    if (indice == null) {
+                        continue;
+                    }
+                    if (!registrados.add(indice)) {
+                        System.err.println("No se asignó " + columnaIndice + " a la fila " + ultimoId + " de " + tabla
+                                + ": el valor ya está registrado en otra fila.");
+                        continue;
+                    }
+                    ids.add(ultimoId);
+                    indices.add(indice);
+                }
+                if (!ids.isEmpty()) {
+                    actualizarIndices(em, tabla, columnaIndice, ids, indices);
+                }
+            } while (filas.size() == LOTE_INDICES);
+        };
+    }
+
+    /**
+     * Asigna los índices ciegos de un lote de filas con una sola sentencia
+     * UPDATE ... CASE.
+     *
+     * @param em EntityManager de la migración
+     * @param tabla Tabla de las filas
+     * @param columnaIndice Columna del índice ciego
+     * @param ids IDs de las filas
+     * @param indices Índice de cada fila, en el mismo orden que los IDs
+     */
+    private static void actualizarIndices(EntityManager em, String tabla, String columnaIndice, List<Long> ids, List<String> indices) {
+        StringBuilder casos = new StringBuilder();
+        StringBuilder marcadores = new StringBuilder();
+        for (int i = 0; i < ids.size(); i++) {
+            casos.append(" when ? then ?");
+            marcadores.append(i == 0 ? "?" : ", ?");
+        }
+        Query actualizacion = em.createNativeQuery("update " + tabla + " set " + columnaIndice
+                + " = case id" + casos + " end where id in (" + marcadores + ")");
+        int parametro = 1;
+        for (int i = 0; i < ids.size(); i++) {
+            actualizacion.setParameter(parametro++, ids.get(i));
+            actualizacion.setParameter(parametro++, indices.get(i));
+        }
+        for (Long id : ids) {
+            actualizacion.setParameter(parametro++, id);
+        }
+        actualizacion.executeUpdate();
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package conexion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.sessions.SessionProfilerAdapter;
+
+/**
+ * Perfilador de la sesión de EclipseLink que cuenta los aciertos y fallos de
+ * la caché compartida por entidad. EclipseLink avisa un acierto cuando una
+ * consulta se resuelve con la caché sin ir a la base de datos, y un fallo
+ * cuando tuvo que consultarla.
+ *
+ * Se registra en {@link Conexion} mediante la propiedad eclipselink.profiler.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class MonitorCache extends SessionProfilerAdapter {
+
+    // Por entidad: [0] aciertos, [1] fallos
+    private static final Map<String, AtomicLong[]> CONTADORES = new ConcurrentHashMap<>();
+
+    /**
+     * Se invoca cuando ocurre un evento de perfilado asociado a una consulta.
+     *
+     * @param operationName Nombre del evento
+     * @param query Consulta que lo produjo
+     * @param session Sesión de la consulta
+     */
+    @Override
+    public void occurred(String operationName, DatabaseQuery query, AbstractSession session) {
+        int indice;
+        if (SessionProfiler.CacheHits.equals(operationName)) {
+            indice = 0;
+        } else if (SessionProfiler.CacheMisses.equals(operationName)) {
+            indice = 1;
+        } else {
+            return;
+        }
+        Class<?> clase = query != null ? query.getReferenceClass() : null;
+        if (clase == null) {
+            return;
+        }
+        CONTADORES.computeIfAbsent(clase.getSimpleName(), k -> new AtomicLong[]{new AtomicLong(), new AtomicLong()})[indice].incrementAndGet();
+    }
+
+    /**
+     * Obtiene los aciertos y fallos de la caché de una entidad.
+     *
+     * @param clase Clase de la entidad
+     * @return Estadísticas de la entidad, en cero si aún no se ha consultado
+     */
+    public static EstadisticasCache obtener(Class<?> clase) {
+        AtomicLong[] contadores = CONTADORES.get(clase.getSimpleName());
+        if (contadores == null) {
+            return new EstadisticasCache(clase.getSimpleName(), 0, 0);
+        }
+        return new EstadisticasCache(clase.getSimpleName(), contadores[0].get(), contadores[1].get());
+    }
+
+    /**
+     * Obtiene los aciertos y fallos de la caché de todas las entidades
+     * consultadas.
+     *
+     * @return Estadísticas por entidad
+     */
+    public static List<EstadisticasCache> obtenerTodas() {
+        List<EstadisticasCache> estadisticas = new ArrayList<>();
+        CONTADORES.forEach((entidad, contadores)
+                -> estadisticas.add(new EstadisticasCache(entidad, contadores[0].get(), contadores[1].get())));
+        return estadisticas;
+    }
+
+    /**
+     * Reinicia los contadores de todas las entidades.
+     */
+    public static void reiniciar() {
+        CONTADORES.clear();
+    }
+
+}
@@ -0,0 +1,400 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package conexion;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * Pool de conexiones JDBC que se entrega a EclipseLink como DataSource no JTA.
+ * Mantiene un mínimo de conexiones abiertas, limita el máximo, valida las
+ * conexiones antes de prestarlas, detecta posibles fugas y registra métricas
+ * de uso. La caché de sentencias preparadas se delega al driver de MySQL.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class PoolConexiones implements DataSource {
+
+    private final ConfiguracionConexion configuracion;
+    private final Properties propiedadesDriver;
+    private final LinkedBlockingDeque<Connection> ociosas;
+    private final Semaphore permisos;
+    private final Map<Connection, Prestamo> prestadas;
+    private final ScheduledExecutorService detectorFugas;
+
+    private final AtomicLong adquisiciones;
+    private final AtomicLong timeouts;
+    private final AtomicLong fugasDetectadas;
+    private final AtomicLong latenciaTotalNanos;
+    private final AtomicLongArray histograma;
+
+    private volatile int aislamientoPorDefecto = -1;
+    private volatile boolean cerrado;
+    private PrintWriter logWriter;
+
+    /**
+     * Información de una conexión prestada, usada para detectar fugas.
+     */
+    private static class Prestamo {
+
+        private final long inicio;
+        private final String hilo;
+        private volatile boolean reportado;
+
+        private Prestamo(long inicio, String hilo) {
+            this.inicio = inicio;
+            this.hilo = hilo;
+        }
+    }
+
+    /**
+     * Constructor que crea el pool y abre el número mínimo de conexiones.
+     *
+     * @param configuracion Configuración del pool
+     * @throws SQLException Si no es posible abrir las conexiones iniciales
+     */
+    public PoolConexiones(ConfiguracionConexion configuracion) throws SQLException {
+        if (configuracion.getUrl() == null) {
+            throw new SQLException("Debe especificarse jdbc.url para usar el modo POOL.");
+        }
+        this.configuracion = configuracion;
+        this.ociosas = new LinkedBlockingDeque<>();
+        this.permisos = new Semaphore(configuracion.getMaximo(), true);
+        this.prestadas = new ConcurrentHashMap<>();
+        this.adquisiciones = new AtomicLong();
+        this.timeouts = new AtomicLong();
+        this.fugasDetectadas = new AtomicLong();
+        this.latenciaTotalNanos = new AtomicLong();
+        this.histograma = new AtomicLongArray(EstadisticasPool.LIMITES_HISTOGRAMA_MS.length + 1);
+
+        this.propiedadesDriver = new Properties();
+        if (configuracion.getUsuario() != null) {
+            propiedadesDriver.setProperty("user", configuracion.getUsuario());
+        }
+        if (configuracion.getPassword() != null) {
+            propiedadesDriver.setProperty("password", configuracion.getPassword());
+        }
+        // Caché de sentencias preparadas del driver de MySQL
+        if (configuracion.getCacheSentencias() > 0) {
+            propiedadesDriver.setProperty("cachePrepStmts", "true");
+            propiedadesDriver.setProperty("prepStmtCacheSize", String.valueOf(configuracion.getCacheSentencias()));
+            propiedadesDriver.setProperty("prepStmtCacheSqlLimit", "2048");
+            propiedadesDriver.setProperty("useServerPrepStmts", "true");
+        }
+        // Cursores del lado del servidor cuando una consulta pide un fetch size
+        propiedadesDriver.setProperty("useCursorFetch", "true");
+        // Las inserciones en lote se reescriben como un solo INSERT de varias filas
+        propiedadesDriver.setProperty("rewriteBatchedStatements", "true");
+
+        if (configuracion.getDriver() != null) {
+            try {
+                Class.forName(configuracion.getDriver());
+            } catch (ClassNotFoundException ex) {
+                throw new SQLException("No se encontró el driver JDBC: " + configuracion.getDriver(), ex);
+            }
+        }
+
+        for (int i = 0; i < configuracion.getMinimo(); i++) {
+            ociosas.offer(abrirConexionFisica());
+        }
+
+        // El hilo de detección de fugas solo se crea si hay un umbral configurado
+        long umbral = configuracion.getUmbralFugaMs();
+        if (umbral > 0) {
+            this.detectorFugas = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread hilo = new Thread(r, "pool-conexiones-fugas");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+            long periodo = Math.max(umbral / 2, 1000);
+            detectorFugas.scheduleAtFixedRate(this::revisarFugas, periodo, periodo, TimeUnit.MILLISECONDS);
+        } else {
+            this.detectorFugas = null;
+        }
+    }
+
+    /**
+     * Obtiene una conexión del pool, esperando como máximo el tiempo de
+     * adquisición configurado.
+     *
+     * @return Conexión prestada; al cerrarla regresa al pool
+     * @throws SQLException Si se agota el tiempo de espera o falla la conexión
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (cerrado) {
+            throw new SQLException("El pool de conexiones está cerrado.");
+        }
+        long inicio = System.nanoTime();
+        try {
+            if (!permisos.tryAcquire(configuracion.getTimeoutAdquisicionMs(), TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLException("Tiempo de espera agotado al obtener una conexión del pool ("
+                        + configuracion.getTimeoutAdquisicionMs() + " ms).");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido mientras se esperaba una conexión.", ex);
+        }
+
+        try {
+            Connection fisica = tomarConexionValida();
+            prestadas.put(fisica, new Prestamo(System.currentTimeMillis(), Thread.currentThread().getName()));
+            registrarLatencia(System.nanoTime() - inicio);
+            return envolver(fisica);
+        } catch (SQLException | RuntimeException ex) {
+            permisos.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Este pool solo maneja las credenciales configuradas.
+     *
+     * @param username Usuario (ignorado)
+     * @param password Contraseña (ignorada)
+     * @return Conexión prestada
+     * @throws SQLException Si no es posible obtener la conexión
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    /**
+     * Obtiene una fotografía de las métricas actuales del pool.
+     *
+     * @return Métricas del pool
+     */
+    public EstadisticasPool obtenerEstadisticas() {
+        long total = adquisiciones.get();
+        long[] cubetas = new long[histograma.length()];
+        for (int i = 0; i < cubetas.length; i++) {
+            cubetas[i] = histograma.get(i);
+        }
+        long promedio = total == 0 ? 0 : latenciaTotalNanos.get() / total / 1000;
+        return new EstadisticasPool(prestadas.size(), ociosas.size(), permisos.getQueueLength(),
+                configuracion.getMaximo(), total, timeouts.get(), fugasDetectadas.get(), promedio, cubetas);
+    }
+
+    /**
+     * Cierra todas las conexiones ociosas y detiene la detección de fugas. Las
+     * conexiones prestadas se cierran al devolverse.
+     */
+    public void cerrar() {
+        cerrado = true;
+        if (detectorFugas != null) {
+            detectorFugas.shutdownNow();
+        }
+        Connection conexion;
+        while ((conexion = ociosas.poll()) != null) {
+            cerrarSilenciosamente(conexion);
+        }
+    }
+
+    private Connection tomarConexionValida() throws SQLException {
+        Connection conexion;
+        while ((conexion = ociosas.pollFirst()) != null) {
+            if (esValida(conexion)) {
+                return conexion;
+            }
+            cerrarSilenciosamente(conexion);
+        }
+        return abrirConexionFisica();
+    }
+
+    private boolean esValida(Connection conexion) {
+        try {
+            if (conexion.isClosed()) {
+                return false;
+            }
+            return !configuracion.isValidarAlPrestar() || conexion.isValid(configuracion.getTimeoutValidacionSeg());
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    private Connection abrirConexionFisica() throws SQLException {
+        Connection conexion = DriverManager.getConnection(configuracion.getUrl(), propiedadesDriver);
+        if (aislamientoPorDefecto < 0) {
+            aislamientoPorDefecto = conexion.getTransactionIsolation();
+        }
+        return conexion;
+    }
+
+    private void devolver(Connection fisica) {
+        prestadas.remove(fisica);
+        try {
+            if (cerrado || fisica.isClosed()) {
+                cerrarSilenciosamente(fisica);
+                return;
+            }
+            if (!restablecer(fisica)) {
+                cerrarSilenciosamente(fisica);
+                return;
+            }
+            // Las conexiones devueltas se reutilizan primero (LIFO) para mantenerlas calientes
+            ociosas.offerFirst(fisica);
+        } catch (SQLException ex) {
+            cerrarSilenciosamente(fisica);
+        } finally {
+            permisos.release();
+        }
+    }
+
+    /**
+     * Regresa la conexión a su estado inicial (autocommit, solo lectura y
+     * nivel de aislamiento) para que el siguiente préstamo no herede lo que
+     * dejó el anterior.
+     *
+     * @return true si la conexión quedó en su estado inicial; false si debe
+     * cerrarse en lugar de volver al pool
+     */
+    private boolean restablecer(Connection fisica) throws SQLException {
+        if (!fisica.getAutoCommit()) {
+            fisica.rollback();
+            fisica.setAutoCommit(true);
+        }
+        if (fisica.isReadOnly()) {
+            fisica.setReadOnly(false);
+        }
+        if (aislamientoPorDefecto >= 0 && fisica.getTransactionIsolation() != aislamientoPorDefecto) {
+            fisica.setTransactionIsolation(aislamientoPorDefecto);
+        }
+        fisica.clearWarnings();
+        return fisica.getAutoCommit() && !fisica.isReadOnly()
+                && (aislamientoPorDefecto < 0 || fisica.getTransactionIsolation() == aislamientoPorDefecto);
+    }
+
+    private void registrarLatencia(long nanos) {
+        adquisiciones.incrementAndGet();
+        latenciaTotalNanos.addAndGet(nanos);
+        long milis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int cubeta = 0;
+        while (cubeta < EstadisticasPool.LIMITES_HISTOGRAMA_MS.length
+                && milis >= EstadisticasPool.LIMITES_HISTOGRAMA_MS[cubeta]) {
+            cubeta++;
+        }
+        histograma.incrementAndGet(cubeta);
+    }
+
+    private void revisarFugas() {
+        long ahora = System.currentTimeMillis();
+        for (Prestamo prestamo : prestadas.values()) {
+            if (!prestamo.reportado && ahora - prestamo.inicio > configuracion.getUmbralFugaMs()) {
+                prestamo.reportado = true;
+                fugasDetectadas.incrementAndGet();
+                System.err.println("Posible fuga de conexión: prestada por el hilo " + prestamo.hilo
+                        + " hace " + (ahora - prestamo.inicio) + " ms");
+            }
+        }
+    }
+
+    private void cerrarSilenciosamente(Connection conexion) {
+        try {
+            conexion.close();
+        } catch (SQLException ex) {
+            System.err.println("Error al cerrar conexión: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Envuelve la conexión física en un proxy cuyo close() la regresa al pool.
+     */
+    private Connection envolver(Connection fisica) {
+        InvocationHandler manejador = new InvocationHandler() {
+            private boolean devuelta;
+
+            @Override
+            public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+                switch (metodo.getName()) {
+                    case "close":
+                        if (!devuelta) {
+                            devuelta = true;
+                            devolver(fisica);
+                        }
+                        return null;
+                    case "isClosed":
+                        return devuelta || fisica.isClosed();
+                    case "unwrap":
+                        if (((Class<?>) args[0]).isInstance(fisica)) {
+                            return fisica;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+                if (devuelta) {
+                    throw new SQLException("La conexión ya fue devuelta al pool.");
+                }
+                try {
+                    return metodo.invoke(fisica, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(PoolConexiones.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, manejador);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return logWriter;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        this.logWriter = out;
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("No es posible convertir a " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this);
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package conexion;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.eclipse.persistence.jpa.JpaHelper;
+import org.eclipse.persistence.queries.DatabaseQuery;
+
+/**
+ * Registro de las consultas nombradas (@NamedQuery) de las entidades. Los DAOs
+ * ejecutan sus buscadores con consultas nombradas, que EclipseLink analiza y
+ * valida una sola vez al desplegar la unidad de persistencia en lugar de en
+ * cada llamada.
+ *
+ * Al iniciar, {@link #validar} obliga el despliegue y crea cada consulta
+ * nombrada, de modo que un JPQL mal formado detiene el arranque en vez de
+ * fallar la primera vez que se usa. Después lleva por consulta el número de
+ * ejecuciones y su tiempo, medido por {@link ContadorConsultas} desde que
+ * EclipseLink empieza a ejecutar la consulta hasta que termina de construir
+ * el resultado.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class RegistroConsultas {
+
+    // Solo se registran las consultas declaradas; se llena una vez al iniciar
+    private static volatile Map<String, Metricas> metricas = new TreeMap<>();
+
+    // Consultas en ejecución del hilo con su hora de inicio, la más reciente al frente
+    private static final ThreadLocal<Deque<Object[]>> EN_CURSO = ThreadLocal.withInitial(ArrayDeque::new);
+
+    // Anidamiento máximo que se conserva; las entradas más antiguas solo pueden
+    // ser de consultas que terminaron con una excepción
+    private static final int MAXIMO_EN_CURSO = 32;
+
+    /**
+     * Despliega la unidad de persistencia y crea cada consulta nombrada para
+     * validar su JPQL.
+     *
+     * @param emf Fábrica de EntityManager recién creada
+     * @return Número de consultas nombradas
+     * @throws IllegalStateException Si alguna consulta nombrada no es válida
+     */
+    static int validar(EntityManagerFactory emf) {
+        EntityManager em;
+        try {
+            // EclipseLink analiza las consultas nombradas al desplegar
+            em = emf.createEntityManager();
+        } catch (RuntimeException ex) {
+            throw new IllegalStateException("La unidad de persistencia no es válida: " + ex.getMessage(), ex);
+        }
+        try {
+            Map<String, Metricas> declaradas = new TreeMap<>();
+            for (String nombre : JpaHelper.getServerSession(emf).getQueries().keySet()) {
+                try {
+                    em.createNamedQuery(nombre);
+                } catch (RuntimeException ex) {
+                    throw new IllegalStateException("La consulta nombrada " + nombre + " no es válida: " + ex.getMessage(), ex);
+                }
+                declaradas.put(nombre, new Metricas());
+            }
+            metricas = declaradas;
+            return declaradas.size();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Marca el inicio de la ejecución de una consulta en el hilo actual.
+     *
+     * @param consulta Consulta que empieza a ejecutarse
+     */
+    static void iniciar(DatabaseQuery consulta) {
+        if (registrada(consulta)) {
+            Deque<Object[]> enCurso = EN_CURSO.get();
+            if (enCurso.size() >= MAXIMO_EN_CURSO) {
+                enCurso.removeLast();
+            }
+            enCurso.push(new Object[]{consulta, System.nanoTime()});
+        }
+    }
+
+    /**
+     * Registra el fin de la ejecución de una consulta en el hilo actual. Las
+     * consultas no registradas se ignoran: también terminan dentro de una
+     * consulta nombrada, por ejemplo al cargar una relación ManyToOne, y no
+     * deben sacar de la pila a la que las contiene. Las entradas que están
+     * encima de la consulta son de consultas internas que terminaron con una
+     * excepción y se descartan.
+     *
+     * @param consulta Consulta que terminó de ejecutarse
+     */
+    static void terminar(DatabaseQuery consulta) {
+        if (!registrada(consulta)) {
+            return;
+        }
+        Deque<Object[]> enCurso = EN_CURSO.get();
+        int profundidad = 0;
+        for (Object[] inicio : enCurso) {
+            if (inicio[0] == consulta) {
+                for (int i = 0; i < profundidad; i++) {
+                    enCurso.pop();
+                }
+                enCurso.pop();
+                metricas.get(consulta.getName()).registrar(System.nanoTime() - (Long) inicio[1]);
+                return;
+            }
+            profundidad++;
+        }
+    }
+
+    private static boolean registrada(DatabaseQuery consulta) {
+        return consulta != null && consulta.getName() != null && metricas.containsKey(consulta.getName());
+    }
+
+    /**
+     * Obtiene las ejecuciones y tiempos de cada consulta nombrada, ordenadas
+     * por nombre. Incluye las consultas que no se han ejecutado.
+     *
+     * @return Estadísticas por consulta
+     */
+    public static List<EstadisticasEjecucion> obtenerEstadisticas() {
+        List<EstadisticasEjecucion> estadisticas = new ArrayList<>();
+        metricas.forEach((consulta, valores) -> estadisticas.add(valores.fotografia(consulta)));
+        return estadisticas;
+    }
+
+    /**
+     * Contadores de una consulta.
+     */
+    private static class Metricas {
+
+        private final LongAdder ejecuciones = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+        void registrar(long duracion) {
+            ejecuciones.increment();
+            nanos.add(duracion);
+            maximo.accumulate(duracion);
+        }
+
+        EstadisticasEjecucion fotografia(String consulta) {
+            return new EstadisticasEjecucion(consulta, ejecuciones.sum(), nanos.sum() / 1000, maximo.get() / 1000);
+        }
+    }
+
+}
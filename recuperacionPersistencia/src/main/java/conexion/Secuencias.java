@@ -0,0 +1,60 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package conexion;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Clase que mantiene la tabla de secuencias de la que se toman los
+ * identificadores de actividades, inscripciones y participantes. Las tablas
+ * creadas antes de usar la tabla de secuencias ya tienen registros, por lo que
+ * al iniciar se adelanta cada secuencia al identificador más alto de su tabla
+ * para que los bloques nuevos no choquen con los existentes.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+class Secuencias {
+
+    /**
+     * Tablas cuyos identificadores se toman de la tabla de secuencias. El
+     * nombre de la tabla es también el nombre de su secuencia.
+     */
+    private static final String[] TABLAS = {"actividades", "inscripciones", "participantes"};
+
+    /**
+     * Adelanta cada secuencia al identificador más alto de su tabla, creando
+     * su registro si no existe. Si no es posible se reporta el error y se
+     * continúa, ya que las tablas nuevas no lo necesitan.
+     *
+     * @param emf Fábrica de EntityManager ya inicializada
+     */
+    static void alinear(EntityManagerFactory emf) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            for (String tabla : TABLAS) {
+                String maximo = "(select coalesce(max(id), 0) from " + tabla + ")";
+                em.createNativeQuery("insert into secuencias (nombre, valor) select ?, " + maximo
+                        + " from dual where not exists (select 1 from (select nombre from secuencias) s where s.nombre = ?)")
+                        .setParameter(1, tabla)
+                        .setParameter(2, tabla)
+                        .executeUpdate();
+                em.createNativeQuery("update secuencias set valor = " + maximo + " where nombre = ? and valor < " + maximo)
+                        .setParameter(1, tabla)
+                        .executeUpdate();
+            }
+            em.getTransaction().commit();
+        } catch (Exception ex) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            System.err.println("No fue posible alinear la tabla de secuencias: " + ex.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package conexion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Fotografía inmutable de una sentencia SQL enviada a la base de datos, con
+ * los valores de sus parámetros en el orden de los signos de interrogación.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class SentenciaCapturada {
+
+    private final String sql;
+    private final List<Object> parametros;
+
+    /**
+     * Constructor con la sentencia y sus parámetros.
+     *
+     * @param sql Texto SQL de la sentencia
+     * @param parametros Valores de los parámetros
+     */
+    public SentenciaCapturada(String sql, List<Object> parametros) {
+        this.sql = sql;
+        this.parametros = Collections.unmodifiableList(new ArrayList<>(parametros));
+    }
+
+    /**
+     * Obtiene el texto SQL de la sentencia.
+     *
+     * @return Texto SQL
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Obtiene los valores de los parámetros de la sentencia.
+     *
+     * @return Valores de los parámetros
+     */
+    public List<Object> getParametros() {
+        return parametros;
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package exception;
+
+/**
+ * Excepción de la capa de Persistencia que indica que una escritura se
+ * rechazó porque otra transacción modificó los mismos registros desde que se
+ * leyeron (bloqueo optimista por versión). La transacción ya se revirtió, por
+ * lo que la operación se puede repetir leyendo de nuevo los datos.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class ConflictoVersionException extends PersistenciaException {
+
+    /**
+     * Constructor que recibe únicamente un mensaje.
+     *
+     * @param mensaje Mensaje que describe la raíz de la excepción.
+     */
+    public ConflictoVersionException(String mensaje) {
+        super(mensaje);
+    }
+
+    /**
+     * Constructor que recibe el mensaje y la causa de la excepción, como un
+     * objeto Throwable.
+     *
+     * @param mensaje Mensaje que describe la raíz de la excepción.
+     * @param causa Objeto Throwable de la causa de la excepción.
+     */
+    public ConflictoVersionException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+
+    /**
+     * Indica si una excepción de JPA o de EclipseLink fue causada por un
+     * conflicto de versión. EclipseLink lo reporta al hacer merge de una
+     * entidad con versión anterior o, al confirmar, envuelto en una
+     * RollbackException.
+     *
+     * @param ex Excepción a revisar
+     * @return true si en la cadena de causas hay un conflicto de versión
+     */
+    public static boolean esConflicto(Throwable ex) {
+        for (Throwable causa = ex; causa != null; causa = causa.getCause()) {
+            if (causa instanceof javax.persistence.OptimisticLockException
+                    || causa instanceof org.eclipse.persistence.exceptions.OptimisticLockException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -40,6 +40,15 @@ public class FabricaDAO {
         return new ActividadDAO();
     }
 
+    /**
+     * Crea una instancia de IContadorCodigoDAO.
+     *
+     * @return Instancia de IContadorCodigoDAO
+     */
+    public IContadorCodigoDAO crearContadorCodigoDAO() {
+        return new ContadorCodigoDAO();
+    }
+
     /**
      * Crea una instancia de IEventoDAO.
      *
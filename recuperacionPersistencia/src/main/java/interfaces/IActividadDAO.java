@@ -4,9 +4,12 @@
  */
 package interfaces;
 
+import DTOs.ActividadDTO;
+import DTOs.Pagina;
 import entidades.Actividad;
 import entidades.Evento;
 import entidades.Lugar;
+import exception.ConflictoVersionException;
 import exception.PersistenciaException;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -27,15 +30,37 @@ public interface IActividadDAO {
      */
     public Actividad guardar(Actividad actividad) throws PersistenciaException;
 
+    /**
+     * Guarda varias actividades en una sola transacción con escrituras JDBC
+     * en lote. Si alguna falla no se guarda ninguna.
+     *
+     * @param actividades Actividades a guardar
+     * @return Las mismas actividades con su ID asignado
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public List<Actividad> guardarTodos(List<Actividad> actividades) throws PersistenciaException;
+
     /**
      * Actualiza una actividad existente en la base de datos.
      *
      * @param actividad Objeto Actividad con los datos actualizados
      * @return Actividad actualizada
+     * @throws ConflictoVersionException Si la actividad cambió desde que se
+     * leyó
      * @throws PersistenciaException Si ocurre un error durante la operación
      */
     public Actividad actualizar(Actividad actividad) throws PersistenciaException;
 
+    /**
+     * Marca como finalizadas todas las actividades pendientes de un evento
+     * con una sola sentencia de actualización masiva.
+     *
+     * @param eventoId ID del evento
+     * @return Número de actividades finalizadas
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public int finalizarPorEvento(Long eventoId) throws PersistenciaException;
+
     /**
      * Busca una actividad por su ID.
      *
@@ -53,6 +78,26 @@ public interface IActividadDAO {
      */
     public List<Actividad> consultarTodos() throws PersistenciaException;
 
+    /**
+     * Obtiene el listado de todas las actividades proyectado directamente a
+     * DTOs, sin cargar las entidades ni sus relaciones.
+     *
+     * @return Lista de DTOs de todas las actividades
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public List<ActividadDTO> consultarListado() throws PersistenciaException;
+
+    /**
+     * Obtiene una página del listado de actividades, ordenado por ID,
+     * proyectado directamente a DTOs.
+     *
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de actividades
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public Pagina<ActividadDTO> consultarListado(String token, int tamano) throws PersistenciaException;
+
     /**
      * Consulta actividades por el evento al que pertenecen.
      *
@@ -62,6 +107,18 @@ public interface IActividadDAO {
      */
     public List<Actividad> consultarPorEvento(Evento evento) throws PersistenciaException;
 
+    /**
+     * Consulta una página de actividades por el evento al que pertenecen,
+     * ordenadas por ID.
+     *
+     * @param evento Evento de las actividades
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de actividades del evento
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public Pagina<Actividad> consultarPorEvento(Evento evento, String token, int tamano) throws PersistenciaException;
+
     /**
      * Consulta actividades por el lugar donde se realizan.
      *
@@ -89,5 +146,17 @@ public interface IActividadDAO {
      * @throws PersistenciaException Si ocurre un error durante la operación
      */
     public List<Actividad> consultarPorEstadoFinalizacion(Boolean finalizado) throws PersistenciaException;
+
+    /**
+     * Busca una actividad por su nombre y su fecha y hora de inicio. La
+     * consulta usa el índice compuesto (nombre, fecha_hora_inicio), por lo que
+     * solo se lee la fila buscada.
+     *
+     * @param nombre Nombre de la actividad
+     * @param fechaHoraInicio Fecha y hora de inicio de la actividad
+     * @return Actividad encontrada o null si no existe
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public Actividad buscarPorNombreYFecha(String nombre, LocalDateTime fechaHoraInicio) throws PersistenciaException;
     
 }
@@ -0,0 +1,31 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package interfaces;
+
+import exception.PersistenciaException;
+
+/**
+ * Interfaz que define las operaciones sobre los contadores de códigos.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public interface IContadorCodigoDAO {
+
+    /**
+     * Reserva de forma atómica un bloque de valores consecutivos para una
+     * clave. Si el contador no existe se crea; si su valor es menor al mínimo
+     * indicado, primero se ajusta al mínimo.
+     *
+     * @param clave Clave del contador
+     * @param tamano Número de valores a reservar, mayor a cero
+     * @param minimo Valor a partir del cual se reserva (el bloque empieza en
+     * minimo + 1 o después)
+     * @return Primer valor del bloque reservado; el bloque abarca hasta el
+     * valor inicial + tamano - 1
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public long reservarBloque(String clave, int tamano, long minimo) throws PersistenciaException;
+
+}
@@ -4,12 +4,16 @@
  */
 package interfaces;
 
+import DTOs.EventoDTO;
+import DTOs.Pagina;
 import entidades.Evento;
 import entidades.Evento.EstadoEvento;
 import entidades.Evento.ModalidadEvento;
 import entidades.Organizador;
+import exception.ConflictoVersionException;
 import exception.PersistenciaException;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -18,6 +22,31 @@ import java.util.List;
  * @author Alejandra García Preciado - 252444
  */
 public interface IEventoDAO {
+
+    /**
+     * Planes de carga disponibles para las consultas de eventos. Cada plan
+     * indica qué relaciones se traen junto con los eventos, de modo que una
+     * consulta de N eventos cueste un número constante de sentencias SQL en
+     * lugar de una por evento.
+     */
+    public enum PlanCarga {
+        /**
+         * Evento y organizador en una sola sentencia. Para listados que no
+         * usan las actividades.
+         */
+        LISTA,
+        /**
+         * Evento, organizador y actividades. Las actividades de todos los
+         * eventos se cargan en una sola sentencia adicional. Es el plan que
+         * necesita EventoMapper.toDTO.
+         */
+        CON_ACTIVIDADES,
+        /**
+         * Plan CON_ACTIVIDADES más el lugar y las inscripciones de cada
+         * actividad. Es el plan que necesita EventoMapper.toDetalleDTO.
+         */
+        DETALLE
+    }
     
     /**
      * Guarda un evento en la base de datos.
@@ -33,10 +62,46 @@ public interface IEventoDAO {
      *
      * @param evento Objeto Evento con los datos actualizados
      * @return Evento actualizado
+     * @throws ConflictoVersionException Si el evento cambió desde que se
+     * leyó
      * @throws PersistenciaException Si ocurre un error durante la operación
      */
     public Evento actualizar(Evento evento) throws PersistenciaException;
 
+    /**
+     * Cambia con sentencias de actualización masiva el estado de los eventos
+     * que están en alguno de los estados de origen y cuyas fechas ya llegaron
+     * a los límites indicados. Si el nuevo estado es FINALIZADO también se
+     * finalizan las actividades pendientes de esos eventos. Todo se hace en
+     * una sola transacción.
+     *
+     * @param estadosOrigen Estados desde los que se permite la transición
+     * @param nuevoEstado Estado al que pasan los eventos
+     * @param inicioHasta Fecha límite de inicio (inclusive), null para no
+     * filtrar por inicio
+     * @param finHasta Fecha límite de fin (inclusive), null para no filtrar
+     * por fin
+     * @return IDs de los eventos que cambiaron de estado
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public List<Long> actualizarEstadoPorFecha(Collection<EstadoEvento> estadosOrigen, EstadoEvento nuevoEstado,
+            LocalDateTime inicioHasta, LocalDateTime finHasta) throws PersistenciaException;
+
+    /**
+     * Obtiene, en orden cronológico y sin repetir, las próximas fechas en las
+     * que algún evento debe cambiar de estado: la fecha de inicio de los
+     * eventos PLANEADOS y la fecha de fin de los eventos no finalizados. Se
+     * regresan a lo más las fechas necesarias para cubrir el límite indicado;
+     * cualquier fecha posterior a la última regresada se obtiene con una nueva
+     * consulta a partir de ella.
+     *
+     * @param desde Fecha y hora a partir de la cual se buscan (exclusiva)
+     * @param limite Número máximo de fechas de inicio y de fin a consultar
+     * @return Fechas de cambio de estado ordenadas
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public List<LocalDateTime> consultarFechasCambioEstado(LocalDateTime desde, int limite) throws PersistenciaException;
+
     /**
      * Busca un evento por su ID.
      *
@@ -46,6 +111,16 @@ public interface IEventoDAO {
      */
     public Evento buscarPorId(Long id) throws PersistenciaException;
 
+    /**
+     * Busca un evento por su ID cargando las relaciones del plan indicado.
+     *
+     * @param id ID del evento a buscar
+     * @param plan Plan de carga de las relaciones
+     * @return Evento encontrado o null si no existe
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public Evento buscarPorId(Long id, PlanCarga plan) throws PersistenciaException;
+
     /**
      * Busca un evento por su código único.
      *
@@ -55,6 +130,17 @@ public interface IEventoDAO {
      */
     public Evento buscarPorCodigo(String codigo) throws PersistenciaException;
 
+    /**
+     * Busca un evento por su código único cargando las relaciones del plan
+     * indicado.
+     *
+     * @param codigo Código único del evento
+     * @param plan Plan de carga de las relaciones
+     * @return Evento encontrado o null si no existe
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public Evento buscarPorCodigo(String codigo, PlanCarga plan) throws PersistenciaException;
+
     /**
      * Obtiene todos los eventos almacenados en la base de datos.
      *
@@ -63,6 +149,46 @@ public interface IEventoDAO {
      */
     public List<Evento> consultarTodos() throws PersistenciaException;
 
+    /**
+     * Obtiene todos los eventos cargando las relaciones del plan indicado.
+     *
+     * @param plan Plan de carga de las relaciones
+     * @return Lista de todos los eventos
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public List<Evento> consultarTodos(PlanCarga plan) throws PersistenciaException;
+
+    /**
+     * Obtiene una página de todos los eventos, ordenados por ID, cargando las
+     * relaciones del plan indicado.
+     *
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de eventos
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public Pagina<Evento> consultarTodos(String token, int tamano, PlanCarga plan) throws PersistenciaException;
+
+    /**
+     * Obtiene el listado de todos los eventos proyectado directamente a DTOs,
+     * sin cargar las entidades ni sus actividades.
+     *
+     * @return Lista de DTOs de todos los eventos
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public List<EventoDTO> consultarListado() throws PersistenciaException;
+
+    /**
+     * Obtiene una página del listado de eventos, ordenado por ID, proyectado
+     * directamente a DTOs.
+     *
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de eventos
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public Pagina<EventoDTO> consultarListado(String token, int tamano) throws PersistenciaException;
+
     /**
      * Consulta eventos por su título.
      *
@@ -72,6 +198,17 @@ public interface IEventoDAO {
      */
     public List<Evento> consultarPorTitulo(String titulo) throws PersistenciaException;
 
+    /**
+     * Consulta eventos por su título cargando las relaciones del plan
+     * indicado.
+     *
+     * @param titulo Título o parte del título a buscar
+     * @param plan Plan de carga de las relaciones
+     * @return Lista de eventos que coinciden con el título
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public List<Evento> consultarPorTitulo(String titulo, PlanCarga plan) throws PersistenciaException;
+
     /**
      * Consulta eventos por su estado.
      *
@@ -81,6 +218,28 @@ public interface IEventoDAO {
      */
     public List<Evento> consultarPorEstado(EstadoEvento estado) throws PersistenciaException;
 
+    /**
+     * Consulta eventos por su estado cargando las relaciones del plan
+     * indicado.
+     *
+     * @param estado Estado a buscar
+     * @param plan Plan de carga de las relaciones
+     * @return Lista de eventos con el estado especificado
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public List<Evento> consultarPorEstado(EstadoEvento estado, PlanCarga plan) throws PersistenciaException;
+
+    /**
+     * Consulta una página de eventos por su estado, ordenados por ID.
+     *
+     * @param estado Estado a buscar
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de eventos con el estado especificado
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public Pagina<Evento> consultarPorEstado(EstadoEvento estado, String token, int tamano, PlanCarga plan) throws PersistenciaException;
+
     /**
      * Consulta eventos por su modalidad.
      *
@@ -90,6 +249,28 @@ public interface IEventoDAO {
      */
     public List<Evento> consultarPorModalidad(ModalidadEvento modalidad) throws PersistenciaException;
 
+    /**
+     * Consulta eventos por su modalidad cargando las relaciones del plan
+     * indicado.
+     *
+     * @param modalidad Modalidad a buscar
+     * @param plan Plan de carga de las relaciones
+     * @return Lista de eventos con la modalidad especificada
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public List<Evento> consultarPorModalidad(ModalidadEvento modalidad, PlanCarga plan) throws PersistenciaException;
+
+    /**
+     * Consulta una página de eventos por su modalidad, ordenados por ID.
+     *
+     * @param modalidad Modalidad a buscar
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de eventos con la modalidad especificada
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public Pagina<Evento> consultarPorModalidad(ModalidadEvento modalidad, String token, int tamano, PlanCarga plan) throws PersistenciaException;
+
     /**
      * Consulta eventos por un rango de fechas.
      *
@@ -100,6 +281,18 @@ public interface IEventoDAO {
      */
     public List<Evento> consultarPorRangoFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin) throws PersistenciaException;
 
+    /**
+     * Consulta eventos por un rango de fechas cargando las relaciones del
+     * plan indicado.
+     *
+     * @param fechaInicio Fecha de inicio del rango
+     * @param fechaFin Fecha de fin del rango
+     * @param plan Plan de carga de las relaciones
+     * @return Lista de eventos en el rango de fechas
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public List<Evento> consultarPorRangoFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin, PlanCarga plan) throws PersistenciaException;
+
     /**
      * Consulta eventos por organizador.
      *
@@ -108,5 +301,38 @@ public interface IEventoDAO {
      * @throws PersistenciaException Si ocurre un error durante la operación
      */
     public List<Evento> consultarPorOrganizador(Organizador organizador) throws PersistenciaException;
+
+    /**
+     * Consulta eventos por organizador cargando las relaciones del plan
+     * indicado.
+     *
+     * @param organizador Organizador de los eventos
+     * @param plan Plan de carga de las relaciones
+     * @return Lista de eventos del organizador especificado
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public List<Evento> consultarPorOrganizador(Organizador organizador, PlanCarga plan) throws PersistenciaException;
+
+    /**
+     * Consulta una página de eventos por organizador, ordenados por ID.
+     *
+     * @param organizador Organizador de los eventos
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de eventos del organizador especificado
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public Pagina<Evento> consultarPorOrganizador(Organizador organizador, String token, int tamano, PlanCarga plan) throws PersistenciaException;
+
+    /**
+     * Obtiene el mayor número secuencial entre los códigos de evento que
+     * empiezan con el prefijo indicado. Solo se consultan los códigos del
+     * prefijo, no la tabla completa.
+     *
+     * @param prefijo Prefijo del código, por ejemplo EV-202505-
+     * @return Mayor número secuencial encontrado, o 0 si no hay códigos
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public long obtenerMayorSecuencial(String prefijo) throws PersistenciaException;
     
 }
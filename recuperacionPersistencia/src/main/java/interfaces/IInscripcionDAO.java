@@ -4,13 +4,17 @@
  */
 package interfaces;
 
+import DTOs.InscripcionDTO;
+import DTOs.Pagina;
 import entidades.Actividad;
 import entidades.Inscripcion;
 import entidades.Inscripcion.EstadoAsistencia;
 import entidades.Participante;
+import exception.ConflictoVersionException;
 import exception.PersistenciaException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interfaz que define las operaciones CRUD para la entidad Inscripcion.
@@ -28,17 +32,61 @@ public interface IInscripcionDAO {
      */
     public Inscripcion guardar(Inscripcion inscripcion) throws PersistenciaException;
 
+    /**
+     * Guarda una inscripción reservando un lugar de su actividad en la misma
+     * transacción. El lugar se reserva con una actualización condicional, por
+     * lo que la actividad nunca supera su capacidad aunque haya registros
+     * concurrentes.
+     *
+     * @param inscripcion Objeto Inscripcion a guardar
+     * @return Inscripcion guardada con su ID asignado, o null si la actividad
+     * ya no tiene cupo
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public Inscripcion guardarConCupo(Inscripcion inscripcion) throws PersistenciaException;
+
+    /**
+     * Guarda varias inscripciones en una sola transacción con escrituras JDBC
+     * en lote. Antes de insertarlas se reservan sus lugares con una
+     * actualización condicional por actividad; si alguna actividad no tiene
+     * cupo para todas sus inscripciones no se guarda ninguna.
+     *
+     * @param inscripciones Inscripciones a guardar
+     * @return Las mismas inscripciones con su ID asignado
+     * @throws PersistenciaException Si alguna actividad no tiene cupo o
+     * ocurre un error durante la operación
+     */
+    public List<Inscripcion> guardarTodos(List<Inscripcion> inscripciones) throws PersistenciaException;
+
     /**
      * Actualiza una inscripción existente en la base de datos.
      *
      * @param inscripcion Objeto Inscripcion con los datos actualizados
      * @return Inscripcion actualizada
+     * @throws ConflictoVersionException Si la inscripción cambió desde que se
+     * leyó
      * @throws PersistenciaException Si ocurre un error durante la operación
      */
     public Inscripcion actualizar(Inscripcion inscripcion) throws PersistenciaException;
 
     /**
-     * Elimina una inscripción de la base de datos.
+     * Cambia el estado de asistencia de varias inscripciones en una sola
+     * transacción y ajusta el contador de asistencias de sus participantes con
+     * actualizaciones por conjunto: suma uno por cada inscripción que pasa a
+     * ASISTIO y resta uno por cada una que deja de estarlo.
+     *
+     * @param ids IDs de las inscripciones a actualizar
+     * @param estado Nuevo estado de asistencia
+     * @return Número de inscripciones actualizadas
+     * @throws ConflictoVersionException Si otra operación cambió la
+     * asistencia de alguna de las inscripciones al mismo tiempo
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public int actualizarEstadoAsistencia(List<Long> ids, EstadoAsistencia estado) throws PersistenciaException;
+
+    /**
+     * Elimina una inscripción de la base de datos y libera el lugar que
+     * ocupaba en su actividad.
      *
      * @param id ID de la inscripción a eliminar
      * @throws PersistenciaException Si ocurre un error durante la operación
@@ -62,6 +110,52 @@ public interface IInscripcionDAO {
      */
     public List<Inscripcion> consultarTodos() throws PersistenciaException;
 
+    /**
+     * Recorre todas las inscripciones con un cursor de la base de datos, entregando
+     * cada fila al visitante sin cargar el resultado completo en memoria. El
+     * participante y la actividad se traen en la misma sentencia y el correo
+     * del participante se desencripta antes de entregar cada inscripción.
+     * Usa el tamaño de lote de la configuración de la conexión.
+     *
+     * @param visitante Operación que recibe cada inscripcion
+     * @return Número de filas recorridas
+     * @throws PersistenciaException Si ocurre un error durante la operación o
+     * en el visitante
+     */
+    public long recorrerTodos(Consumer<? super Inscripcion> visitante) throws PersistenciaException;
+
+    /**
+     * Recorre todas las inscripciones con un cursor de la base de datos usando el
+     * tamaño de lote indicado.
+     *
+     * @param tamanoFetch Filas por viaje a la base de datos y por lote
+     * @param visitante Operación que recibe cada inscripcion
+     * @return Número de filas recorridas
+     * @throws PersistenciaException Si ocurre un error durante la operación o
+     * en el visitante
+     */
+    public long recorrerTodos(int tamanoFetch, Consumer<? super Inscripcion> visitante) throws PersistenciaException;
+
+    /**
+     * Recorre el listado de inscripciones proyectado a DTOs, ordenado por ID,
+     * entregando cada fila al visitante. Se lee en bloques por llave del
+     * tamaño de lote de la configuración, por lo que nunca se carga el
+     * resultado completo en memoria. Los criterios nulos no se aplican.
+     *
+     * @param actividadId ID de la actividad, null para no filtrar
+     * @param eventoId ID del evento, null para no filtrar
+     * @param desde Fecha y hora mínima de la inscripción, null para no filtrar
+     * @param hasta Fecha y hora máxima de la inscripción, null para no filtrar
+     * @param incluirCorreo true para consultar y desencriptar el correo del
+     * participante; si es false el correo queda en null
+     * @param visitante Operación que recibe cada inscripción
+     * @return Número de filas recorridas
+     * @throws PersistenciaException Si ocurre un error durante la operación o
+     * en el visitante
+     */
+    public long recorrerListado(Long actividadId, Long eventoId, LocalDateTime desde, LocalDateTime hasta,
+            boolean incluirCorreo, Consumer<? super InscripcionDTO> visitante) throws PersistenciaException;
+
     /**
      * Consulta inscripciones por actividad.
      *
@@ -71,6 +165,17 @@ public interface IInscripcionDAO {
      */
     public List<Inscripcion> consultarPorActividad(Actividad actividad) throws PersistenciaException;
 
+    /**
+     * Consulta una página de inscripciones por actividad, ordenadas por ID.
+     *
+     * @param actividad Actividad de las inscripciones
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de inscripciones de la actividad
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public Pagina<Inscripcion> consultarPorActividad(Actividad actividad, String token, int tamano) throws PersistenciaException;
+
     /**
      * Consulta inscripciones por participante.
      *
@@ -80,6 +185,18 @@ public interface IInscripcionDAO {
      */
     public List<Inscripcion> consultarPorParticipante(Participante participante) throws PersistenciaException;
 
+    /**
+     * Consulta una página de inscripciones por participante, ordenadas por
+     * ID.
+     *
+     * @param participante Participante de las inscripciones
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de inscripciones del participante
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public Pagina<Inscripcion> consultarPorParticipante(Participante participante, String token, int tamano) throws PersistenciaException;
+
     /**
      * Consulta inscripciones por estado de asistencia.
      *
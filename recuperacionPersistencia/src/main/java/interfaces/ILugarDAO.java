@@ -51,6 +51,17 @@ public interface ILugarDAO {
      */
     public List<Lugar> consultarPorNombre(String nombre) throws PersistenciaException;
 
+    /**
+     * Busca un lugar por su nombre exacto. La búsqueda se resuelve primero en
+     * la caché compartida y solo va a la base de datos si el lugar no está en
+     * ella.
+     *
+     * @param nombre Nombre exacto del lugar
+     * @return Lugar encontrado o null si no existe
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public Lugar buscarPorNombre(String nombre) throws PersistenciaException;
+
     /**
      * Consulta lugares por su tipo.
      *
@@ -4,9 +4,14 @@
  */
 package interfaces;
 
+import DTOs.Pagina;
+import DTOs.ParticipanteDTO;
 import entidades.Participante;
 import exception.PersistenciaException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Interfaz que define las operaciones CRUD para la entidad Participante.
@@ -24,6 +29,17 @@ public interface IParticipanteDAO {
      */
     public Participante guardar(Participante participante) throws PersistenciaException;
 
+    /**
+     * Guarda varios participantes en una sola transacción con escrituras JDBC
+     * en lote. Si alguno falla no se guarda ninguno.
+     *
+     * @param participantes Participantes a guardar
+     * @return Los mismos participantes con su ID asignado y sus datos
+     * desencriptados
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public List<Participante> guardarTodos(List<? extends Participante> participantes) throws PersistenciaException;
+
     /**
      * Busca un participante por su ID.
      *
@@ -41,6 +57,51 @@ public interface IParticipanteDAO {
      */
     public List<Participante> consultarTodos() throws PersistenciaException;
 
+    /**
+     * Recorre todos los participantes con un cursor de la base de datos, entregando
+     * cada fila al visitante sin cargar el resultado completo en memoria. El correo
+     * se desencripta antes de entregar cada participante.
+     * Usa el tamaño de lote de la configuración de la conexión.
+     *
+     * @param visitante Operación que recibe cada participante
+     * @return Número de filas recorridas
+     * @throws PersistenciaException Si ocurre un error durante la operación o
+     * en el visitante
+     */
+    public long recorrerTodos(Consumer<? super Participante> visitante) throws PersistenciaException;
+
+    /**
+     * Recorre todos los participantes con un cursor de la base de datos usando el
+     * tamaño de lote indicado.
+     *
+     * @param tamanoFetch Filas por viaje a la base de datos y por lote
+     * @param visitante Operación que recibe cada participante
+     * @return Número de filas recorridas
+     * @throws PersistenciaException Si ocurre un error durante la operación o
+     * en el visitante
+     */
+    public long recorrerTodos(int tamanoFetch, Consumer<? super Participante> visitante) throws PersistenciaException;
+
+    /**
+     * Obtiene el listado de todos los participantes proyectado directamente a
+     * DTOs, sin cargar las entidades ni sus inscripciones.
+     *
+     * @return Lista de DTOs de todos los participantes
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public List<ParticipanteDTO> consultarListado() throws PersistenciaException;
+
+    /**
+     * Obtiene una página del listado de participantes, ordenado por ID,
+     * proyectado directamente a DTOs.
+     *
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de DTOs de participantes
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public Pagina<ParticipanteDTO> consultarListado(String token, int tamano) throws PersistenciaException;
+
     /**
      * Consulta participantes por su nombre o apellidos.
      *
@@ -50,6 +111,18 @@ public interface IParticipanteDAO {
      */
     public List<Participante> consultarPorNombre(String nombre) throws PersistenciaException;
 
+    /**
+     * Consulta una página de participantes por su nombre o apellidos,
+     * ordenados por ID.
+     *
+     * @param nombre Nombre o parte del nombre/apellidos a buscar
+     * @param token Token de continuación, null para la primera página
+     * @param tamano Tamaño de la página
+     * @return Página de participantes que coinciden con el criterio
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public Pagina<Participante> consultarPorNombre(String nombre, String token, int tamano) throws PersistenciaException;
+
     /**
      * Busca un participante por su correo electrónico.
      *
@@ -59,6 +132,16 @@ public interface IParticipanteDAO {
      */
     public Participante buscarPorCorreo(String correo) throws PersistenciaException;
 
+    /**
+     * Consulta cuáles de los índices ciegos de correo indicados ya pertenecen
+     * a un participante registrado.
+     *
+     * @param indicesCorreo Índices ciegos de correo a verificar
+     * @return Índices que ya están registrados
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public Set<String> consultarIndicesCorreoRegistrados(Collection<String> indicesCorreo) throws PersistenciaException;
+
     /**
      * Consulta participantes por número mínimo de asistencias.
      *
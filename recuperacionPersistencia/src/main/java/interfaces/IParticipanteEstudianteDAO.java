@@ -6,7 +6,9 @@ package interfaces;
 
 import entidades.ParticipanteEstudiante;
 import exception.PersistenciaException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Interfaz que define las operaciones CRUD para la entidad ParticipanteEstudiante.
@@ -59,5 +61,16 @@ public interface IParticipanteEstudianteDAO extends IParticipanteDAO {
      * @throws PersistenciaException Si ocurre un error durante la operación
      */
     public List<ParticipanteEstudiante> consultarPorCarrera(String carrera) throws PersistenciaException;
+
+    /**
+     * Consulta cuáles de los índices ciegos de número de control indicados ya
+     * pertenecen a un estudiante registrado.
+     *
+     * @param indicesNumeroControl Índices ciegos de número de control a
+     * verificar
+     * @return Índices que ya están registrados
+     * @throws PersistenciaException Si ocurre un error durante la operación
+     */
+    public Set<String> consultarIndicesNumeroControlRegistrados(Collection<String> indicesNumeroControl) throws PersistenciaException;
     
 }
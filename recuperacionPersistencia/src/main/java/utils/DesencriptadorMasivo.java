@@ -0,0 +1,181 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package utils;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Clase utilitaria para desencriptar listas grandes de resultados. Las listas
+ * con un tamaño menor al umbral se procesan de forma secuencial; las demás se
+ * reparten entre los núcleos disponibles con un ForkJoinPool propio.
+ *
+ * Cada elemento se procesa en su lugar, por lo que el orden de la lista se
+ * conserva, y un error en un elemento no detiene el procesamiento de los
+ * demás. El umbral se puede ajustar con la propiedad del sistema
+ * {@value #PROPIEDAD_UMBRAL}.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class DesencriptadorMasivo {
+
+    /**
+     * Propiedad del sistema con el tamaño mínimo de lista para procesar en
+     * paralelo.
+     */
+    public static final String PROPIEDAD_UMBRAL = "recuperacion.desencriptado.umbral";
+
+    private static final int UMBRAL_DEFECTO = 2000;
+
+    private static volatile int umbral = Integer.getInteger(PROPIEDAD_UMBRAL, UMBRAL_DEFECTO);
+
+    // Pool propio para no competir con otras tareas del pool común
+    private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    // Métricas acumuladas
+    private static final AtomicLong lotes = new AtomicLong();
+    private static final AtomicLong lotesParalelos = new AtomicLong();
+    private static final AtomicLong elementos = new AtomicLong();
+    private static final AtomicLong errores = new AtomicLong();
+    private static final AtomicLong tiempoTotalNanos = new AtomicLong();
+    private static volatile long ultimoTiempoNanos;
+
+    /**
+     * Aplica la operación de desencriptado a cada elemento de la lista. Si la
+     * lista alcanza el umbral, los elementos se procesan en paralelo.
+     *
+     * @param <T> Tipo de los elementos
+     * @param lista Lista a desencriptar
+     * @param desencriptador Operación que desencripta un elemento en su lugar
+     * @return Número de elementos que no se pudieron desencriptar
+     */
+    public static <T> int desencriptar(List<T> lista, Consumer<? super T> desencriptador) {
+        if (lista == null || lista.isEmpty()) {
+            return 0;
+        }
+
+        long inicio = System.nanoTime();
+        AtomicInteger fallidos = new AtomicInteger();
+        boolean paralelo = lista.size() >= umbral && POOL.getParallelism() > 1;
+
+        if (paralelo) {
+            try {
+                POOL.submit(() -> IntStream.range(0, lista.size()).parallel()
+                        .forEach(i -> procesar(lista.get(i), desencriptador, fallidos))).get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                System.err.println("Desencriptado masivo interrumpido: " + ex.getMessage());
+            } catch (ExecutionException ex) {
+                System.err.println("Error en el desencriptado masivo: " + ex.getMessage());
+            }
+        } else {
+            for (T elemento : lista) {
+                procesar(elemento, desencriptador, fallidos);
+            }
+        }
+
+        long duracion = System.nanoTime() - inicio;
+        lotes.incrementAndGet();
+        if (paralelo) {
+            lotesParalelos.incrementAndGet();
+        }
+        elementos.addAndGet(lista.size());
+        errores.addAndGet(fallidos.get());
+        tiempoTotalNanos.addAndGet(duracion);
+        ultimoTiempoNanos = duracion;
+        return fallidos.get();
+    }
+
+    private static <T> void procesar(T elemento, Consumer<? super T> desencriptador, AtomicInteger fallidos) {
+        try {
+            desencriptador.accept(elemento);
+        } catch (RuntimeException ex) {
+            fallidos.incrementAndGet();
+            System.err.println("Error al desencriptar un elemento: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Obtiene el tamaño mínimo de lista para procesar en paralelo.
+     *
+     * @return Umbral actual
+     */
+    public static int getUmbral() {
+        return umbral;
+    }
+
+    /**
+     * Cambia el tamaño mínimo de lista para procesar en paralelo. Un valor
+     * igual a Integer.MAX_VALUE desactiva el procesamiento en paralelo.
+     *
+     * @param nuevoUmbral Nuevo umbral, mayor a cero
+     */
+    public static void setUmbral(int nuevoUmbral) {
+        if (nuevoUmbral <= 0) {
+            throw new IllegalArgumentException("El umbral debe ser mayor a cero");
+        }
+        umbral = nuevoUmbral;
+    }
+
+    /**
+     * Obtiene el número de listas procesadas.
+     *
+     * @return Total de listas
+     */
+    public static long getLotes() {
+        return lotes.get();
+    }
+
+    /**
+     * Obtiene el número de listas procesadas en paralelo.
+     *
+     * @return Total de listas procesadas en paralelo
+     */
+    public static long getLotesParalelos() {
+        return lotesParalelos.get();
+    }
+
+    /**
+     * Obtiene el número de elementos procesados.
+     *
+     * @return Total de elementos
+     */
+    public static long getElementos() {
+        return elementos.get();
+    }
+
+    /**
+     * Obtiene el número de elementos que no se pudieron desencriptar.
+     *
+     * @return Total de errores
+     */
+    public static long getErrores() {
+        return errores.get();
+    }
+
+    /**
+     * Obtiene el tiempo acumulado de desencriptado.
+     *
+     * @return Tiempo total en milisegundos
+     */
+    public static long getTiempoTotalMs() {
+        return tiempoTotalNanos.get() / 1_000_000;
+    }
+
+    /**
+     * Obtiene el tiempo que tomó la última lista procesada.
+     *
+     * @return Tiempo en milisegundos
+     */
+    public static long getUltimoTiempoMs() {
+        return ultimoTiempoNanos / 1_000_000;
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Main.java to edit this template
+ */
+package utils;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.UnaryOperator;
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Clase para medir el rendimiento de EncryptionUtil. Compara la
+ * implementación anterior (un Cipher nuevo y la clave decodificada en cada
+ * llamada) contra la actual, reportando operaciones por segundo y bytes
+ * asignados por operación en el hilo que ejecuta la prueba.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class EncryptionBenchmark {
+
+    private static final int CALENTAMIENTO = 50_000;
+    private static final int ITERACIONES = 200_000;
+    private static final String CORREO = "estudiante.prueba@itson.edu.mx";
+
+    // Evita que el JIT elimine las llamadas medidas
+    private static int sumidero;
+
+    public static void main(String[] args) {
+        String encriptado = EncryptionUtil.encriptar(CORREO);
+        byte[] datos = CORREO.getBytes(StandardCharsets.UTF_8);
+        byte[] datosEncriptados = EncryptionUtil.encriptar(datos);
+
+        System.out.println("Operación                       ops/seg      bytes/op");
+        medir("encriptar (anterior)", EncryptionBenchmark::encriptarAnterior, CORREO);
+        medir("encriptar (String)", EncryptionUtil::encriptar, CORREO);
+        medir("desencriptar (anterior)", EncryptionBenchmark::desencriptarAnterior, encriptado);
+        medir("desencriptar (String)", EncryptionUtil::desencriptar, encriptado);
+        medir("encriptar (byte[])", EncryptionUtil::encriptar, datos);
+        medir("desencriptar (byte[])", EncryptionUtil::desencriptar, datosEncriptados);
+        System.out.println("(" + sumidero + ")");
+    }
+
+    private static <T> void medir(String nombre, UnaryOperator<T> operacion, T entrada) {
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            sumidero += operacion.apply(entrada).hashCode();
+        }
+
+        long bytesInicio = bytesAsignados();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACIONES; i++) {
+            sumidero += operacion.apply(entrada).hashCode();
+        }
+        long nanos = System.nanoTime() - inicio;
+        long bytes = bytesAsignados() - bytesInicio;
+
+        long opsPorSegundo = (long) (ITERACIONES / (nanos / 1_000_000_000.0));
+        System.out.printf("%-28s %10d %12d%n", nombre, opsPorSegundo, bytes / ITERACIONES);
+    }
+
+    private static long bytesAsignados() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    // Copia de la implementación anterior, usada como referencia
+    private static String encriptarAnterior(String texto) {
+        try {
+            byte[] clave = Base64.getDecoder().decode("MDEyMzQ1Njc4OTAxMjM0NQ==");
+            Cipher cipher = Cipher.getInstance("AES");
+            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(clave, "AES"));
+            return Base64.getEncoder().encodeToString(cipher.doFinal(texto.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            return texto;
+        }
+    }
+
+    private static String desencriptarAnterior(String textoEncriptado) {
+        try {
+            byte[] clave = Base64.getDecoder().decode("MDEyMzQ1Njc4OTAxMjM0NQ==");
+            Cipher cipher = Cipher.getInstance("AES");
+            cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(clave, "AES"));
+            return new String(cipher.doFinal(Base64.getDecoder().decode(textoEncriptado)), StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            return textoEncriptado;
+        }
+    }
+
+}
@@ -5,14 +5,11 @@
 package utils;
 
 import java.nio.charset.StandardCharsets;
-import java.security.InvalidKeyException;
+import java.security.GeneralSecurityException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
-import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
-import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.KeyGenerator;
-import javax.crypto.NoSuchPaddingException;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 
@@ -21,6 +18,11 @@ import javax.crypto.spec.SecretKeySpec;
  * Utiliza el algoritmo AES (Advanced Encryption Standard) con una clave de 128
  * bits.
  *
+ * La clave se decodifica una sola vez y cada hilo conserva sus propias
+ * instancias de Cipher ya inicializadas, ya que Cipher no es seguro entre
+ * hilos. Además de la API basada en String (Base64) se ofrece una API basada
+ * en byte[] que evita las conversiones intermedias.
+ *
  * @author Alejandra García Preciado - 252444
  */
 public class EncryptionUtil {
@@ -28,6 +30,17 @@ public class EncryptionUtil {
     // Clave de encriptación codificada en Base64
     private static final String ENCODED_KEY = "MDEyMzQ1Njc4OTAxMjM0NQ==";
 
+    private static final String ALGORITMO = "AES";
+
+    // Clave decodificada una sola vez
+    private static final SecretKey CLAVE = obtenerClave();
+
+    // Tamaño inicial del búfer de trabajo de cada hilo
+    private static final int TAMANO_BUFER = 256;
+
+    // Motor de encriptación de cada hilo
+    private static final ThreadLocal<Motor> MOTOR = ThreadLocal.withInitial(Motor::new);
+
     /**
      * Encripta un texto utilizando el algoritmo AES.
      *
@@ -41,13 +54,15 @@ public class EncryptionUtil {
         }
 
         try {
-            SecretKey key = obtenerClave();
-            Cipher cipher = Cipher.getInstance("AES");
-            cipher.init(Cipher.ENCRYPT_MODE, key);
-            byte[] textoCifrado = cipher.doFinal(texto.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(textoCifrado);
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidKeyException
-                | IllegalBlockSizeException | BadPaddingException e) {
+            Motor motor = MOTOR.get();
+            byte[] datos = texto.getBytes(StandardCharsets.UTF_8);
+            byte[] cifrado = motor.encriptador.doFinal(datos);
+            // Base64 se escribe en el búfer del hilo y se convierte directo a String
+            byte[] base64 = motor.bufer64(4 * ((cifrado.length + 2) / 3));
+            int longitud = Base64.getEncoder().encode(cifrado, base64);
+            return new String(base64, 0, longitud, StandardCharsets.ISO_8859_1);
+        } catch (GeneralSecurityException | IllegalStateException e) {
+            MOTOR.remove();
             System.err.println("Error al encriptar: " + e.getMessage());
             return texto; // Devolver el texto original en caso de error
         }
@@ -66,18 +81,62 @@ public class EncryptionUtil {
         }
 
         try {
-            SecretKey key = obtenerClave();
-            Cipher cipher = Cipher.getInstance("AES");
-            cipher.init(Cipher.DECRYPT_MODE, key);
-            byte[] textoDesencriptado = cipher.doFinal(Base64.getDecoder().decode(textoEncriptado));
-            return new String(textoDesencriptado, StandardCharsets.UTF_8);
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidKeyException
-                | IllegalBlockSizeException | BadPaddingException | IllegalArgumentException e) {
+            Motor motor = MOTOR.get();
+            byte[] datos = Base64.getDecoder().decode(textoEncriptado);
+            byte[] bufer = motor.bufer(motor.desencriptador.getOutputSize(datos.length));
+            int longitud = motor.desencriptador.doFinal(datos, 0, datos.length, bufer, 0);
+            return new String(bufer, 0, longitud, StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException | IllegalArgumentException | IllegalStateException e) {
+            MOTOR.remove();
             System.err.println("Error al desencriptar: " + e.getMessage());
             return textoEncriptado; // Devolver el texto encriptado en caso de error
         }
     }
 
+    /**
+     * Encripta un arreglo de bytes utilizando el algoritmo AES, sin pasar por
+     * String ni Base64.
+     *
+     * @param datos Bytes a encriptar
+     * @return Bytes encriptados, el mismo arreglo si es nulo o vacío, o null si
+     * ocurre un error
+     */
+    public static byte[] encriptar(byte[] datos) {
+        if (datos == null || datos.length == 0) {
+            return datos;
+        }
+
+        try {
+            return MOTOR.get().encriptador.doFinal(datos);
+        } catch (GeneralSecurityException | IllegalStateException e) {
+            MOTOR.remove();
+            System.err.println("Error al encriptar: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Desencripta un arreglo de bytes previamente encriptado con el algoritmo
+     * AES, sin pasar por String ni Base64.
+     *
+     * @param datosEncriptados Bytes encriptados
+     * @return Bytes originales, el mismo arreglo si es nulo o vacío, o null si
+     * ocurre un error
+     */
+    public static byte[] desencriptar(byte[] datosEncriptados) {
+        if (datosEncriptados == null || datosEncriptados.length == 0) {
+            return datosEncriptados;
+        }
+
+        try {
+            return MOTOR.get().desencriptador.doFinal(datosEncriptados);
+        } catch (GeneralSecurityException | IllegalStateException e) {
+            MOTOR.remove();
+            System.err.println("Error al desencriptar: " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Genera una nueva clave de encriptación AES de 128 bits. Este método se
      * usa solo para generar una nueva clave si es necesario.
@@ -86,7 +145,7 @@ public class EncryptionUtil {
      */
     public static String generarClave() {
         try {
-            KeyGenerator keyGen = KeyGenerator.getInstance("AES");
+            KeyGenerator keyGen = KeyGenerator.getInstance(ALGORITMO);
             keyGen.init(128);
             SecretKey key = keyGen.generateKey();
             return Base64.getEncoder().encodeToString(key.getEncoded());
@@ -103,7 +162,45 @@ public class EncryptionUtil {
      */
     private static SecretKey obtenerClave() {
         byte[] decodedKey = Base64.getDecoder().decode(ENCODED_KEY);
-        return new SecretKeySpec(decodedKey, 0, decodedKey.length, "AES");
+        return new SecretKeySpec(decodedKey, 0, decodedKey.length, ALGORITMO);
+    }
+
+    /**
+     * Instancias de Cipher ya inicializadas y búferes de trabajo de un hilo.
+     * Cipher regresa a su estado inicial después de cada doFinal, por lo que
+     * puede reutilizarse sin volver a llamar a init.
+     */
+    private static final class Motor {
+
+        private final Cipher encriptador;
+        private final Cipher desencriptador;
+        private byte[] bufer = new byte[TAMANO_BUFER];
+        private byte[] bufer64 = new byte[TAMANO_BUFER];
+
+        private Motor() {
+            try {
+                encriptador = Cipher.getInstance(ALGORITMO);
+                encriptador.init(Cipher.ENCRYPT_MODE, CLAVE);
+                desencriptador = Cipher.getInstance(ALGORITMO);
+                desencriptador.init(Cipher.DECRYPT_MODE, CLAVE);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("No fue posible inicializar " + ALGORITMO, e);
+            }
+        }
+
+        private byte[] bufer(int tamano) {
+            if (bufer.length < tamano) {
+                bufer = new byte[Math.max(tamano, bufer.length * 2)];
+            }
+            return bufer;
+        }
+
+        private byte[] bufer64(int tamano) {
+            if (bufer64.length < tamano) {
+                bufer64 = new byte[Math.max(tamano, bufer64.length * 2)];
+            }
+            return bufer64;
+        }
     }
 
 }
@@ -0,0 +1,105 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.Locale;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Clase utilitaria para calcular índices ciegos (blind index) de datos
+ * sensibles. Un índice ciego es un HMAC-SHA256 del valor normalizado, calculado
+ * con una clave distinta a la de encriptación. Permite búsquedas exactas por
+ * índice en la base de datos sin depender de que el texto encriptado sea
+ * determinista.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class IndiceCiegoUtil {
+
+    // Clave del HMAC codificada en Base64, distinta a la clave de encriptación
+    private static final String ENCODED_KEY = "aW5kaWNlLWNpZWdvLXJlY3VwZXJhY2lvbi1iZGEtMjAyNQ==";
+
+    private static final String ALGORITMO = "HmacSHA256";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final SecretKeySpec CLAVE = new SecretKeySpec(Base64.getDecoder().decode(ENCODED_KEY), ALGORITMO);
+
+    // Mac no es seguro entre hilos, se mantiene una instancia por hilo
+    private static final ThreadLocal<Mac> MAC = ThreadLocal.withInitial(() -> {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMO);
+            mac.init(CLAVE);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("No fue posible inicializar " + ALGORITMO, ex);
+        }
+    });
+
+    /**
+     * Calcula el índice ciego de un correo electrónico. El correo se normaliza
+     * (sin espacios y en minúsculas) antes de calcular el HMAC.
+     *
+     * @param correo Correo electrónico en texto plano
+     * @return Índice ciego en hexadecimal (64 caracteres), o null si el correo
+     * es nulo o vacío
+     */
+    public static String indiceCorreo(String correo) {
+        return calcularIndice("correo", correo, true);
+    }
+
+    /**
+     * Calcula el índice ciego de un número de control. El número se normaliza
+     * quitando espacios antes de calcular el HMAC.
+     *
+     * @param numeroControl Número de control en texto plano
+     * @return Índice ciego en hexadecimal (64 caracteres), o null si el número
+     * es nulo o vacío
+     */
+    public static String indiceNumeroControl(String numeroControl) {
+        return calcularIndice("numeroControl", numeroControl, false);
+    }
+
+    /**
+     * Calcula el índice ciego de un valor de cualquier atributo. El valor se
+     * normaliza quitando espacios y, si se indica, pasándolo a minúsculas.
+     *
+     * @param campo Nombre del atributo, se usa como prefijo del dominio
+     * @param valor Valor en texto plano
+     * @param ignorarMayusculas true para normalizar el valor a minúsculas
+     * @return Índice ciego en hexadecimal (64 caracteres), o null si el valor
+     * es nulo o vacío
+     */
+    public static String calcularIndice(String campo, String valor, boolean ignorarMayusculas) {
+        if (valor == null || valor.trim().isEmpty()) {
+            return null;
+        }
+        String normalizado = ignorarMayusculas ? valor.trim().toLowerCase(Locale.ROOT) : valor.trim();
+        return calcular(campo + ":" + normalizado);
+    }
+
+    /**
+     * Calcula el HMAC-SHA256 de un texto y lo regresa en hexadecimal. El
+     * prefijo del dominio (correo, numeroControl) evita que valores iguales en
+     * columnas distintas produzcan el mismo índice.
+     *
+     * @param texto Texto normalizado
+     * @return HMAC en hexadecimal
+     */
+    private static String calcular(String texto) {
+        byte[] hmac = MAC.get().doFinal(texto.getBytes(StandardCharsets.UTF_8));
+        char[] resultado = new char[hmac.length * 2];
+        for (int i = 0; i < hmac.length; i++) {
+            resultado[i * 2] = HEX[(hmac[i] >> 4) & 0x0F];
+            resultado[i * 2 + 1] = HEX[hmac[i] & 0x0F];
+        }
+        return new String(resultado);
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Main.java to edit this template
+ */
+package utils;
+
+import conexion.Conexion;
+import entidades.Actividad;
+import entidades.Evento;
+import entidades.Inscripcion;
+import entidades.Lugar;
+import entidades.Participante;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import org.eclipse.persistence.config.HintValues;
+import org.eclipse.persistence.config.QueryHints;
+
+/**
+ * Clase para medir contra la base de datos la diferencia entre las consultas
+ * de entidades con seguimiento de cambios y las de solo lectura
+ * ({@link SoloLectura}). Cada consulta nombrada se ejecuta de las dos formas
+ * con un EntityManager nuevo por ejecución, como en los DAOs, reportando
+ * consultas por segundo, filas por segundo y bytes asignados por fila en el
+ * hilo que ejecuta la prueba.
+ *
+ * Para que la comparación sea justa la caché compartida se vacía antes de
+ * cada medición, de modo que las dos formas empiezan en frío.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class LecturaBenchmark {
+
+    private static final int CALENTAMIENTO = 5;
+    private static final int ITERACIONES = 20;
+
+    // Evita que el JIT elimine las lecturas medidas
+    private static long sumidero;
+
+    public static void main(String[] args) {
+        System.out.println("Consulta                                   consultas/seg   filas/seg     bytes/fila");
+        medir("Evento.consultarTodos", Evento.class,
+                evento -> evento.getTitulo().length() + evento.getOrganizador().getNombre().length());
+        medir("Actividad.consultarTodos", Actividad.class, actividad -> actividad.getNombre().length());
+        medir("Inscripcion.consultarTodos", Inscripcion.class, inscripcion -> String.valueOf(inscripcion.getEstadoAsistencia()).length());
+        medir("Participante.consultarTodos", Participante.class, participante -> participante.getNombre().length());
+        medir("Lugar.consultarTodos", Lugar.class, lugar -> lugar.getNombre().length());
+        System.out.println("(" + sumidero + ")");
+
+        Conexion.cerrar();
+    }
+
+    private static <T> void medir(String consulta, Class<T> clase, ToIntFunction<T> lectura) {
+        medir(consulta, clase, lectura, false);
+        medir(consulta, clase, lectura, true);
+    }
+
+    private static <T> void medir(String consulta, Class<T> clase, ToIntFunction<T> lectura, boolean soloLectura) {
+        Conexion.invalidarCache(clase);
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            ejecutar(consulta, clase, lectura, soloLectura);
+        }
+
+        long filas = 0;
+        long bytesInicio = bytesAsignados();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACIONES; i++) {
+            filas += ejecutar(consulta, clase, lectura, soloLectura);
+        }
+        long nanos = System.nanoTime() - inicio;
+        long bytes = bytesAsignados() - bytesInicio;
+
+        String nombre = consulta + (soloLectura ? " (solo lectura)" : " (seguimiento)");
+        double segundos = nanos / 1_000_000_000.0;
+        if (filas == 0) {
+            System.out.printf("%-42s %14d %11s %14s%n", nombre, (long) (ITERACIONES / segundos), "sin datos", "-");
+            return;
+        }
+        System.out.printf("%-42s %14d %11d %14d%n", nombre, (long) (ITERACIONES / segundos),
+                (long) (filas / segundos), bytes / filas);
+    }
+
+    private static <T> int ejecutar(String consulta, Class<T> clase, ToIntFunction<T> lectura, boolean soloLectura) {
+        EntityManager em = Conexion.crearConexion();
+        try {
+            TypedQuery<T> query = em.createNamedQuery(consulta, clase);
+            query.setHint(QueryHints.READ_ONLY, soloLectura ? HintValues.TRUE : HintValues.FALSE);
+            List<T> resultado = query.getResultList();
+            for (T entidad : resultado) {
+                sumidero += lectura.applyAsInt(entidad);
+            }
+            return resultado.size();
+        } finally {
+            em.close();
+        }
+    }
+
+    private static long bytesAsignados() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+}
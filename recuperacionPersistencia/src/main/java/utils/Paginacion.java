@@ -0,0 +1,124 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package utils;
+
+import DTOs.Pagina;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import javax.persistence.TypedQuery;
+
+/**
+ * Clase utilitaria para la paginación por llave (keyset) de las consultas. En
+ * lugar de saltar filas con OFFSET, cada página pide las filas cuyo ID es
+ * mayor al último ID de la página anterior, de modo que el costo de cualquier
+ * página es el mismo sin importar cuántas filas haya antes (la búsqueda se
+ * resuelve con el índice de la llave primaria).
+ *
+ * El token de continuación es opaco para quien lo recibe: codifica el último
+ * ID entregado.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class Paginacion {
+
+    /**
+     * Tamaño de página que se usa si se pide uno no válido.
+     */
+    public static final int TAMANO_DEFECTO = 50;
+
+    /**
+     * Tamaño máximo de página permitido.
+     */
+    public static final int TAMANO_MAXIMO = 500;
+
+    private static final String PREFIJO = "id:";
+
+    /**
+     * Ajusta el tamaño de página pedido al rango permitido.
+     *
+     * @param tamano Tamaño pedido
+     * @return Tamaño entre 1 y TAMANO_MAXIMO, o TAMANO_DEFECTO si no es válido
+     */
+    public static int normalizarTamano(int tamano) {
+        if (tamano <= 0) {
+            return TAMANO_DEFECTO;
+        }
+        return Math.min(tamano, TAMANO_MAXIMO);
+    }
+
+    /**
+     * Obtiene el último ID entregado a partir de un token de continuación.
+     *
+     * @param token Token de continuación, null o vacío para la primera página
+     * @return Último ID entregado, o null si es la primera página
+     * @throws IllegalArgumentException Si el token no es válido
+     */
+    public static Long decodificar(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            if (!texto.startsWith(PREFIJO)) {
+                throw new IllegalArgumentException("Token de página no válido.");
+            }
+            return Long.valueOf(texto.substring(PREFIJO.length()));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Token de página no válido.", ex);
+        }
+    }
+
+    /**
+     * Obtiene el ID a partir del cual empieza la página, para las consultas
+     * nombradas que siempre filtran por el último ID. La primera página
+     * empieza en 0, ya que los IDs se asignan a partir de 1.
+     *
+     * @param token Token de continuación, null o vacío para la primera página
+     * @return Último ID entregado, o 0 si es la primera página
+     * @throws IllegalArgumentException Si el token no es válido
+     */
+    public static long decodificarDesde(String token) {
+        Long ultimoId = decodificar(token);
+        return ultimoId != null ? ultimoId : 0L;
+    }
+
+    /**
+     * Genera el token de continuación para el último ID entregado.
+     *
+     * @param ultimoId Último ID de la página
+     * @return Token de continuación
+     */
+    public static String codificar(Long ultimoId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIJO + ultimoId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Ejecuta una consulta ya ordenada por ID y filtrada por el último ID, y
+     * arma la página. Se pide una fila extra para saber si hay una página
+     * siguiente sin hacer un conteo.
+     *
+     * @param <T> Tipo de las filas
+     * @param query Consulta ordenada ascendentemente por ID
+     * @param tamano Tamaño de página ya normalizado
+     * @param id Función que obtiene el ID de cada fila
+     * @return Página con las filas y el token de continuación
+     */
+    public static <T> Pagina<T> paginar(TypedQuery<T> query, int tamano, Function<? super T, Long> id) {
+        query.setMaxResults(tamano + 1);
+        List<T> filas = query.getResultList();
+
+        String siguiente = null;
+        if (filas.size() > tamano) {
+            filas = new ArrayList<>(filas.subList(0, tamano));
+            siguiente = codificar(id.apply(filas.get(tamano - 1)));
+        }
+        return new Pagina<>(filas, siguiente);
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Main.java to edit this template
+ */
+package utils;
+
+import conexion.Conexion;
+import entidades.Actividad;
+import entidades.Evento;
+import entidades.Participante;
+import exception.PersistenciaException;
+import fabrica.FabricaDAO;
+import interfaces.IActividadDAO;
+import interfaces.IEventoDAO;
+import interfaces.IEventoDAO.PlanCarga;
+import interfaces.IParticipanteDAO;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Clase para medir contra la base de datos el costo de los listados. Compara
+ * la ruta anterior (consultar entidades y recorrer las relaciones que usan los
+ * mappers) contra las consultas de proyección a DTOs, reportando filas por
+ * segundo y bytes asignados por fila en el hilo que ejecuta la prueba.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class ProyeccionBenchmark {
+
+    private static final int CALENTAMIENTO = 5;
+    private static final int ITERACIONES = 20;
+
+    // Evita que el JIT elimine las lecturas medidas
+    private static long sumidero;
+
+    /**
+     * Operación de consulta a medir. Regresa el número de filas leídas.
+     */
+    private interface Consulta {
+
+        int ejecutar() throws PersistenciaException;
+    }
+
+    public static void main(String[] args) throws PersistenciaException {
+        IActividadDAO actividadDAO = FabricaDAO.getInstancia().crearActividadDAO();
+        IEventoDAO eventoDAO = FabricaDAO.getInstancia().crearEventoDAO();
+        IParticipanteDAO participanteDAO = FabricaDAO.getInstancia().crearParticipanteDAO();
+
+        System.out.println("Consulta                          filas/seg     bytes/fila");
+        medir("actividades (entidades)", () -> {
+            List<Actividad> actividades = actividadDAO.consultarTodos();
+            for (Actividad actividad : actividades) {
+                sumidero += actividad.getEvento().getTitulo().length()
+                        + actividad.getLugar().getNombre().length()
+                        + actividad.getInscripciones().size();
+            }
+            return actividades.size();
+        });
+        medir("actividades (proyección)", () -> actividadDAO.consultarListado().size());
+        medir("eventos (entidades)", () -> {
+            List<Evento> eventos = eventoDAO.consultarTodos(PlanCarga.CON_ACTIVIDADES);
+            for (Evento evento : eventos) {
+                sumidero += evento.getOrganizador().getNombre().length() + evento.getActividades().size();
+            }
+            return eventos.size();
+        });
+        medir("eventos (proyección)", () -> eventoDAO.consultarListado().size());
+        medir("participantes (entidades)", () -> {
+            List<Participante> participantes = participanteDAO.consultarTodos();
+            for (Participante participante : participantes) {
+                sumidero += participante.getInscripciones().size();
+            }
+            return participantes.size();
+        });
+        medir("participantes (proyección)", () -> participanteDAO.consultarListado().size());
+        System.out.println("(" + sumidero + ")");
+
+        Conexion.cerrar();
+    }
+
+    private static void medir(String nombre, Consulta consulta) throws PersistenciaException {
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            consulta.ejecutar();
+        }
+
+        long filas = 0;
+        long bytesInicio = bytesAsignados();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACIONES; i++) {
+            filas += consulta.ejecutar();
+        }
+        long nanos = System.nanoTime() - inicio;
+        long bytes = bytesAsignados() - bytesInicio;
+
+        if (filas == 0) {
+            System.out.printf("%-30s %12s %14s%n", nombre, "sin datos", "-");
+            return;
+        }
+        long filasPorSegundo = (long) (filas / (nanos / 1_000_000_000.0));
+        System.out.printf("%-30s %12d %14d%n", nombre, filasPorSegundo, bytes / filas);
+    }
+
+    private static long bytesAsignados() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package utils;
+
+import java.util.function.Consumer;
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import org.eclipse.persistence.config.HintValues;
+import org.eclipse.persistence.config.QueryHints;
+import org.eclipse.persistence.queries.CursoredStream;
+
+/**
+ * Clase utilitaria para recorrer el resultado de una consulta fila por fila con
+ * un cursor de la base de datos, sin cargar todo el resultado en memoria. El
+ * driver trae las filas en lotes del tamaño indicado y, al terminar cada lote,
+ * se liberan las filas ya visitadas y se limpia el contexto de persistencia,
+ * de modo que la memoria usada no depende del número de filas.
+ *
+ * Con MySQL el fetch size solo se respeta si la conexión usa
+ * useCursorFetch=true, lo cual configura {@link conexion.Conexion}.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class RecorridoCursor {
+
+    /**
+     * Recorre el resultado de una consulta con un cursor y entrega cada fila
+     * al visitante. El cursor se cierra siempre al terminar, aunque el
+     * visitante lance una excepción.
+     *
+     * @param <T> Tipo de las filas
+     * @param em EntityManager de la consulta, se limpia entre lotes
+     * @param query Consulta a recorrer
+     * @param tamanoFetch Filas por viaje a la base de datos y por lote
+     * @param visitante Operación que recibe cada fila
+     * @return Número de filas recorridas
+     */
+    public static <T> long recorrer(EntityManager em, Query query, int tamanoFetch, Consumer<? super T> visitante) {
+        return recorrer(em, query, tamanoFetch, visitante, null);
+    }
+
+    /**
+     * Recorre el resultado de una consulta con un cursor y entrega cada fila
+     * al visitante, avisando cada vez que se limpia el contexto de
+     * persistencia. Sirve para descartar estado que solo es válido mientras
+     * las entidades del lote siguen administradas.
+     *
+     * @param <T> Tipo de las filas
+     * @param em EntityManager de la consulta, se limpia entre lotes
+     * @param query Consulta a recorrer
+     * @param tamanoFetch Filas por viaje a la base de datos y por lote
+     * @param visitante Operación que recibe cada fila
+     * @param alLimpiar Acción que se ejecuta tras limpiar el contexto, puede
+     * ser null
+     * @return Número de filas recorridas
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> long recorrer(EntityManager em, Query query, int tamanoFetch, Consumer<? super T> visitante,
+            Runnable alLimpiar) {
+        int lote = Math.max(tamanoFetch, 1);
+        query.setHint(QueryHints.CURSOR, HintValues.TRUE);
+        query.setHint(QueryHints.CURSOR_PAGE_SIZE, lote);
+        query.setHint(QueryHints.JDBC_FETCH_SIZE, lote);
+
+        CursoredStream cursor = (CursoredStream) query.getSingleResult();
+        long filas = 0;
+        try {
+            while (cursor.hasNext()) {
+                visitante.accept((T) cursor.next());
+                filas++;
+                if (filas % lote == 0) {
+                    cursor.releasePrevious();
+                    em.clear();
+                    if (alLimpiar != null) {
+                        alLimpiar.run();
+                    }
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+        return filas;
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package utils;
+
+import entidades.Sensible;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registro de los atributos sensibles de las entidades. La primera vez que se
+ * usa una clase se descubren sus atributos marcados con {@link Sensible}
+ * (incluyendo los de sus superclases) y se enlazan con accesores VarHandle que
+ * quedan en caché, de modo que encriptar o desencriptar una entidad no requiere
+ * búsquedas por reflexión en cada llamada.
+ *
+ * Lo puede usar cualquier DAO con cualquier tipo de entidad; las entidades sin
+ * atributos sensibles simplemente no se modifican.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class RegistroCamposSensibles {
+
+    // Atributos sensibles descubiertos por clase
+    private static final ClassValue<CampoSensible[]> CAMPOS = new ClassValue<CampoSensible[]>() {
+        @Override
+        protected CampoSensible[] computeValue(Class<?> tipo) {
+            return descubrir(tipo);
+        }
+    };
+
+    /**
+     * Encripta los atributos sensibles de una entidad y, si lo declaran,
+     * calcula su índice ciego a partir del valor en texto plano.
+     *
+     * @param entidad Entidad a encriptar
+     */
+    public static void encriptar(Object entidad) {
+        if (entidad == null) {
+            return;
+        }
+        for (CampoSensible campo : CAMPOS.get(entidad.getClass())) {
+            try {
+                String valor = (String) campo.valor.get(entidad);
+                if (valor == null) {
+                    continue;
+                }
+                if (campo.indice != null) {
+                    campo.indice.set(entidad, IndiceCiegoUtil.calcularIndice(campo.nombre, valor, campo.ignorarMayusculas));
+                }
+                campo.valor.set(entidad, EncryptionUtil.encriptar(valor));
+            } catch (RuntimeException ex) {
+                System.err.println("Error al encriptar " + campo.nombre + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Desencripta los atributos sensibles de una entidad.
+     *
+     * @param entidad Entidad a desencriptar
+     */
+    public static void desencriptar(Object entidad) {
+        if (entidad == null) {
+            return;
+        }
+        for (CampoSensible campo : CAMPOS.get(entidad.getClass())) {
+            try {
+                String valor = (String) campo.valor.get(entidad);
+                if (valor != null) {
+                    campo.valor.set(entidad, EncryptionUtil.desencriptar(valor));
+                }
+            } catch (RuntimeException ex) {
+                System.err.println("Error al desencriptar " + campo.nombre + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Obtiene los nombres de los atributos sensibles de una clase.
+     *
+     * @param tipo Clase de la entidad
+     * @return Nombres de los atributos sensibles, vacía si no tiene
+     */
+    public static List<String> camposSensibles(Class<?> tipo) {
+        List<String> nombres = new ArrayList<>();
+        for (CampoSensible campo : CAMPOS.get(tipo)) {
+            nombres.add(campo.nombre);
+        }
+        return nombres;
+    }
+
+    /**
+     * Recorre la jerarquía de la clase y enlaza los atributos marcados como
+     * sensibles. Solo se ejecuta una vez por clase.
+     */
+    private static CampoSensible[] descubrir(Class<?> tipo) {
+        List<CampoSensible> campos = new ArrayList<>();
+        for (Class<?> clase = tipo; clase != null && clase != Object.class; clase = clase.getSuperclass()) {
+            for (Field field : clase.getDeclaredFields()) {
+                Sensible sensible = field.getAnnotation(Sensible.class);
+                if (sensible == null) {
+                    continue;
+                }
+                if (field.getType() != String.class) {
+                    System.err.println("El atributo sensible " + clase.getSimpleName() + "." + field.getName()
+                            + " no es String, se ignora");
+                    continue;
+                }
+                try {
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(clase, MethodHandles.lookup());
+                    VarHandle valor = lookup.findVarHandle(clase, field.getName(), String.class);
+                    VarHandle indice = sensible.indice().isEmpty() ? null
+                            : lookup.findVarHandle(clase, sensible.indice(), String.class);
+                    campos.add(new CampoSensible(field.getName(), valor, indice, sensible.ignorarMayusculas()));
+                } catch (ReflectiveOperationException ex) {
+                    throw new IllegalStateException("No fue posible enlazar el atributo sensible "
+                            + clase.getSimpleName() + "." + field.getName() + ": " + ex.getMessage(), ex);
+                }
+            }
+        }
+        return campos.toArray(new CampoSensible[0]);
+    }
+
+    /**
+     * Atributo sensible enlazado con sus accesores.
+     */
+    private static final class CampoSensible {
+
+        private final String nombre;
+        private final VarHandle valor;
+        private final VarHandle indice;
+        private final boolean ignorarMayusculas;
+
+        private CampoSensible(String nombre, VarHandle valor, VarHandle indice, boolean ignorarMayusculas) {
+            this.nombre = nombre;
+            this.valor = valor;
+            this.indice = indice;
+            this.ignorarMayusculas = ignorarMayusculas;
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package utils;
+
+import conexion.Conexion;
+import javax.persistence.Query;
+import org.eclipse.persistence.config.HintValues;
+import org.eclipse.persistence.config.QueryHints;
+
+/**
+ * Clase utilitaria para las consultas de solo lectura de los DAOs (los
+ * métodos consultar*), cuyo resultado solo se muestra o se convierte a DTOs.
+ *
+ * Una consulta normal registra cada entidad del resultado en el contexto de
+ * persistencia: EclipseLink construye una copia administrada y, para detectar
+ * cambios al confirmar, otra copia de respaldo, aunque el EntityManager se
+ * cierre enseguida sin escribir nada. Con eclipselink.read-only las entidades
+ * no se registran ni se les da seguimiento de cambios; las entidades con caché
+ * compartida (lugares y organizadores) se entregan directamente desde la
+ * caché, sin copiarlas. Como las consultar* no abren transacción, la lectura
+ * usa las conexiones de lectura del pool de EclipseLink.
+ *
+ * Por lo mismo, las entidades entregadas no deben modificarse: las de caché
+ * compartida son las mismas para toda la aplicación. Los flujos que
+ * modifican entidades las obtienen con buscarPorId y las guardan con
+ * actualizar, como hasta ahora. Se puede desactivar con la propiedad
+ * consultas.soloLectura de la configuración de la conexión.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class SoloLectura {
+
+    private static final boolean HABILITADA = Conexion.obtenerConfiguracion().isConsultasSoloLectura();
+
+    /**
+     * Marca una consulta de entidades como de solo lectura.
+     *
+     * @param <T> Tipo de la consulta
+     * @param query Consulta a marcar
+     * @return La misma consulta
+     */
+    public static <T extends Query> T preparar(T query) {
+        if (HABILITADA) {
+            query.setHint(QueryHints.READ_ONLY, HintValues.TRUE);
+        }
+        return query;
+    }
+
+}
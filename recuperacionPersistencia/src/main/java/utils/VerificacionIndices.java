@@ -0,0 +1,279 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Main.java to edit this template
+ */
+package utils;
+
+import conexion.Conexion;
+import conexion.ContadorConsultas;
+import conexion.SentenciaCapturada;
+import entidades.Actividad;
+import entidades.Evento;
+import entidades.Evento.EstadoEvento;
+import entidades.Evento.ModalidadEvento;
+import entidades.Inscripcion;
+import entidades.Inscripcion.EstadoAsistencia;
+import entidades.Lugar;
+import entidades.Lugar.TipoLugar;
+import entidades.Organizador;
+import entidades.Organizador.TipoOrganizador;
+import entidades.Participante;
+import entidades.ParticipanteExterno;
+import exception.PersistenciaException;
+import fabrica.FabricaDAO;
+import interfaces.IActividadDAO;
+import interfaces.IEventoDAO;
+import interfaces.IEventoDAO.PlanCarga;
+import interfaces.IInscripcionDAO;
+import interfaces.IParticipanteDAO;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+
+/**
+ * Clase para verificar contra la base de datos que las consultas de los DAOs
+ * usan los índices del esquema. Ejecuta cada buscador con valores selectivos,
+ * captura las sentencias SQL que genera y revisa su plan con EXPLAIN; termina
+ * con código 1 si alguna recorre completa (tipo ALL) una tabla con al menos
+ * el número de filas indicado. Uso:
+ *
+ * <pre>
+ * VerificacionIndices [--sembrar EVENTOS] [--umbral FILAS]
+ * </pre>
+ *
+ * Con --sembrar primero se cargan datos sintéticos: el número de eventos
+ * indicado, dos actividades por evento, un participante y una inscripción por
+ * evento. La mayoría de los eventos quedan finalizados y en el pasado para
+ * que los filtros de la aplicación sean selectivos como en producción; con
+ * pocas filas el optimizador prefiere recorrer la tabla y el resultado no es
+ * representativo.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class VerificacionIndices {
+
+    private static final int UMBRAL_FILAS = 1000;
+
+    /**
+     * Buscador a revisar.
+     */
+    private interface Buscador {
+
+        void ejecutar() throws PersistenciaException;
+    }
+
+    public static void main(String[] args) throws PersistenciaException {
+        int sembrar = 0;
+        int umbral = UMBRAL_FILAS;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--sembrar")) {
+                sembrar = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--umbral")) {
+                umbral = Integer.parseInt(args[i + 1]);
+            }
+        }
+        System.out.println("Versión del esquema: " + Conexion.obtenerVersionEsquema());
+        if (sembrar > 0) {
+            sembrar(sembrar);
+        }
+
+        IEventoDAO eventoDAO = FabricaDAO.getInstancia().crearEventoDAO();
+        IActividadDAO actividadDAO = FabricaDAO.getInstancia().crearActividadDAO();
+        IInscripcionDAO inscripcionDAO = FabricaDAO.getInstancia().crearInscripcionDAO();
+        IParticipanteDAO participanteDAO = FabricaDAO.getInstancia().crearParticipanteDAO();
+
+        // Valores de ejemplo tomados de los datos existentes
+        List<Evento> planeados = eventoDAO.consultarPorEstado(EstadoEvento.PLANEADO, PlanCarga.LISTA);
+        Evento evento = planeados.isEmpty() ? null : planeados.get(0);
+        List<Actividad> actividades = evento != null ? actividadDAO.consultarPorEvento(evento) : new ArrayList<>();
+        Actividad actividad = actividades.isEmpty() ? null : actividades.get(0);
+        LocalDateTime ahora = LocalDateTime.now();
+
+        boolean correcto = true;
+        correcto &= verificar("Evento.consultarPorEstado", umbral,
+                () -> eventoDAO.consultarPorEstado(EstadoEvento.EN_CURSO, PlanCarga.LISTA));
+        correcto &= verificar("Evento.consultarPorModalidad", umbral,
+                () -> eventoDAO.consultarPorModalidad(ModalidadEvento.HIBRIDO, PlanCarga.LISTA));
+        correcto &= verificar("Evento.consultarPorRangoFechas", umbral,
+                () -> eventoDAO.consultarPorRangoFechas(ahora, ahora.plusDays(7), PlanCarga.LISTA));
+        correcto &= verificar("Evento.consultarFechasCambioEstado", umbral,
+                () -> eventoDAO.consultarFechasCambioEstado(ahora, 500));
+        correcto &= verificar("Actividad.consultarPorRangoFechas", umbral,
+                () -> actividadDAO.consultarPorRangoFechas(ahora, ahora.plusDays(7)));
+        correcto &= verificar("Actividad.consultarPorEstadoFinalizacion", umbral,
+                () -> actividadDAO.consultarPorEstadoFinalizacion(false));
+        correcto &= verificar("Inscripcion.consultarPorEstadoAsistencia", umbral,
+                () -> inscripcionDAO.consultarPorEstadoAsistencia(EstadoAsistencia.NO_ASISTIO));
+        correcto &= verificar("Inscripcion.consultarPorRangoFechas", umbral,
+                () -> inscripcionDAO.consultarPorRangoFechas(ahora.minusDays(1), ahora));
+        correcto &= verificar("Participante.buscarPorCorreo", umbral,
+                () -> participanteDAO.buscarPorCorreo("no.existe@ejemplo.com"));
+        if (actividad != null) {
+            correcto &= verificar("Actividad.consultarPorLugar", umbral,
+                    () -> actividadDAO.consultarPorLugar(actividad.getLugar()));
+            correcto &= verificar("Actividad.buscarPorNombreYFecha", umbral,
+                    () -> actividadDAO.buscarPorNombreYFecha(actividad.getNombre(), actividad.getFechaHoraInicio()));
+            correcto &= verificar("Inscripcion.consultarPorActividad", umbral,
+                    () -> inscripcionDAO.consultarPorActividad(actividad));
+        } else {
+            System.out.println("No hay eventos planeados con actividades; se omiten los buscadores por actividad");
+        }
+
+        Conexion.cerrar();
+        if (!correcto) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Ejecuta un buscador capturando sus sentencias y revisa el plan de cada
+     * una. Cada buscador se ejecuta una sola vez con sus valores para que la
+     * caché de consultas no evite la sentencia.
+     */
+    private static boolean verificar(String nombre, int umbral, Buscador buscador) throws PersistenciaException {
+        ContadorConsultas.iniciarCaptura();
+        List<SentenciaCapturada> sentencias;
+        try {
+            buscador.ejecutar();
+        } finally {
+            sentencias = ContadorConsultas.terminarCaptura();
+        }
+        boolean correcto = true;
+        for (SentenciaCapturada sentencia : sentencias) {
+            correcto &= explicar(nombre, sentencia, umbral);
+        }
+        return correcto;
+    }
+
+    /**
+     * Revisa con EXPLAIN el plan de una sentencia SELECT.
+     */
+    private static boolean explicar(String nombre, SentenciaCapturada sentencia, int umbral) throws PersistenciaException {
+        if (!sentencia.getSql().regionMatches(true, 0, "select", 0, 6)) {
+            return true;
+        }
+        EntityManager em = Conexion.crearConexion();
+        try {
+            em.getTransaction().begin();
+            Connection conexion = em.unwrap(Connection.class);
+            boolean correcto = true;
+            try (PreparedStatement ps = conexion.prepareStatement("EXPLAIN " + sentencia.getSql())) {
+                List<Object> parametros = sentencia.getParametros();
+                for (int i = 0; i < parametros.size(); i++) {
+                    ps.setObject(i + 1, parametros.get(i));
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        String tabla = rs.getString("table");
+                        String tipo = rs.getString("type");
+                        long filas = rs.getLong("rows");
+                        boolean recorrido = "ALL".equals(tipo) && filas >= umbral;
+                        correcto &= !recorrido;
+                        System.out.println(nombre + ": " + tabla + " tipo=" + tipo + " índice=" + rs.getString("key")
+                                + " filas=" + filas + (recorrido ? " FALLA" : " OK"));
+                    }
+                }
+            }
+            em.getTransaction().commit();
+            return correcto;
+        } catch (SQLException ex) {
+            throw new PersistenciaException("Error al revisar el plan de " + nombre + ": " + ex.getMessage());
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            em.close();
+        }
+    }
+
+    /**
+     * Carga datos sintéticos a través de los DAOs. Uno de cada cincuenta
+     * eventos queda planeado y otro en curso; el resto finalizados en el
+     * pasado.
+     */
+    private static void sembrar(int eventos) throws PersistenciaException {
+        IEventoDAO eventoDAO = FabricaDAO.getInstancia().crearEventoDAO();
+        IActividadDAO actividadDAO = FabricaDAO.getInstancia().crearActividadDAO();
+        IInscripcionDAO inscripcionDAO = FabricaDAO.getInstancia().crearInscripcionDAO();
+        IParticipanteDAO participanteDAO = FabricaDAO.getInstancia().crearParticipanteDAO();
+        long marca = System.currentTimeMillis();
+        LocalDateTime ahora = LocalDateTime.now().withNano(0);
+
+        Organizador organizador = new Organizador();
+        organizador.setNombre("Organizador de prueba");
+        organizador.setCorreo("organizador." + marca + "@ejemplo.com");
+        organizador.setTipoOrganizador(TipoOrganizador.ORGANIZADOR);
+        organizador = FabricaDAO.getInstancia().crearOrganizadorDAO().guardar(organizador);
+
+        List<Lugar> lugares = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, eventos / 20); i++) {
+            Lugar lugar = new Lugar();
+            lugar.setNombre("Lugar " + marca + "-" + i);
+            lugar.setTipoLugar(TipoLugar.AULA);
+            lugar.setCapacidad(40);
+            lugares.add(FabricaDAO.getInstancia().crearLugarDAO().guardar(lugar));
+        }
+
+        List<Participante> participantes = new ArrayList<>();
+        List<Inscripcion> inscripciones = new ArrayList<>();
+        for (int i = 0; i < eventos; i++) {
+            ParticipanteExterno participante = new ParticipanteExterno();
+            participante.setNombre("Participante");
+            participante.setApellidoPaterno("Prueba");
+            participante.setApellidoMaterno(String.valueOf(i));
+            participante.setCorreo("participante." + marca + "." + i + "@ejemplo.com");
+            participante.setCantidadAsistencias(0);
+            participante.setInstitucion("Institución de prueba");
+            participantes.add(participante);
+        }
+        participantes = participanteDAO.guardarTodos(participantes);
+
+        for (int i = 0; i < eventos; i++) {
+            EstadoEvento estado = i % 50 == 0 ? EstadoEvento.PLANEADO
+                    : i % 50 == 1 ? EstadoEvento.EN_CURSO : EstadoEvento.FINALIZADO;
+            LocalDateTime inicio = estado == EstadoEvento.PLANEADO ? ahora.plusHours(i)
+                    : estado == EstadoEvento.EN_CURSO ? ahora.minusHours(1) : ahora.minusHours(6L * (i + 24));
+            Evento evento = new Evento();
+            evento.setCodigo("PRB-" + marca + "-" + i);
+            evento.setTitulo("Evento de prueba " + i);
+            evento.setDescripcion("Evento sintético para revisar los planes de ejecución");
+            evento.setEstado(estado);
+            evento.setModalidad(i % 40 == 0 ? ModalidadEvento.HIBRIDO
+                    : i % 2 == 0 ? ModalidadEvento.PRESENCIAL : ModalidadEvento.EN_LINEA);
+            evento.setFechaInicio(inicio);
+            evento.setFechaFin(inicio.plusHours(4));
+            evento.setOrganizador(organizador);
+            evento = eventoDAO.guardar(evento);
+
+            List<Actividad> nuevas = new ArrayList<>();
+            for (int j = 0; j < 2; j++) {
+                Actividad actividad = new Actividad();
+                actividad.setNombre("Actividad " + j);
+                actividad.setTipo("Taller");
+                actividad.setFechaHoraInicio(inicio.plusHours(j * 2L));
+                actividad.setCapacidad(40);
+                actividad.setDuracion(120);
+                actividad.setFinalizado(estado == EstadoEvento.FINALIZADO);
+                actividad.setEvento(evento);
+                actividad.setLugar(lugares.get((i * 2 + j) % lugares.size()));
+                nuevas.add(actividad);
+            }
+            nuevas = actividadDAO.guardarTodos(nuevas);
+
+            Inscripcion inscripcion = new Inscripcion();
+            inscripcion.setFechaHora(inicio.minusDays(1));
+            inscripcion.setEstadoAsistencia(i % 20 == 0 ? EstadoAsistencia.NO_ASISTIO : EstadoAsistencia.ASISTIO);
+            inscripcion.setParticipante(participantes.get(i));
+            inscripcion.setActividad(nuevas.get(0));
+            inscripciones.add(inscripcion);
+        }
+        inscripcionDAO.guardarTodos(inscripciones);
+        System.out.println("Datos sembrados: " + eventos + " eventos");
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Main.java to edit this template
+ */
+package utils;
+
+import conexion.Conexion;
+import conexion.ContadorConsultas;
+import entidades.Actividad;
+import entidades.Evento;
+import exception.PersistenciaException;
+import fabrica.FabricaDAO;
+import interfaces.IEventoDAO;
+import interfaces.IEventoDAO.PlanCarga;
+import java.util.List;
+
+/**
+ * Clase para verificar contra la base de datos que los planes de carga de
+ * IEventoDAO cuestan un número constante de sentencias SQL, sin importar
+ * cuántos eventos regrese la consulta. Recorre las mismas relaciones que
+ * EventoMapper y termina con código 1 si algún plan excede su límite.
+ *
+ * @author Alejandra García Preciado - 252444
+ */
+public class VerificacionPlanesCarga {
+
+    public static void main(String[] args) throws PersistenciaException {
+        IEventoDAO eventoDAO = FabricaDAO.getInstancia().crearEventoDAO();
+        boolean correcto = true;
+
+        // Límite de sentencias por plan: eventos + una por cada colección
+        correcto &= verificar(eventoDAO, PlanCarga.LISTA, 1);
+        correcto &= verificar(eventoDAO, PlanCarga.CON_ACTIVIDADES, 2);
+        correcto &= verificar(eventoDAO, PlanCarga.DETALLE, 4);
+
+        Conexion.cerrar();
+        if (!correcto) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean verificar(IEventoDAO eventoDAO, PlanCarga plan, int limite) throws PersistenciaException {
+        ContadorConsultas.reiniciar();
+        List<Evento> eventos = eventoDAO.consultarTodos(plan);
+        for (Evento evento : eventos) {
+            evento.getOrganizador().getNombre();
+            if (plan != PlanCarga.LISTA) {
+                for (Actividad actividad : evento.getActividades()) {
+                    actividad.getNombre();
+                    if (plan == PlanCarga.DETALLE) {
+                        actividad.getLugar().getNombre();
+                        actividad.getInscripciones().size();
+                    }
+                }
+            }
+        }
+        long sentencias = ContadorConsultas.obtener();
+        boolean correcto = sentencias <= limite;
+        System.out.println(plan + ": " + eventos.size() + " eventos, " + sentencias
+                + " sentencias (límite " + limite + ") " + (correcto ? "OK" : "FALLA"));
+        return correcto;
+    }
+
+}
@@ -5,6 +5,7 @@
 package presentacion;
 
 import control.CoordinadorAplicacion;
+import fabrica.FabricaBO;
 import javax.swing.SwingUtilities;
 
 /**
@@ -21,6 +22,9 @@ public class Inicio {
      * @param args Argumentos de línea de comandos (no utilizados)
      */
     public static void main(String[] args) {
+        // Iniciar el cambio automático de estado de los eventos
+        FabricaBO.getInstancia().obtenerPlanificadorEstados().iniciar();
+
         // Ejecutar la aplicación en el hilo de eventos de Swing
         SwingUtilities.invokeLater(() -> {
             // Obtener la instancia del coordinador de la aplicación